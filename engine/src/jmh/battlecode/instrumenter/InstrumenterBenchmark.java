@@ -0,0 +1,44 @@
+package battlecode.instrumenter;
+
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumenting a real player's class, as happens the first time any robot
+ * of a team loads it.
+ *
+ * The player's classes are found at the bc.benchmark.bot-url property,
+ * which the jmh task points at the compiled example bots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumenterBenchmark {
+
+    @Param({"examplefuncsplayer.RobotPlayer"})
+    public String className;
+
+    private TeamClassLoaderFactory.Loader loader;
+    private ClassReader reader;
+
+    @Setup(Level.Trial)
+    public void load() {
+        String botURL = System.getProperty("bc.benchmark.bot-url");
+        if (botURL == null) {
+            throw new IllegalStateException("Set bc.benchmark.bot-url to the bots' classes");
+        }
+        TeamClassLoaderFactory factory = new TeamClassLoaderFactory(botURL);
+        loader = factory.createLoader(false);
+        reader = factory.teamReader(className);
+    }
+
+    @Benchmark
+    public byte[] instrument() {
+        return loader.instrument(reader, true, false);
+    }
+}
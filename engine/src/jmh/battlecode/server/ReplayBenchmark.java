@@ -0,0 +1,128 @@
+package battlecode.server;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import battlecode.world.BytecodeStats;
+import battlecode.world.DominationFactor;
+import battlecode.world.GameMapIO;
+import battlecode.world.LiveMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a replay: recording the actions of a round, and serializing and
+ * compressing a finished game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    private static final GameInfo GAME = new GameInfo(
+            "bananas", "org.bananas", null,
+            "yellow", "org.yellow", null,
+            new String[] {"DefaultMedium"}, null, false
+    );
+
+    /**
+     * Record a round of a busy match: every robot paints, attacks and
+     * moves, and the round ends with team totals.
+     */
+    private static void recordRound(GameMaker.MatchMaker matchMaker, int round, int robots, int width) {
+        matchMaker.startRound(round);
+        for (int id = 0; id < robots; id++) {
+            MapLocation loc = new MapLocation((id + round) % width, id % width);
+            matchMaker.startTurn(id);
+            matchMaker.addPaintAction(loc, (id & 1) == 0);
+            matchMaker.addAttackAction((id + 1) % robots);
+            matchMaker.addIndicatorString(id, "exploring");
+            matchMaker.endTurn(id, 200, 100, 10, 20, 7500, loc);
+        }
+        matchMaker.addTeamInfo(Team.A, 1000 + round, 400, 2);
+        matchMaker.addTeamInfo(Team.B, 1000 + round, 400, 2);
+        matchMaker.endRound();
+    }
+
+    @State(Scope.Thread)
+    public static class Recording {
+        @Param({"100"})
+        public int robots;
+
+        LiveMap map;
+        GameMaker.MatchMaker matchMaker;
+        int round;
+
+        @Setup(Level.Iteration)
+        public void start() throws IOException {
+            map = GameMapIO.loadCachedMap("DefaultMedium", null, false);
+            GameMaker gameMaker = new GameMaker(GAME, null, true, 0, true);
+            gameMaker.makeGameHeader();
+            matchMaker = gameMaker.getMatchMaker();
+            matchMaker.makeMatchHeader(map);
+            round = 0;
+        }
+    }
+
+    @Benchmark
+    public void recordRound(Recording state) {
+        recordRound(state.matchMaker, ++state.round, state.robots, state.map.getWidth());
+    }
+
+    @State(Scope.Thread)
+    public static class FinishedGame {
+        @Param({"2000"})
+        public int rounds;
+
+        @Param({"100"})
+        public int robots;
+
+        /**
+         * A checkpoint of the game before its last match ended, so every
+         * invocation can finish a fresh copy.
+         */
+        byte[] checkpoint;
+        GameMaker gameMaker;
+
+        @Setup(Level.Trial)
+        public void record() throws IOException {
+            LiveMap map = GameMapIO.loadCachedMap("DefaultMedium", null, false);
+            GameMaker gameMaker = new GameMaker(GAME, null, true, 50, true);
+            gameMaker.makeGameHeader();
+            GameMaker.MatchMaker matchMaker = gameMaker.getMatchMaker();
+            matchMaker.makeMatchHeader(map);
+            for (int round = 1; round <= rounds; round++) {
+                recordRound(matchMaker, round, robots, map.getWidth());
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                gameMaker.writeCheckpoint(out);
+            }
+            checkpoint = bytes.toByteArray();
+        }
+
+        @Setup(Level.Invocation)
+        public void finish() throws IOException {
+            gameMaker = new GameMaker(GAME, null, true, 50, true);
+            gameMaker.resumeFromCheckpoint(new DataInputStream(new ByteArrayInputStream(checkpoint)));
+            gameMaker.getMatchMaker().makeMatchFooter(Team.A, DominationFactor.MORE_SQUARES_PAINTED, rounds,
+                    new ArrayList<>(), new BytecodeStats());
+            gameMaker.makeGameFooter(Team.A);
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes(FinishedGame state) {
+        return state.gameMaker.toBytes();
+    }
+}
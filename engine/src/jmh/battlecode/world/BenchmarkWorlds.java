@@ -0,0 +1,104 @@
+package battlecode.world;
+
+import battlecode.common.*;
+import battlecode.server.GameMaker;
+import battlecode.world.control.RobotControlProvider;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Worlds for the benchmarks to work on.
+ *
+ * Robots are played by StubPlayers, the in-process player of the tests, so
+ * the benchmarks measure the engine rather than the sandbox.
+ */
+public final class BenchmarkWorlds {
+
+    private BenchmarkWorlds() {}
+
+    public static RobotControlProvider provider() {
+        return StubPlayers.provider();
+    }
+
+    /**
+     * @return a match maker that records nothing
+     */
+    public static GameMaker.MatchMaker matchMaker() {
+        GameMaker gameMaker = new GameMaker(StubPlayers.GAME, null, false, 0, false);
+        gameMaker.makeGameHeader();
+        return gameMaker.getMatchMaker();
+    }
+
+    /**
+     * @param mapName a built-in map
+     * @param rounds the rounds to play
+     * @return a world on the map that has been played for some rounds
+     */
+    public static GameWorld playedWorld(String mapName, int rounds) throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap(mapName, null, false);
+        GameWorld world = new GameWorld(map, provider(), matchMaker());
+        for (int round = 0; round < rounds && world.isRunning(); round++) {
+            world.runRound();
+        }
+        return world;
+    }
+
+    /**
+     * @param mapName a built-in map
+     * @param robots the number of soldiers to spawn
+     * @return a world on the map with soldiers of both teams packed around
+     *         the middle, on randomly painted ground
+     */
+    public static GameWorld crowdedWorld(String mapName, int robots) throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap(mapName, null, false);
+        GameWorld world = new GameWorld(map, provider(), matchMaker());
+        MapLocation middle = new MapLocation(map.getWidth() / 2, map.getHeight() / 2);
+        Random random = new Random(25);
+        for (MapLocation loc : world.getAllLocationsWithinRadiusSquared(middle, 4 * GameConstants.VISION_RADIUS_SQUARED)) {
+            world.setPaint(loc, random.nextInt(5));
+        }
+
+        int spawned = 0;
+        for (int radiusSquared = 0; spawned < robots && radiusSquared <= map.getWidth() * map.getWidth(); radiusSquared++) {
+            for (MapLocation loc : world.getAllLocationsWithinRadiusSquared(middle, radiusSquared)) {
+                if (spawned < robots && world.isPassable(loc) && world.getRobot(loc) == null) {
+                    world.spawnRobot(UnitType.SOLDIER, loc, spawned % 2 == 0 ? Team.A : Team.B);
+                    spawned++;
+                }
+            }
+        }
+        return world;
+    }
+
+    /**
+     * @param mapName a built-in map
+     * @return a world on the map with an active resource pattern of team A
+     *         at every valid center of a grid over the whole map
+     */
+    public static GameWorld patternedWorld(String mapName) throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap(mapName, null, false);
+        GameWorld world = new GameWorld(map, provider(), matchMaker());
+        int half = GameConstants.PATTERN_SIZE / 2;
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                int bit = world.getResourcePatternBit(x % GameConstants.PATTERN_SIZE - half,
+                        y % GameConstants.PATTERN_SIZE - half);
+                world.setPaint(new MapLocation(x, y),
+                        bit == 1 ? world.getSecondaryPaint(Team.A) : world.getPrimaryPaint(Team.A));
+            }
+        }
+        for (int x = half; x + half < map.getWidth(); x += GameConstants.PATTERN_SIZE) {
+            for (int y = half; y + half < map.getHeight(); y += GameConstants.PATTERN_SIZE) {
+                MapLocation center = new MapLocation(x, y);
+                if (world.isValidPatternCenter(center, false) && world.checkResourcePattern(Team.A, center)) {
+                    world.completeResourcePattern(Team.A, center);
+                }
+            }
+        }
+        for (int round = 0; round < GameConstants.RESOURCE_PATTERN_ACTIVE_DELAY; round++) {
+            world.updateResourcePatterns();
+        }
+        return world;
+    }
+}
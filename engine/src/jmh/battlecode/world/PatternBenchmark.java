@@ -0,0 +1,91 @@
+package battlecode.world;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern checks and paint connectivity, on a map covered in resource
+ * patterns of one team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    @Param({"DefaultMedium", "DefaultHuge"})
+    public String map;
+
+    private GameWorld world;
+    private List<MapLocation> centers;
+    private MapLocation near;
+    private MapLocation far;
+
+    @Setup(Level.Trial)
+    public void paint() throws IOException {
+        world = BenchmarkWorlds.patternedWorld(map);
+        centers = new ArrayList<>();
+        List<MapLocation> painted = new ArrayList<>();
+        for (int x = 0; x < world.getGameMap().getWidth(); x++) {
+            for (int y = 0; y < world.getGameMap().getHeight(); y++) {
+                MapLocation loc = new MapLocation(x, y);
+                if (world.isValidPatternCenter(loc, false)) {
+                    centers.add(loc);
+                }
+                if (world.getPaint(loc) != 0) {
+                    painted.add(loc);
+                }
+            }
+        }
+
+        // the painted tiles closest to opposite corners, so the search
+        // between them covers most of the map
+        for (MapLocation loc : painted) {
+            if (near == null || loc.x + loc.y < near.x + near.y) {
+                near = loc;
+            }
+            if (far == null || loc.x + loc.y > far.x + far.y) {
+                far = loc;
+            }
+        }
+        if (near == null) {
+            throw new IllegalStateException("Nothing painted on " + map);
+        }
+    }
+
+    /**
+     * Check the resource pattern at every valid center of the map.
+     */
+    @Benchmark
+    public int checkResourcePatterns() {
+        int complete = 0;
+        for (MapLocation center : centers) {
+            if (world.checkResourcePattern(Team.A, center)) {
+                complete++;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Recheck every completed resource pattern, as the end of every round does.
+     */
+    @Benchmark
+    public int updateResourcePatterns() {
+        world.updateResourcePatterns();
+        return world.getNumResourcePatterns(Team.A);
+    }
+
+    @Benchmark
+    public boolean connectedByPaint() {
+        return world.connectedByPaint(Team.A, near, far);
+    }
+}
@@ -0,0 +1,48 @@
+package battlecode.world;
+
+import battlecode.common.GameConstants;
+import battlecode.server.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One round of a match in full swing, with robots played by a stub player
+ * and nothing recorded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RunRoundBenchmark {
+
+    @Param({"DefaultSmall", "DefaultHuge"})
+    public String map;
+
+    /**
+     * How far into the match the measured round is.
+     */
+    @Param({"300"})
+    public int round;
+
+    private GameWorld played;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void play() throws IOException {
+        played = BenchmarkWorlds.playedWorld(map, Math.min(round, GameConstants.GAME_MAX_NUMBER_OF_ROUNDS - 1));
+    }
+
+    @Setup(Level.Invocation)
+    public void fork() {
+        world = played.fork(BenchmarkWorlds.provider(), BenchmarkWorlds.matchMaker());
+    }
+
+    @Benchmark
+    public GameState runRound() {
+        return world.runRound();
+    }
+}
@@ -0,0 +1,124 @@
+package battlecode.world;
+
+import battlecode.common.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sensing methods of RobotController, called by a soldier in a crowd.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensingBenchmark {
+
+    @Param({"DefaultMedium"})
+    public String map;
+
+    @Param({"40"})
+    public int robots;
+
+    private RobotController rc;
+    private MapLocation here;
+    private MapLocation there;
+    private int otherID;
+
+    @Setup(Level.Trial)
+    public void spawn() throws IOException {
+        GameWorld world = BenchmarkWorlds.crowdedWorld(map, robots);
+        MapLocation middle = new MapLocation(world.getGameMap().getWidth() / 2, world.getGameMap().getHeight() / 2);
+
+        // the soldier closest to the middle, and the robot closest to it
+        InternalRobot soldier = null;
+        for (InternalRobot robot : world.getAllRobotsWithinRadiusSquared(middle, GameConstants.VISION_RADIUS_SQUARED)) {
+            if (soldier == null
+                    || robot.getLocation().distanceSquaredTo(middle) < soldier.getLocation().distanceSquaredTo(middle)) {
+                soldier = robot;
+            }
+        }
+        if (soldier == null) {
+            throw new IllegalStateException("No robots in the middle of " + map);
+        }
+        InternalRobot other = null;
+        for (InternalRobot robot : world.getAllRobotsWithinRadiusSquared(soldier.getLocation(),
+                GameConstants.VISION_RADIUS_SQUARED)) {
+            if (robot != soldier && (other == null || robot.getLocation().distanceSquaredTo(soldier.getLocation())
+                    < other.getLocation().distanceSquaredTo(soldier.getLocation()))) {
+                other = robot;
+            }
+        }
+
+        rc = soldier.getController();
+        here = soldier.getLocation();
+        there = other != null ? other.getLocation() : here;
+        otherID = other != null ? other.getID() : soldier.getID();
+    }
+
+    @Benchmark
+    public RobotInfo[] senseNearbyRobots() {
+        return rc.senseNearbyRobots();
+    }
+
+    @Benchmark
+    public RobotInfo[] senseNearbyRobotsOfTeam() throws GameActionException {
+        return rc.senseNearbyRobots(-1, Team.B);
+    }
+
+    @Benchmark
+    public RobotInfo[] senseNearbyRobotsAround() throws GameActionException {
+        return rc.senseNearbyRobots(there, 8, null);
+    }
+
+    @Benchmark
+    public MapInfo[] senseNearbyMapInfos() {
+        return rc.senseNearbyMapInfos();
+    }
+
+    @Benchmark
+    public MapInfo[] senseNearbyMapInfosAround() throws GameActionException {
+        return rc.senseNearbyMapInfos(there, 8);
+    }
+
+    @Benchmark
+    public MapLocation[] senseNearbyRuins() throws GameActionException {
+        return rc.senseNearbyRuins(-1);
+    }
+
+    @Benchmark
+    public MapLocation[] getAllLocationsWithinRadiusSquared() throws GameActionException {
+        return rc.getAllLocationsWithinRadiusSquared(here, GameConstants.VISION_RADIUS_SQUARED);
+    }
+
+    @Benchmark
+    public MapInfo senseMapInfo() throws GameActionException {
+        return rc.senseMapInfo(there);
+    }
+
+    @Benchmark
+    public boolean sensePassability() throws GameActionException {
+        return rc.sensePassability(there);
+    }
+
+    @Benchmark
+    public void canSense(Blackhole blackhole) {
+        blackhole.consume(rc.canSenseLocation(there));
+        blackhole.consume(rc.canSenseRobotAtLocation(there));
+        blackhole.consume(rc.canSenseRobot(otherID));
+    }
+
+    @Benchmark
+    public RobotInfo senseRobotAtLocation() throws GameActionException {
+        return rc.senseRobotAtLocation(there);
+    }
+
+    @Benchmark
+    public RobotInfo senseRobot() throws GameActionException {
+        return rc.senseRobot(otherID);
+    }
+}
@@ -48,7 +48,9 @@ public final class Clock {
     }
 
     /**
-     * Returns the total amount of execution time left this team has before they timeout
+     * Returns the total amount of execution time left this team has before they timeout.
+     * Execution time is the CPU time of the team's robots, not counting time spent
+     * waiting for the engine or other robots.
      *
      * @return the amount of execution time remaining, in nanoseconds
      * @battlecode.doc.costlymethod
@@ -0,0 +1,81 @@
+package battlecode.instrumenter;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads sandboxed players run on, shared by every game in the JVM.
+ *
+ * A player's thread lives as long as its robot, so a match where robots are
+ * built and die all the time would otherwise start and tear down a thread
+ * for every one of them. Instead, a number of threads are started up front,
+ * enough for the robots of a typical match, and each goes back to waiting
+ * for the next robot when its robot dies. When more robots are alive than
+ * that, more threads are started, and they stop again once they've been
+ * idle for a while.
+ *
+ * While it runs a player, a thread is named after the robot.
+ */
+public class SandboxThreadPool {
+
+    /**
+     * How long a thread past the pool's size waits for another robot before
+     * it stops.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param size the number of threads to start now and keep waiting
+     */
+    public SandboxThreadPool(int size) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, Integer.MAX_VALUE,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, idleName(count.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.prestartAllCoreThreads();
+    }
+
+    private static String idleName(int index) {
+        return "sandbox-" + index;
+    }
+
+    /**
+     * Run a player on an idle thread, or a new one if none is idle.
+     *
+     * @param name the name of the thread while it runs the player
+     * @param player the player's main loop
+     */
+    public void start(String name, Runnable player) {
+        executor.execute(() -> {
+            Thread thread = Thread.currentThread();
+            String idleName = thread.getName();
+            thread.setName(name);
+            try {
+                player.run();
+            } finally {
+                thread.setName(idleName);
+            }
+        });
+    }
+
+    /**
+     * @return the number of threads, running players or not
+     */
+    public int getThreadCount() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * @return the number of threads running players
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+}
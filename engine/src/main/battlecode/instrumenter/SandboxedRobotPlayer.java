@@ -8,10 +8,13 @@ import battlecode.instrumenter.stream.SilencedPrintStream;
 import battlecode.server.ErrorReporter;
 import battlecode.world.control.PlayerControlProvider;
 import battlecode.server.Config;
+import battlecode.server.Metrics;
+import battlecode.server.jfr.SandboxHandoffEvent;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -40,6 +43,22 @@ public class SandboxedRobotPlayer {
 
     public static final String PLAYER_CLASS_NAME = "RobotPlayer";
 
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Whether the time a player takes is the CPU time of its thread, rather
+     * than the wall time of its steps, which also counts waiting for the
+     * thread to be scheduled and for garbage collection.
+     */
+    public static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+
+    /**
+     * The threads players run on.
+     */
+    private static final SandboxThreadPool THREAD_POOL =
+            new SandboxThreadPool(Config.getGlobalConfig().getInt("bc.engine.sandbox-threads"));
+
     /**
      * The controller for the robot we're controlling.
      */
@@ -56,29 +75,24 @@ public class SandboxedRobotPlayer {
     private boolean terminated;
 
     /**
-     * The classloader used for this player.
-     */
-    private final TeamClassLoaderFactory.Loader individualLoader;
-
-    /**
-     * The main thread the player is running on.
+     * The classloader used for this player; null once closed.
      */
-    private final Thread mainThread;
+    private TeamClassLoaderFactory.Loader individualLoader;
 
     /**
-     * The cached 'killRobot' method of the monitor.
+     * The cached 'killRobot' method of the monitor; null once closed.
      */
-    private final Method killMethod;
+    private Method killMethod;
 
     /**
-     * The cached 'setBytecodeLimit' method of the monitor.
+     * The cached 'setBytecodeLimit' method of the monitor; null once closed.
      */
-    private final Method setBytecodeLimitMethod;
+    private Method setBytecodeLimitMethod;
 
     /**
-     * The cached 'getBytecodeNum' method of the monitor.
+     * The cached 'getBytecodeNum' method of the monitor; null once closed.
      */
-    private final Method getBytecodeNumMethod;
+    private Method getBytecodeNumMethod;
 
     /**
      * The object used to trade of control between threads.
@@ -90,6 +104,24 @@ public class SandboxedRobotPlayer {
      */
     private boolean running;
 
+    /**
+     * When the last step handed control to the player thread, how long that
+     * took, and when the player handed control back; in System.nanoTime().
+     * Only measured while handoffs are being recorded, 0 otherwise.
+     * Guarded by the notifier.
+     */
+    private long toPlayerStart;
+    private long toPlayerNanos;
+    private long toEngineStart;
+
+    /**
+     * The CPU time of the player thread when it last handed control back,
+     * and how much of it the last step took; see getStepNanos.
+     * Guarded by the notifier.
+     */
+    private long playerCpuTime;
+    private long stepNanos;
+
     /**
      * Used so we don't create a new PrintStream for every robot
      * every round.
@@ -155,11 +187,22 @@ public class SandboxedRobotPlayer {
         final Pauser pauser = () -> {
             try {
                 synchronized (notifier) {
+                    if (toPlayerStart != 0) {
+                        toEngineStart = System.nanoTime();
+                    }
+                    if (CPU_TIME) {
+                        playerCpuTime = THREADS.getCurrentThreadCpuTime();
+                    }
+
                     // Unpause the main thread, which is waiting on the player thread
                     notifier.notifyAll();
 
                     // Wait for the main thread to restart us
                     notifier.wait();
+
+                    if (toPlayerStart != 0) {
+                        toPlayerNanos = System.nanoTime() - toPlayerStart;
+                    }
                 }
             } catch (InterruptedException e) {
                 ErrorReporter.report("RobotPlayer thread interrupted while paused");
@@ -174,7 +217,7 @@ public class SandboxedRobotPlayer {
             throw new RobotDeathException();
         };
 
-        mainThread = new Thread(() -> {
+        final Runnable main = () -> {
             try {
                 // Init RobotMonitor
                 initMethod.invoke(null, pauser, killer, this.seed, profiler, provider);
@@ -212,6 +255,7 @@ public class SandboxedRobotPlayer {
             } finally {
                 // Ensure that we know we're terminated.
                 this.terminated = true;
+                Metrics.sandboxThreadEnded();
 
                 // Tell the profiler to close all open methods
                 // It cannot detect when the run(RobotController) method exits when a bot dies any other way
@@ -221,17 +265,21 @@ public class SandboxedRobotPlayer {
 
                 // Unpause the main thread, which is waiting on the player thread.
                 synchronized (notifier) {
+                    if (CPU_TIME) {
+                        playerCpuTime = THREADS.getCurrentThreadCpuTime();
+                    }
                     notifier.notifyAll();
                 }
             }
-        }, teamName + "." + PLAYER_CLASS_NAME + " #"+ robotController.getID());
+        };
 
 
         // Wait for thread to tell us it's ready
         try {
             synchronized (notifier) {
                 // Doesn't do anything besides initialize the sandbox, since thread pauses immediately
-                mainThread.start();
+                Metrics.sandboxThreadStarted();
+                THREAD_POOL.start(teamName + "." + PLAYER_CLASS_NAME + " #" + robotController.getID(), main);
 
                 notifier.wait();
             }
@@ -294,6 +342,7 @@ public class SandboxedRobotPlayer {
     public void step() {
         // Is the RobotPlayer terminated?
         if (terminated) {
+            stepNanos = 0;
             return; // the player screwed up but they're not gonna lose the robot hehehe
             // TODO: restore this for future games
             //throw new RuntimeException("Step called after robot killed");
@@ -301,10 +350,20 @@ public class SandboxedRobotPlayer {
         // Update the robot's information
         updateOut();
 
+        SandboxHandoffEvent handoffEvent = new SandboxHandoffEvent();
+        handoffEvent.begin();
+        long toEngineNanos = 0;
+        long stepStart = CPU_TIME ? 0 : System.nanoTime();
+
         try {
             synchronized (notifier) {
                 // We are now running the robot!
                 running = true;
+                long cpuBefore = playerCpuTime;
+
+                toPlayerStart = handoffEvent.isEnabled() ? System.nanoTime() : 0;
+                toPlayerNanos = 0;
+                toEngineStart = 0;
 
                 // Unpause the robot's thread
                 notifier.notifyAll();
@@ -312,12 +371,26 @@ public class SandboxedRobotPlayer {
                 // Pause this thread until the robot ends turn or dies
                 notifier.wait();
 
+                if (toEngineStart != 0) {
+                    toEngineNanos = System.nanoTime() - toEngineStart;
+                }
+
+                stepNanos = CPU_TIME ? playerCpuTime - cpuBefore : System.nanoTime() - stepStart;
+
                 // Main thread reactivated: no longer running.
                 running = false;
             }
         } catch (InterruptedException e) {
             throw new RuntimeException("Unexpected interruption", e);
         }
+
+        // Not recorded if the robot died instead of ending its turn
+        if (toEngineNanos != 0 && handoffEvent.shouldCommit()) {
+            handoffEvent.robotId = robotController.getID();
+            handoffEvent.toPlayer = toPlayerNanos;
+            handoffEvent.toEngine = toEngineNanos;
+            handoffEvent.commit();
+        }
     }
 
     /**
@@ -362,6 +435,33 @@ public class SandboxedRobotPlayer {
         }
     }
 
+    /**
+     * Terminate the player if it isn't already, and let go of its
+     * classloader and everything else loaded by it, so that its classes can
+     * be unloaded even if this object is still referenced. Its thread goes
+     * back to the pool as soon as it is done; if the robot is being killed
+     * during its own turn, that is when the turn ends.
+     *
+     * Nothing but getTerminated and getStepNanos may be called afterwards.
+     */
+    public void close() {
+        terminate();
+        individualLoader = null;
+        killMethod = null;
+        setBytecodeLimitMethod = null;
+        getBytecodeNumMethod = null;
+        systemOut = null;
+    }
+
+    /**
+     * @return the time the player took in the most recent step() call: the
+     *         CPU time of its thread, or the wall time of the step without
+     *         {@link #CPU_TIME}
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
     /**
      * @return the bytecodes used by the player during the most recent step() call.
      */
@@ -411,13 +511,7 @@ public class SandboxedRobotPlayer {
             return SilencedPrintStream.theInstance();
             // Modifying Systems specific to this robot.
         } else {
-            try {
-                return new RoboPrintStream(wrapped, options.getBoolean(
-                        "bc.server.robot-player-to-system-out"
-                ), options.getInt("bc.server.robot-player-replay-file-per-team-limit-bytes"));
-            } catch (UnsupportedEncodingException e) {
-                throw new RuntimeException("UTF-8 isn't supported on this system??", e);
-            }
+            return new RoboPrintStream(wrapped);
         }
     }
 
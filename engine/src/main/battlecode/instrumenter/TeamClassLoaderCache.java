@@ -0,0 +1,82 @@
+package battlecode.instrumenter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a TeamClassLoaderFactory per team between games, so that a
+ * long-running server instruments each team's classes once instead of once
+ * per game.
+ *
+ * A team is its package and the URL its classes are loaded from. A factory
+ * is replaced when anything at the URL has changed on disk since it was
+ * created, so recompiled players are picked up by the next game.
+ */
+public final class TeamClassLoaderCache {
+
+    private static final class Entry {
+        final TeamClassLoaderFactory factory;
+        final long lastModified;
+
+        Entry(TeamClassLoaderFactory factory, long lastModified) {
+            this.factory = factory;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> factories = new ConcurrentHashMap<>();
+
+    /**
+     * @param teamPackage the package of the team
+     * @param classURL the URL to load the team's classes from
+     * @return the factory for the team, shared with every other game of the
+     *         team since its classes last changed
+     */
+    public TeamClassLoaderFactory get(String teamPackage, String classURL) {
+        final long lastModified = lastModified(classURL);
+        return factories.compute(teamPackage + "@" + classURL, (key, entry) -> {
+            if (entry != null && entry.lastModified == lastModified) {
+                return entry;
+            }
+            return new Entry(new TeamClassLoaderFactory(classURL), lastModified);
+        }).factory;
+    }
+
+    /**
+     * @return the number of teams with a factory
+     */
+    public int size() {
+        return factories.size();
+    }
+
+    /**
+     * @return the latest modification time of anything at the URL, or 0 if
+     *         there's nothing there
+     */
+    private static long lastModified(String classURL) {
+        final File root;
+        try {
+            URL url = TeamClassLoaderFactory.getFilesystemURL(classURL);
+            root = Paths.get(url.toURI()).toFile();
+        } catch (InstrumentationException | URISyntaxException | IllegalArgumentException e) {
+            return 0;
+        }
+
+        if (!root.isDirectory()) {
+            return root.lastModified();
+        }
+        try (Stream<Path> files = Files.walk(root.toPath())) {
+            return files.mapToLong(path -> path.toFile().lastModified()).max().orElse(0);
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package battlecode.instrumenter;
 
 import battlecode.instrumenter.bytecode.ClassReferenceUtil;
 import battlecode.instrumenter.bytecode.InstrumentingClassVisitor;
+import battlecode.instrumenter.profiler.ProfilerFrames;
 import battlecode.server.Config;
+import battlecode.server.Metrics;
+import battlecode.server.jfr.InstrumentClassEvent;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
@@ -16,6 +19,7 @@ import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static battlecode.instrumenter.InstrumentationException.Type.ILLEGAL;
 import static battlecode.instrumenter.InstrumentationException.Type.MISSING;
@@ -30,6 +34,9 @@ import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
  * This is a bit of a god object. A demigod object, anyway.
  *
  * We all know what happens to demigods.
+ *
+ * A factory may be shared by matches running at the same time, see
+ * TeamClassLoaderCache, so its cache of instrumented classes is concurrent.
  */
 public final class TeamClassLoaderFactory {
 
@@ -103,16 +110,29 @@ public final class TeamClassLoaderFactory {
      */
     private final Map<String, byte[]> instrumentedClasses;
 
+    /**
+     * The classes generated for the team's lambdas and method references,
+     * before they're instrumented, by internal name. They're loaded like the
+     * classes in the team's container; see LambdaDesugarer.
+     */
+    private final Map<String, byte[]> lambdaClasses;
+
     /**
      * If this team has an error, don't bother trying to cache again.
      */
-    private boolean hasError;
+    private volatile boolean hasError;
 
     /**
      * The ClassReferenceUtil used by this cache.
      */
     private final ClassReferenceUtil refUtil;
 
+    /**
+     * The profiler frames of this team's code. Frame ids are baked into
+     * the instrumented classes, so they live as long as the class cache.
+     */
+    private final ProfilerFrames profilerFrames = new ProfilerFrames();
+
     /**
      * Create a cache for classes loaded from a URL (or local file).
      * The URL can point to a jar file or a directory containing class
@@ -130,6 +150,7 @@ public final class TeamClassLoaderFactory {
             this.teamResourceLookup = null;
             this.hasError = true;
             this.instrumentedClasses = null;
+            this.lambdaClasses = null;
             this.refUtil = null;
             return;
         }
@@ -147,7 +168,8 @@ public final class TeamClassLoaderFactory {
                 return findResource(name);
             }
         };
-        this.instrumentedClasses = new HashMap<>();
+        this.instrumentedClasses = new ConcurrentHashMap<>();
+        this.lambdaClasses = new ConcurrentHashMap<>();
         this.hasError = false;
         this.refUtil = new ClassReferenceUtil(this);
     }
@@ -185,6 +207,22 @@ public final class TeamClassLoaderFactory {
         this.instrumentedClasses.put(className, classBytes);
     }
 
+    /**
+     * @param className the internal name of the class
+     * @param classBytes the bytes of the class, to be instrumented when it's
+     *                   loaded
+     */
+    public void addLambdaClass(String className, byte[] classBytes) {
+        this.lambdaClasses.put(className, classBytes);
+    }
+
+    /**
+     * @return the profiler frames referenced by this team's instrumented code
+     */
+    public ProfilerFrames getProfilerFrames() {
+        return this.profilerFrames;
+    }
+
     /**
      * @return whether the team is known to have errors
      */
@@ -197,7 +235,8 @@ public final class TeamClassLoaderFactory {
      * @return whether or not the team has the class
      */
     public boolean hasTeamClass(String className) {
-        return getTeamURL(toResourceName(className)) != null;
+        return lambdaClasses.containsKey(className.replace('.', '/'))
+                || getTeamURL(toResourceName(className)) != null;
     }
 
     /**
@@ -246,6 +285,10 @@ public final class TeamClassLoaderFactory {
      * @throws InstrumentationException if the class cannot be read
      */
     public ClassReader teamReader(String className) throws InstrumentationException {
+        byte[] lambdaClass = lambdaClasses.get(className.replace('.', '/'));
+        if (lambdaClass != null) {
+            return new ClassReader(lambdaClass);
+        }
         URL resURL = getTeamURL(toResourceName(className));
         if (resURL != null) {
             try {
@@ -346,7 +389,8 @@ public final class TeamClassLoaderFactory {
      *     If someone in our team's factory has already loaded it as a byte[],
      *       redefine that byte[], redefine it as a Class<?>, return it.
      *     If it is special, load it as a byte[], cache the byte[], load the byte[] as a class.
-     *     If it is in the team's code blob (a .jar or folder),
+     *     If it is in the team's code blob (a .jar or folder), or was generated
+     *       for one of the team's lambdas,
      *       load it as a byte[], instrument the byte[], cache the instrumented byte[],
      *       load the instrumented byte[] as a class.
      *     If it exists on the system classpath, load it.
@@ -425,6 +469,7 @@ public final class TeamClassLoaderFactory {
             if (TeamClassLoaderFactory.this.hasCached(name)) {
                 byte[] classBytes = TeamClassLoaderFactory.this.getCached(name);
                 finishedClass = defineClass(null, classBytes, 0, classBytes.length);
+                Metrics.classLoaded(true);
             } else if (alwaysRedefine.contains(name)) {
                 // We want each robot to have its own copy of this class
                 // so that it isn't possible to send messages by calling
@@ -513,6 +558,7 @@ public final class TeamClassLoaderFactory {
 
             Class<?> theClass = defineClass(null, classBytes, 0, classBytes.length);
             TeamClassLoaderFactory.this.setCached(name, classBytes);
+            Metrics.classLoaded(false);
 
             return theClass;
 
@@ -521,6 +567,8 @@ public final class TeamClassLoaderFactory {
         public byte[] instrument(ClassReader reader,
                                  boolean checkDisallowed,
                                  boolean debugMethodsEnabled) throws InstrumentationException {
+            InstrumentClassEvent event = new InstrumentClassEvent();
+            event.begin();
 
             ClassWriter cw = new ClassWriter(COMPUTE_MAXS); // passing true sets maxLocals and maxStack, so we don't have to
             ClassVisitor cv = new InstrumentingClassVisitor(
@@ -532,7 +580,16 @@ public final class TeamClassLoaderFactory {
                     profilerEnabled
             );
             reader.accept(cv, 0);        //passing false lets debug info be included in the transformation, so players get line numbers in stack traces
-            return cw.toByteArray();
+            byte[] classBytes = cw.toByteArray();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = reader.getClassName();
+                event.playerClass = checkDisallowed;
+                event.size = classBytes.length;
+                event.commit();
+            }
+            return classBytes;
         }
 
         @SuppressWarnings("unused")
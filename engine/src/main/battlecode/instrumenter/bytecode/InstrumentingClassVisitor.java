@@ -19,6 +19,7 @@ import java.util.Set;
 public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
 
     private String className;
+    private boolean isInterface;
     private final boolean silenced;
     private final boolean debugMethodsEnabled;
     private final boolean profilerEnabled;
@@ -31,6 +32,9 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
     // don't check those.
     private final boolean checkDisallowed;
 
+    // Turns the lambdas of player classes into classes; null for others.
+    private LambdaDesugarer lambdas;
+
     /**
      * Creates a InstrumentingClassVisitor to instrument a given class.
      *  @param cv                  the ClassVisitor that should be used to read the class
@@ -63,6 +67,10 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
             final String superName,
             final String[] interfaces) {
         className = loader.getRefUtil().classReference(name, checkDisallowed);
+        isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+        if (checkDisallowed) {
+            lambdas = new LambdaDesugarer(loader.getFactory(), name);
+        }
         for (int i = 0; i < interfaces.length; i++) {
             interfaces[i] = loader.getRefUtil().classReference(interfaces[i], checkDisallowed);
         }
@@ -77,7 +85,7 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
     public MethodVisitor visitMethod(
             int access,
             final String name,
-            final String desc,
+            String desc,
             final String signature,
             final String[] exceptions) {
 
@@ -87,6 +95,12 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
         // for performance reasons.
         access &= ~Opcodes.ACC_SYNCHRONIZED;
 
+        // Lambda bodies are called from the classes generated for the lambdas
+        if (lambdas != null && LambdaDesugarer.isLambdaBody(access, name)) {
+            desc = LambdaDesugarer.lambdaBodyDesc(access, className, desc);
+            access = LambdaDesugarer.lambdaBodyAccess(access, isInterface);
+        }
+
         if (exceptions != null) {
             for (int i = 0; i < exceptions.length; i++) {
                 exceptions[i] = loader.getRefUtil().classReference(exceptions[i], checkDisallowed);
@@ -101,6 +115,7 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
         return mv == null ? null : new InstrumentingMethodVisitor(
                 mv,
                 loader,
+                lambdas,
                 className,
                 access,
                 name,
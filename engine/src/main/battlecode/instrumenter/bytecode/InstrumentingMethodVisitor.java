@@ -36,6 +36,9 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
     // used to load other class files
     private final TeamClassLoaderFactory.Loader loader;
 
+    // turns lambdas into classes, or null if they're left alone
+    private final LambdaDesugarer lambdas;
+
     // all the exception handlers we've seen in the code
     private final Set<LabelNode> exceptionHandlers = new HashSet<>();
     private final Set<LabelNode> tryCatchStarts = new HashSet<>();
@@ -53,10 +56,16 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
 
     private int bytecodeCtr = 0;
 
+    // the first local variable the method doesn't use, for our own
+    private int firstFreeLocal;
+
+    private int profilerFrameId = -1;
+
     private MethodVisitor methodWriter;
 
     public InstrumentingMethodVisitor(final MethodVisitor mv,
                                       final TeamClassLoaderFactory.Loader loader,
+                                      final LambdaDesugarer lambdas,
                                       final String className,
                                       final int access,
                                       final String methodName,
@@ -71,6 +80,7 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
         this.methodWriter = mv;
 
         this.loader = loader;
+        this.lambdas = lambdas;
         this.className = className;
         this.checkDisallowed = checkDisallowed;
         this.debugMethodsEnabled = debugMethodsEnabled;
@@ -98,6 +108,7 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
     }
 
     public void visitMaxs(int maxStack, int maxLocals) {
+        firstFreeLocal = maxLocals;
         for (Object o : tryCatchBlocks) {
             visitTryCatchBlockNode((TryCatchBlockNode) o);
         }
@@ -106,50 +117,7 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
             // or have stuff inserted after it,
             // so node.getNext() might not be valid
             // after we visit node
-            switch (node.getType()) {
-                case FIELD_INSN:
-                    visitFieldInsnNode((FieldInsnNode) node);
-                    break;
-                case INSN:
-                    visitInsnNode((InsnNode) node);
-                    break;
-                case INVOKE_DYNAMIC_INSN:
-                    visitInvokeDynamicInsnNode((InvokeDynamicInsnNode) node);
-                    break;
-                case LDC_INSN:
-                    visitLdcInsnNode((LdcInsnNode) node);
-                    break;
-                case METHOD_INSN:
-                    visitMethodInsnNode((MethodInsnNode) node);
-                    break;
-                case MULTIANEWARRAY_INSN:
-                    visitMultiANewArrayInsnNode((MultiANewArrayInsnNode) node);
-                    break;
-                case TYPE_INSN:
-                    visitTypeInsnNode((TypeInsnNode) node);
-                    break;
-                case VAR_INSN:
-                    visitVarInsnNode((VarInsnNode) node);
-                    break;
-                case LABEL:
-                    visitLabelNode((LabelNode) node);
-                    break;
-                case FRAME:
-                    visitFrameNode((FrameNode) node);
-                    break;
-                case JUMP_INSN:
-                case LOOKUPSWITCH_INSN:
-                case TABLESWITCH_INSN:
-                    bytecodeCtr++;
-                    endOfBasicBlock(node);
-                    break;
-                case INT_INSN:
-                    visitIntInsnNode((IntInsnNode) node);
-                    break;
-                case IINC_INSN:
-                    bytecodeCtr++;
-                    break;
-            }
+            visitNode(node);
         }
         startLabel = new LabelNode(new Label());
         instructions.insert(startLabel);
@@ -177,6 +145,53 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
         accept(methodWriter);
     }
 
+    private void visitNode(AbstractInsnNode node) {
+        switch (node.getType()) {
+            case FIELD_INSN:
+                visitFieldInsnNode((FieldInsnNode) node);
+                break;
+            case INSN:
+                visitInsnNode((InsnNode) node);
+                break;
+            case INVOKE_DYNAMIC_INSN:
+                visitInvokeDynamicInsnNode((InvokeDynamicInsnNode) node);
+                break;
+            case LDC_INSN:
+                visitLdcInsnNode((LdcInsnNode) node);
+                break;
+            case METHOD_INSN:
+                visitMethodInsnNode((MethodInsnNode) node);
+                break;
+            case MULTIANEWARRAY_INSN:
+                visitMultiANewArrayInsnNode((MultiANewArrayInsnNode) node);
+                break;
+            case TYPE_INSN:
+                visitTypeInsnNode((TypeInsnNode) node);
+                break;
+            case VAR_INSN:
+                visitVarInsnNode((VarInsnNode) node);
+                break;
+            case LABEL:
+                visitLabelNode((LabelNode) node);
+                break;
+            case FRAME:
+                visitFrameNode((FrameNode) node);
+                break;
+            case JUMP_INSN:
+            case LOOKUPSWITCH_INSN:
+            case TABLESWITCH_INSN:
+                bytecodeCtr++;
+                endOfBasicBlock(node);
+                break;
+            case INT_INSN:
+                visitIntInsnNode((IntInsnNode) node);
+                break;
+            case IINC_INSN:
+                bytecodeCtr++;
+                break;
+        }
+    }
+
     private void visitTryCatchBlockNode(TryCatchBlockNode n) {
         exceptionHandlers.add(n.handler);
         tryCatchStarts.add(n.start);
@@ -193,8 +208,29 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
         return n;
     }
 
+    /**
+     * Whether to call the profiler from this method. Classes we instrument
+     * from the system classpath (instrumented.java.util.ArrayList and co.)
+     * are not profiled.
+     */
+    private boolean isProfiled() {
+        return profilerEnabled && !className.startsWith("instrumented/");
+    }
+
+    /**
+     * @return the profiler frame id of this method, assigned when it's
+     *         instrumented so the profiler doesn't have to look up names
+     */
+    private int profilerFrameId() {
+        if (profilerFrameId < 0) {
+            profilerFrameId = loader.getFactory().getProfilerFrames()
+                    .getFrameId(className.replaceAll("/", ".") + "." + name);
+        }
+        return profilerFrameId;
+    }
+
     private void addEnterMethodHandler() {
-        if (!profilerEnabled) {
+        if (!isProfiled()) {
             return;
         }
 
@@ -205,28 +241,28 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
                 INVOKESTATIC,
                 "battlecode/instrumenter/inject/RobotMonitor",
                 "enterMethod",
-                "(" + Type.getDescriptor(String.class) + ")V",
+                "(I)V",
                 false
             )
         );
         instructions.insertBefore(
             nextInstruction(instructions.getFirst()),
-            new LdcInsnNode(className.replaceAll("/", ".") + "." + name)
+            new LdcInsnNode(profilerFrameId())
         );
     }
 
     private void addExitMethodHandler(AbstractInsnNode n) {
-        if (!profilerEnabled) {
+        if (!isProfiled()) {
             return;
         }
 
         // call "exitMethod" at every exit point of a method (return, implicit return and throw)
-        instructions.insertBefore(n, new LdcInsnNode(className.replaceAll("/", ".") + "." + name));
+        instructions.insertBefore(n, new LdcInsnNode(profilerFrameId()));
         instructions.insertBefore(n, new MethodInsnNode(
             INVOKESTATIC,
             "battlecode/instrumenter/inject/RobotMonitor",
             "exitMethod",
-            "(" + Type.getDescriptor(String.class) + ")V",
+            "(I)V",
             false
         ));
     }
@@ -341,7 +377,15 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
     }
 
     private void visitInvokeDynamicInsnNode(InvokeDynamicInsnNode n) {
-        // should only be used for creating lambdas in java 8 (not scala)
+        if (n.bsm.getOwner().equals("java/lang/invoke/StringConcatFactory") && visitStringConcat(n)) {
+            return;
+        }
+
+        // Lambdas and method references of player code become instances of
+        // classes generated for them, which we instrument like any other.
+        // The references of n are still checked below.
+        MethodInsnNode lambda = lambdas == null ? null : lambdas.desugar(n);
+
         n.desc = methodDescReference(n.desc);
         for (int i = 0; i < n.bsmArgs.length; i++) {
             final Object arg = n.bsmArgs[i];
@@ -353,6 +397,9 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
                     default -> t;
                 };
             } else if (arg instanceof Handle h) {
+                if (lambdas != null) {
+                    h = lambdas.lambdaBodyHandle(h);
+                }
                 if (checkDisallowed) {
                     checkDisallowedMethod(h.getOwner(), h.getName(), h.getDesc());
                 }
@@ -364,8 +411,11 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
                 // creating lambdas maybe?).
                 // Make sure this is kept up to date with visitMethodInsnNode.
                 // @author James Gilles, in penance.
-                if ((h.getName().equals("hashCode") && h.getDesc().equals("()I") && n.getOpcode() != INVOKESTATIC)
+                // Only references that couldn't be turned into classes get here.
+                if (lambda == null && ((h.getName().equals("hashCode") && h.getDesc().equals("()I") && n.getOpcode() != INVOKESTATIC)
                         || (h.getName().equals("toString") && h.getDesc().equals("()Ljava/lang/String;") && n.getOpcode() != INVOKESTATIC)
+                        || (h.getOwner().equals("java/lang/String") && h.getName().equals("valueOf")
+                            && h.getDesc().equals("(Ljava/lang/Object;)Ljava/lang/String;"))
                         || (h.getOwner().equals("java/util/Random") && h.getName().equals("<init>") && h.getDesc().equals("()V"))
                         || (h.getOwner().equals("java/lang/String") && ((h.getName().equals("<init>") && h.getDesc().equals("([B)V"))
                             || (h.getName().equals("<init>") && h.getDesc().equals("([BII)V"))
@@ -378,7 +428,7 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
                                 || isSuperClass(h.getOwner(), "java/lang/Throwable")))
                         || (h.getName().startsWith(DEBUG_PREFIX) && h.getDesc().endsWith("V") &&
                             loader.getFactory().hasTeamClass(h.getOwner()))
-                        || getMethodData(h.getOwner(), h.getName()) != null) {
+                        || getMethodData(h.getOwner(), h.getName()) != null)) {
 
                     final String owner = h.getOwner().replace("/",".");
 
@@ -408,6 +458,120 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
                 );
             }
         }
+
+        if (lambda != null) {
+            instructions.set(n, lambda);
+            visitMethodInsnNode(lambda);
+        }
+    }
+
+    /**
+     * Replace a string concatenation, which javac compiles to an
+     * invokedynamic of StringConcatFactory, with the StringBuilder chain it
+     * used to compile it to, instrumented like the rest of the method. That
+     * way a concatenation costs the same every time, and each robot doesn't
+     * bootstrap its own.
+     *
+     * @return whether the concatenation was replaced
+     */
+    private boolean visitStringConcat(InvokeDynamicInsnNode n) {
+        final Type[] args = Type.getArgumentTypes(n.desc);
+        final String recipe;
+        if (n.bsm.getName().equals("makeConcatWithConstants")) {
+            recipe = (String) n.bsmArgs[0];
+        } else if (n.bsm.getName().equals("makeConcat")) {
+            recipe = "\u0001".repeat(args.length);
+        } else {
+            return false;
+        }
+
+        InsnList newInsns = new InsnList();
+
+        // The arguments are on the stack, last on top; keep them in locals
+        // the method doesn't use so they can be appended in order
+        int[] locals = new int[args.length];
+        int local = firstFreeLocal;
+        for (int i = 0; i < args.length; i++) {
+            locals[i] = local;
+            local += args[i].getSize();
+        }
+        for (int i = args.length - 1; i >= 0; i--) {
+            newInsns.add(new VarInsnNode(args[i].getOpcode(ISTORE), locals[i]));
+        }
+
+        newInsns.add(new TypeInsnNode(NEW, "java/lang/StringBuilder"));
+        newInsns.add(new InsnNode(DUP));
+        newInsns.add(new MethodInsnNode(INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false));
+
+        // \1 is the next argument, \2 the next constant, anything else itself
+        StringBuilder literal = new StringBuilder();
+        int arg = 0;
+        int constant = 1;
+        for (char c : recipe.toCharArray()) {
+            if (c == '\u0001') {
+                appendLiteral(newInsns, literal);
+                newInsns.add(new VarInsnNode(args[arg].getOpcode(ILOAD), locals[arg]));
+                appendValue(newInsns, args[arg]);
+                arg++;
+            } else if (c == '\u0002') {
+                Object cst = n.bsmArgs[constant++];
+                if (!(cst instanceof String) && !(cst instanceof Number)) {
+                    return false;
+                }
+                literal.append(cst);
+            } else {
+                literal.append(c);
+            }
+        }
+        appendLiteral(newInsns, literal);
+
+        newInsns.add(new MethodInsnNode(INVOKEVIRTUAL, "java/lang/StringBuilder", "toString",
+                "()Ljava/lang/String;", false));
+
+        AbstractInsnNode[] nodes = newInsns.toArray();
+        instructions.insertBefore(n, newInsns);
+        instructions.remove(n);
+        for (AbstractInsnNode node : nodes) {
+            visitNode(node);
+        }
+        return true;
+    }
+
+    private static void appendLiteral(InsnList newInsns, StringBuilder literal) {
+        if (literal.length() > 0) {
+            newInsns.add(new LdcInsnNode(literal.toString()));
+            newInsns.add(new MethodInsnNode(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                    "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false));
+            literal.setLength(0);
+        }
+    }
+
+    private static void appendValue(InsnList newInsns, Type type) {
+        String desc;
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+            case Type.CHAR:
+            case Type.INT:
+            case Type.FLOAT:
+            case Type.LONG:
+            case Type.DOUBLE:
+                desc = type.getDescriptor();
+                break;
+            case Type.BYTE:
+            case Type.SHORT:
+                desc = "I";
+                break;
+            default:
+                if (!type.getDescriptor().equals("Ljava/lang/String;")) {
+                    // as StringConcatFactory does, even for char[]
+                    newInsns.add(new MethodInsnNode(INVOKESTATIC, "java/lang/String", "valueOf",
+                            "(Ljava/lang/Object;)Ljava/lang/String;", false));
+                }
+                desc = "Ljava/lang/String;";
+                break;
+        }
+        newInsns.add(new MethodInsnNode(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                "(" + desc + ")Ljava/lang/StringBuilder;", false));
     }
 
     private void visitMethodInsnNode(MethodInsnNode n) {
@@ -445,6 +609,15 @@ public class InstrumentingMethodVisitor extends MethodNode implements Opcodes {
             return;
         }
 
+        if (n.owner.equals("java/lang/String") && n.name.equals("valueOf")
+                && n.desc.equals("(Ljava/lang/Object;)Ljava/lang/String;")) {
+            bytecodeCtr++;
+            endOfBasicBlock(n);
+            // String.valueOf calls toString, so needs the same treatment
+            n.owner = "battlecode/instrumenter/inject/ObjectMethods";
+            return;
+        }
+
         if (n.owner.equals("java/util/Random") && n.name.equals("<init>") &&
                 n.desc.equals("()V")) {
             instructions.insertBefore(n, new MethodInsnNode(INVOKESTATIC, "battlecode/instrumenter/inject/RobotMonitor", "getRandomSeed", "()J", false));
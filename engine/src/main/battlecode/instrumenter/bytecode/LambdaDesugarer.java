@@ -0,0 +1,547 @@
+package battlecode.instrumenter.bytecode;
+
+import battlecode.instrumenter.InstrumentationException;
+import battlecode.instrumenter.TeamClassLoaderFactory;
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.util.*;
+
+/**
+ * Turns the lambdas and method references of a player class into ordinary
+ * classes when the class is instrumented.
+ *
+ * Left alone, every lambda is an invokedynamic that LambdaMetafactory
+ * bootstraps the first time it runs, spinning a hidden class in the robot's
+ * loader mid-turn; and since that class isn't instrumented, method
+ * references to anything we instrument at the call site can't be allowed.
+ * Instead, each call site gets a class like the anonymous class javac would
+ * have written for it, say Foo$$Lambda$0, that calls the lambda's body or
+ * the referenced method. The class is handed to the team's factory, which
+ * instruments and caches it like any other class of the team; the call site
+ * becomes a call to its static get$Lambda method, which takes the captured
+ * values.
+ *
+ * The lambda classes have to call the private methods javac puts lambda
+ * bodies in, so those methods are made package-private; bodies that use
+ * this are made static, taking it as their first argument, so they can't
+ * be overridden. Call sites that can't be turned into classes, because they
+ * reference methods only their class can call or the lambda is
+ * serializable, are left as they are.
+ *
+ * One is created for each player class that's instrumented.
+ */
+public class LambdaDesugarer implements Opcodes {
+
+    /**
+     * The static method of a lambda class that creates its instances.
+     */
+    public static final String FACTORY_METHOD = "get$Lambda";
+
+    private static final String METAFACTORY = "java/lang/invoke/LambdaMetafactory";
+
+    private final TeamClassLoaderFactory factory;
+    private final String className;
+
+    /**
+     * The classes we've read to check what a lambda may call, by name.
+     */
+    private final Map<String, ClassInfo> classes = new HashMap<>();
+
+    private int lambdaCount;
+
+    /**
+     * @param factory   the factory of the class's team
+     * @param className the class being instrumented
+     */
+    public LambdaDesugarer(TeamClassLoaderFactory factory, String className) {
+        this.factory = factory;
+        this.className = className;
+    }
+
+    /**
+     * @return whether the method is one javac or kotlinc put the body of a
+     *         lambda in, which is changed so lambda classes can call it
+     */
+    public static boolean isLambdaBody(int access, String name) {
+        return (access & ACC_PRIVATE) != 0 && (access & ACC_SYNTHETIC) != 0
+                && ((access & ACC_STATIC) != 0 || name.startsWith("lambda$"));
+    }
+
+    /**
+     * @return the access of a lambda body once it's changed
+     */
+    public static int lambdaBodyAccess(int access, boolean inInterface) {
+        return (access & ~ACC_PRIVATE) | ACC_STATIC | (inInterface ? ACC_PUBLIC : 0);
+    }
+
+    /**
+     * @return the descriptor of a lambda body once it's changed
+     */
+    public static String lambdaBodyDesc(int access, String owner, String desc) {
+        if ((access & ACC_STATIC) != 0) {
+            return desc;
+        }
+        return "(L" + owner + ";" + desc.substring(1);
+    }
+
+    /**
+     * @return a handle to the method, fixed up if it's a lambda body that
+     *         has been made static
+     */
+    public Handle lambdaBodyHandle(Handle h) {
+        Integer access = lambdaBodyAccess(h);
+        if (access == null || (access & ACC_STATIC) != 0) {
+            return h;
+        }
+        return new Handle(H_INVOKESTATIC, h.getOwner(), h.getName(),
+                lambdaBodyDesc(access, h.getOwner(), h.getDesc()), h.isInterface());
+    }
+
+    /**
+     * @return the original access of a lambda body the handle refers to, or
+     *         null if it refers to something else
+     */
+    private Integer lambdaBodyAccess(Handle h) {
+        if (!factory.hasTeamClass(h.getOwner())) {
+            return null;
+        }
+        ClassInfo owner = classInfo(h.getOwner());
+        Integer access = owner == null ? null : owner.methods.get(h.getName() + h.getDesc());
+        return access != null && isLambdaBody(access, h.getName()) ? access : null;
+    }
+
+    /**
+     * Generate a class for a lambda or method reference.
+     *
+     * @param n the invokedynamic creating it, before its references are
+     *          replaced
+     * @return the call to replace it with, or null if it has to stay an
+     *         invokedynamic
+     */
+    public MethodInsnNode desugar(InvokeDynamicInsnNode n) {
+        if (!n.bsm.getOwner().equals(METAFACTORY)) {
+            return null;
+        }
+
+        Object[] args = n.bsmArgs;
+        List<String> interfaces = new ArrayList<>();
+        interfaces.add(Type.getReturnType(n.desc).getInternalName());
+        List<Type> methodTypes = new ArrayList<>();
+        methodTypes.add((Type) args[0]);
+
+        if (n.bsm.getName().equals("altMetafactory")) {
+            int flags = (Integer) args[3];
+            if ((flags & LambdaMetafactory.FLAG_SERIALIZABLE) != 0) {
+                return null;
+            }
+            int i = 4;
+            if ((flags & LambdaMetafactory.FLAG_MARKERS) != 0) {
+                int count = (Integer) args[i++];
+                for (int j = 0; j < count; j++) {
+                    interfaces.add(((Type) args[i++]).getInternalName());
+                }
+            }
+            if ((flags & LambdaMetafactory.FLAG_BRIDGES) != 0) {
+                int count = (Integer) args[i++];
+                for (int j = 0; j < count; j++) {
+                    Type bridge = (Type) args[i++];
+                    if (!methodTypes.contains(bridge)) {
+                        methodTypes.add(bridge);
+                    }
+                }
+            }
+        } else if (!n.bsm.getName().equals("metafactory")) {
+            return null;
+        }
+
+        Handle target = target((Handle) args[1]);
+        if (target == null) {
+            return null;
+        }
+
+        String lambdaName;
+        do {
+            lambdaName = className + "$$Lambda$" + lambdaCount++;
+        } while (factory.hasTeamClass(lambdaName));
+
+        byte[] classBytes;
+        try {
+            classBytes = generate(lambdaName, n, interfaces, methodTypes, (Type) args[2], target);
+        } catch (IllegalArgumentException e) {
+            // a conversion LambdaMetafactory would reject too
+            return null;
+        }
+        factory.addLambdaClass(lambdaName, classBytes);
+
+        return new MethodInsnNode(INVOKESTATIC, lambdaName, FACTORY_METHOD, n.desc, false);
+    }
+
+    /**
+     * @return the method a lambda class should call to implement the
+     *         lambda, or null if a lambda class can't call it
+     */
+    private Handle target(Handle impl) {
+        if (impl.getOwner().startsWith("[")) {
+            return null;
+        }
+        if (lambdaBodyAccess(impl) != null) {
+            return samePackage(impl.getOwner()) ? lambdaBodyHandle(impl) : null;
+        }
+
+        switch (impl.getTag()) {
+            case H_INVOKESTATIC:
+            case H_INVOKEVIRTUAL:
+            case H_INVOKEINTERFACE:
+            case H_NEWINVOKESPECIAL:
+                break;
+            default:
+                // super:: and private methods
+                return null;
+        }
+
+        ClassInfo owner = classInfo(impl.getOwner());
+        if (owner == null || !canAccess(impl.getOwner(), owner.access)) {
+            return null;
+        }
+
+        // find where the method is declared, as the JVM would
+        String key = impl.getName() + impl.getDesc();
+        Deque<String> toSearch = new ArrayDeque<>();
+        Set<String> searched = new HashSet<>();
+        toSearch.add(impl.getOwner());
+        while (!toSearch.isEmpty()) {
+            String name = toSearch.poll();
+            ClassInfo info = classInfo(name);
+            if (info == null || !searched.add(name)) {
+                continue;
+            }
+            Integer access = info.methods.get(key);
+            if (access != null) {
+                return canAccess(name, access) ? impl : null;
+            }
+            if (impl.getTag() == H_NEWINVOKESPECIAL) {
+                // constructors aren't inherited
+                return null;
+            }
+            if (info.superName != null) {
+                toSearch.addFirst(info.superName);
+            }
+            Collections.addAll(toSearch, info.interfaces);
+        }
+        return null;
+    }
+
+    /**
+     * @return whether a lambda class can use a class or member with the
+     *         access declared in the class
+     */
+    private boolean canAccess(String declaringClass, int access) {
+        if ((access & ACC_PUBLIC) != 0) {
+            return true;
+        }
+        if ((access & ACC_PRIVATE) != 0) {
+            return false;
+        }
+        // package-private, or protected, which lambda classes can't use
+        // through subclassing
+        return samePackage(declaringClass);
+    }
+
+    private boolean samePackage(String otherClass) {
+        return packageOf(otherClass).equals(packageOf(className));
+    }
+
+    private static String packageOf(String name) {
+        int slash = name.lastIndexOf('/');
+        return slash < 0 ? "" : name.substring(0, slash);
+    }
+
+    /**
+     * @return the class, or null if it can't be read
+     */
+    private ClassInfo classInfo(String name) {
+        if (classes.containsKey(name)) {
+            return classes.get(name);
+        }
+        ClassInfo info;
+        try {
+            info = new ClassInfo();
+            TeamClassLoaderFactory.teamOrSystemReader(factory, name)
+                    .accept(info, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (InstrumentationException e) {
+            info = null;
+        }
+        classes.put(name, info);
+        return info;
+    }
+
+    /**
+     * What we need to know of a class to check what a lambda may call.
+     */
+    private static class ClassInfo extends ClassVisitor {
+        private int access;
+        private String superName;
+        private String[] interfaces;
+        private final Map<String, Integer> methods = new HashMap<>();
+
+        ClassInfo() {
+            super(ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature,
+                          String superName, String[] interfaces) {
+            this.access = access;
+            this.superName = superName;
+            this.interfaces = interfaces;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc,
+                                         String signature, String[] exceptions) {
+            methods.put(name + desc, access);
+            return null;
+        }
+    }
+
+    // *********************************
+    // ****** GENERATING CLASSES *******
+    // *********************************
+
+    /**
+     * @return the bytes of a lambda class, before it's instrumented
+     * @throws IllegalArgumentException if the lambda's types can't be
+     *                                  converted to the target's
+     */
+    private static byte[] generate(String lambdaName, InvokeDynamicInsnNode n, List<String> interfaces,
+                                   List<Type> methodTypes, Type instantiatedType, Handle target) {
+        Type[] captured = Type.getArgumentTypes(n.desc);
+        String lambdaDesc = Type.getObjectType(lambdaName).getDescriptor();
+        String constructorDesc = Type.getMethodDescriptor(Type.VOID_TYPE, captured);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, lambdaName, null, "java/lang/Object",
+                interfaces.toArray(new String[0]));
+
+        for (int i = 0; i < captured.length; i++) {
+            cw.visitField(ACC_PRIVATE | ACC_FINAL, "arg$" + i, captured[i].getDescriptor(), null, null).visitEnd();
+        }
+
+        MethodVisitor mv = cw.visitMethod(ACC_PRIVATE, "<init>", constructorDesc, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        int local = 1;
+        for (int i = 0; i < captured.length; i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(captured[i].getOpcode(ILOAD), local);
+            mv.visitFieldInsn(PUTFIELD, lambdaName, "arg$" + i, captured[i].getDescriptor());
+            local += captured[i].getSize();
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // Like LambdaMetafactory, lambdas that capture nothing share an instance
+        if (captured.length == 0) {
+            cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "INSTANCE", lambdaDesc, null, null).visitEnd();
+            mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+            mv.visitCode();
+            mv.visitTypeInsn(NEW, lambdaName);
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, lambdaName, "<init>", "()V", false);
+            mv.visitFieldInsn(PUTSTATIC, lambdaName, "INSTANCE", lambdaDesc);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        mv = cw.visitMethod(ACC_STATIC | ACC_SYNTHETIC, FACTORY_METHOD, n.desc, null, null);
+        mv.visitCode();
+        if (captured.length == 0) {
+            mv.visitFieldInsn(GETSTATIC, lambdaName, "INSTANCE", lambdaDesc);
+        } else {
+            mv.visitTypeInsn(NEW, lambdaName);
+            mv.visitInsn(DUP);
+            local = 0;
+            for (Type type : captured) {
+                mv.visitVarInsn(type.getOpcode(ILOAD), local);
+                local += type.getSize();
+            }
+            mv.visitMethodInsn(INVOKESPECIAL, lambdaName, "<init>", constructorDesc, false);
+        }
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        for (Type methodType : methodTypes) {
+            generateMethod(cw, lambdaName, n.name, methodType, instantiatedType, captured, target);
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Generate the interface method of a lambda class, or a bridge to it,
+     * which calls the target with the captured values and its arguments.
+     */
+    private static void generateMethod(ClassWriter cw, String lambdaName, String name, Type methodType,
+                                       Type instantiatedType, Type[] captured, Handle target) {
+        List<Type> params = new ArrayList<>();
+        if (target.getTag() != H_INVOKESTATIC && target.getTag() != H_NEWINVOKESPECIAL) {
+            params.add(Type.getObjectType(target.getOwner()));
+        }
+        Collections.addAll(params, Type.getArgumentTypes(target.getDesc()));
+        Type targetReturn = target.getTag() == H_NEWINVOKESPECIAL
+                ? Type.getObjectType(target.getOwner())
+                : Type.getReturnType(target.getDesc());
+
+        Type[] erased = methodType.getArgumentTypes();
+        Type[] instantiated = instantiatedType.getArgumentTypes();
+        if (captured.length + erased.length != params.size() || erased.length != instantiated.length) {
+            throw new IllegalArgumentException("Wrong number of arguments");
+        }
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, name, methodType.getDescriptor(), null, null);
+        mv.visitCode();
+        if (target.getTag() == H_NEWINVOKESPECIAL) {
+            mv.visitTypeInsn(NEW, target.getOwner());
+            mv.visitInsn(DUP);
+        }
+        int param = 0;
+        for (int i = 0; i < captured.length; i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, lambdaName, "arg$" + i, captured[i].getDescriptor());
+            convert(mv, captured[i], params.get(param++));
+        }
+        int local = 1;
+        for (int i = 0; i < erased.length; i++) {
+            mv.visitVarInsn(erased[i].getOpcode(ILOAD), local);
+            local += erased[i].getSize();
+            convert(mv, erased[i], instantiated[i]);
+            convert(mv, instantiated[i], params.get(param++));
+        }
+
+        switch (target.getTag()) {
+            case H_INVOKESTATIC:
+                mv.visitMethodInsn(INVOKESTATIC, target.getOwner(), target.getName(), target.getDesc(),
+                        target.isInterface());
+                break;
+            case H_INVOKEVIRTUAL:
+                mv.visitMethodInsn(INVOKEVIRTUAL, target.getOwner(), target.getName(), target.getDesc(), false);
+                break;
+            case H_INVOKEINTERFACE:
+                mv.visitMethodInsn(INVOKEINTERFACE, target.getOwner(), target.getName(), target.getDesc(), true);
+                break;
+            default:
+                mv.visitMethodInsn(INVOKESPECIAL, target.getOwner(), "<init>", target.getDesc(), false);
+                break;
+        }
+
+        Type returnType = methodType.getReturnType();
+        if (returnType.getSort() == Type.VOID) {
+            if (targetReturn.getSize() > 0) {
+                mv.visitInsn(targetReturn.getSize() == 2 ? POP2 : POP);
+            }
+        } else if (targetReturn.getSort() == Type.VOID) {
+            throw new IllegalArgumentException("Lambda returns nothing");
+        } else {
+            convert(mv, targetReturn, instantiatedType.getReturnType());
+            convert(mv, instantiatedType.getReturnType(), returnType);
+        }
+        mv.visitInsn(returnType.getOpcode(IRETURN));
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static final String[] BOXES = new String[Type.DOUBLE + 1];
+
+    static {
+        BOXES[Type.BOOLEAN] = "java/lang/Boolean";
+        BOXES[Type.CHAR] = "java/lang/Character";
+        BOXES[Type.BYTE] = "java/lang/Byte";
+        BOXES[Type.SHORT] = "java/lang/Short";
+        BOXES[Type.INT] = "java/lang/Integer";
+        BOXES[Type.FLOAT] = "java/lang/Float";
+        BOXES[Type.LONG] = "java/lang/Long";
+        BOXES[Type.DOUBLE] = "java/lang/Double";
+    }
+
+    private static boolean isPrimitive(Type type) {
+        return type.getSort() >= Type.BOOLEAN && type.getSort() <= Type.DOUBLE;
+    }
+
+    /**
+     * @return the primitive type a class boxes, or null if it isn't a box
+     */
+    private static Type unboxed(Type type) {
+        for (int sort = Type.BOOLEAN; sort <= Type.DOUBLE; sort++) {
+            if (type.getInternalName().equals(BOXES[sort])) {
+                return Type.getType("ZCBSIFJD".substring(sort - 1, sort));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Convert the value on top of the stack between types, the way
+     * LambdaMetafactory adapts a lambda's types to its target's: by casting,
+     * boxing, unboxing and widening.
+     */
+    private static void convert(MethodVisitor mv, Type from, Type to) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (!isPrimitive(from) && !isPrimitive(to)) {
+            if (!to.getInternalName().equals("java/lang/Object")) {
+                mv.visitTypeInsn(CHECKCAST, to.getInternalName());
+            }
+        } else if (isPrimitive(from) && isPrimitive(to)) {
+            widen(mv, from, to);
+        } else if (isPrimitive(from)) {
+            // the target takes a supertype of the box
+            String box = BOXES[from.getSort()];
+            mv.visitMethodInsn(INVOKESTATIC, box, "valueOf",
+                    "(" + from.getDescriptor() + ")L" + box + ";", false);
+        } else {
+            Type primitive = unboxed(from);
+            String box = from.getInternalName();
+            if (primitive == null) {
+                primitive = to;
+                box = BOXES[to.getSort()];
+                mv.visitTypeInsn(CHECKCAST, box);
+            }
+            mv.visitMethodInsn(INVOKEVIRTUAL, box, primitive.getClassName() + "Value",
+                    "()" + primitive.getDescriptor(), false);
+            widen(mv, primitive, to);
+        }
+    }
+
+    private static void widen(MethodVisitor mv, Type from, Type to) {
+        int f = from.getSort();
+        int t = to.getSort();
+        boolean fromInt = f == Type.CHAR || f == Type.BYTE || f == Type.SHORT || f == Type.INT;
+        if (f == t || (fromInt && t == Type.INT) || (f == Type.BYTE && t == Type.SHORT)) {
+            return;
+        }
+        if (fromInt && t == Type.LONG) {
+            mv.visitInsn(I2L);
+        } else if (fromInt && t == Type.FLOAT) {
+            mv.visitInsn(I2F);
+        } else if (fromInt && t == Type.DOUBLE) {
+            mv.visitInsn(I2D);
+        } else if (f == Type.LONG && t == Type.FLOAT) {
+            mv.visitInsn(L2F);
+        } else if (f == Type.LONG && t == Type.DOUBLE) {
+            mv.visitInsn(L2D);
+        } else if (f == Type.FLOAT && t == Type.DOUBLE) {
+            mv.visitInsn(F2D);
+        } else {
+            throw new IllegalArgumentException("Can't widen " + from + " to " + to);
+        }
+    }
+}
@@ -53,6 +53,10 @@ public class ObjectMethods {
             return o.toString();
     }
 
+    static public String valueOf(Object o) throws NoSuchMethodException {
+        return o == null ? "null" : toString(o);
+    }
+
     static private boolean usesObjectHashCode(Class<?> cl) throws NoSuchMethodException {
         Boolean b = usesOHC.get(cl);
         if (b == null) {
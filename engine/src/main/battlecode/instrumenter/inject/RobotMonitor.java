@@ -277,12 +277,12 @@ public final class RobotMonitor {
      *
      * THIS METHOD IS CALLED BY THE INSTRUMENTER.
      *
-     * @param methodName the name of the method that is being entered
+     * @param frameId the profiler frame id of the method that is being entered
      */
     @SuppressWarnings("unused")
-    public static void enterMethod(String methodName) {
+    public static void enterMethod(int frameId) {
         if (debugLevel == 0 && profiler != null) {
-            profiler.enterMethod(methodName);
+            profiler.enterMethod(frameId);
         }
     }
 
@@ -291,12 +291,12 @@ public final class RobotMonitor {
      *
      * THIS METHOD IS CALLED BY THE INSTRUMENTER.
      *
-     * @param methodName the name of the method that is being exited
+     * @param frameId the profiler frame id of the method that is being exited
      */
     @SuppressWarnings("unused")
-    public static void exitMethod(String methodName) {
+    public static void exitMethod(int frameId) {
         if (debugLevel == 0 && profiler != null) {
-            profiler.exitMethod(methodName);
+            profiler.exitMethod(frameId);
         }
     }
 
@@ -0,0 +1,156 @@
+package battlecode.instrumenter.profiler;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+
+/**
+ * An aggregated call tree of all robots of a single type on a team.
+ * <p>
+ * Every node is a distinct path of method calls, starting from the method a
+ * robot's thread entered first. Nodes keep the number of calls along their
+ * path and the bytecodes spent in them, so unlike the event trace recorded by
+ * the regular profiler, the size of a call tree does not depend on how long
+ * a match runs. It is further capped at {@link #MAX_NODES} nodes; calls along
+ * paths that don't fit anymore are attributed to the deepest ancestor that
+ * did.
+ * <p>
+ * Node 0 is a synthetic root that isn't part of the output.
+ */
+public class CallTree {
+    /**
+     * The maximum number of nodes in a single tree. Nodes take about 40 bytes
+     * each, including the child lookup table, so this is a rough maximum of
+     * 300KB per robot type per team.
+     */
+    public static final int MAX_NODES = 8192;
+
+    /**
+     * The parent of the entry points of the tree.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * Returned instead of a node when the tree is full.
+     */
+    public static final int NONE = -1;
+
+    private final TIntArrayList parents = new TIntArrayList();
+    private final TIntArrayList frames = new TIntArrayList();
+    private final TIntArrayList calls = new TIntArrayList();
+    private final TLongArrayList totalBytecodes = new TLongArrayList();
+
+    /**
+     * Maps (parent node, frame id) to the child node.
+     */
+    private final TLongIntHashMap children = new TLongIntHashMap(16, 0.5f, -1L, NONE);
+
+    public CallTree() {
+        parents.add(NONE);
+        frames.add(NONE);
+        calls.add(0);
+        totalBytecodes.add(0);
+    }
+
+    /**
+     * Record a call.
+     *
+     * @param parent the node of the calling method, {@link #ROOT} if there is
+     *               none, or {@link #NONE} if the caller isn't in the tree
+     * @param frameId the frame id of the called method
+     * @return the node of the called method, or {@link #NONE} if it isn't
+     *         in the tree
+     */
+    public int enter(int parent, int frameId) {
+        if (parent == NONE) {
+            return NONE;
+        }
+
+        long key = ((long) parent << 32) | (frameId & 0xFFFFFFFFL);
+        int node = children.get(key);
+        if (node == NONE) {
+            if (parents.size() >= MAX_NODES) {
+                return NONE;
+            }
+            node = parents.size();
+            parents.add(parent);
+            frames.add(frameId);
+            calls.add(0);
+            totalBytecodes.add(0);
+            children.put(key, node);
+        }
+
+        calls.setQuick(node, calls.getQuick(node) + 1);
+        return node;
+    }
+
+    /**
+     * Record the return from a call.
+     *
+     * @param node the node returned by {@link #enter(int, int)}
+     * @param bytecodes the bytecodes spent in the call, including everything
+     *                  it called
+     */
+    public void exit(int node, long bytecodes) {
+        if (node == NONE) {
+            return;
+        }
+        totalBytecodes.setQuick(node, totalBytecodes.getQuick(node) + bytecodes);
+    }
+
+    /**
+     * @return the number of nodes in the tree, excluding the root
+     */
+    public int size() {
+        return parents.size() - 1;
+    }
+
+    /**
+     * Nodes are numbered in the order they were created, excluding the root,
+     * so parents always come before their children.
+     *
+     * @return the parent of every node, -1 for entry points
+     */
+    public int[] getParents() {
+        int[] result = new int[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = parents.getQuick(i + 1) - 1;
+        }
+        return result;
+    }
+
+    /**
+     * @return the frame id of every node
+     */
+    public int[] getFrameIds() {
+        return frames.toArray(1, size());
+    }
+
+    /**
+     * @return the number of calls of every node
+     */
+    public int[] getCalls() {
+        return calls.toArray(1, size());
+    }
+
+    /**
+     * @return the bytecodes spent in every node and its children
+     */
+    public long[] getTotalBytecodes() {
+        return totalBytecodes.toArray(1, size());
+    }
+
+    /**
+     * @return the bytecodes spent in every node itself
+     */
+    public long[] getSelfBytecodes() {
+        long[] result = getTotalBytecodes();
+        for (int i = 2; i < parents.size(); i++) {
+            int parent = parents.getQuick(i);
+            if (parent != ROOT) {
+                result[parent - 1] -= totalBytecodes.getQuick(i);
+            }
+        }
+        return result;
+    }
+}
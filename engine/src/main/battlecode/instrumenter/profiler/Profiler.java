@@ -1,9 +1,7 @@
 package battlecode.instrumenter.profiler;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.List;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.stack.array.TIntArrayStack;
 
 /**
  * The Profiler class profiles bytecode usage in a sandboxed robot player.
@@ -16,19 +14,41 @@ import java.util.List;
  * which is used in the client to show the profiling data. See
  * https://github.com/jlfwong/speedscope/wiki/Importing-from-custom-sources
  * for more information on speedscope's file format.
+ * <p>
+ * Events are stored packed into longs, see {@link ProfilerEvent}.
+ * <p>
+ * If the profiler is given a {@link CallTree}, no events are stored at all;
+ * calls are aggregated into the tree as they return instead.
  */
 public class Profiler {
     private final ProfilerCollection collection;
     private final String name;
+    private final CallTree callTree;
 
     private int bytecodeCounter = 0;
 
-    private final List<ProfilerEvent> events = new ArrayList<>();
-    private final Deque<Integer> openFrameIds = new ArrayDeque<>();
+    private final TLongArrayList events = new TLongArrayList();
+    private final TIntArrayStack openFrameIds = new TIntArrayStack();
+
+    /**
+     * The call tree nodes of the open methods and the value of the bytecode
+     * counter when they were entered. Only used with a call tree.
+     */
+    private final TIntArrayStack openNodes = new TIntArrayStack();
+    private final TIntArrayStack openNodeStarts = new TIntArrayStack();
 
     public Profiler(ProfilerCollection collection, String name) {
+        this(collection, name, null);
+    }
+
+    /**
+     * @param callTree the call tree to aggregate calls into, or null to
+     *                 record events
+     */
+    public Profiler(ProfilerCollection collection, String name, CallTree callTree) {
         this.collection = collection;
         this.name = name;
+        this.callTree = callTree;
     }
 
     public void incrementBytecodes(int amount) {
@@ -39,47 +59,72 @@ public class Profiler {
         }
     }
 
-    public void enterMethod(String methodName) {
-        if (!collection.isRecordingEvents()) {
+    public void enterMethod(int frameId) {
+        if (callTree != null) {
+            int parent = openNodes.size() == 0 ? CallTree.ROOT : openNodes.peek();
+            openNodes.push(callTree.enter(parent, frameId));
+            openNodeStarts.push(bytecodeCounter);
             return;
         }
 
-        if (methodName.startsWith("instrumented.")) {
+        if (!collection.isRecordingEvents()) {
             return;
         }
 
         collection.recordEvent();
 
-        int frameId = collection.getFrameId(methodName);
-
-        events.add(new ProfilerEvent(ProfilerEventType.OPEN, bytecodeCounter, frameId));
-        openFrameIds.addFirst(frameId);
+        events.add(ProfilerEvent.pack(ProfilerEventType.OPEN, bytecodeCounter, frameId));
+        openFrameIds.push(frameId);
     }
 
-    public void exitMethod(String methodName) {
-        if (openFrameIds.isEmpty() && !collection.isRecordingEvents()) {
+    public void exitMethod(int frameId) {
+        if (callTree != null) {
+            if (openNodes.size() > 0) {
+                exitNode();
+            }
             return;
         }
 
-        if (methodName.startsWith("instrumented.")) {
+        if (openFrameIds.size() == 0) {
             return;
         }
 
-        events.add(new ProfilerEvent(ProfilerEventType.CLOSE, bytecodeCounter, collection.getFrameId(methodName)));
+        events.add(ProfilerEvent.pack(ProfilerEventType.CLOSE, bytecodeCounter, frameId));
         openFrameIds.pop();
     }
 
     public void exitOpenMethods() {
-        while (!openFrameIds.isEmpty()) {
-            events.add(new ProfilerEvent(ProfilerEventType.CLOSE, bytecodeCounter, openFrameIds.pop()));
+        while (openNodes.size() > 0) {
+            exitNode();
+        }
+
+        while (openFrameIds.size() > 0) {
+            events.add(ProfilerEvent.pack(ProfilerEventType.CLOSE, bytecodeCounter, openFrameIds.pop()));
         }
     }
 
+    private void exitNode() {
+        int node = openNodes.pop();
+        int start = openNodeStarts.pop();
+        callTree.exit(node, bytecodeCounter - start);
+    }
+
     public String getName() {
         return name;
     }
 
-    public List<ProfilerEvent> getEvents() {
-        return events;
+    /**
+     * @return the number of recorded events
+     */
+    public int getEventCount() {
+        return events.size();
+    }
+
+    /**
+     * @param index the index of the event
+     * @return the packed event, see {@link ProfilerEvent}
+     */
+    public long getEvent(int index) {
+        return events.get(index);
     }
 }
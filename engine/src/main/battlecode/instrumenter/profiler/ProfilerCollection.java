@@ -1,34 +1,65 @@
 package battlecode.instrumenter.profiler;
 
+import battlecode.common.UnitType;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A ProfilerCollection is a collection of all Profiler instances for a team for a match.
+ * <p>
+ * When aggregating call trees, the profilers aren't kept; instead there is
+ * one {@link CallTree} per robot type, shared by all robots of that type.
  */
 public class ProfilerCollection {
     /**
-     * We record a maximum of 2,000,000 events per team per match.
-     * This equals a rough maximum of 50MB of profiling data per match,
-     * which should prevent the client from hanging when opening a replay
-     * of a match in which profiling was enabled.
+     * We record a maximum of 10,000,000 events per team per match.
+     * Events take 8 bytes each in memory, so this is a rough maximum of
+     * 80MB of profiling data per team in the engine, and about 250MB per
+     * team in an uncompressed replay.
      */
-    private static final int MAX_EVENTS_TO_RECORD = 2_000_000;
+    private static final int MAX_EVENTS_TO_RECORD = 10_000_000;
 
     private List<Profiler> profilers = new ArrayList<>();
 
-    private List<String> frames = new ArrayList<>();
-    private Map<String, Integer> frameIds = new HashMap<>();
+    private final ProfilerFrames frames;
+
+    /**
+     * Null if events are recorded instead.
+     */
+    private final Map<UnitType, CallTree> callTrees;
 
     private int recordedEvents = 0;
 
-    public Profiler createProfiler(int robotId) {
+    /**
+     * @param frames the frames of the team's instrumented code
+     */
+    public ProfilerCollection(ProfilerFrames frames) {
+        this(frames, false);
+    }
+
+    /**
+     * @param frames the frames of the team's instrumented code
+     * @param aggregateCallTrees whether to aggregate call trees per robot type
+     *                           instead of recording events per robot
+     */
+    public ProfilerCollection(ProfilerFrames frames, boolean aggregateCallTrees) {
+        this.frames = frames;
+        this.callTrees = aggregateCallTrees ? new EnumMap<>(UnitType.class) : null;
+    }
+
+    public Profiler createProfiler(int robotId, UnitType type) {
         // The name has to be display-friendly
         String name = String.format("#%s", robotId);
 
+        if (callTrees != null) {
+            // All levels of a tower share a tree
+            CallTree callTree = callTrees.computeIfAbsent(type.getBaseType(), t -> new CallTree());
+            return new Profiler(this, name, callTree);
+        }
+
         Profiler profiler = new Profiler(this, name);
         profilers.add(profiler);
 
@@ -36,20 +67,19 @@ public class ProfilerCollection {
     }
 
     public List<String> getFrames() {
-        return frames;
+        return frames.getFrames();
     }
 
     public List<Profiler> getProfilers() {
         return profilers;
     }
 
-    public int getFrameId(String methodName) {
-        if (!frameIds.containsKey(methodName)) {
-            frames.add(methodName);
-            frameIds.put(methodName, frames.size() - 1);
-        }
-
-        return frameIds.get(methodName);
+    /**
+     * @return the call trees per robot type, empty if call trees aren't
+     *         being aggregated
+     */
+    public Map<UnitType, CallTree> getCallTrees() {
+        return callTrees != null ? callTrees : new EnumMap<>(UnitType.class);
     }
 
     public void recordEvent() {
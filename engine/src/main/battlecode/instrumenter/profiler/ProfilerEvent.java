@@ -1,25 +1,35 @@
 package battlecode.instrumenter.profiler;
 
-public class ProfilerEvent {
-    private ProfilerEventType type;
-    private int at;
-    private int frameId;
+/**
+ * Profiler events are packed into a single long so a profile is just a
+ * growable array of primitives:
+ * <pre>
+ *   bit  63     : 1 for an open event, 0 for a close event
+ *   bits 32..62 : the frame id
+ *   bits  0..31 : the bytecode counter at the time of the event
+ * </pre>
+ */
+public final class ProfilerEvent {
+    private static final long OPEN_BIT = 1L << 63;
+    private static final long FRAME_MASK = 0x7FFF_FFFFL;
+    private static final long AT_MASK = 0xFFFF_FFFFL;
 
-    public ProfilerEvent(ProfilerEventType type, int at, int frameId) {
-        this.type = type;
-        this.at = at;
-        this.frameId = frameId;
+    private ProfilerEvent() {}
+
+    public static long pack(ProfilerEventType type, int at, int frameId) {
+        long event = ((frameId & FRAME_MASK) << 32) | (at & AT_MASK);
+        return type == ProfilerEventType.OPEN ? event | OPEN_BIT : event;
     }
 
-    public ProfilerEventType getType() {
-        return type;
+    public static ProfilerEventType getType(long event) {
+        return (event & OPEN_BIT) != 0 ? ProfilerEventType.OPEN : ProfilerEventType.CLOSE;
     }
 
-    public int getAt() {
-        return at;
+    public static int getAt(long event) {
+        return (int) (event & AT_MASK);
     }
 
-    public int getFrameId() {
-        return frameId;
+    public static int getFrameId(long event) {
+        return (int) ((event >>> 32) & FRAME_MASK);
     }
 }
@@ -0,0 +1,42 @@
+package battlecode.instrumenter.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The method names ("frames") that can show up in a team's profiles.
+ * <p>
+ * Frame ids are handed out while player code is instrumented, so the
+ * instrumented code can pass a plain int to RobotMonitor instead of a method
+ * name that has to be looked up on every call. There is one of these per
+ * team, living as long as the team's instrumented class cache does.
+ */
+public class ProfilerFrames {
+    private final List<String> frames = new ArrayList<>();
+    private final Map<String, Integer> frameIds = new HashMap<>();
+
+    /**
+     * @param methodName the fully qualified name of a method
+     * @return the id of the method's frame, creating one if needed
+     */
+    public synchronized int getFrameId(String methodName) {
+        Integer frameId = frameIds.get(methodName);
+        if (frameId == null) {
+            frameId = frames.size();
+            frames.add(methodName);
+            frameIds.put(methodName, frameId);
+        }
+
+        return frameId;
+    }
+
+    /**
+     * @return the method names, indexed by frame id
+     */
+    public synchronized List<String> getFrames() {
+        return Collections.unmodifiableList(new ArrayList<>(frames));
+    }
+}
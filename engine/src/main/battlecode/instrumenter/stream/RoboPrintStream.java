@@ -2,247 +2,93 @@ package battlecode.instrumenter.stream;
 
 import battlecode.common.Team;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 
 /**
- * RoboPrintStream is a wrapper for System.out that prepends a string identifying the current robot to
- * all outputted strings.  Also, RoboPrintStream will silence all output if the robot should be silenced.
+ * RoboPrintStream is a wrapper for System.out that writes a header identifying the current robot
+ * before the first output of each of its turns.
+ *
+ * Output is encoded straight into the underlying stream, usually the team's RobotLog buffer, without
+ * building a string for every call.
  *
  * @author adamd
  */
-@SuppressWarnings("unused")
 public class RoboPrintStream extends PrintStream {
 
-    private final LimitedPrintStream real;
-
-    private boolean headerThisRound;
-    private Team team;
-    private int id;
-    private int round;
-
-    private boolean writeToSystemOut;
-
-    // if maxOutputBytes is -1, then it is treated as no limit
-    public RoboPrintStream(OutputStream robotOut, boolean writeToSystemOut, int maxOutputBytes) throws UnsupportedEncodingException {
-        super(SilencedPrintStream.theInstance());
-        this.real = new LimitedPrintStream(robotOut, true, "UTF-8", maxOutputBytes);
-        this.headerThisRound = false;
-        this.writeToSystemOut = writeToSystemOut;
-    }
-
-    //************************
-    //*** PRINT METHODS ***
-    //************************
-
-    public void print(boolean b) {
-        String header = getHeader();
-        real.print(header + b);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + b);
-    }
-
-    public void print(char c) {
-        String header = getHeader();
-        real.print(header + c);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + c);
-    }
-
-    public void print(char[] s) {
-        String header = getHeader();
-        real.print(header + s);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + s);
-    }
-
-    public void print(double d) {
-        String header = getHeader();
-        real.print(header + d);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + d);
-    }
-
-    public void print(float f) {
-        String header = getHeader();
-        real.print(header + f);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + f);
-    }
-
-    public void print(int i) {
-        String header = getHeader();
-        real.print(header + i);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + i);
-    }
-
-    public void print(long l) {
-        String header = getHeader();
-        real.print(header + l);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + l);
-    }
-
-    public void print(Object obj) {
-        String header = getHeader();
-        real.print(header + obj);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + obj);
-    }
-
-    public void print(String s) {
-        String header = getHeader();
-        real.print(header + s);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + s);
-    }
-
-    //***************************
-    //*** PRINTLN METHODS ***
-    //***************************
-
-    public void println(boolean b) {
-        String header = getHeader();
-        real.println(header + b);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + b);
-    }
-
-    public void println(char c) {
-        String header = getHeader();
-        real.println(header + c);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + c);
-    }
-
-    public void println(char[] s) {
-        String header = getHeader();
-        real.println(header + s);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + s);
-    }
+    /**
+     * Writes the header before the first bytes of a turn.
+     */
+    private static class HeaderStream extends OutputStream {
+        private final OutputStream out;
 
-    public void println(double d) {
-        String header = getHeader();
-        real.println(header + d);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + d);
-    }
+        private Team team;
+        private int id;
+        private int round;
+        private boolean headerWritten = true;
 
-    public void println(float f) {
-        String header = getHeader();
-        real.println(header + f);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + f);
-    }
+        HeaderStream(OutputStream out) {
+            this.out = out;
+        }
 
-    public void println(int i) {
-        String header = getHeader();
-        real.println(header + i);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + i);
-    }
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                headerWritten = true;
+                out.write(("[" + team + ": #" + id + "@" + round + "] ").getBytes(StandardCharsets.UTF_8));
+            }
+        }
 
-    public void println(long l) {
-        String header = getHeader();
-        real.println(header + l);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + l);
-    }
+        @Override
+        public void write(int b) throws IOException {
+            writeHeader();
+            out.write(b);
+        }
 
-    public void println(Object obj) {
-        String header = getHeader();
-        real.println(header + obj);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + obj);
-    }
-
-    public void println(String s) {
-        String header = getHeader();
-        real.println(header + s);
-        if (this.writeToSystemOut) java.lang.System.out.println(header + s);
-    }
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            writeHeader();
+            out.write(b, off, len);
+        }
 
-    public void println() {
-        String header = getHeader();
-        real.println(header);
-        if (this.writeToSystemOut) java.lang.System.out.println(header);
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
     }
 
+    private final HeaderStream headers;
 
-    //*************************
-    //*** MISCELLANEOUS ***
-    //*************************
-
-    public PrintStream append(char c) {
-        String header = getHeader();
-        real.print(header + c);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + c);
-        return this;
+    public RoboPrintStream(OutputStream robotOut) {
+        this(new HeaderStream(robotOut));
     }
 
-    public PrintStream append(CharSequence csq) {
-        String header = getHeader();
-        real.print(header + csq);
-        if (this.writeToSystemOut) java.lang.System.out.print(header + csq);
-        return this;
+    private RoboPrintStream(HeaderStream headers) {
+        super(headers, false, StandardCharsets.UTF_8);
+        this.headers = headers;
     }
 
-    public PrintStream append(CharSequence csq, int start, int end) {
-        String header = getHeader();
-        real.print(header + csq.subSequence(start, end).toString());
-        if (this.writeToSystemOut) java.lang.System.out.print(header + csq.subSequence(start, end).toString());
-        return this;
-    }
-
-    public boolean checkError() {
-        return false;
-    }
-
-    public void setError() {}
-
+    @Override
     public void close() {
         flush();
     }
 
-    public PrintStream format(String format, Object... args) {
-        String header = getHeader();
-        real.print(header + String.format(format, args));
-        if (this.writeToSystemOut) java.lang.System.out.print(header + String.format(format, args));
-        return this;
-    }
-
-    public PrintStream printf(String format, Object... args) {
-        String header = getHeader();
-        real.printf(header + format, args);
-        if (this.writeToSystemOut) java.lang.System.out.printf(header + format, args);
-        return this;
-    }
-
-    public void write(byte[] buf, int off, int len) {
-        byte[] header = getHeader().getBytes();
-        byte[] buf2 = new byte[header.length + buf.length];
-        System.arraycopy(header, 0, buf2, 0, header.length);
-        System.arraycopy(buf, off, buf2, header.length, len);
-        real.write(buf2, 0, header.length + len);
-        if (this.writeToSystemOut) java.lang.System.out.write(buf2, 0, header.length + len);
-    }
-
-    public void write(int b) {
-        String s = getHeader() + (char) b;
-        byte[] buf = s.getBytes();
-        real.write(buf, 0, buf.length);
-        if (this.writeToSystemOut) java.lang.System.out.write(buf, 0, buf.length);
-    }
-
-    //**************************
-    //*** HELPER METHODS ***
-    //**************************
-
     /**
-     * Update the header prepended to messages printed with the stream.
+     * Start a turn of a robot, whose first output will get a header.
      *
      * @param team
-     * @param type
      * @param id
      * @param round
      */
     public void updateHeader(Team team, int id, int round) {
-        this.team = team;
-        this.id = id;
-        this.round = round;
-        this.headerThisRound = false;
-        this.real.setTeam(team);
-    }
-
-    private String getHeader() {
-        String s = "[" + team + ": #" + id + "@" + round + "] ";
-        real.increaseByteLimit(s.length());
-        return s;
+        flush();
+        headers.team = team;
+        headers.id = id;
+        headers.round = round;
+        headers.headerWritten = false;
     }
 }
@@ -58,14 +58,25 @@ public final class MatchFooter extends Table {
   public int profilerFilesLength() { int o = __offset(12); return o != 0 ? __vector_len(o) : 0; }
   public battlecode.schema.ProfilerFile.Vector profilerFilesVector() { return profilerFilesVector(new battlecode.schema.ProfilerFile.Vector()); }
   public battlecode.schema.ProfilerFile.Vector profilerFilesVector(battlecode.schema.ProfilerFile.Vector obj) { int o = __offset(12); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  /**
+   * How many bytecodes each team's robots used per turn, one histogram per
+   * team and robot type that had turns.
+   */
+  public battlecode.schema.BytecodeHistogram bytecodeHistograms(int j) { return bytecodeHistograms(new battlecode.schema.BytecodeHistogram(), j); }
+  public battlecode.schema.BytecodeHistogram bytecodeHistograms(battlecode.schema.BytecodeHistogram obj, int j) { int o = __offset(14); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int bytecodeHistogramsLength() { int o = __offset(14); return o != 0 ? __vector_len(o) : 0; }
+  public battlecode.schema.BytecodeHistogram.Vector bytecodeHistogramsVector() { return bytecodeHistogramsVector(new battlecode.schema.BytecodeHistogram.Vector()); }
+  public battlecode.schema.BytecodeHistogram.Vector bytecodeHistogramsVector(battlecode.schema.BytecodeHistogram.Vector obj) { int o = __offset(14); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
 
   public static int createMatchFooter(FlatBufferBuilder builder,
       byte winner,
       byte winType,
       int totalRounds,
       int timelineMarkersOffset,
-      int profilerFilesOffset) {
-    builder.startTable(5);
+      int profilerFilesOffset,
+      int bytecodeHistogramsOffset) {
+    builder.startTable(6);
+    MatchFooter.addBytecodeHistograms(builder, bytecodeHistogramsOffset);
     MatchFooter.addProfilerFiles(builder, profilerFilesOffset);
     MatchFooter.addTimelineMarkers(builder, timelineMarkersOffset);
     MatchFooter.addTotalRounds(builder, totalRounds);
@@ -74,7 +85,7 @@ public final class MatchFooter extends Table {
     return MatchFooter.endMatchFooter(builder);
   }
 
-  public static void startMatchFooter(FlatBufferBuilder builder) { builder.startTable(5); }
+  public static void startMatchFooter(FlatBufferBuilder builder) { builder.startTable(6); }
   public static void addWinner(FlatBufferBuilder builder, byte winner) { builder.addByte(0, winner, 0); }
   public static void addWinType(FlatBufferBuilder builder, byte winType) { builder.addByte(1, winType, 0); }
   public static void addTotalRounds(FlatBufferBuilder builder, int totalRounds) { builder.addInt(2, totalRounds, 0); }
@@ -84,6 +95,9 @@ public final class MatchFooter extends Table {
   public static void addProfilerFiles(FlatBufferBuilder builder, int profilerFilesOffset) { builder.addOffset(4, profilerFilesOffset, 0); }
   public static int createProfilerFilesVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
   public static void startProfilerFilesVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addBytecodeHistograms(FlatBufferBuilder builder, int bytecodeHistogramsOffset) { builder.addOffset(5, bytecodeHistogramsOffset, 0); }
+  public static int createBytecodeHistogramsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startBytecodeHistogramsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
   public static int endMatchFooter(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -46,23 +46,37 @@ public final class ProfilerFile extends Table {
   public int profilesLength() { int o = __offset(6); return o != 0 ? __vector_len(o) : 0; }
   public battlecode.schema.ProfilerProfile.Vector profilesVector() { return profilesVector(new battlecode.schema.ProfilerProfile.Vector()); }
   public battlecode.schema.ProfilerProfile.Vector profilesVector(battlecode.schema.ProfilerProfile.Vector obj) { int o = __offset(6); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  /**
+   * Aggregated call trees, one per robot type, if call tree profiling is
+   * enabled. In that case no profiles are recorded.
+   */
+  public battlecode.schema.ProfilerCallTree callTrees(int j) { return callTrees(new battlecode.schema.ProfilerCallTree(), j); }
+  public battlecode.schema.ProfilerCallTree callTrees(battlecode.schema.ProfilerCallTree obj, int j) { int o = __offset(8); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int callTreesLength() { int o = __offset(8); return o != 0 ? __vector_len(o) : 0; }
+  public battlecode.schema.ProfilerCallTree.Vector callTreesVector() { return callTreesVector(new battlecode.schema.ProfilerCallTree.Vector()); }
+  public battlecode.schema.ProfilerCallTree.Vector callTreesVector(battlecode.schema.ProfilerCallTree.Vector obj) { int o = __offset(8); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
 
   public static int createProfilerFile(FlatBufferBuilder builder,
       int framesOffset,
-      int profilesOffset) {
-    builder.startTable(2);
+      int profilesOffset,
+      int callTreesOffset) {
+    builder.startTable(3);
+    ProfilerFile.addCallTrees(builder, callTreesOffset);
     ProfilerFile.addProfiles(builder, profilesOffset);
     ProfilerFile.addFrames(builder, framesOffset);
     return ProfilerFile.endProfilerFile(builder);
   }
 
-  public static void startProfilerFile(FlatBufferBuilder builder) { builder.startTable(2); }
+  public static void startProfilerFile(FlatBufferBuilder builder) { builder.startTable(3); }
   public static void addFrames(FlatBufferBuilder builder, int framesOffset) { builder.addOffset(0, framesOffset, 0); }
   public static int createFramesVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
   public static void startFramesVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
   public static void addProfiles(FlatBufferBuilder builder, int profilesOffset) { builder.addOffset(1, profilesOffset, 0); }
   public static int createProfilesVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
   public static void startProfilesVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addCallTrees(FlatBufferBuilder builder, int callTreesOffset) { builder.addOffset(2, callTreesOffset, 0); }
+  public static int createCallTreesVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startCallTreesVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
   public static int endProfilerFile(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
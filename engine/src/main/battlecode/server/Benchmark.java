@@ -0,0 +1,349 @@
+package battlecode.server;
+
+import battlecode.instrumenter.TeamClassLoaderCache;
+import battlecode.util.Histogram;
+import battlecode.util.JsonReader;
+import battlecode.util.JsonWriter;
+import battlecode.world.GameMapIO;
+import battlecode.world.TurnTimes;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plays a team against another, usually itself, on every built-in map, and
+ * measures how fast the engine runs them: rounds per second, the mean and
+ * 99th percentile wall time of a robot turn, how much of the time the engine
+ * takes rather than the players, the peak heap and the size of the replay.
+ *
+ * The results are written as JSON to bc.benchmark.output, one line per map,
+ * and compared with bc.benchmark.baseline, a file written by an earlier
+ * run, if there is one. A total that is worse than the baseline's by more
+ * than bc.benchmark.threshold, as a fraction of the baseline, is a
+ * regression. The total's p99 turn is counted in the buckets of a
+ * Histogram, so it is within 1% of the exact one.
+ *
+ * Maps carry the seeds of their matches, so the same teams play the same
+ * matches every time as long as the engine's rules don't change. If a map's
+ * match ends differently than in the baseline, it is reported, since its
+ * numbers are no longer comparable.
+ *
+ * Player classes are instrumented once and kept for every match, and the
+ * first map is played bc.benchmark.warmup times before measuring, so
+ * results are of an engine that has warmed up.
+ */
+public class Benchmark {
+
+    /**
+     * What a run exits with when it finds a regression.
+     */
+    public static final int REGRESSION_EXIT_CODE = 1;
+
+    /**
+     * The measurements of the match on one map, or of every match together.
+     */
+    public static class Result {
+        public final String map;
+        public final String winner;
+        public final int rounds;
+        public final double seconds;
+        public final int turns;
+        public final double meanTurnMicros;
+        public final double p99TurnMicros;
+        public final double engineSeconds;
+        public final double playerSeconds;
+        public final long peakHeapBytes;
+        public final long replayBytes;
+
+        Result(String map, String winner, int rounds, double seconds, TurnTimes turnTimes,
+               long peakHeapBytes, long replayBytes) {
+            this(map, winner, rounds, seconds, turnTimes.getCount(), turnTimes.getMeanNanos(),
+                    turnTimes.getPercentileNanos(99), turnTimes.getPlayerNanos(), peakHeapBytes, replayBytes);
+        }
+
+        Result(String map, String winner, int rounds, double seconds, int turns, double meanTurnNanos,
+               long p99TurnNanos, long playerNanos, long peakHeapBytes, long replayBytes) {
+            this.map = map;
+            this.winner = winner;
+            this.rounds = rounds;
+            this.seconds = seconds;
+            this.turns = turns;
+            this.meanTurnMicros = meanTurnNanos / 1e3;
+            this.p99TurnMicros = p99TurnNanos / 1e3;
+            this.playerSeconds = playerNanos / 1e9;
+            this.engineSeconds = seconds - playerSeconds;
+            this.peakHeapBytes = peakHeapBytes;
+            this.replayBytes = replayBytes;
+        }
+
+        public double getRoundsPerSecond() {
+            return seconds == 0 ? 0 : rounds / seconds;
+        }
+
+        private String toJson() {
+            JsonWriter json = new JsonWriter().beginObject();
+            if (map != null) {
+                json.name("map").value(map);
+                json.name("winner").value(winner);
+            }
+            json.name("rounds").value(rounds);
+            json.name("seconds").value(seconds);
+            json.name("roundsPerSecond").value(getRoundsPerSecond());
+            json.name("turns").value(turns);
+            json.name("meanTurnMicros").value(meanTurnMicros);
+            json.name("p99TurnMicros").value(p99TurnMicros);
+            json.name("engineSeconds").value(engineSeconds);
+            json.name("playerSeconds").value(playerSeconds);
+            json.name("peakHeapBytes").value(peakHeapBytes);
+            json.name("replayBytes").value(replayBytes);
+            return json.endObject().toString();
+        }
+    }
+
+    /**
+     * A number that is compared with the baseline, and which way is worse.
+     */
+    private enum Metric {
+        ROUNDS_PER_SECOND("roundsPerSecond", false),
+        MEAN_TURN("meanTurnMicros", true),
+        P99_TURN("p99TurnMicros", true),
+        PEAK_HEAP("peakHeapBytes", true),
+        REPLAY_SIZE("replayBytes", true);
+
+        final String name;
+        final boolean higherIsWorse;
+
+        Metric(String name, boolean higherIsWorse) {
+            this.name = name;
+            this.higherIsWorse = higherIsWorse;
+        }
+    }
+
+    private final Config options;
+
+    private final TeamClassLoaderCache classLoaders = new TeamClassLoaderCache();
+
+    private final List<Result> results = new ArrayList<>();
+    private Result total;
+
+    public Benchmark(Config options) {
+        this.options = options;
+    }
+
+    /**
+     * Play every map, write the results, and compare them with the baseline.
+     *
+     * @return a description of every regression from the baseline; empty if
+     *         there are none or there is no baseline
+     * @throws IOException if the results can't be written or the baseline
+     *                     can't be read
+     * @throws IllegalStateException if a match fails to run
+     */
+    public List<String> run() throws IOException {
+        String mapList = options.get("bc.benchmark.maps");
+        List<String> maps = mapList == null || mapList.isEmpty()
+                ? GameMapIO.getAvailableMaps(null)
+                : Arrays.asList(mapList.split(","));
+        if (maps.isEmpty()) {
+            throw new IllegalStateException("No maps to benchmark on");
+        }
+
+        File replayDir = Files.createTempDirectory("bc-benchmark").toFile();
+        try {
+            int warmup = options.getInt("bc.benchmark.warmup");
+            for (int i = 0; i < warmup; i++) {
+                Server.say("benchmark: warming up on " + maps.get(0));
+                play(maps.get(0), replayDir, new TurnTimes());
+            }
+
+            // Every turn of every map so far would take ever more of the heap
+            // whose peak later maps measure, so the totals only keep buckets
+            Histogram allTurns = new Histogram();
+            long playerNanos = 0;
+            int rounds = 0;
+            double seconds = 0;
+            long peakHeap = 0;
+            long replayBytes = 0;
+            for (String map : maps) {
+                TurnTimes turnTimes = new TurnTimes();
+                Result result = play(map, replayDir, turnTimes);
+                results.add(result);
+                Server.say(String.format("benchmark: %s: %d rounds, %.1f rounds/s, mean turn %.1f us, "
+                                + "p99 turn %.1f us, engine %.0f%%, peak heap %d MB, replay %d KB",
+                        map, result.rounds, result.getRoundsPerSecond(), result.meanTurnMicros,
+                        result.p99TurnMicros, 100 * result.engineSeconds / result.seconds,
+                        result.peakHeapBytes >> 20, result.replayBytes >> 10));
+
+                turnTimes.addTo(allTurns);
+                playerNanos += turnTimes.getPlayerNanos();
+                rounds += result.rounds;
+                seconds += result.seconds;
+                peakHeap = Math.max(peakHeap, result.peakHeapBytes);
+                replayBytes += result.replayBytes;
+            }
+            total = new Result(null, null, rounds, seconds, allTurns.getCount(), allTurns.getMean(),
+                    allTurns.getPercentile(99), playerNanos, peakHeap, replayBytes);
+        } finally {
+            FileUtils.deleteQuietly(replayDir);
+        }
+
+        File output = new File(options.get("bc.benchmark.output"));
+        FileUtils.writeStringToFile(output, toJson(), StandardCharsets.UTF_8);
+        Server.say("benchmark: results written to " + output);
+
+        String baseline = options.get("bc.benchmark.baseline");
+        if (baseline == null || baseline.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return compare(JsonReader.parseObject(FileUtils.readFileToString(new File(baseline), StandardCharsets.UTF_8)),
+                Double.parseDouble(options.get("bc.benchmark.threshold")));
+    }
+
+    /**
+     * @return the result of every map played, in order
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * @return the results of every map together, or null before running
+     */
+    public Result getTotal() {
+        return total;
+    }
+
+    /**
+     * Play a single match.
+     */
+    private Result play(String map, File replayDir, TurnTimes turnTimes) {
+        Config gameOptions = new Config(options);
+        gameOptions.set("bc.server.output", "replay");
+        gameOptions.set("bc.server.record-replay", "true");
+        gameOptions.set("bc.server.checkpoint-interval", "0");
+        gameOptions.set("bc.server.resume", "");
+        Server server = new Server(gameOptions, false, classLoaders);
+        server.setTurnTimes(turnTimes);
+
+        File replay = new File(replayDir, map + ".bc25");
+        GameInfo game = new GameInfo(
+                options.get("bc.game.team-a"), getPackage("a"), options.get("bc.game.team-a.url"),
+                options.get("bc.game.team-b"), getPackage("b"), options.get("bc.game.team-b.url"),
+                new String[] {map}, replay, false
+        );
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+
+        GameSummary summary = server.runGame(game, null);
+        if (summary == null) {
+            throw new IllegalStateException("Couldn't play " + map + ": " + server.getFailure());
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        long replayBytes = replay.length();
+        replay.delete();
+
+        GameSummary.MatchResult match = summary.getMatches().get(0);
+        return new Result(map, match.winner == null ? null : match.winner.name(), match.rounds, match.seconds,
+                turnTimes, peakHeap, replayBytes);
+    }
+
+    private String getPackage(String team) {
+        String teamPackage = options.get("bc.game.team-" + team + ".package");
+        return teamPackage != null ? teamPackage : options.get("bc.game.team-" + team);
+    }
+
+    /**
+     * @return the results as JSON, one line per map
+     */
+    public String toJson() {
+        JsonWriter run = new JsonWriter().beginObject();
+        run.name("teamA").value(options.get("bc.game.team-a"));
+        run.name("teamB").value(options.get("bc.game.team-b"));
+        run.name("java").value(System.getProperty("java.version"));
+        run.name("processors").value(Runtime.getRuntime().availableProcessors());
+        run.endObject();
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\"run\":").append(run).append(",\n\"maps\":[\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(results.get(i).toJson()).append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        json.append("],\n\"total\":").append(total.toJson()).append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Compare the results with a baseline, and report how they changed.
+     *
+     * @param baseline the JSON of an earlier run
+     * @param threshold how much worse than the baseline a total may be, as a
+     *                  fraction of it
+     * @return a description of every total worse than that
+     */
+    @SuppressWarnings("unchecked")
+    List<String> compare(Map<String, Object> baseline, double threshold) {
+        if (!(baseline.get("total") instanceof Map) || !(baseline.get("maps") instanceof List)) {
+            throw new IllegalArgumentException("Not benchmark results: no total or maps");
+        }
+
+        for (Object entry : (List<Object>) baseline.get("maps")) {
+            Map<String, Object> before = (Map<String, Object>) entry;
+            for (Result result : results) {
+                if (result.map.equals(before.get("map"))
+                        && (getNumber(before, "rounds") != result.rounds
+                            || !String.valueOf(result.winner).equals(String.valueOf(before.get("winner"))))) {
+                    Server.warn("benchmark: the match on " + result.map + " ended differently than in the baseline ("
+                            + result.winner + " in " + result.rounds + " rounds, was " + before.get("winner")
+                            + " in " + (int) getNumber(before, "rounds") + "); its numbers aren't comparable");
+                }
+            }
+        }
+
+        Map<String, Object> before = (Map<String, Object>) baseline.get("total");
+        Map<String, Object> after = JsonReader.parseObject(total.toJson());
+        List<String> regressions = new ArrayList<>();
+        for (Metric metric : Metric.values()) {
+            double was = getNumber(before, metric.name);
+            double is = getNumber(after, metric.name);
+            double change = was == 0 ? 0 : (is - was) / was;
+            double worse = metric.higherIsWorse ? change : -change;
+            String line = String.format("%s: %.4g -> %.4g (%+.1f%%)", metric.name, was, is, 100 * change);
+            if (worse > threshold) {
+                regressions.add(line);
+                Server.warn("benchmark: regression in " + line);
+            } else {
+                Server.say("benchmark: " + line);
+            }
+        }
+        return regressions;
+    }
+
+    private static double getNumber(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof Double)) {
+            throw new IllegalArgumentException("Not benchmark results: no number " + name);
+        }
+        return (Double) value;
+    }
+}
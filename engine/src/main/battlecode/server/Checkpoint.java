@@ -0,0 +1,180 @@
+package battlecode.server;
+
+import battlecode.world.GameWorld;
+import battlecode.world.LiveMap;
+import battlecode.world.control.RobotControlProvider;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A checkpoint of a running game, written between rounds, that the game can
+ * be resumed from if the server dies.
+ *
+ * It holds everything the engine knows about the game: the replay built so
+ * far, the state of the match being run, and the results of the matches
+ * before it. It doesn't hold the players' own state, since there is no way
+ * to capture a sandboxed player's heap; a resumed match starts a fresh
+ * player for every robot. Resuming is exact for trusted players that keep
+ * no state between turns, which makes it suited to engine-only runs and to
+ * regenerating replays, and an approximation for anything else.
+ *
+ * The file is a gzipped stream of big-endian values.
+ */
+public class Checkpoint implements Closeable {
+
+    private static final int MAGIC = 0x42433235; // "BC25"
+    private static final int VERSION = 3;
+
+    /**
+     * The index of the match that was running, in the game's maps.
+     */
+    public final int matchIndex;
+
+    /**
+     * Whether the teams were swapped for that match.
+     */
+    public final boolean teamsReversed;
+
+    /**
+     * The matches each team won before it.
+     */
+    public final int aWins;
+    public final int bWins;
+
+    /**
+     * The results of the matches before it, in order.
+     */
+    public final List<GameSummary.MatchResult> finishedMatches;
+
+    private final DataInputStream in;
+
+    private Checkpoint(DataInputStream in, int matchIndex, boolean teamsReversed, int aWins, int bWins,
+                       List<GameSummary.MatchResult> finishedMatches) {
+        this.in = in;
+        this.matchIndex = matchIndex;
+        this.teamsReversed = teamsReversed;
+        this.aWins = aWins;
+        this.bWins = bWins;
+        this.finishedMatches = finishedMatches;
+    }
+
+    /**
+     * Write a checkpoint of a game, between rounds. The file is replaced
+     * atomically, so a server that dies while writing leaves the last one.
+     *
+     * @param file the file to write
+     * @param game the game being run
+     * @param matchIndex the index of the match being run
+     * @param teamsReversed whether the teams are swapped for the match
+     * @param aWins the matches team A won so far
+     * @param bWins the matches team B won so far
+     * @param finishedMatches the results of the matches before it
+     * @param gameMaker the game's replay
+     * @param world the match being run
+     */
+    public static void write(File file, GameInfo game, int matchIndex, boolean teamsReversed,
+                             int aWins, int bWins, List<GameSummary.MatchResult> finishedMatches,
+                             GameMaker gameMaker, GameWorld world) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(game.getTeamAPackage());
+            out.writeUTF(game.getTeamBPackage());
+            out.writeUTF(game.getMaps()[matchIndex]);
+            out.writeInt(matchIndex);
+            out.writeBoolean(teamsReversed);
+            out.writeInt(aWins);
+            out.writeInt(bWins);
+            out.writeInt(finishedMatches.size());
+            for (GameSummary.MatchResult match : finishedMatches) {
+                match.writeCheckpoint(out);
+            }
+
+            gameMaker.writeCheckpoint(out);
+            world.writeCheckpoint(out);
+        }
+        Files.move(temp.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Open a checkpoint to resume a game from.
+     *
+     * @param file the checkpoint
+     * @param game the game to resume, which must be set up like the one the
+     *             checkpoint was written from
+     * @return the checkpoint, positioned at the game's replay
+     * @throws IOException if the file can't be read or is for a different game
+     */
+    public static Checkpoint open(File file, GameInfo game) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file))));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(file + " is a checkpoint of version " + version
+                        + ", but this engine reads version " + VERSION);
+            }
+            String teamA = in.readUTF();
+            String teamB = in.readUTF();
+            String mapName = in.readUTF();
+            int matchIndex = in.readInt();
+            if (!teamA.equals(game.getTeamAPackage()) || !teamB.equals(game.getTeamBPackage())) {
+                throw new IOException("Checkpoint is of " + teamA + " vs. " + teamB + ", not "
+                        + game.getTeamAPackage() + " vs. " + game.getTeamBPackage());
+            }
+            if (matchIndex >= game.getMaps().length || !mapName.equals(game.getMaps()[matchIndex])) {
+                throw new IOException("Checkpoint is of match " + (matchIndex + 1) + " on " + mapName
+                        + ", which isn't in this game");
+            }
+            boolean teamsReversed = in.readBoolean();
+            int aWins = in.readInt();
+            int bWins = in.readInt();
+            int finishedCount = in.readInt();
+            List<GameSummary.MatchResult> finishedMatches = new ArrayList<>(finishedCount);
+            for (int i = 0; i < finishedCount; i++) {
+                finishedMatches.add(new GameSummary.MatchResult(in));
+            }
+            return new Checkpoint(in, matchIndex, teamsReversed, aWins, bWins, finishedMatches);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Continue the game's replay from the checkpoint, in place of writing its
+     * header. Call before resumeMatch.
+     */
+    public void resumeGame(GameMaker gameMaker) throws IOException {
+        gameMaker.resumeFromCheckpoint(in);
+    }
+
+    /**
+     * Restore the match that was running.
+     *
+     * @param map the match's map, loaded as for the original match
+     * @param prov the control provider for the robots
+     * @param gameMaker the game maker passed to resumeGame
+     * @return the match, at the round after the checkpoint
+     */
+    public GameWorld resumeMatch(LiveMap map, RobotControlProvider prov, GameMaker gameMaker) throws IOException {
+        return new GameWorld(map, in, prov, gameMaker.getMatchMaker());
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
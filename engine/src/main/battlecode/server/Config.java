@@ -37,11 +37,17 @@ public class Config {
         // Whether to write robot player output to System.out as well as match files.
         defaults.setProperty("bc.server.robot-player-to-system-out", "true");
 
-        // The max number of bytes to write to a replay file, per team
+        // The max number of bytes each team's robots may print in a match,
+        // headers included, to the log file and System.out alike
         // -1 means infinity
-        // This does not affect output to stdout
         defaults.setProperty("bc.server.robot-player-replay-file-per-team-limit-bytes","-1");
 
+        // The directory to write each match's robot output to, as
+        // <save file>-<match>-<map>.log, or <team a>-vs-<team b>-<match>-<map>.log
+        // numbered past any earlier one for games without a save file;
+        // empty to not write it
+        defaults.setProperty("bc.server.robot-log-dir", "");
+
         defaults.setProperty("bc.server.save-file", "match.rms");
         defaults.setProperty("bc.server.transcribe-input", "match.rms");
         defaults.setProperty("bc.server.transcribe-output", "transcribed.txt");
@@ -52,6 +58,65 @@ public class Config {
         defaults.setProperty("bc.server.validate-maps", "true");
         defaults.setProperty("bc.server.alternate-order", "false");
 
+        // Write a full snapshot of the match state into the replay every this
+        // many rounds, so viewers can seek without replaying from round 1.
+        // 0 disables keyframes.
+        defaults.setProperty("bc.server.keyframe-interval", "50");
+
+        // Whether to build a replay at all. Without one, matches run without
+        // writing anything, nothing is saved, and the client gets nothing.
+        defaults.setProperty("bc.server.record-replay", "true");
+        // What a game leaves behind: "replay" for the replay in save-file, or
+        // "result-only" for just the winners, win reasons and final standings
+        // of the matches, as JSON in save-file with its extension replaced by
+        // ".json". Result-only runs don't build a replay at all.
+        defaults.setProperty("bc.server.output", "replay");
+
+        // Record the engine's flight recorder events (rounds, robot turns,
+        // sandbox handoffs, instrumentation, replay writing) to jfr-file.
+        defaults.setProperty("bc.server.jfr", "false");
+        defaults.setProperty("bc.server.jfr-file", "engine.jfr");
+
+        // Write the state of the running match to checkpoint-file every this
+        // many rounds, so a long match can be resumed if the server dies.
+        // 0 disables checkpoints. The file defaults to the save file with
+        // ".ckpt" appended, and is deleted when the game is finished.
+        // See battlecode.server.Checkpoint for what is and isn't restored.
+        defaults.setProperty("bc.server.checkpoint-interval", "0");
+        defaults.setProperty("bc.server.checkpoint-file", "");
+        // Resume the first game from this checkpoint instead of starting it
+        // over. The game must be run with the same teams, maps and settings.
+        defaults.setProperty("bc.server.resume", "");
+
+        // With bc.server.mode=daemon, read game requests from connections to
+        // this port on localhost, or from stdin if it is 0. See
+        // battlecode.server.Daemon for the protocol.
+        defaults.setProperty("bc.server.daemon-port", "0");
+        // The most games a daemon runs at once; 0 means one per processor.
+        defaults.setProperty("bc.server.daemon-max-matches", "0");
+
+        // Serve the engine's metrics (rounds, turn times, robots, sandbox
+        // threads, class cache, replay bytes, heap and GC) on this port on
+        // localhost, in the Prometheus text format at /metrics and as JSON at
+        // /metrics.json; 0 means don't. See battlecode.server.MetricsExporter.
+        defaults.setProperty("bc.server.metrics-port", "0");
+        // Write the metrics as JSON to this file every metrics-interval
+        // seconds; empty means don't.
+        defaults.setProperty("bc.server.metrics-file", "");
+        defaults.setProperty("bc.server.metrics-interval", "10");
+
+        // With bc.server.mode=benchmark, the maps to play, comma separated;
+        // empty means every built-in map. See battlecode.server.Benchmark.
+        defaults.setProperty("bc.benchmark.maps", "");
+        // How many times to play the first map before measuring.
+        defaults.setProperty("bc.benchmark.warmup", "1");
+        defaults.setProperty("bc.benchmark.output", "benchmark.json");
+        // The results of an earlier run to compare with, or empty for none,
+        // and how much worse than it, as a fraction, a total may get before
+        // the run fails.
+        defaults.setProperty("bc.benchmark.baseline", "");
+        defaults.setProperty("bc.benchmark.threshold", "0.1");
+
 
 
         // Whether to write robot player output to match files / system out
@@ -63,7 +128,25 @@ public class Config {
         defaults.setProperty("bc.engine.silence-d", "false");
         defaults.setProperty("bc.engine.debug-methods", "false");
         defaults.setProperty("bc.engine.enable-profiler", "false");
+        // With the profiler enabled, aggregate a call tree per robot type
+        // instead of recording every method call of every robot.
+        defaults.setProperty("bc.engine.profiler-call-tree", "false");
         defaults.setProperty("bc.engine.show-indicators", "true");
+        // The number of threads to start up front for sandboxed players, to
+        // be reused as robots are built and die; about the number of robots
+        // alive at once in a match. More are started when needed.
+        defaults.setProperty("bc.engine.sandbox-threads", "64");
+        // Accept maps up to LiveMap.STRESS_MAP_MAX_WIDTH x STRESS_MAP_MAX_HEIGHT
+        // with any number of initial towers and robots, and report rounds per
+        // second, robot counts and heap use after each match. For measuring
+        // how the engine scales; never for competitive play. Games with maps
+        // over 65536 tiles only write their results, as with
+        // bc.server.output=result-only, since a replay can't locate their tiles.
+        defaults.setProperty("bc.engine.stress-mode", "false");
+        // Run teams' <package>.TrustedRobotPlayer in-process on the engine's
+        // thread, without the sandbox or instrumentation, for self-play and
+        // tuning with trusted code only. See battlecode.world.control.TrustedPlayer.
+        defaults.setProperty("bc.engine.trusted-players", "false");
 
         defaults.setProperty("bc.game.team-a", "team000");
         defaults.setProperty("bc.game.team-b", "team000");
@@ -122,6 +205,16 @@ public class Config {
         addArgs(args);
     }
 
+    /**
+     * Creates a Config that reads through to another one for every option it
+     * doesn't set itself, so a few options can be changed for one game.
+     *
+     * @param base the configuration to read through to
+     */
+    public Config(Config base) {
+        properties = new Properties(base.properties);
+    }
+
     /**
      * Processes command-line arguments, converting them to properties and
      * adding them to the local options.
@@ -0,0 +1,318 @@
+package battlecode.server;
+
+import battlecode.instrumenter.TeamClassLoaderCache;
+import battlecode.server.jfr.EngineRecording;
+import battlecode.util.JsonReader;
+import battlecode.util.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs games on request for as long as it lives, so running many games
+ * doesn't pay for starting the engine, loading maps and instrumenting player
+ * code every time.
+ *
+ * Requests are single lines of JSON, read from stdin or, with
+ * bc.server.daemon-port set, from connections to that port on localhost:
+ *
+ * {"id":"1","teamA":"examplefuncsplayer","teamB":"examplefuncsplayer","maps":["DefaultSmall"]}
+ *
+ * maps may also be a comma separated string. Optional members are
+ * teamAPackage and teamBPackage (default the team names), teamAUrl and
+ * teamBUrl (default bc.game.team-a.url and bc.game.team-b.url), saveFile,
+ * bestOfThree, and output, as bc.server.output. Without a saveFile only the
+ * results are kept.
+ *
+ * Every request is answered with a line of JSON on the same stream once its
+ * game is over, so answers can come in a different order than the requests:
+ *
+ * {"id":"1","status":"ok","result":{...}}, with the result as in GameSummary, or
+ * {"id":"1","status":"error","error":"..."}
+ *
+ * At most bc.server.daemon-max-matches games run at once, and the rest wait
+ * their turn. Teams' instrumented classes are kept between games until they
+ * change on disk, see TeamClassLoaderCache, and maps are kept by GameMapIO.
+ * Every other setting comes from the daemon's own configuration, except
+ * that games are never checkpointed or resumed. With bc.server.robot-log-dir
+ * set, the logs of games without a saveFile are named after their teams and
+ * numbered so that no game overwrites another's.
+ *
+ * Reading from stdin, the server's own output goes to stderr so that stdout
+ * only carries answers, and the daemon stops once stdin is closed and every
+ * game has been answered.
+ */
+public class Daemon {
+
+    /**
+     * A game to run, and who asked for it.
+     */
+    private static class Request {
+        final Object id;
+        final GameInfo game;
+        final String output;
+
+        Request(Object id, GameInfo game, String output) {
+            this.id = id;
+            this.game = game;
+            this.output = output;
+        }
+    }
+
+    private final Config options;
+
+    private final TeamClassLoaderCache classLoaders = new TeamClassLoaderCache();
+
+    /**
+     * Runs the games, at most bc.server.daemon-max-matches at a time.
+     */
+    private final ExecutorService games;
+
+    public Daemon(Config options) {
+        this.options = options;
+        int maxGames = options.getInt("bc.server.daemon-max-matches");
+        if (maxGames <= 0) {
+            maxGames = Runtime.getRuntime().availableProcessors();
+        }
+        this.games = Executors.newFixedThreadPool(maxGames);
+    }
+
+    /**
+     * Serves requests until stdin is closed, or forever when listening on a
+     * port.
+     */
+    public void run() throws IOException, InterruptedException {
+        final EngineRecording recording;
+        if (options.getBoolean("bc.server.jfr")) {
+            recording = EngineRecording.start(options.get("bc.server.jfr-file"));
+        } else {
+            recording = null;
+        }
+
+        try {
+            int port = options.getInt("bc.server.daemon-port");
+            if (port > 0) {
+                listen(new ServerSocket(port, 50, InetAddress.getLoopbackAddress()));
+            } else {
+                PrintStream answers = System.out;
+                System.setOut(System.err);
+                serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        new OutputStreamWriter(answers, StandardCharsets.UTF_8));
+            }
+        } finally {
+            games.shutdown();
+            if (recording != null) {
+                recording.stop();
+            }
+        }
+    }
+
+    /**
+     * Serves every connection to a socket, each on its own thread.
+     */
+    private void listen(ServerSocket socket) throws IOException {
+        try {
+            Server.say("Waiting for games on " + socket.getLocalSocketAddress());
+            while (true) {
+                final Socket connection = socket.accept();
+                Thread thread = new Thread(() -> {
+                    try (Socket c = connection) {
+                        serve(new BufferedReader(new InputStreamReader(c.getInputStream(), StandardCharsets.UTF_8)),
+                                new OutputStreamWriter(c.getOutputStream(), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        Server.warn("Lost connection " + connection.getRemoteSocketAddress() + ": " + e.getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, "daemon-connection");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } finally {
+            socket.close();
+        }
+    }
+
+    /**
+     * Runs the game of every request read from a stream, and writes their
+     * answers to another.
+     *
+     * Returns once the requests end and every one of them is answered.
+     */
+    void serve(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        List<Future<?>> pending = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            Object id = null;
+            final Request request;
+            try {
+                Map<String, Object> json = JsonReader.parseObject(line);
+                id = json.get("id");
+                request = createRequest(id, json);
+            } catch (IllegalArgumentException e) {
+                answer(out, error(id, e.getMessage()));
+                continue;
+            }
+
+            pending.removeIf(Future::isDone);
+            pending.add(games.submit(() -> {
+                answer(out, runGame(request));
+                return null;
+            }));
+        }
+
+        for (Future<?> game : pending) {
+            try {
+                game.get();
+            } catch (ExecutionException e) {
+                Server.warn("Couldn't answer a request: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the result of a request's game, as its answer
+     */
+    private String runGame(Request request) {
+        Config gameOptions = new Config(options);
+        gameOptions.set("bc.server.output", request.output);
+        // Games run side by side, so they can't share a checkpoint file, and
+        // a request never continues another game's
+        gameOptions.set("bc.server.checkpoint-interval", "0");
+        gameOptions.set("bc.server.resume", "");
+        Server server = new Server(gameOptions, false, classLoaders);
+
+        GameSummary summary;
+        try {
+            summary = server.runGame(request.game, null);
+        } catch (RuntimeException e) {
+            ErrorReporter.report(e, true);
+            return error(request.id, e.toString());
+        }
+        if (summary == null) {
+            return error(request.id, server.getFailure());
+        }
+
+        JsonWriter json = new JsonWriter().beginObject();
+        writeId(json, request.id);
+        json.name("status").value("ok");
+        json.name("result");
+        summary.write(json);
+        return json.endObject().toString();
+    }
+
+    private Request createRequest(Object id, Map<String, Object> json) {
+        final String teamA = getString(json, "teamA", null);
+        final String teamB = getString(json, "teamB", null);
+        if (teamA == null || teamB == null) {
+            throw new IllegalArgumentException("A game needs a teamA and a teamB");
+        }
+
+        final Object mapsValue = json.get("maps");
+        final String[] maps;
+        if (mapsValue instanceof String) {
+            maps = ((String) mapsValue).split(",");
+        } else if (mapsValue instanceof List) {
+            List<?> mapList = (List<?>) mapsValue;
+            maps = new String[mapList.size()];
+            for (int i = 0; i < maps.length; i++) {
+                if (!(mapList.get(i) instanceof String)) {
+                    throw new IllegalArgumentException("maps must be names of maps");
+                }
+                maps[i] = (String) mapList.get(i);
+            }
+        } else {
+            throw new IllegalArgumentException("A game needs maps");
+        }
+        if (maps.length == 0) {
+            throw new IllegalArgumentException("A game needs maps");
+        }
+
+        final String saveFileName = getString(json, "saveFile", null);
+        final File saveFile = saveFileName != null ? new File(saveFileName) : null;
+        final String output = getString(json, "output",
+                saveFile != null ? options.get("bc.server.output") : "result-only");
+        if (saveFile == null && !"result-only".equals(output)) {
+            throw new IllegalArgumentException("A game without a saveFile can only have its results kept");
+        }
+
+        final Object bestOfThree = json.get("bestOfThree");
+        if (bestOfThree != null && !(bestOfThree instanceof Boolean)) {
+            throw new IllegalArgumentException("bestOfThree must be true or false");
+        }
+
+        GameInfo game = new GameInfo(
+                teamA,
+                getString(json, "teamAPackage", teamA),
+                getString(json, "teamAUrl", options.get("bc.game.team-a.url")),
+                teamB,
+                getString(json, "teamBPackage", teamB),
+                getString(json, "teamBUrl", options.get("bc.game.team-b.url")),
+                maps,
+                saveFile,
+                Boolean.TRUE.equals(bestOfThree) && maps.length == 3
+        );
+        return new Request(id, game, output);
+    }
+
+    private static String getString(Map<String, Object> json, String name, String defaultValue) {
+        Object value = json.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static String error(Object id, String message) {
+        JsonWriter json = new JsonWriter().beginObject();
+        writeId(json, id);
+        json.name("status").value("error");
+        json.name("error").value(message);
+        return json.endObject().toString();
+    }
+
+    /**
+     * Answer with the id the request came with, be it a string or a number.
+     */
+    private static void writeId(JsonWriter json, Object id) {
+        json.name("id");
+        if (id instanceof Double && (Double) id == Math.rint((Double) id)) {
+            json.value(((Double) id).longValue());
+        } else if (id instanceof Double) {
+            json.value((Double) id);
+        } else {
+            json.value(id == null ? null : id.toString());
+        }
+    }
+
+    private static void answer(Writer out, String answer) throws IOException {
+        synchronized (out) {
+            out.write(answer);
+            out.write('\n');
+            out.flush();
+        }
+    }
+}
@@ -4,10 +4,13 @@ import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.UnitType;
 import battlecode.common.Team;
+import battlecode.instrumenter.profiler.CallTree;
 import battlecode.instrumenter.profiler.Profiler;
 import battlecode.instrumenter.profiler.ProfilerCollection;
 import battlecode.instrumenter.profiler.ProfilerEventType;
 import battlecode.schema.*;
+import battlecode.server.jfr.ReplayCompressionEvent;
+import battlecode.server.jfr.ReplaySerializationEvent;
 import battlecode.util.FlatHelpers;
 import battlecode.util.TeamMapping;
 import battlecode.world.*;
@@ -16,12 +19,14 @@ import gnu.trove.list.array.TByteArrayList;
 import gnu.trove.list.array.TIntArrayList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.function.ToIntFunction;
 import java.util.function.Consumer;
 import java.util.zip.GZIPOutputStream;
@@ -109,12 +114,48 @@ public class GameMaker {
      */
     private final boolean showIndicators;
 
+    /**
+     * Write a keyframe every this many rounds; 0 to never write keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * Whether to build a replay at all. Without one, there is nothing to save
+     * or send to the client.
+     */
+    private final boolean recording;
+
     /**
      * @param gameInfo       the mapping of teams to bytes
      * @param packetSink     the NetServer to send packets to
      * @param showIndicators whether to write indicator dots and lines to replay
      */
     public GameMaker(final GameInfo gameInfo, final NetServer packetSink, final boolean showIndicators) {
+        this(gameInfo, packetSink, showIndicators, 0);
+    }
+
+    /**
+     * @param gameInfo         the mapping of teams to bytes
+     * @param packetSink       the NetServer to send packets to
+     * @param showIndicators   whether to write indicator dots and lines to replay
+     * @param keyframeInterval write a full-state keyframe every this many rounds (0 to disable)
+     */
+    public GameMaker(final GameInfo gameInfo, final NetServer packetSink, final boolean showIndicators,
+                     final int keyframeInterval) {
+        this(gameInfo, packetSink, showIndicators, keyframeInterval, true);
+    }
+
+    /**
+     * @param gameInfo         the mapping of teams to bytes
+     * @param packetSink       the NetServer to send packets to
+     * @param showIndicators   whether to write indicator dots and lines to replay
+     * @param keyframeInterval write a full-state keyframe every this many rounds (0 to disable)
+     * @param recording        whether to build a replay; if not, matches run
+     *                         without writing anything, and there is nothing
+     *                         to save or send
+     */
+    public GameMaker(final GameInfo gameInfo, final NetServer packetSink, final boolean showIndicators,
+                     final int keyframeInterval, final boolean recording) {
         this.state = State.GAME_HEADER;
 
         this.gameInfo = gameInfo;
@@ -133,6 +174,15 @@ public class GameMaker {
         this.matchMaker = new MatchMaker();
 
         this.showIndicators = showIndicators;
+        this.keyframeInterval = keyframeInterval;
+        this.recording = recording;
+    }
+
+    /**
+     * @return whether this GameMaker builds a replay
+     */
+    public boolean isRecording() {
+        return recording;
     }
 
     /**
@@ -161,9 +211,15 @@ public class GameMaker {
      * @return game as a packed flatbuffer byte array.
      */
     public byte[] toBytes() {
+        if (!recording) {
+            throw new IllegalStateException("Not recording a replay");
+        }
         if (finishedGame == null) {
             assertState(State.DONE);
 
+            ReplaySerializationEvent serializationEvent = new ReplaySerializationEvent();
+            serializationEvent.begin();
+
             int events = GameWrapper.createEventsVector(fileBuilder, this.events.toArray());
             int matchHeaders = GameWrapper.createMatchHeadersVector(fileBuilder, this.matchHeaders.toArray());
             int matchFooters = GameWrapper.createMatchFootersVector(fileBuilder, this.matchFooters.toArray());
@@ -176,6 +232,13 @@ public class GameMaker {
             fileBuilder.finish(GameWrapper.endGameWrapper(fileBuilder));
             byte[] rawBytes = fileBuilder.sizedByteArray();
 
+            serializationEvent.events = this.events.size();
+            serializationEvent.size = rawBytes.length;
+            serializationEvent.commit();
+
+            ReplayCompressionEvent compressionEvent = new ReplayCompressionEvent();
+            compressionEvent.begin();
+
             try {
                 ByteArrayOutputStream result = new ByteArrayOutputStream();
                 GZIPOutputStream zipper = new GZIPOutputStream(result);
@@ -187,6 +250,10 @@ public class GameMaker {
             } catch (IOException e) {
                 throw new RuntimeException("Gzipping failed?", e);
             }
+
+            compressionEvent.uncompressedSize = rawBytes.length;
+            compressionEvent.compressedSize = finishedGame.length;
+            compressionEvent.commit();
         }
         return finishedGame;
     }
@@ -202,18 +269,96 @@ public class GameMaker {
         }
 
         try {
-            FileUtils.writeByteArrayToFile(saveFile, toBytes());
+            byte[] bytes = toBytes();
+            FileUtils.writeByteArrayToFile(saveFile, bytes);
+            Metrics.replayWritten(bytes.length);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Write the game so far to a checkpoint, between rounds of a match.
+     *
+     * @param out the checkpoint
+     */
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        assertState(State.IN_MATCH);
+        out.writeBoolean(recording);
+        writeIntList(out, events);
+        writeIntList(out, matchHeaders);
+        writeIntList(out, matchFooters);
+
+        // flatbuffers are built back to front, so the data is at the end
+        int size = fileBuilder.offset();
+        ByteBuffer data = fileBuilder.buildBuffer().duplicate();
+        data.position(data.capacity() - size);
+        byte[] bytes = new byte[size];
+        data.get(bytes);
+        out.writeInt(size);
+        out.write(bytes);
+
+        matchMaker.writeCheckpoint(out);
+    }
+
+    /**
+     * Continue a game from a checkpoint, in place of writing the game header.
+     * The match that was running when the checkpoint was written goes on.
+     *
+     * Only the replay file continues; a client connected to packetSink gets
+     * the events from here on.
+     *
+     * @param in the checkpoint, at a game written by writeCheckpoint
+     */
+    public void resumeFromCheckpoint(DataInput in) throws IOException {
+        if (in.readBoolean() != recording) {
+            throw new IOException("Checkpoint was written " + (recording ? "without" : "with")
+                    + " a replay; resume it with the same setting");
+        }
+        changeState(State.GAME_HEADER, State.IN_MATCH);
+        readIntList(in, events);
+        readIntList(in, matchHeaders);
+        readIntList(in, matchFooters);
+
+        int size = in.readInt();
+        byte[] bytes = new byte[size];
+        in.readFully(bytes);
+        fileBuilder.prep(1, size);
+        fileBuilder.pad(size);
+        ByteBuffer data = fileBuilder.buildBuffer().duplicate();
+        data.position(data.capacity() - size);
+        data.put(bytes);
+        // the largest alignment of anything in the schema
+        fileBuilder.prep(8, 0);
+
+        matchMaker.readCheckpoint(in);
+    }
+
+    private static void writeIntList(DataOutput out, TIntArrayList list) throws IOException {
+        out.writeInt(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            out.writeInt(list.getQuick(i));
+        }
+    }
+
+    private static void readIntList(DataInput in, TIntArrayList list) throws IOException {
+        int size = in.readInt();
+        list.clear();
+        list.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            list.add(in.readInt());
+        }
+    }
+
     /**
      * Run the same logic for both builders.
      *
      * @param perBuilder called with each builder;
      */
     private void applyToBuilders(Consumer<FlatBufferBuilderWrapper> perBuilder) {
+        if (!recording) {
+            return;
+        }
         perBuilder.accept(fileBuilder);
         if (packetSink != null) {
             perBuilder.accept(packetBuilder);
@@ -227,6 +372,10 @@ public class GameMaker {
      *                   mutate state.
      */
     private void createEvent(ToIntFunction<FlatBufferBuilderWrapper> perBuilder) {
+        if (!recording) {
+            return;
+        }
+
         // make file event and add its offset to the list
         int eventAP = perBuilder.applyAsInt(fileBuilder);
         events.add(eventAP);
@@ -344,6 +493,19 @@ public class GameMaker {
 
         private TIntArrayList diedIds; // ints
 
+        // Keyframe data, only filled in on keyframe rounds
+        private boolean hasKeyframe;
+        private byte[] keyframePaint;
+        private byte[] keyframeMarkersA;
+        private byte[] keyframeMarkersB;
+        private TIntArrayList keyframeRobotIds;
+        private TByteArrayList keyframeRobotTypes;
+        private TByteArrayList keyframeRobotTeamIds;
+        private TIntArrayList keyframeRobotHealths;
+        private TIntArrayList keyframeRobotPaints;
+        private TIntArrayList keyframeRobotXs;
+        private TIntArrayList keyframeRobotYs;
+
         private int currentRound;
         private int currentMapWidth = -1;
 
@@ -352,17 +514,20 @@ public class GameMaker {
         private ArrayList<String> timelineMarkerLabels;
         private ArrayList<Integer> timelineMarkerColors;
 
-        // Used to write logs.
-        private final ByteArrayOutputStream logger;
-
         public MatchMaker() {
             this.teamIDs = new TIntArrayList();
             this.teamMoneyAmounts = new TIntArrayList();
             this.teamPaintCoverageAmounts = new TIntArrayList();
             this.teamResourcePatternAmounts = new TIntArrayList();
             this.diedIds = new TIntArrayList();
+            this.keyframeRobotIds = new TIntArrayList();
+            this.keyframeRobotTypes = new TByteArrayList();
+            this.keyframeRobotTeamIds = new TByteArrayList();
+            this.keyframeRobotHealths = new TIntArrayList();
+            this.keyframeRobotPaints = new TIntArrayList();
+            this.keyframeRobotXs = new TIntArrayList();
+            this.keyframeRobotYs = new TIntArrayList();
             this.currentRound = 0;
-            this.logger = new ByteArrayOutputStream();
             this.timelineMarkerTeams = new ArrayList<>();
             this.timelineMarkerRounds = new ArrayList<>();
             this.timelineMarkerLabels = new ArrayList<>();
@@ -378,13 +543,15 @@ public class GameMaker {
                         MatchHeader.createMatchHeader(builder, map, gameMap.getRounds()));
             });
 
-            matchHeaders.add(events.size() - 1);
+            if (recording) {
+                matchHeaders.add(events.size() - 1);
+            }
 
             clearMatchData();
         }
 
         public void makeMatchFooter(Team winTeam, DominationFactor winType, int totalRounds,
-                List<ProfilerCollection> profilerCollections) {
+                List<ProfilerCollection> profilerCollections, BytecodeStats bytecodeStats) {
             changeState(State.IN_MATCH, State.IN_GAME);
 
             createEvent((builder) -> {
@@ -399,18 +566,19 @@ public class GameMaker {
                     }
 
                     for (Profiler profiler : profilerCollection.getProfilers()) {
-                        TIntArrayList events = new TIntArrayList();
-
-                        for (battlecode.instrumenter.profiler.ProfilerEvent event : profiler.getEvents()) {
-                            ProfilerEvent.startProfilerEvent(builder);
-                            ProfilerEvent.addIsOpen(builder, event.getType() == ProfilerEventType.OPEN);
-                            ProfilerEvent.addAt(builder, event.getAt());
-                            ProfilerEvent.addFrame(builder, event.getFrameId());
-                            events.add(ProfilerEvent.endProfilerEvent(builder));
+                        int numEvents = profiler.getEventCount();
+                        int[] events = new int[numEvents];
+
+                        for (int i = 0; i < numEvents; i++) {
+                            long event = profiler.getEvent(i);
+                            events[i] = ProfilerEvent.createProfilerEvent(builder,
+                                    battlecode.instrumenter.profiler.ProfilerEvent.getType(event) == ProfilerEventType.OPEN,
+                                    battlecode.instrumenter.profiler.ProfilerEvent.getAt(event),
+                                    battlecode.instrumenter.profiler.ProfilerEvent.getFrameId(event));
                         }
 
                         int nameOffset = builder.createString(profiler.getName());
-                        int eventsOffset = ProfilerProfile.createEventsVector(builder, events.toArray());
+                        int eventsOffset = ProfilerProfile.createEventsVector(builder, events);
 
                         ProfilerProfile.startProfilerProfile(builder);
                         ProfilerProfile.addName(builder, nameOffset);
@@ -418,10 +586,27 @@ public class GameMaker {
                         profiles.add(ProfilerProfile.endProfilerProfile(builder));
                     }
 
+                    TIntArrayList callTrees = new TIntArrayList();
+
+                    for (Map.Entry<UnitType, CallTree> entry : profilerCollection.getCallTrees().entrySet()) {
+                        CallTree callTree = entry.getValue();
+
+                        int parentsOffset = ProfilerCallTree.createParentsVector(builder, callTree.getParents());
+                        int frameIdsOffset = ProfilerCallTree.createFramesVector(builder, callTree.getFrameIds());
+                        int callsOffset = ProfilerCallTree.createCallsVector(builder, callTree.getCalls());
+                        int selfOffset = ProfilerCallTree.createSelfBytecodesVector(builder, callTree.getSelfBytecodes());
+                        int totalOffset = ProfilerCallTree.createTotalBytecodesVector(builder, callTree.getTotalBytecodes());
+
+                        callTrees.add(ProfilerCallTree.createProfilerCallTree(builder,
+                                FlatHelpers.getRobotTypeFromUnitType(entry.getKey()),
+                                parentsOffset, frameIdsOffset, callsOffset, selfOffset, totalOffset));
+                    }
+
                     int framesOffset = ProfilerFile.createFramesVector(builder, frames.toArray());
                     int profilesOffset = ProfilerFile.createProfilesVector(builder, profiles.toArray());
+                    int callTreesOffset = ProfilerFile.createCallTreesVector(builder, callTrees.toArray());
 
-                    profilerFiles.add(ProfilerFile.createProfilerFile(builder, framesOffset, profilesOffset));
+                    profilerFiles.add(ProfilerFile.createProfilerFile(builder, framesOffset, profilesOffset, callTreesOffset));
                 }
 
                 int profilerFilesOffset = MatchFooter.createProfilerFilesVector(builder, profilerFiles.toArray());
@@ -434,24 +619,41 @@ public class GameMaker {
                 }
                 int timelineMarkersOffset = MatchFooter.createTimelineMarkersVector(builder, timelineMarkerOffsets.toArray());
 
+                TIntArrayList bytecodeHistograms = new TIntArrayList();
+                int bucketLimitsOffset = 0;
+                for (Team team : new Team[] {Team.A, Team.B}) {
+                    for (UnitType type : UnitType.values()) {
+                        BytecodeStats.Histogram histogram = bytecodeStats.get(team, type);
+                        if (histogram == null || type.getBaseType() != type) {
+                            continue;
+                        }
+                        if (bucketLimitsOffset == 0) {
+                            bucketLimitsOffset = BytecodeHistogram.createBucketLimitsVector(builder,
+                                    BytecodeStats.BUCKET_LIMITS);
+                        }
+                        int countsOffset = BytecodeHistogram.createCountsVector(builder, histogram.getCounts());
+                        bytecodeHistograms.add(BytecodeHistogram.createBytecodeHistogram(builder,
+                                TeamMapping.id(team), FlatHelpers.getRobotTypeFromUnitType(type),
+                                bucketLimitsOffset, countsOffset, histogram.getTurns(),
+                                histogram.getTotalBytecodes(), histogram.getLimitHits()));
+                    }
+                }
+                int bytecodeHistogramsOffset = MatchFooter.createBytecodeHistogramsVector(builder,
+                        bytecodeHistograms.toArray());
+
                 return EventWrapper.createEventWrapper(builder, Event.MatchFooter,
                         MatchFooter.createMatchFooter(builder, TeamMapping.id(winTeam),
-                                FlatHelpers.getWinTypeFromDominationFactor(winType), totalRounds, timelineMarkersOffset, profilerFilesOffset));
+                                FlatHelpers.getWinTypeFromDominationFactor(winType), totalRounds, timelineMarkersOffset, profilerFilesOffset,
+                                bytecodeHistogramsOffset));
             });
 
-            matchFooters.add(events.size() - 1);
+            if (recording) {
+                matchFooters.add(events.size() - 1);
+            }
         }
 
         public void startRound(int roundNum) {
             assertState(State.IN_MATCH);
-
-            try {
-                this.logger.flush();
-            } catch (IOException e) {
-                throw new RuntimeException("Can't flush byte[]outputstream?", e);
-            }
-            // byte[] logs = this.logger.toByteArray();
-            this.logger.reset();
             this.currentRound = roundNum;
         }
 
@@ -463,6 +665,7 @@ public class GameMaker {
                 int teamMoneyAmountsP = Round.createTeamResourceAmountsVector(builder, teamMoneyAmounts.toArray());
                 int teamResourcePatternAmountsP = Round.createTeamResourcePatternAmountsVector(builder, teamResourcePatternAmounts.toArray());
                 int diedIdsP = Round.createDiedIdsVector(builder, diedIds.toArray());
+                int keyframeP = hasKeyframe ? makeKeyframe(builder) : 0;
 
                 builder.startRound();
 
@@ -472,6 +675,9 @@ public class GameMaker {
                 Round.addRoundId(builder, this.currentRound);
                 Round.addTeamResourceAmounts(builder, teamMoneyAmountsP);
                 Round.addDiedIds(builder, diedIdsP);
+                if (hasKeyframe) {
+                    Round.addKeyframe(builder, keyframeP);
+                }
 
                 int round = builder.finishRound();
                 return EventWrapper.createEventWrapper(builder, Event.Round, round);
@@ -480,6 +686,58 @@ public class GameMaker {
             clearRoundData();
         }
 
+        private int makeKeyframe(FlatBufferBuilder builder) {
+            int paintP = Keyframe.createPaintVector(builder, keyframePaint);
+            int markersAP = Keyframe.createMarkersAVector(builder, keyframeMarkersA);
+            int markersBP = Keyframe.createMarkersBVector(builder, keyframeMarkersB);
+            int robotIdsP = Keyframe.createRobotIdsVector(builder, keyframeRobotIds.toArray());
+            int robotTypesP = Keyframe.createRobotTypesVector(builder, keyframeRobotTypes.toArray());
+            int robotTeamIdsP = Keyframe.createRobotTeamIdsVector(builder, keyframeRobotTeamIds.toArray());
+            int robotHealthsP = Keyframe.createRobotHealthsVector(builder, keyframeRobotHealths.toArray());
+            int robotPaintsP = Keyframe.createRobotPaintsVector(builder, keyframeRobotPaints.toArray());
+            int robotLocsP = VecTable.createVecTable(builder,
+                    VecTable.createXsVector(builder, keyframeRobotXs.toArray()),
+                    VecTable.createYsVector(builder, keyframeRobotYs.toArray()));
+            int teamIDsP = Keyframe.createTeamIdsVector(builder, teamIDs.toArray());
+            int teamMoneyAmountsP = Keyframe.createTeamResourceAmountsVector(builder, teamMoneyAmounts.toArray());
+
+            return Keyframe.createKeyframe(builder, paintP, markersAP, markersBP, robotIdsP, robotTypesP,
+                    robotTeamIdsP, robotHealthsP, robotPaintsP, robotLocsP, teamIDsP, teamMoneyAmountsP);
+        }
+
+        /**
+         * @param roundNum the round number
+         * @return whether a keyframe should be written at the end of the given round
+         */
+        public boolean isKeyframeRound(int roundNum) {
+            return recording && keyframeInterval > 0 && roundNum % keyframeInterval == 0;
+        }
+
+        /**
+         * Record the per-tile state for this round's keyframe.
+         * Arrays are indexed by location and must not be modified afterwards.
+         */
+        public void addKeyframeTiles(byte[] paint, byte[] markersA, byte[] markersB) {
+            this.hasKeyframe = true;
+            this.keyframePaint = paint;
+            this.keyframeMarkersA = markersA;
+            this.keyframeMarkersB = markersB;
+        }
+
+        /**
+         * Record a robot alive at the end of the round for this round's keyframe.
+         */
+        public void addKeyframeRobot(int id, UnitType type, Team team, int health, int paint, MapLocation loc) {
+            this.hasKeyframe = true;
+            this.keyframeRobotIds.add(id);
+            this.keyframeRobotTypes.add(FlatHelpers.getRobotTypeFromUnitType(type));
+            this.keyframeRobotTeamIds.add(TeamMapping.id(team));
+            this.keyframeRobotHealths.add(health);
+            this.keyframeRobotPaints.add(paint);
+            this.keyframeRobotXs.add(loc.x);
+            this.keyframeRobotYs.add(loc.y);
+        }
+
         public void startTurn(int robotID){
             return;
         }
@@ -501,13 +759,6 @@ public class GameMaker {
             });
         }
 
-        /**
-         * @return an outputstream that will be baked into the output file
-         */
-        public OutputStream getOut() {
-            return logger;
-        }
-
         /// Generic action representing damage to a robot
         public void addDamageAction(int damagedRobotID, int damage){
             applyToBuilders((builder) -> {
@@ -654,6 +905,14 @@ public class GameMaker {
             this.timelineMarkerColors.add(color);
         }
 
+        /**
+         * @return the number of timeline markers in the current or last match;
+         *         they are only kept with indicators shown
+         */
+        public int getTimelineMarkerCount() {
+            return this.timelineMarkerRounds.size();
+        }
+
         /// Update the indicator string for this robot
         public void addIndicatorString(int id, String string) {
             if (!showIndicators) {
@@ -701,6 +960,21 @@ public class GameMaker {
             this.teamPaintCoverageAmounts.clear();
             this.teamResourcePatternAmounts.clear();
             this.diedIds.clear();
+            clearKeyframeData();
+        }
+
+        private void clearKeyframeData() {
+            this.hasKeyframe = false;
+            this.keyframePaint = null;
+            this.keyframeMarkersA = null;
+            this.keyframeMarkersB = null;
+            this.keyframeRobotIds.clear();
+            this.keyframeRobotTypes.clear();
+            this.keyframeRobotTeamIds.clear();
+            this.keyframeRobotHealths.clear();
+            this.keyframeRobotPaints.clear();
+            this.keyframeRobotXs.clear();
+            this.keyframeRobotYs.clear();
         }
 
         private void clearMatchData() {
@@ -710,6 +984,49 @@ public class GameMaker {
             this.timelineMarkerLabels.clear();
             this.timelineMarkerRounds.clear();
         }
+
+        /**
+         * Between rounds, only the current match's timeline markers are
+         * waiting to be written.
+         */
+        private void writeCheckpoint(DataOutput out) throws IOException {
+            out.writeInt(this.currentRound);
+            out.writeInt(this.currentMapWidth);
+            out.writeInt(this.timelineMarkerRounds.size());
+            for (int i = 0; i < this.timelineMarkerRounds.size(); i++) {
+                out.writeByte(this.timelineMarkerTeams.get(i));
+                out.writeInt(this.timelineMarkerRounds.get(i));
+                out.writeInt(this.timelineMarkerColors.get(i));
+                out.writeUTF(this.timelineMarkerLabels.get(i));
+            }
+        }
+
+        private void readCheckpoint(DataInput in) throws IOException {
+            clearMatchData();
+            this.currentRound = in.readInt();
+            this.currentMapWidth = in.readInt();
+            int numMarkers = in.readInt();
+            for (int i = 0; i < numMarkers; i++) {
+                this.timelineMarkerTeams.add(in.readByte());
+                this.timelineMarkerRounds.add(in.readInt());
+                this.timelineMarkerColors.add(in.readInt());
+                this.timelineMarkerLabels.add(in.readUTF());
+            }
+        }
+    }
+
+    /**
+     * Keeps the buffer a builder is building in, which FlatBufferBuilder only
+     * hands out once it's finished.
+     */
+    private static class BufferTracker extends FlatBufferBuilder.ByteBufferFactory {
+        private ByteBuffer current;
+
+        @Override
+        public ByteBuffer newByteBuffer(int capacity) {
+            current = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+            return current;
+        }
     }
 
     public class FlatBufferBuilderWrapper extends FlatBufferBuilder {
@@ -717,12 +1034,33 @@ public class GameMaker {
         private ArrayList<Integer> actionOffsets = new ArrayList<>(); 
         private ArrayList<Byte> actionTypes = new ArrayList<>();
 
+        /**
+         * Null unless made with the no-argument constructor, see buildBuffer.
+         */
+        private final BufferTracker tracker;
+
         public FlatBufferBuilderWrapper() {
-            super();
+            this(new BufferTracker());
+        }
+
+        private FlatBufferBuilderWrapper(BufferTracker tracker) {
+            super(1024, tracker);
+            this.tracker = tracker;
         }
 
         public FlatBufferBuilderWrapper(ByteBuffer data) {
             super(data);
+            this.tracker = null;
+        }
+
+        /**
+         * Unlike dataBuffer, this works before the buffer is finished. The data
+         * built so far is the last offset() bytes.
+         *
+         * @return the buffer being built in
+         */
+        private ByteBuffer buildBuffer() {
+            return tracker.current;
         }
 
         public void addAction(int offset, byte actionType) {
@@ -0,0 +1,194 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+import battlecode.util.JsonWriter;
+import battlecode.world.DominationFactor;
+import battlecode.world.GameWorld;
+import battlecode.world.control.PlayerCpuTime;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of a game without its replay: who won each match, why, and
+ * where the teams stood at the end. Written in place of the replay when the
+ * server runs with bc.server.output=result-only, and sent back for every game
+ * a Daemon runs.
+ */
+public class GameSummary {
+
+    /**
+     * The final state of one team in a match.
+     */
+    public static class TeamResult {
+        public final int money;
+        public final int paintedTiles;
+        public final int towers;
+        public final int robots;
+        /**
+         * The time the team's players took, or null if they weren't sandboxed.
+         */
+        public final PlayerCpuTime cpuTime;
+
+        public TeamResult(GameWorld world, Team team) {
+            this.money = world.getTeamInfo().getMoney(team);
+            this.paintedTiles = world.getTeamInfo().getNumberOfPaintedSquares(team);
+            this.towers = world.getTeamInfo().getTotalNumberOfTowers(team);
+            this.robots = world.getObjectInfo().getRobotCount(team) - this.towers;
+            this.cpuTime = world.getPlayerCpuTime(team);
+        }
+
+        public TeamResult(DataInput in) throws IOException {
+            this.money = in.readInt();
+            this.paintedTiles = in.readInt();
+            this.towers = in.readInt();
+            this.robots = in.readInt();
+            this.cpuTime = in.readBoolean() ? new PlayerCpuTime(in) : null;
+        }
+
+        public void writeCheckpoint(DataOutput out) throws IOException {
+            out.writeInt(money);
+            out.writeInt(paintedTiles);
+            out.writeInt(towers);
+            out.writeInt(robots);
+            out.writeBoolean(cpuTime != null);
+            if (cpuTime != null) {
+                cpuTime.writeCheckpoint(out);
+            }
+        }
+
+        private void write(JsonWriter json) {
+            json.beginObject();
+            json.name("money").value(money);
+            json.name("paintedTiles").value(paintedTiles);
+            json.name("towers").value(towers);
+            json.name("robots").value(robots);
+            if (cpuTime != null) {
+                json.name("cpuTime");
+                cpuTime.write(json);
+            }
+            json.endObject();
+        }
+    }
+
+    /**
+     * The result of a single match.
+     */
+    public static class MatchResult {
+        public final String map;
+        public final Team winner;
+        public final DominationFactor reason;
+        public final int rounds;
+        public final double seconds;
+        public final TeamResult teamA;
+        public final TeamResult teamB;
+        public final int timelineMarkers;
+
+        /**
+         * @param map the name of the map
+         * @param world the finished match
+         * @param matchMaker the match maker of the match, for its timeline
+         * @param seconds how long the match took to run
+         */
+        public MatchResult(String map, GameWorld world, GameMaker.MatchMaker matchMaker, double seconds) {
+            this.map = map;
+            this.winner = world.getWinner();
+            this.reason = world.getGameStats().getDominationFactor();
+            this.rounds = world.getCurrentRound();
+            this.seconds = seconds;
+            this.teamA = new TeamResult(world, Team.A);
+            this.teamB = new TeamResult(world, Team.B);
+            this.timelineMarkers = matchMaker.getTimelineMarkerCount();
+        }
+
+        public MatchResult(DataInput in) throws IOException {
+            this.map = in.readUTF();
+            int winner = in.readByte();
+            int reason = in.readByte();
+            this.winner = winner < 0 ? null : Team.values()[winner];
+            this.reason = reason < 0 ? null : DominationFactor.values()[reason];
+            this.rounds = in.readInt();
+            this.seconds = in.readDouble();
+            this.teamA = new TeamResult(in);
+            this.teamB = new TeamResult(in);
+            this.timelineMarkers = in.readInt();
+        }
+
+        public void writeCheckpoint(DataOutput out) throws IOException {
+            out.writeUTF(map);
+            out.writeByte(winner == null ? -1 : winner.ordinal());
+            out.writeByte(reason == null ? -1 : reason.ordinal());
+            out.writeInt(rounds);
+            out.writeDouble(seconds);
+            teamA.writeCheckpoint(out);
+            teamB.writeCheckpoint(out);
+            out.writeInt(timelineMarkers);
+        }
+    }
+
+    private final GameInfo game;
+    private final List<MatchResult> matches = new ArrayList<>();
+    private Team winner;
+
+    public GameSummary(GameInfo game) {
+        this.game = game;
+    }
+
+    public void addMatch(MatchResult match) {
+        matches.add(match);
+    }
+
+    public List<MatchResult> getMatches() {
+        return matches;
+    }
+
+    public void setWinner(Team winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * @return the winner of the game, or null if it isn't over
+     */
+    public Team getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the summary as a single line of JSON
+     */
+    public String toJson() {
+        JsonWriter json = new JsonWriter();
+        write(json);
+        return json.toString();
+    }
+
+    /**
+     * Write the summary as a JSON object.
+     */
+    public void write(JsonWriter json) {
+        json.beginObject();
+        json.name("teamA").value(game.getTeamAName());
+        json.name("teamB").value(game.getTeamBName());
+        json.name("winner").value(winner == null ? null : winner.name());
+        json.name("matches").beginArray();
+        for (MatchResult match : matches) {
+            json.beginObject();
+            json.name("map").value(match.map);
+            json.name("winner").value(match.winner == null ? null : match.winner.name());
+            json.name("reason").value(match.reason == null ? null : match.reason.name());
+            json.name("rounds").value(match.rounds);
+            json.name("seconds").value(match.seconds);
+            json.name("teamA");
+            match.teamA.write(json);
+            json.name("teamB");
+            match.teamB.write(json);
+            json.name("timelineMarkers").value(match.timelineMarkers);
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+}
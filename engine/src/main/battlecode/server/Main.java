@@ -1,6 +1,7 @@
 package battlecode.server;
 
 import java.io.File;
+import java.util.List;
 
 public class Main {
 
@@ -82,6 +83,34 @@ public class Main {
         }
     }
 
+    private static boolean runDaemon(Config options) {
+        try {
+            new Daemon(options).run();
+            return true;
+        } catch (Exception e) {
+            ErrorReporter.report(e, true);
+            return false;
+        }
+    }
+
+    private static boolean runBenchmark(Config options) {
+        List<String> regressions;
+        try {
+            regressions = new Benchmark(options).run();
+        } catch (Exception e) {
+            ErrorReporter.report(e, true);
+            return false;
+        }
+        if (!regressions.isEmpty()) {
+            System.err.println("Regressed from the baseline by more than bc.benchmark.threshold:");
+            for (String regression : regressions) {
+                System.err.println("  " + regression);
+            }
+            System.exit(Benchmark.REGRESSION_EXIT_CODE);
+        }
+        return true;
+    }
+
     public static Config setupConfig(String[] args) {
         try {
             Config options = new Config(args);
@@ -103,11 +132,22 @@ public class Main {
             mode = Server.Mode.HEADLESS;
         }
 
-        switch (mode) {
-            case HEADLESS:
-                return runHeadless(options);
-            default:
-                return false;
+        MetricsExporter metrics = MetricsExporter.start(options);
+        try {
+            switch (mode) {
+                case HEADLESS:
+                    return runHeadless(options);
+                case DAEMON:
+                    return runDaemon(options);
+                case BENCHMARK:
+                    return runBenchmark(options);
+                default:
+                    return false;
+            }
+        } finally {
+            if (metrics != null) {
+                metrics.stop();
+            }
         }
     }
 
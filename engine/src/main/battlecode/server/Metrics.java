@@ -0,0 +1,329 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+import battlecode.util.JsonWriter;
+import battlecode.world.GameWorld;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of what the engine is doing, for every match the
+ * process runs at once: rounds and turns run, how long the engine and the
+ * players took for each turn, live robots and sandbox threads, hits and
+ * misses of the instrumented class cache, and replay bytes written.
+ *
+ * Nothing is collected until the metrics are enabled, see MetricsExporter.
+ * Collecting never takes a lock: counts are LongAdders, so matches on other
+ * threads don't contend, and live robots are read from the running worlds
+ * only when the metrics are read.
+ */
+public final class Metrics {
+
+    /**
+     * A histogram of durations in fixed buckets, in the manner of Prometheus.
+     */
+    public static final class Histogram {
+        /**
+         * The upper bounds of the buckets, in nanoseconds; the last bucket
+         * has no bound.
+         */
+        private static final long[] BOUNDS = {
+                10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+                1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L, 100_000_000L
+        };
+
+        private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+        private final LongAdder sum = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            int i = 0;
+            while (i < BOUNDS.length && nanos > BOUNDS[i]) {
+                i++;
+            }
+            buckets[i].increment();
+            sum.add(nanos);
+        }
+
+        /**
+         * @return how many durations were at most each bound, and then the
+         *         count of all of them
+         */
+        long[] cumulativeCounts() {
+            long[] counts = new long[buckets.length];
+            long count = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                count += buckets[i].sum();
+                counts[i] = count;
+            }
+            return counts;
+        }
+
+        long getSumNanos() {
+            return sum.sum();
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            sum.reset();
+        }
+    }
+
+    private static volatile boolean enabled;
+
+    private static final LongAdder rounds = new LongAdder();
+    private static final LongAdder turns = new LongAdder();
+    private static final LongAdder matchesFinished = new LongAdder();
+    private static final LongAdder classCacheHits = new LongAdder();
+    private static final LongAdder classCacheMisses = new LongAdder();
+    private static final LongAdder replayBytes = new LongAdder();
+    private static final AtomicLong sandboxThreads = new AtomicLong();
+    private static final Histogram engineTurns = new Histogram();
+    private static final Histogram playerTurns = new Histogram();
+
+    /**
+     * The matches the server is running, for their live robots.
+     */
+    private static final Set<GameWorld> runningMatches = ConcurrentHashMap.newKeySet();
+
+    private Metrics() {}
+
+    /**
+     * Start collecting metrics.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stop collecting metrics, and forget the ones collected so far, so
+     * tests don't leave them on for every test after.
+     */
+    static void reset() {
+        enabled = false;
+        rounds.reset();
+        turns.reset();
+        matchesFinished.reset();
+        classCacheHits.reset();
+        classCacheMisses.reset();
+        replayBytes.reset();
+        sandboxThreads.set(0);
+        engineTurns.reset();
+        playerTurns.reset();
+        runningMatches.clear();
+    }
+
+    /**
+     * @return whether metrics are being collected
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void roundRun() {
+        if (enabled) {
+            rounds.increment();
+        }
+    }
+
+    /**
+     * @param engineNanos the wall time of the turn outside the player
+     * @param playerNanos the wall time of the player's step
+     */
+    public static void turnRun(long engineNanos, long playerNanos) {
+        if (enabled) {
+            turns.increment();
+            engineTurns.record(engineNanos);
+            playerTurns.record(playerNanos);
+        }
+    }
+
+    public static void matchStarted(GameWorld world) {
+        if (enabled) {
+            runningMatches.add(world);
+        }
+    }
+
+    public static void matchFinished(GameWorld world) {
+        if (runningMatches.remove(world)) {
+            matchesFinished.increment();
+        }
+    }
+
+    public static void sandboxThreadStarted() {
+        if (enabled) {
+            sandboxThreads.incrementAndGet();
+        }
+    }
+
+    public static void sandboxThreadEnded() {
+        if (enabled) {
+            sandboxThreads.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param hit whether an instrumented class was found in the cache,
+     *            rather than instrumented
+     */
+    public static void classLoaded(boolean hit) {
+        if (enabled) {
+            (hit ? classCacheHits : classCacheMisses).increment();
+        }
+    }
+
+    public static void replayWritten(long bytes) {
+        if (enabled) {
+            replayBytes.add(bytes);
+        }
+    }
+
+    public static long getRounds() {
+        return rounds.sum();
+    }
+
+    public static long getTurns() {
+        return turns.sum();
+    }
+
+    /**
+     * @return the robots of both teams in the matches the server is running
+     */
+    public static long getLiveRobots() {
+        long robots = 0;
+        for (GameWorld world : runningMatches) {
+            robots += world.getObjectInfo().getRobotCount(Team.A) + world.getObjectInfo().getRobotCount(Team.B);
+        }
+        return robots;
+    }
+
+    /**
+     * @return the metrics in the Prometheus text format
+     */
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        metric(out, "battlecode_rounds_total", "counter", "Rounds run.", rounds.sum());
+        metric(out, "battlecode_turns_total", "counter", "Robot turns run.", turns.sum());
+        metric(out, "battlecode_matches_running", "gauge", "Matches being run.", runningMatches.size());
+        metric(out, "battlecode_matches_finished_total", "counter", "Matches run to the end.", matchesFinished.sum());
+        metric(out, "battlecode_robots_live", "gauge", "Robots in the matches being run.", getLiveRobots());
+        metric(out, "battlecode_sandbox_threads", "gauge", "Live sandboxed player threads.", sandboxThreads.get());
+        metric(out, "battlecode_class_cache_hits_total", "counter",
+                "Player classes loaded from the instrumented class cache.", classCacheHits.sum());
+        metric(out, "battlecode_class_cache_misses_total", "counter",
+                "Player classes instrumented.", classCacheMisses.sum());
+        metric(out, "battlecode_replay_bytes_total", "counter", "Bytes of replays written.", replayBytes.sum());
+
+        out.append("# HELP battlecode_turn_seconds Wall time of robot turns, by the engine and the player.\n");
+        out.append("# TYPE battlecode_turn_seconds histogram\n");
+        histogram(out, "engine", engineTurns);
+        histogram(out, "player", playerTurns);
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        metric(out, "jvm_heap_used_bytes", "gauge", "Used heap.", heap.getUsed());
+        metric(out, "jvm_heap_committed_bytes", "gauge", "Committed heap.", heap.getCommitted());
+        metric(out, "jvm_heap_max_bytes", "gauge", "Largest the heap may get.", heap.getMax());
+        out.append("# HELP jvm_gc_collections_total Garbage collections.\n");
+        out.append("# TYPE jvm_gc_collections_total counter\n");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.append("jvm_gc_collections_total{gc=\"").append(gc.getName()).append("\"} ")
+                    .append(gc.getCollectionCount()).append('\n');
+        }
+        out.append("# HELP jvm_gc_seconds_total Time spent in garbage collection.\n");
+        out.append("# TYPE jvm_gc_seconds_total counter\n");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.append("jvm_gc_seconds_total{gc=\"").append(gc.getName()).append("\"} ")
+                    .append(seconds(gc.getCollectionTime() * 1_000_000L)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void metric(StringBuilder out, String name, String type, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String part, Histogram histogram) {
+        long[] counts = histogram.cumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            out.append("battlecode_turn_seconds_bucket{part=\"").append(part).append("\",le=\"")
+                    .append(i < Histogram.BOUNDS.length ? seconds(Histogram.BOUNDS[i]) : "+Inf").append("\"} ")
+                    .append(counts[i]).append('\n');
+        }
+        out.append("battlecode_turn_seconds_sum{part=\"").append(part).append("\"} ")
+                .append(seconds(histogram.getSumNanos())).append('\n');
+        out.append("battlecode_turn_seconds_count{part=\"").append(part).append("\"} ")
+                .append(counts[counts.length - 1]).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Write the metrics as a JSON object.
+     */
+    public static void write(JsonWriter json) {
+        json.beginObject();
+        json.name("rounds").value(rounds.sum());
+        json.name("turns").value(turns.sum());
+        json.name("matchesRunning").value(runningMatches.size());
+        json.name("matchesFinished").value(matchesFinished.sum());
+        json.name("liveRobots").value(getLiveRobots());
+        json.name("sandboxThreads").value(sandboxThreads.get());
+        json.name("classCacheHits").value(classCacheHits.sum());
+        json.name("classCacheMisses").value(classCacheMisses.sum());
+        json.name("replayBytes").value(replayBytes.sum());
+        json.name("turnSeconds").beginObject();
+        json.name("engine");
+        write(json, engineTurns);
+        json.name("player");
+        write(json, playerTurns);
+        json.endObject();
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        json.name("heap").beginObject();
+        json.name("used").value(heap.getUsed());
+        json.name("committed").value(heap.getCommitted());
+        json.name("max").value(heap.getMax());
+        json.endObject();
+        json.name("gc").beginArray();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            json.beginObject();
+            json.name("name").value(gc.getName());
+            json.name("collections").value(gc.getCollectionCount());
+            json.name("seconds").value(gc.getCollectionTime() / 1e3);
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private static void write(JsonWriter json, Histogram histogram) {
+        long[] counts = histogram.cumulativeCounts();
+        json.beginObject();
+        json.name("count").value(counts[counts.length - 1]);
+        json.name("sum").value(histogram.getSumNanos() / 1e9);
+        json.name("buckets").beginObject();
+        for (int i = 0; i < Histogram.BOUNDS.length; i++) {
+            json.name(seconds(Histogram.BOUNDS[i])).value(counts[i]);
+        }
+        json.endObject();
+        json.endObject();
+    }
+}
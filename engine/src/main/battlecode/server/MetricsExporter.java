@@ -0,0 +1,172 @@
+package battlecode.server;
+
+import battlecode.util.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes the engine's Metrics available outside the process, so workers
+ * running many matches can be watched.
+ * <p>
+ * With bc.server.metrics-port set, they're served on that port on localhost:
+ * /metrics in the Prometheus text format, and /metrics.json as JSON. With
+ * bc.server.metrics-file set, they're written there as JSON every
+ * bc.server.metrics-interval seconds, and once more when the exporter is
+ * stopped; the file is replaced whole, so readers never see half of one.
+ * <p>
+ * Both are served from their own threads, which only read the metrics, so
+ * the matches being run don't wait on them.
+ */
+public class MetricsExporter {
+
+    private final HttpServer http;
+    private final ExecutorService requests;
+    private final ScheduledExecutorService dumps;
+    private final Path file;
+
+    private long lastDumpNanos;
+    private long lastDumpRounds;
+
+    private MetricsExporter(HttpServer http, Path file) {
+        this.http = http;
+        this.file = file;
+        if (http != null) {
+            this.requests = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.requests = null;
+        }
+        this.lastDumpNanos = System.nanoTime();
+        this.lastDumpRounds = Metrics.getRounds();
+        if (file != null) {
+            this.dumps = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.dumps = null;
+        }
+    }
+
+    /**
+     * Start collecting metrics and exporting them as configured.
+     *
+     * @return the exporter, or null if neither a port nor a file is set or
+     *         the port couldn't be listened on
+     */
+    public static MetricsExporter start(Config options) {
+        int port = options.getInt("bc.server.metrics-port");
+        String fileName = options.get("bc.server.metrics-file");
+        Path file = fileName == null || fileName.isEmpty() ? null : Paths.get(fileName);
+        if (port <= 0 && file == null) {
+            return null;
+        }
+
+        HttpServer http = null;
+        if (port > 0) {
+            try {
+                http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            } catch (IOException e) {
+                ErrorReporter.report("Couldn't serve metrics on port " + port + ": " + e.getMessage(), false);
+                return null;
+            }
+        }
+
+        Metrics.enable();
+        MetricsExporter exporter = new MetricsExporter(http, file);
+        if (http != null) {
+            http.createContext("/metrics", exchange -> exporter.respond(exchange,
+                    "text/plain; version=0.0.4; charset=utf-8", Metrics.toPrometheus()));
+            http.createContext("/metrics.json", exchange -> exporter.respond(exchange,
+                    "application/json", exporter.toJson()));
+            http.setExecutor(exporter.requests);
+            http.start();
+            Server.say("Serving metrics on http://" + http.getAddress().getHostString() + ":" + port + "/metrics");
+        }
+        if (file != null) {
+            long interval = Math.max(1, options.getInt("bc.server.metrics-interval"));
+            exporter.dumps.scheduleAtFixedRate(exporter::dump, interval, interval, TimeUnit.SECONDS);
+            Server.say("Writing metrics to " + file.toAbsolutePath() + " every " + interval + " s");
+        }
+        return exporter;
+    }
+
+    private void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @return the metrics as JSON, with the time they were read
+     */
+    private String toJson() {
+        JsonWriter json = new JsonWriter().beginObject();
+        json.name("time").value(System.currentTimeMillis());
+        json.name("metrics");
+        Metrics.write(json);
+        return json.endObject().toString();
+    }
+
+    /**
+     * Write the metrics to the file, with the rounds per second since the
+     * last time.
+     */
+    private synchronized void dump() {
+        long now = System.nanoTime();
+        long rounds = Metrics.getRounds();
+        double seconds = (now - lastDumpNanos) / 1e9;
+
+        JsonWriter json = new JsonWriter().beginObject();
+        json.name("time").value(System.currentTimeMillis());
+        json.name("roundsPerSecond").value(seconds > 0 ? (rounds - lastDumpRounds) / seconds : 0);
+        json.name("metrics");
+        Metrics.write(json);
+        json.endObject();
+        lastDumpNanos = now;
+        lastDumpRounds = rounds;
+
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, (json + "\n").getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Server.warn("Couldn't write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop serving the metrics, and write them to the file one last time.
+     */
+    public void stop() {
+        if (http != null) {
+            http.stop(0);
+            requests.shutdown();
+        }
+        if (dumps != null) {
+            dumps.shutdownNow();
+            dump();
+        }
+    }
+}
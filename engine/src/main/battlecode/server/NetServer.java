@@ -1,35 +1,79 @@
 package battlecode.server;
 
+import battlecode.schema.Event;
+import battlecode.schema.EventWrapper;
 import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Serve a battlecode match over a websocket connection.
  *
  * Sends one battlecode event per websocket message; ignores incoming messages.
+ * Events aren't batched into fewer messages, since the client reads exactly
+ * one EventWrapper from each.
+ *
+ * Every client has its own bounded send queue, so a slow client can never
+ * block (or run out of memory for) the engine or the other clients. A client
+ * that falls so far behind that its queue fills up is disconnected; the
+ * client reconnects on its own and is sent the game again from the start.
  *
  * @author james
  */
 public class NetServer extends WebSocketServer {
 
-    private final List<byte[]> previousEvents;
-    private final BlockingQueue<byte[]> incomingEvents;
+    /**
+     * The number of events that may be waiting to be sent to a single client.
+     */
+    public static final int CLIENT_QUEUE_CAPACITY = 2000;
+
+    /**
+     * The number of messages we let pile up in the websocket library's own
+     * (unbounded) outgoing buffer before we stop handing it more.
+     */
+    private static final int MAX_MESSAGES_IN_FLIGHT = 64;
+
+    /**
+     * How long the send thread sleeps when there's nothing it can do.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(300);
+    private static final long BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Every event of the current game, for clients that connect late. The
+     * client applies each round to the one before it, all the way from the
+     * match header, so it can't start from a keyframe; and it needs the
+     * earlier matches to show their results. Guarded by {@link #lock}.
+     */
+    private final List<byte[]> catchUpEvents;
+
+    /**
+     * Guarded by {@link #lock}.
+     */
+    private final Map<WebSocket, ClientQueue> clients;
+
+    private final Object lock = new Object();
 
     private boolean waitForClient;
 
-    private boolean done = false;
-    private boolean connected = false;
+    private volatile boolean done = false;
+    private volatile boolean connected = false;
 
-    private Thread queueThread;
+    private Thread sendThread;
 
     /**
      * Create a new server.
@@ -40,25 +84,24 @@ public class NetServer extends WebSocketServer {
 
         this.waitForClient = waitForClient;
 
-        previousEvents = new ArrayList<>();
-        incomingEvents = new ArrayBlockingQueue<>(2000);
+        catchUpEvents = new ArrayList<>();
+        clients = new HashMap<>();
 
-        queueThread = new Thread(() -> {
+        sendThread = new Thread(() -> {
             try {
                 while (!done) {
-                    byte[] event = incomingEvents.poll(300, TimeUnit.MILLISECONDS);
-                    if (event != null) {
-                        processEvent(event);
+                    if (sendPending(false)) {
+                        LockSupport.parkNanos(BACKOFF_NANOS);
+                    } else {
+                        LockSupport.parkNanos(IDLE_NANOS);
                     }
                 }
-                while (incomingEvents.size() > 0) {
-                    byte[] event = incomingEvents.remove();
-                    processEvent(event);
-                }
+                sendPending(true);
             } catch(Exception e) {
                 ErrorReporter.report(e, true);
             }
-        });
+        }, "NetServer-send");
+        sendThread.setDaemon(true);
     }
 
     /**
@@ -66,11 +109,11 @@ public class NetServer extends WebSocketServer {
      */
     @Override
     public void start() {
-        if (queueThread.isAlive() || done) {
+        if (sendThread.isAlive() || done) {
             throw new RuntimeException("Can't start server, already started");
         }
 
-        queueThread.start();
+        sendThread.start();
         super.start();
 
         if (waitForClient) {
@@ -90,13 +133,24 @@ public class NetServer extends WebSocketServer {
      * Add an event.
      * It will be sent to clients at some point in the future.
      *
+     * Never blocks on clients.
+     *
      * @param event
      */
     public void addEvent(byte[] event) {
         if (done) {
             throw new RuntimeException("Can't add event, server already finished");
         }
-        incomingEvents.add(event);
+
+        synchronized (lock) {
+            recordForCatchUp(event);
+
+            for (ClientQueue client : clients.values()) {
+                client.offer(event);
+            }
+        }
+
+        LockSupport.unpark(sendThread);
     }
 
     /**
@@ -104,16 +158,17 @@ public class NetServer extends WebSocketServer {
      * Blocks until finished.
      */
     public void finish() {
-        if (!queueThread.isAlive()) {
-            throw new RuntimeException("Can't finish, queue thread already started");
+        if (!sendThread.isAlive()) {
+            throw new RuntimeException("Can't finish, send thread not running");
         }
         if (done) {
             throw new RuntimeException("Can't finish, already finished");
         }
 
         done = true;
+        LockSupport.unpark(sendThread);
         try {
-            queueThread.join();
+            sendThread.join();
             stop();
         } catch (Exception e) {
             ErrorReporter.report(e, true);
@@ -122,35 +177,90 @@ public class NetServer extends WebSocketServer {
 
     // implementation details
 
-    // Two threads: one polling websocket stuff, one awaiting queue inputs
-    // When there's a new client, we lock, all events are sent to client, we unlock
-    // When there is a queue input, we lock, all clients receive event, we unlock
-    // There may still be thread-safety issues here:
-    //
-    // onOpen
-
-    private void processEvent(byte[] event) {
-        synchronized (connections()) {
-            for (WebSocket client : connections()) {
-                client.send(event);
+    // Three threads touch this class: the engine calls addEvent, the websocket
+    // thread calls onOpen/onClose, and the send thread writes to sockets.
+    // The lock only guards the in-memory bookkeeping; nothing is ever sent
+    // while holding it.
+
+    /**
+     * Keep the catch-up log down to the current game.
+     */
+    private void recordForCatchUp(byte[] event) {
+        EventWrapper wrapper = EventWrapper.getRootAsEventWrapper(ByteBuffer.wrap(event));
+        if (wrapper.eType() == Event.GameHeader) {
+            catchUpEvents.clear();
+        }
+        catchUpEvents.add(event);
+    }
+
+    /**
+     * Move queued events to every client's socket.
+     *
+     * @param flush whether to ignore the in-flight limit and send everything
+     * @return whether any client still has events waiting
+     */
+    private boolean sendPending(boolean flush) {
+        List<ClientQueue> toService;
+        synchronized (lock) {
+            toService = new ArrayList<>(clients.values());
+        }
+
+        boolean pending = false;
+        List<byte[]> batch = new ArrayList<>();
+        for (ClientQueue client : toService) {
+            if (client.dropped) {
+                client.socket.close(CloseFrame.GOING_AWAY, "Client fell too far behind");
+                continue;
+            }
+            if (!client.socket.isOpen()) {
+                continue;
             }
-            previousEvents.add(event);
+
+            if (!client.caughtUp) {
+                synchronized (lock) {
+                    // queued events are all contained in the catch-up log
+                    client.queue.clear();
+                    batch.addAll(catchUpEvents);
+                    client.caughtUp = true;
+                }
+            }
+
+            int room = flush ? Integer.MAX_VALUE : MAX_MESSAGES_IN_FLIGHT - messagesInFlight(client.socket);
+            if (room > 0) {
+                client.queue.drainTo(batch, room);
+            }
+
+            for (byte[] event : batch) {
+                client.socket.send(event);
+            }
+            batch.clear();
+
+            pending |= !client.queue.isEmpty();
+        }
+        return pending;
+    }
+
+    private static int messagesInFlight(WebSocket socket) {
+        if (socket instanceof WebSocketImpl) {
+            return ((WebSocketImpl) socket).outQueue.size();
         }
+        return socket.hasBufferedData() ? MAX_MESSAGES_IN_FLIGHT : 0;
     }
 
     @Override
     public void onOpen(WebSocket client, ClientHandshake handshake) {
-        synchronized (connections()) {
-            connected = true;
-
-            for (byte[] event : previousEvents) {
-                client.send(event);
-            }
+        synchronized (lock) {
+            clients.put(client, new ClientQueue(client));
         }
+        connected = true;
+        LockSupport.unpark(sendThread);
     }
 
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        synchronized (lock) {
+            clients.remove(conn);
+        }
         System.out.println("Closed: " + conn.getRemoteSocketAddress() + " for " + reason);
     }
 
@@ -168,4 +278,44 @@ public class NetServer extends WebSocketServer {
                 System.err.println("Error from [unopened WebSocket]: " + ex);
         }
     }
+
+    /**
+     * The events waiting to be sent to a single client.
+     */
+    private static class ClientQueue {
+        final WebSocket socket;
+        final BlockingQueue<byte[]> queue;
+
+        /**
+         * Whether this client has been sent the catch-up log yet.
+         * Guarded by the server lock.
+         */
+        boolean caughtUp;
+
+        /**
+         * Set once the queue overflows; the client is disconnected.
+         */
+        volatile boolean dropped;
+
+        ClientQueue(WebSocket socket) {
+            this.socket = socket;
+            this.queue = new ArrayBlockingQueue<>(CLIENT_QUEUE_CAPACITY);
+            this.caughtUp = false;
+            this.dropped = false;
+        }
+
+        /**
+         * Called with the server lock held.
+         */
+        void offer(byte[] event) {
+            if (dropped || !caughtUp) {
+                // not caught up yet: the event is in the catch-up log already
+                return;
+            }
+            if (!queue.offer(event)) {
+                queue.clear();
+                dropped = true;
+            }
+        }
+    }
 }
@@ -0,0 +1,257 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * What the robots of a game print, on its way to the match's log file and,
+ * optionally, to System.out.
+ *
+ * Robots write to their team's buffer in memory, which costs them no more
+ * than copying the bytes. Between rounds the buffers are handed to a
+ * background thread that writes them out, so a slow disk or terminal never
+ * holds up the match. A round's output is written team by team.
+ *
+ * Each team may write at most a number of bytes per match; anything past
+ * that is dropped, with a note that it was.
+ */
+public class RobotLog {
+
+    private static final byte[] TRUNCATION_MESSAGE =
+            "\n[output truncated due to team output limit]\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Writes every game's logs, in the order they're handed over.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "robot-log-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The output of one team's robots, buffered until the end of the round.
+     */
+    public static class TeamLog extends OutputStream {
+        private final int quota;
+        private byte[] buffer = new byte[1024];
+        private int count;
+        private long written;
+        private boolean truncated;
+
+        private TeamLog(int quota) {
+            this.quota = quota;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (truncated) {
+                return;
+            }
+            int allowed = len;
+            if (quota >= 0 && written + len > quota) {
+                allowed = (int) (quota - written);
+                truncated = true;
+            }
+            append(b, off, allowed);
+            written += allowed;
+            if (truncated) {
+                append(TRUNCATION_MESSAGE, 0, TRUNCATION_MESSAGE.length);
+            }
+        }
+
+        private void append(byte[] b, int off, int len) {
+            if (count + len > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + len));
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        /**
+         * @return what was written since the last time, or null if nothing
+         */
+        private synchronized byte[] take() {
+            if (count == 0) {
+                return null;
+            }
+            byte[] bytes = Arrays.copyOf(buffer, count);
+            count = 0;
+            return bytes;
+        }
+
+        private synchronized void reset() {
+            count = 0;
+            written = 0;
+            truncated = false;
+        }
+    }
+
+    private final boolean toSystemOut;
+    private final TeamLog[] teams;
+
+    /**
+     * The file the match's output is written to, or null; only touched by
+     * the writer.
+     */
+    private OutputStream file;
+
+    /**
+     * @param toSystemOut whether to write the output to System.out too
+     * @param teamQuota the most bytes each team may write in a match, or -1
+     *                  for no limit
+     */
+    public RobotLog(boolean toSystemOut, int teamQuota) {
+        this.toSystemOut = toSystemOut;
+        this.teams = new TeamLog[] {new TeamLog(teamQuota), new TeamLog(teamQuota)};
+    }
+
+    /**
+     * @param team A or B
+     * @return the stream the team's robots write to
+     */
+    public OutputStream getOut(Team team) {
+        return teams[team.ordinal()];
+    }
+
+    /**
+     * Start writing a match's output, with each team's quota restored.
+     *
+     * @param logFile the file to write it to, or null for none
+     */
+    public void startMatch(File logFile) {
+        startMatch(logFile, true);
+    }
+
+    /**
+     * Start writing a match's output, with each team's quota restored.
+     *
+     * @param logFile the file to write it to, or null for none
+     * @param replace whether to replace a file that is already there; if
+     *                not, the output goes to the first of logFile,
+     *                name-2.log, name-3.log and so on that doesn't exist
+     */
+    public void startMatch(File logFile, boolean replace) {
+        for (TeamLog team : teams) {
+            team.reset();
+        }
+        WRITER.submit(() -> {
+            if (logFile == null) {
+                return;
+            }
+            try {
+                file = replace ? new FileOutputStream(logFile) : createNew(logFile);
+            } catch (IOException e) {
+                Server.warn("Couldn't write robot output to " + logFile + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Open a file that didn't exist, numbering its name until one doesn't.
+     * Games' logs are all opened by the writer, so no two get the same one.
+     */
+    private static OutputStream createNew(File logFile) throws IOException {
+        String name = logFile.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        File candidate = logFile;
+        for (int n = 2; ; n++) {
+            try {
+                return Files.newOutputStream(candidate.toPath(), StandardOpenOption.CREATE_NEW);
+            } catch (FileAlreadyExistsException e) {
+                candidate = new File(logFile.getParentFile(), base + "-" + n + extension);
+            }
+        }
+    }
+
+    /**
+     * Hand what the robots wrote in the last round to the writer.
+     */
+    public void flush() {
+        for (TeamLog team : teams) {
+            byte[] bytes = team.take();
+            if (bytes != null) {
+                WRITER.submit(() -> write(bytes));
+            }
+        }
+    }
+
+    private void write(byte[] bytes) {
+        if (file != null) {
+            try {
+                file.write(bytes);
+            } catch (IOException e) {
+                Server.warn("Couldn't write robot output: " + e.getMessage());
+                closeFile();
+            }
+        }
+        if (toSystemOut) {
+            PrintStream out = System.out;
+            out.write(bytes, 0, bytes.length);
+            out.flush();
+        }
+    }
+
+    private void closeFile() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                Server.warn("Couldn't close robot output: " + e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    /**
+     * Write out the rest of the match's output, and wait until it has been.
+     */
+    public void endMatch() {
+        flush();
+        Future<?> done = WRITER.submit(this::closeFile);
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ErrorReporter.report(e.getCause(), false);
+        }
+    }
+
+    /**
+     * @return the file a match's output is written to, in dir: the save
+     *         file's name without its extension, or the teams if the game
+     *         has none, the match's number and its map
+     */
+    public static File getLogFile(File dir, GameInfo game, int matchIndex, String map) {
+        File saveFile = game.getSaveFile();
+        String base = game.getTeamAName() + "-vs-" + game.getTeamBName();
+        if (saveFile != null) {
+            String name = saveFile.getName();
+            int dot = name.lastIndexOf('.');
+            base = dot > 0 ? name.substring(0, dot) : name;
+        }
+        return new File(dir, base + "-" + (matchIndex + 1) + "-" + map + ".log");
+    }
+}
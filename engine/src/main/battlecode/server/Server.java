@@ -7,11 +7,15 @@ import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotInfo;
 import battlecode.common.Team;
+import battlecode.instrumenter.TeamClassLoaderCache;
+import battlecode.instrumenter.TeamClassLoaderFactory;
+import battlecode.server.jfr.EngineRecording;
 import battlecode.world.*;
 import battlecode.world.control.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +27,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 
 import javax.management.RuntimeErrorException;
 
+import org.apache.commons.io.FileUtils;
+
 /**
  * Runs matches. Specifically, this class forms a pipeline connecting match and
  * configuration parameters to the game engine and engine output to an abstract
@@ -34,6 +40,11 @@ public class Server implements Runnable {
      */
     private static final GameInfo POISON = new GameInfo(null, null, null, null, null, null, null, null, false) {};
 
+    /**
+     * The largest map whose locations fit in the replay's actions.
+     */
+    private static final int MAX_REPLAY_MAP_AREA = 1 << 16;
+
     /**
      * The queue of games to run.
      * When the server encounters the GameInfo POISON, it terminates.
@@ -61,6 +72,39 @@ public class Server implements Runnable {
      */
     private GameWorld currentWorld;
 
+    /**
+     * The checkpoint to resume the next game from, or null to start it over.
+     */
+    private String resumeFile;
+
+    /**
+     * Where to checkpoint the current game every checkpointInterval rounds;
+     * null if it isn't checkpointed.
+     */
+    private File checkpointFile;
+    private int checkpointInterval;
+
+    /**
+     * Keeps instrumented player classes between games, or null to
+     * instrument them afresh for every game.
+     */
+    private final TeamClassLoaderCache classLoaders;
+
+    /**
+     * Why the server is in the ERROR state, if it is.
+     */
+    private String failure;
+
+    /**
+     * Where to time the robot turns of every match, or null to not time them.
+     */
+    private TurnTimes turnTimes;
+
+    /**
+     * Where the robots of the current game print to, or null if they print
+     * straight to System.out.
+     */
+    private RobotLog robotLog;
 
     /**
      * The server's mode affects how notifications are handled, whether or not
@@ -69,6 +113,14 @@ public class Server implements Runnable {
      */
     public enum Mode {
         HEADLESS,
+        /**
+         * Runs games on request until stopped, see Daemon.
+         */
+        DAEMON,
+        /**
+         * Plays every map and measures the engine, see Benchmark.
+         */
+        BENCHMARK,
     }
 
     /**
@@ -79,12 +131,29 @@ public class Server implements Runnable {
      *                    match run state
      */
     public Server(Config options, boolean interactive) {
+        this(options, interactive, null);
+    }
+
+    /**
+     * Initializes a new server.
+     *
+     * @param options the configuration to use
+     * @param interactive whether to wait for notifications to control the
+     *                    match run state
+     * @param classLoaders the player classes to reuse between games, or
+     *                     null to load them for every game
+     */
+    public Server(Config options, boolean interactive, TeamClassLoaderCache classLoaders) {
+        this.classLoaders = classLoaders;
         this.gameQueue = new LinkedBlockingQueue<>();
 
         this.interactive = interactive;
 
         this.options = options;
         this.state = ServerState.NOT_READY;
+
+        String resume = options.get("bc.server.resume");
+        this.resumeFile = resume == null || resume.isEmpty() ? null : resume;
     }
 
     // ******************************
@@ -138,6 +207,13 @@ public class Server implements Runnable {
             netServer = null;
         }
 
+        final EngineRecording recording;
+        if (options.getBoolean("bc.server.jfr")) {
+            recording = EngineRecording.start(options.get("bc.server.jfr-file"));
+        } else {
+            recording = null;
+        }
+
         while (true) {
             final GameInfo currentGame;
             debug("Awaiting match");
@@ -156,60 +232,217 @@ public class Server implements Runnable {
                 if (netServer != null) {
                     netServer.finish();
                 }
+                if (recording != null) {
+                    recording.stop();
+                }
                 return;
             }
 
-            GameMaker gameMaker = new GameMaker(currentGame, netServer, options.getBoolean("bc.engine.show-indicators"));
+            if (runGame(currentGame, netServer) == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs every match of a game.
+     *
+     * @param currentGame the game to run
+     * @param netServer the server to send the game to, or null
+     * @return the results of the game, or null if it failed; the failure has
+     *         been reported, and the server is left in the ERROR state
+     */
+    GameSummary runGame(GameInfo currentGame, NetServer netServer) {
+        boolean resultOnly = isResultOnly();
+        boolean recording = options.getBoolean("bc.server.record-replay") && !resultOnly;
+        if (recording) {
+            String tooLarge = findMapTooLargeForReplay(currentGame);
+            if (tooLarge != null) {
+                // Actions store locations as unsigned shorts
+                warn("Map " + tooLarge + " has more than " + MAX_REPLAY_MAP_AREA
+                        + " tiles, too many for a replay; writing only the results");
+                resultOnly = true;
+                recording = false;
+            }
+        }
+        GameMaker gameMaker = new GameMaker(currentGame, netServer, options.getBoolean("bc.engine.show-indicators"),
+                options.getInt("bc.server.keyframe-interval"), recording);
+        GameSummary summary = new GameSummary(currentGame);
+
+        Checkpoint resume = null;
+        if (resumeFile != null) {
+            try {
+                resume = Checkpoint.open(new File(resumeFile), currentGame);
+                resume.resumeGame(gameMaker);
+            } catch (IOException e) {
+                fail("Couldn't resume from " + resumeFile + ": " + e.getMessage());
+                return null;
+            }
+            for (GameSummary.MatchResult match : resume.finishedMatches) {
+                summary.addMatch(match);
+            }
+            say("Resuming match " + (resume.matchIndex + 1) + " from " + resumeFile);
+            warn("Players' own state isn't part of the checkpoint; every robot starts a fresh player");
+            resumeFile = null;
+        } else {
             gameMaker.makeGameHeader();
+        }
 
-            debug("Running: "+currentGame);
+        checkpointInterval = options.getInt("bc.server.checkpoint-interval");
+        checkpointFile = null;
+        if (checkpointInterval > 0) {
+            String file = options.get("bc.server.checkpoint-file");
+            if (file != null && !file.isEmpty()) {
+                checkpointFile = new File(file);
+            } else if (currentGame.getSaveFile() != null) {
+                checkpointFile = new File(currentGame.getSaveFile().getPath() + ".ckpt");
+            } else {
+                warn("No checkpoint file to write to; not checkpointing");
+            }
+        }
 
-            // Set up our control provider
-            final boolean profilingEnabled = options.getBoolean("bc.engine.enable-profiler");
-            final RobotControlProvider prov = createControlProvider(currentGame, gameMaker, profilingEnabled);
+        debug("Running: "+currentGame);
 
-            final boolean checkMapGuarantees = options.getBoolean("bc.server.validate-maps");
-            final boolean alternateOrder = options.getBoolean("bc.server.alternate-order");
+        // Set up our control provider
+        final boolean profilingEnabled = options.getBoolean("bc.engine.enable-profiler");
+        final boolean callTreeProfiling = options.getBoolean("bc.engine.profiler-call-tree");
+        final RobotControlProvider prov;
+        robotLog = null;
+        if (options.getBoolean("bc.engine.trusted-players")) {
+            try {
+                prov = createTrustedControlProvider(currentGame);
+            } catch (IllegalArgumentException e) {
+                fail(e.getMessage());
+                return null;
+            }
+        } else {
+            robotLog = new RobotLog(options.getBoolean("bc.server.robot-player-to-system-out"),
+                    options.getInt("bc.server.robot-player-replay-file-per-team-limit-bytes"));
+            prov = createControlProvider(currentGame, robotLog, profilingEnabled, callTreeProfiling);
+        }
 
-            // Count wins
-            int aWins = 0, bWins = 0;
+        final boolean checkMapGuarantees = options.getBoolean("bc.server.validate-maps");
+        final boolean stressMode = options.getBoolean("bc.engine.stress-mode");
+        if (stressMode) {
+            warn("Stress mode is enabled; maps aren't held to competitive limits");
+        }
+        final boolean alternateOrder = options.getBoolean("bc.server.alternate-order");
+
+        // Count wins
+        int aWins = resume != null ? resume.aWins : 0;
+        int bWins = resume != null ? resume.bWins : 0;
+
+        // Loop through the maps in the current game
+        boolean teamsReversed = resume != null && resume.teamsReversed;
+        for (int matchIndex = resume != null ? resume.matchIndex : 0;
+             matchIndex < currentGame.getMaps().length; matchIndex++) {
+            Team winner;
+            long matchStart = System.nanoTime();
+            try {
+                winner = runMatch(currentGame, matchIndex, prov, gameMaker, checkMapGuarantees, teamsReversed,
+                        stressMode, aWins, bWins, summary.getMatches(), resume);
+                resume = null;
+                summary.addMatch(new GameSummary.MatchResult(currentGame.getMaps()[matchIndex], currentWorld,
+                        gameMaker.getMatchMaker(), (System.nanoTime() - matchStart) / 1e9));
+                if (alternateOrder) {teamsReversed = !teamsReversed;}
+            } catch (Exception e) {
+                ErrorReporter.report(e);
+                this.state = ServerState.ERROR;
+                this.failure = e.toString();
+                return null;
+            }
 
-            // Loop through the maps in the current game
-            boolean teamsReversed = false;
-            for (int matchIndex = 0; matchIndex < currentGame.getMaps().length; matchIndex++) {
-                Team winner;
-                try {
-                    winner = runMatch(currentGame, matchIndex, prov, gameMaker, checkMapGuarantees, teamsReversed);
-                    if (alternateOrder) {teamsReversed = !teamsReversed;}
-                } catch (Exception e) {
-                    ErrorReporter.report(e);
-                    this.state = ServerState.ERROR;
-                    return;
-                }
+            switch (winner) {
+                case A:
+                    aWins++;
+                    break;
+                case B:
+                    bWins++;
+                    break;
+                default:
+                    warn("Team "+winner+" won???");
+            }
 
-                switch (winner) {
-                    case A:
-                        aWins++;
-                        break;
-                    case B:
-                        bWins++;
-                        break;
-                    default:
-                        warn("Team "+winner+" won???");
+            currentWorld = null;
+
+            if (currentGame.isBestOfThree()) {
+                if (aWins == 2 || bWins == 2) {
+                    break;
                 }
+            }
+        }
+        Team winner = aWins >= bWins ? Team.A : Team.B;
+        gameMaker.makeGameFooter(winner);
+        summary.setWinner(winner);
+        if (gameMaker.isRecording()) {
+            gameMaker.writeGame(currentGame.getSaveFile());
+        }
+        if (resultOnly && currentGame.getSaveFile() != null) {
+            File summaryFile = getSummaryFile(currentGame.getSaveFile());
+            try {
+                FileUtils.writeStringToFile(summaryFile, summary.toJson() + "\n", StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                ErrorReporter.report("Couldn't write results to " + summaryFile + ": " + e.getMessage(), false);
+            }
+        }
+        if (checkpointFile != null) {
+            checkpointFile.delete();
+        }
+        return summary;
+    }
 
-                currentWorld = null;
+    /**
+     * Report why the game can't go on, and stop the server.
+     */
+    private void fail(String reason) {
+        ErrorReporter.report(reason, false);
+        this.state = ServerState.ERROR;
+        this.failure = reason;
+    }
 
-                if (currentGame.isBestOfThree()) {
-                    if (aWins == 2 || bWins == 2) {
-                        break;
-                    }
+    /**
+     * @return whether games only leave their results behind, see
+     *         bc.server.output
+     */
+    private boolean isResultOnly() {
+        String output = options.get("bc.server.output");
+        if ("result-only".equals(output)) {
+            return true;
+        }
+        if (output != null && !output.isEmpty() && !"replay".equals(output)) {
+            warn("Unknown bc.server.output " + output + "; writing a replay");
+        }
+        return false;
+    }
+
+    /**
+     * @return the first of the game's maps with more tiles than a replay can
+     *         locate, or null if there are none
+     */
+    private String findMapTooLargeForReplay(GameInfo currentGame) {
+        File mapDir = new File(options.get("bc.game.map-path"));
+        for (String mapName : currentGame.getMaps()) {
+            try {
+                GameMapIO.MapInfo info = GameMapIO.loadMapInfo(mapName, mapDir);
+                if (info.width * info.height > MAX_REPLAY_MAP_AREA) {
+                    return mapName;
                 }
+            } catch (IOException e) {
+                // Reported when the match is run
             }
-            Team winner = aWins >= bWins ? Team.A : Team.B;
-            gameMaker.makeGameFooter(winner);
-            gameMaker.writeGame(currentGame.getSaveFile());
         }
+        return null;
+    }
+
+    /**
+     * @return the file a result-only game's summary is written to: the save
+     *         file with its extension replaced by .json
+     */
+    public static File getSummaryFile(File saveFile) {
+        String name = saveFile.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return new File(saveFile.getParentFile(), base + ".json");
     }
 
     private int locationToIndex(LiveMap liveMap, int x, int y) {
@@ -232,17 +465,26 @@ public class Server implements Runnable {
 
     
     private Team runMatch(GameInfo currentGame, int matchIndex, RobotControlProvider prov, GameMaker gameMaker, boolean checkMapGuarantees) throws Exception {
-        return runMatch(currentGame, matchIndex, prov, gameMaker, checkMapGuarantees, false);
+        return runMatch(currentGame, matchIndex, prov, gameMaker, checkMapGuarantees, false, false, 0, 0,
+                new ArrayList<>(), null);
     }
 
     /**
+     * @param aWins the matches team A won before this one, for checkpoints
+     * @param bWins the matches team B won before this one, for checkpoints
+     * @param finishedMatches the results of the matches before this one, for
+     *                        checkpoints
+     * @param resume the checkpoint to resume this match from, or null to
+     *               start it
      * @return the winner of the match
      * @throws Exception if the match fails to run for some reason
      */
     private Team runMatch(GameInfo currentGame,
                           int matchIndex,
                           RobotControlProvider prov,
-                          GameMaker gameMaker, boolean checkMapGuarantees, boolean teamsReversed) throws Exception {
+                          GameMaker gameMaker, boolean checkMapGuarantees, boolean teamsReversed,
+                          boolean stressMode, int aWins, int bWins,
+                          List<GameSummary.MatchResult> finishedMatches, Checkpoint resume) throws Exception {
 
 
         final String mapName = currentGame.getMaps()[matchIndex];
@@ -250,18 +492,36 @@ public class Server implements Runnable {
 
 
         try {
-            loadedMap = GameMapIO.loadMap(mapName, new File(options.get("bc.game.map-path")), teamsReversed);
+            loadedMap = GameMapIO.loadCachedMap(mapName, new File(options.get("bc.game.map-path")), teamsReversed);
         } catch (IOException e) {
             warn("Couldn't load map " + mapName + ", skipping");
             throw e;
         }
 
         // Create the game world!
-        currentWorld = new GameWorld(loadedMap, prov, gameMaker.getMatchMaker());
+        if (resume != null) {
+            try {
+                currentWorld = resume.resumeMatch(loadedMap, prov, gameMaker);
+            } finally {
+                resume.close();
+            }
+        } else {
+            currentWorld = new GameWorld(loadedMap, prov, gameMaker.getMatchMaker());
+        }
+        
+        if (turnTimes != null) {
+            currentWorld.setTurnTimes(turnTimes);
+        }
         
         if (checkMapGuarantees) {
             // Validate the map
-            currentWorld.getGameMap().assertIsValid();
+            currentWorld.getGameMap().assertIsValid(stressMode);
+        }
+        if (gameMaker.isRecording() && loadedMap.getWidth() * loadedMap.getHeight() > MAX_REPLAY_MAP_AREA) {
+            // runGame doesn't record games with such maps, but the map may
+            // have changed since
+            throw new IllegalStateException("Map " + mapName + " has more than " + MAX_REPLAY_MAP_AREA
+                    + " tiles, too many to record in a replay");
         }
 
         // Get started
@@ -279,41 +539,109 @@ public class Server implements Runnable {
         }
 
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        int peakRobots = 0;
+        long peakHeap = 0;
+        Runtime runtime = Runtime.getRuntime();
         say("-------------------- Match Starting --------------------");
         say(String.format("%s vs. %s on %s", currentGame.getTeamAPackage(), currentGame.getTeamBPackage(), mapName));
 
-        // If there are more rounds to be run, run them and
-        // and send the round (and optionally stats) bytes to
-        // recipients.
-        while (this.state != ServerState.FINISHED) {
-
-            // If not paused/stopped:
-            switch (this.state) {
+        Metrics.matchStarted(currentWorld);
+        if (robotLog != null) {
+            String logDir = options.get("bc.server.robot-log-dir");
+            // Without a save file, a game's logs are named after its teams,
+            // which other games may share, so never replace an earlier log
+            robotLog.startMatch(logDir.isEmpty() ? null
+                    : RobotLog.getLogFile(new File(logDir), currentGame, matchIndex, mapName),
+                    currentGame.getSaveFile() != null);
+        }
 
-                case RUNNING:
-                    GameState state = currentWorld.runRound();
+        try {
+            // If there are more rounds to be run, run them and
+            // and send the round (and optionally stats) bytes to
+            // recipients.
+            while (this.state != ServerState.FINISHED) {
+
+                // If not paused/stopped:
+                switch (this.state) {
+
+                    case RUNNING:
+                        GameState state = currentWorld.runRound();
+                        if (robotLog != null) {
+                            robotLog.flush();
+                        }
+                        if (stressMode) {
+                            peakRobots = Math.max(peakRobots, currentWorld.getObjectInfo().getRobotCount(Team.A)
+                                    + currentWorld.getObjectInfo().getRobotCount(Team.B));
+                            peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+                        }
+
+                        if (GameState.DONE.equals(state)) {
+                            this.state = ServerState.FINISHED;
+                            break;
+                        }
+
+                        if (checkpointFile != null && currentWorld.isRunning()
+                                && currentWorld.getCurrentRound() % checkpointInterval == 0) {
+                            try {
+                                Checkpoint.write(checkpointFile, currentGame, matchIndex, teamsReversed,
+                                        aWins, bWins, finishedMatches, gameMaker, currentWorld);
+                            } catch (IOException e) {
+                                warn("Couldn't write checkpoint to " + checkpointFile + ": " + e.getMessage());
+                            }
+                        }
 
-                    if (GameState.DONE.equals(state)) {
-                        this.state = ServerState.FINISHED;
                         break;
-                    }
-
-                    break;
 
-                case PAUSED:
-                    Thread.sleep(250);
-                    break;
+                    case PAUSED:
+                        Thread.sleep(250);
+                        break;
+                }
+            }
+        } finally {
+            // Stop counting the match as running, and write what the robots
+            // printed, even if the match failed; that's when it's most needed
+            Metrics.matchFinished(currentWorld);
+            if (robotLog != null) {
+                robotLog.endMatch();
             }
         }
 
         say(getWinnerString(currentGame, currentWorld.getWinner(), currentWorld.getCurrentRound()));
+        for (Team team : new Team[] {Team.A, Team.B}) {
+            PlayerCpuTime cpuTime = currentWorld.getPlayerCpuTime(team);
+            if (cpuTime != null) {
+                say(String.format("Team %s took %.3f s of %s time; per turn p50 %.1f us, p99 %.1f us, max %.1f us; "
+                                + "most by a robot %.3f s",
+                        team, cpuTime.getTotalNanos() / 1e9, cpuTime.isCpuTime() ? "CPU" : "wall",
+                        cpuTime.getTurns().getPercentile(50) / 1e3, cpuTime.getTurns().getPercentile(99) / 1e3,
+                        cpuTime.getTurns().getMax() / 1e3, cpuTime.getRobots().getMax() / 1e9));
+            }
+        }
         say("-------------------- Match Finished --------------------");
 
         double timeDiff = (System.currentTimeMillis() - startTime) / 1000.0;
         debug(String.format("match completed in %.4g seconds", timeDiff));
+        if (stressMode) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            say(String.format("stress: %dx%d map (%d tiles), %d rounds in %.3f s (%.1f rounds/s), "
+                            + "peak %d robots, peak heap %d MB",
+                    loadedMap.getWidth(), loadedMap.getHeight(), loadedMap.getWidth() * loadedMap.getHeight(),
+                    currentWorld.getCurrentRound(), seconds, currentWorld.getCurrentRound() / seconds,
+                    peakRobots, peakHeap >> 20));
+        }
         return currentWorld.getWinner();
     }
 
+    /**
+     * Time the robot turns of the matches run from now on.
+     *
+     * @param turnTimes where to record the turns, or null to stop timing them
+     */
+    void setTurnTimes(TurnTimes turnTimes) {
+        this.turnTimes = turnTimes;
+    }
+
     // ******************************
     // ***** CREATOR METHODS ********
     // ******************************
@@ -322,13 +650,15 @@ public class Server implements Runnable {
      * Create a RobotControlProvider for a game.
      *
      * @param game             the game to provide control for
-     * @param gameMaker        the game maker containing the output streams for robot logs
+     * @param robotLog         where the robots print to
      * @param profilingEnabled whether profiling is enabled or not
+     * @param callTreeProfiling whether profiling aggregates call trees
      * @return a fresh control provider for the game
      */
     private RobotControlProvider createControlProvider(GameInfo game,
-                                                       GameMaker gameMaker,
-                                                       boolean profilingEnabled) {
+                                                       RobotLog robotLog,
+                                                       boolean profilingEnabled,
+                                                       boolean callTreeProfiling) {
         // Strictly speaking, this should probably be somewhere in battlecode.world
         // Whatever
 
@@ -339,9 +669,10 @@ public class Server implements Runnable {
                 new PlayerControlProvider(
                     Team.A,
                     game.getTeamAPackage(),
-                    game.getTeamAURL(),
-                    gameMaker.getMatchMaker().getOut(),
-                    profilingEnabled
+                    createClassLoaderFactory(game.getTeamAPackage(), game.getTeamAURL()),
+                    robotLog.getOut(Team.A),
+                    profilingEnabled,
+                    callTreeProfiling
                 )
         );
         teamProvider.registerControlProvider(
@@ -349,9 +680,10 @@ public class Server implements Runnable {
                 new PlayerControlProvider(
                     Team.B,
                     game.getTeamBPackage(),
-                    game.getTeamBURL(),
-                    gameMaker.getMatchMaker().getOut(),
-                    profilingEnabled
+                    createClassLoaderFactory(game.getTeamBPackage(), game.getTeamBURL()),
+                    robotLog.getOut(Team.B),
+                    profilingEnabled,
+                    callTreeProfiling
                 )
         );
         teamProvider.registerControlProvider(
@@ -361,6 +693,41 @@ public class Server implements Runnable {
         return teamProvider;
     }
 
+    /**
+     * @return the factory for a team's classes, from the cache if there is one
+     */
+    private TeamClassLoaderFactory createClassLoaderFactory(String teamPackage, String teamURL) {
+        if (classLoaders != null) {
+            return classLoaders.get(teamPackage, teamURL);
+        }
+        return new TeamClassLoaderFactory(teamURL);
+    }
+
+    /**
+     * Create a RobotControlProvider that runs trusted players in-process.
+     *
+     * @param game the game to provide control for
+     * @return a fresh control provider for the game
+     * @throws IllegalArgumentException if a team's player can't be loaded
+     */
+    private RobotControlProvider createTrustedControlProvider(GameInfo game) {
+        final TeamControlProvider teamProvider = new TeamControlProvider();
+
+        teamProvider.registerControlProvider(
+                Team.A,
+                TrustedControlProvider.load(game.getTeamAPackage(), game.getTeamAURL())
+        );
+        teamProvider.registerControlProvider(
+                Team.B,
+                TrustedControlProvider.load(game.getTeamBPackage(), game.getTeamBURL())
+        );
+        teamProvider.registerControlProvider(
+            Team.NEUTRAL,
+            new NullControlProvider()
+        );
+        return teamProvider;
+    }
+
     // ******************************
     // ***** GETTER METHODS *********
     // ******************************
@@ -372,6 +739,13 @@ public class Server implements Runnable {
         return this.state;
     }
 
+    /**
+     * @return why the server is in the ERROR state, or null if it isn't
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
     /**
      * Produces a string for the winner of the match.
      *
@@ -0,0 +1,81 @@
+package battlecode.server.jfr;
+
+import battlecode.server.ErrorReporter;
+import battlecode.server.Server;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A flight recording of the engine's own events.
+ * <p>
+ * The events are compiled in everywhere but disabled by default, so they
+ * cost next to nothing unless a recording enables them. This starts such a
+ * recording in-process, so a server can be profiled without attaching
+ * anything to it. The recording is written out when it is stopped, or when
+ * the JVM exits.
+ * <p>
+ * A JVM started with -XX:StartFlightRecording can also record the events
+ * by enabling them in its settings, e.g. "battlecode.RobotTurn#enabled=true".
+ */
+public class EngineRecording {
+
+    private static final List<Class<? extends Event>> EVENTS = Arrays.asList(
+            RoundEvent.class,
+            RobotTurnEvent.class,
+            SandboxHandoffEvent.class,
+            InstrumentClassEvent.class,
+            ReplaySerializationEvent.class,
+            ReplayCompressionEvent.class
+    );
+
+    private final Recording recording;
+
+    private EngineRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Start recording the engine's events.
+     *
+     * @param file the file to write the recording to
+     * @return the recording, or null if it couldn't be started
+     */
+    public static EngineRecording start(String file) {
+        Recording recording = new Recording();
+        recording.setName("battlecode");
+        for (Class<? extends Event> event : EVENTS) {
+            recording.enable(event).withoutStackTrace().withoutThreshold();
+        }
+
+        try {
+            Path destination = Paths.get(file);
+            recording.setDestination(destination);
+            recording.setDumpOnExit(true);
+            recording.start();
+            Server.say("Recording engine events to " + destination.toAbsolutePath());
+            return new EngineRecording(recording);
+        } catch (IOException | IllegalStateException | SecurityException e) {
+            recording.close();
+            ErrorReporter.report("Couldn't start flight recording: " + e.getMessage(), false);
+            return null;
+        }
+    }
+
+    /**
+     * Stop recording and write the recording out.
+     */
+    public void stop() {
+        try {
+            recording.stop();
+        } catch (IllegalStateException e) {
+            // already stopped, or the JVM is shutting down and has written it for us
+        }
+        recording.close();
+    }
+}
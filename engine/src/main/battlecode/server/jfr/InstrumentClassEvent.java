@@ -0,0 +1,32 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The instrumentation of a single class for a team's sandbox.
+ */
+@Name("battlecode.InstrumentClass")
+@Label("Instrument Class")
+@Category({"Battlecode", "Sandbox"})
+@Description("Bytecode instrumentation of a player or instrumented library class")
+@Enabled(false)
+@StackTrace(false)
+public class InstrumentClassEvent extends Event {
+    @Label("Class Name")
+    public String className;
+
+    @Label("Player Class")
+    @Description("Whether the class is player code rather than an instrumented library class")
+    public boolean playerClass;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,29 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Gzipping a whole game's replay.
+ */
+@Name("battlecode.ReplayCompression")
+@Label("Replay Compression")
+@Category({"Battlecode", "Replay"})
+@Description("Compressing the replay at the end of a game")
+@Enabled(false)
+@StackTrace(false)
+public class ReplayCompressionEvent extends Event {
+    @Label("Uncompressed Size")
+    @DataAmount
+    public int uncompressedSize;
+
+    @Label("Compressed Size")
+    @DataAmount
+    public int compressedSize;
+}
@@ -0,0 +1,28 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Finishing the flatbuffer of a whole game's replay.
+ */
+@Name("battlecode.ReplaySerialization")
+@Label("Replay Serialization")
+@Category({"Battlecode", "Replay"})
+@Description("Building the replay flatbuffer at the end of a game")
+@Enabled(false)
+@StackTrace(false)
+public class ReplaySerializationEvent extends Event {
+    @Label("Events")
+    public int events;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
@@ -0,0 +1,34 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single robot's turn, including the engine's beginning and end of turn
+ * processing. The difference to the sandbox handoff and the player's own
+ * execution is engine time.
+ */
+@Name("battlecode.RobotTurn")
+@Label("Robot Turn")
+@Category({"Battlecode", "Engine"})
+@Description("A robot's turn, including the engine's processing around it")
+@Enabled(false)
+@StackTrace(false)
+public class RobotTurnEvent extends Event {
+    @Label("Robot ID")
+    public int robotId;
+
+    @Label("Team")
+    public String team;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Bytecodes Used")
+    public int bytecodesUsed;
+}
@@ -0,0 +1,28 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single round of a match, from the start of the round to the end of the
+ * last robot's turn and the end of round processing.
+ */
+@Name("battlecode.Round")
+@Label("Round")
+@Category({"Battlecode", "Engine"})
+@Description("A round of a match, including every robot's turn")
+@Enabled(false)
+@StackTrace(false)
+public class RoundEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Robots")
+    @Description("The number of robots at the end of the round")
+    public int robotCount;
+}
@@ -0,0 +1,35 @@
+package battlecode.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The cost of switching between the engine thread and a robot's sandboxed
+ * player thread for a single step: the time from the engine waking the
+ * player to the player running, and from the player pausing to the engine
+ * running again.
+ */
+@Name("battlecode.SandboxHandoff")
+@Label("Sandbox Handoff")
+@Category({"Battlecode", "Sandbox"})
+@Description("Thread handoff latency between the engine and a robot player")
+@Enabled(false)
+@StackTrace(false)
+public class SandboxHandoffEvent extends Event {
+    @Label("Robot ID")
+    public int robotId;
+
+    @Label("To Player")
+    @Timespan(Timespan.NANOSECONDS)
+    public long toPlayer;
+
+    @Label("To Engine")
+    @Timespan(Timespan.NANOSECONDS)
+    public long toEngine;
+}
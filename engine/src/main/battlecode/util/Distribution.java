@@ -0,0 +1,123 @@
+package battlecode.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Every value of some measurement, such as how long robot turns took, for
+ * its total, mean and percentiles.
+ */
+public final class Distribution {
+
+    private long[] values = new long[1024];
+    private int count;
+    private boolean sorted = true;
+    private long total;
+
+    public Distribution() {}
+
+    public Distribution(DataInput in) throws IOException {
+        int count = in.readInt();
+        values = new long[Math.max(count, 1024)];
+        for (int i = 0; i < count; i++) {
+            add(in.readLong());
+        }
+    }
+
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(values[i]);
+        }
+    }
+
+    public void add(long value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
+        sorted = false;
+        total += value;
+    }
+
+    /**
+     * Add every value of another distribution.
+     */
+    public void addAll(Distribution other) {
+        if (count + other.count > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, count + other.count));
+        }
+        System.arraycopy(other.values, 0, values, count, other.count);
+        count += other.count;
+        sorted = false;
+        total += other.total;
+    }
+
+    /**
+     * @return the number of values
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the array holding the values, in its first getCount() elements
+     */
+    long[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return the sum of the values
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the mean of the values, or 0 if there are none
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @param percentile between 0 (exclusive) and 100
+     * @return the value that percentile of values are at most, or 0 if there
+     *         are none
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return values[Math.min(Math.max(rank, 1), count) - 1];
+    }
+
+    /**
+     * @return the largest value, or 0 if there are none
+     */
+    public long getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * Write the count, mean, median, 99th percentile and maximum, in
+     * microseconds, of a distribution of nanoseconds.
+     */
+    public void writeMicros(JsonWriter json) {
+        json.beginObject();
+        json.name("count").value(count);
+        json.name("mean").value(getMean() / 1e3);
+        json.name("p50").value(getPercentile(50) / 1e3);
+        json.name("p99").value(getPercentile(99) / 1e3);
+        json.name("max").value(getMax() / 1e3);
+        json.endObject();
+    }
+}
@@ -0,0 +1,116 @@
+package battlecode.util;
+
+/**
+ * How many values of some measurement fell in each of a fixed set of
+ * buckets, for the mean and percentiles of more values than are worth
+ * keeping every one of, as a Distribution does.
+ *
+ * Values up to 255 have a bucket each; larger ones share buckets that are
+ * less than 1% as wide as their values, so a percentile is within 1% of the
+ * value a Distribution would give. Every histogram takes the same memory,
+ * however many values it counts.
+ *
+ * Values are expected to be at least 0; smaller ones are counted as 0.
+ */
+public final class Histogram {
+
+    /**
+     * The buckets between each power of two and the next, past the values
+     * with a bucket each.
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] buckets = new long[bucketOf(Long.MAX_VALUE) + 1];
+    private int count;
+    private long total;
+    private long max;
+
+    /**
+     * Values below 2 * SUB_BUCKETS are their own bucket; above that, values
+     * are shifted right until they are, and every shift starts another
+     * SUB_BUCKETS buckets.
+     */
+    private static int bucketOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1));
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the largest value counted in a bucket
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public void add(long value) {
+        value = Math.max(value, 0);
+        buckets[bucketOf(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Count every value of a distribution.
+     */
+    public void addAll(Distribution distribution) {
+        long[] values = distribution.getValues();
+        for (int i = 0; i < distribution.getCount(); i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * @return the number of values
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of the values
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the mean of the values, or 0 if there are none
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @param percentile between 0 (exclusive) and 100
+     * @return the largest value of the bucket that percentile of values are
+     *         in at most, or 0 if there are none
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = Math.min(Math.max((int) Math.ceil(percentile / 100 * count), 1), count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the largest value, or 0 if there are none
+     */
+    public long getMax() {
+        return max;
+    }
+}
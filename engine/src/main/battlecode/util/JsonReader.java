@@ -0,0 +1,217 @@
+package battlecode.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses JSON that other tools send us.
+ *
+ * Objects are read as Maps from names to values, in order; arrays as Lists;
+ * numbers as Doubles; and strings, booleans and null as themselves.
+ */
+public final class JsonReader {
+    private final String in;
+    private int pos;
+
+    private JsonReader(String in) {
+        this.in = in;
+    }
+
+    /**
+     * @param json a single JSON value
+     * @return the value
+     * @throws IllegalArgumentException if it isn't valid JSON
+     */
+    public static Object parse(String json) {
+        JsonReader reader = new JsonReader(json);
+        Object value = reader.readValue();
+        reader.skipWhitespace();
+        if (reader.pos != json.length()) {
+            throw reader.error("Unexpected text after the value");
+        }
+        return value;
+    }
+
+    /**
+     * @param json a single JSON object
+     * @return the object's members
+     * @throws IllegalArgumentException if it isn't a valid JSON object
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String json) {
+        Object value = parse(json);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (pos >= in.length()) {
+            throw error("Expected a value");
+        }
+        char c = in.charAt(pos);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> members = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a member name");
+            }
+            String name = readString();
+            skipWhitespace();
+            expect(":");
+            members.put(name, readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return members;
+            } else if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> values = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return values;
+        }
+        while (true) {
+            values.add(readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == ']') {
+                return values;
+            } else if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private String readString() {
+        StringBuilder s = new StringBuilder();
+        pos++;
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return s.toString();
+            } else if (c != '\\') {
+                s.append(c);
+                continue;
+            }
+            c = next();
+            switch (c) {
+                case '"':
+                case '\\':
+                case '/':
+                    s.append(c);
+                    break;
+                case 'b':
+                    s.append('\b');
+                    break;
+                case 'f':
+                    s.append('\f');
+                    break;
+                case 'n':
+                    s.append('\n');
+                    break;
+                case 'r':
+                    s.append('\r');
+                    break;
+                case 't':
+                    s.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > in.length()) {
+                        throw error("Unfinished escape");
+                    }
+                    try {
+                        s.append((char) Integer.parseInt(in.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("Invalid escape");
+            }
+        }
+    }
+
+    private Double readNumber() {
+        int start = pos;
+        while (pos < in.length() && "+-0123456789.eE".indexOf(in.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return Double.valueOf(in.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number");
+        }
+    }
+
+    private void expect(String token) {
+        if (!in.startsWith(token, pos)) {
+            throw error("Expected " + token);
+        }
+        pos += token.length();
+    }
+
+    private char peek() {
+        return pos < in.length() ? in.charAt(pos) : 0;
+    }
+
+    private char next() {
+        if (pos >= in.length()) {
+            throw error("Unexpected end of input");
+        }
+        return in.charAt(pos++);
+    }
+
+    private void skipWhitespace() {
+        while (pos < in.length() && Character.isWhitespace(in.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " of JSON");
+    }
+}
@@ -0,0 +1,138 @@
+package battlecode.util;
+
+/**
+ * Builds a single line of JSON, for output that other tools read.
+ *
+ * Calls follow the structure of the output, e.g.
+ * new JsonWriter().beginObject().name("map").value("glass").endObject().
+ * Nothing checks that the calls make sense.
+ */
+public final class JsonWriter {
+    private final StringBuilder out = new StringBuilder();
+
+    /**
+     * Whether a value came before in the current object or array.
+     */
+    private boolean needsComma;
+
+    public JsonWriter beginObject() {
+        beforeValue();
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        beforeValue();
+        out.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        out.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Start a member of an object; follow with its value.
+     */
+    public JsonWriter name(String name) {
+        beforeValue();
+        appendString(out, name);
+        out.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            out.append("null");
+        } else {
+            appendString(out, value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * NaN and infinities aren't JSON, and are written as null.
+     */
+    public JsonWriter value(double value) {
+        beforeValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            out.append(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    private void beforeValue() {
+        if (needsComma) {
+            out.append(',');
+        }
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    /**
+     * Append a string as a quoted and escaped JSON string.
+     */
+    public static void appendString(StringBuilder json, String s) {
+        json.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,186 @@
+package battlecode.world;
+
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * How many bytecodes each team's robots used in their turns over a match,
+ * as a histogram per base robot type, and how many of the turns ran out of
+ * bytecodes. Written to the match footer, so bytecode efficiency can be
+ * seen without reading every turn of the replay.
+ *
+ * The buckets are fixed, as in HdrHistogram: 8 bytecodes wide up to 64,
+ * then 8 to every power of two, so a bucket's width is at most an eighth of
+ * the values in it. Turns using 32768 bytecodes or more, beyond any limit,
+ * share a last, unbounded bucket.
+ */
+public class BytecodeStats {
+
+    /**
+     * The exclusive upper bound of every bucket but the last, in order.
+     */
+    public static final int[] BUCKET_LIMITS;
+
+    private static final int LINEAR_LIMIT = 64;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    static {
+        BUCKET_LIMITS = new int[SUB_BUCKETS + 9 * SUB_BUCKETS];
+        for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+            if (i < SUB_BUCKETS) {
+                BUCKET_LIMITS[i] = (i + 1) * (LINEAR_LIMIT / SUB_BUCKETS);
+            } else {
+                int power = 6 + (i - SUB_BUCKETS) / SUB_BUCKETS;
+                int sub = (i - SUB_BUCKETS) % SUB_BUCKETS;
+                BUCKET_LIMITS[i] = (SUB_BUCKETS + sub + 1) << (power - SUB_BUCKET_BITS);
+            }
+        }
+    }
+
+    /**
+     * @return the index of the bucket holding turns that used the bytecodes
+     */
+    public static int bucketOf(int bytecodes) {
+        if (bytecodes < LINEAR_LIMIT) {
+            return Math.max(bytecodes, 0) / (LINEAR_LIMIT / SUB_BUCKETS);
+        }
+        int power = 31 - Integer.numberOfLeadingZeros(bytecodes);
+        int sub = (bytecodes >> (power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(SUB_BUCKETS + (power - 6) * SUB_BUCKETS + sub, BUCKET_LIMITS.length);
+    }
+
+    /**
+     * The turns of a team's robots of one base type.
+     */
+    public static class Histogram {
+        private final int[] counts;
+        private int turns;
+        private long totalBytecodes;
+        private int limitHits;
+
+        private Histogram() {
+            this.counts = new int[BUCKET_LIMITS.length + 1];
+        }
+
+        private Histogram(Histogram other) {
+            this.counts = other.counts.clone();
+            this.turns = other.turns;
+            this.totalBytecodes = other.totalBytecodes;
+            this.limitHits = other.limitHits;
+        }
+
+        /**
+         * @return the number of turns in each bucket, the last being the
+         *         turns that used at least the last of BUCKET_LIMITS
+         */
+        public int[] getCounts() {
+            return counts;
+        }
+
+        public int getTurns() {
+            return turns;
+        }
+
+        public long getTotalBytecodes() {
+            return totalBytecodes;
+        }
+
+        /**
+         * @return the number of turns that used up the robot's bytecode limit
+         */
+        public int getLimitHits() {
+            return limitHits;
+        }
+    }
+
+    private final Histogram[][] histograms = new Histogram[2][UnitType.values().length];
+
+    public BytecodeStats() {}
+
+    public BytecodeStats(BytecodeStats other) {
+        for (int team = 0; team < histograms.length; team++) {
+            for (int type = 0; type < histograms[team].length; type++) {
+                Histogram histogram = other.histograms[team][type];
+                histograms[team][type] = histogram == null ? null : new Histogram(histogram);
+            }
+        }
+    }
+
+    public BytecodeStats(DataInput in) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Histogram histogram = new Histogram();
+            histograms[in.readByte()][in.readByte()] = histogram;
+            for (int j = 0; j < histogram.counts.length; j++) {
+                histogram.counts[j] = in.readInt();
+            }
+            histogram.turns = in.readInt();
+            histogram.totalBytecodes = in.readLong();
+            histogram.limitHits = in.readInt();
+        }
+    }
+
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        int count = 0;
+        for (Histogram[] perTeam : histograms) {
+            for (Histogram histogram : perTeam) {
+                if (histogram != null) {
+                    count++;
+                }
+            }
+        }
+        out.writeInt(count);
+        for (int team = 0; team < histograms.length; team++) {
+            for (int type = 0; type < histograms[team].length; type++) {
+                Histogram histogram = histograms[team][type];
+                if (histogram == null) {
+                    continue;
+                }
+                out.writeByte(team);
+                out.writeByte(type);
+                for (int c : histogram.counts) {
+                    out.writeInt(c);
+                }
+                out.writeInt(histogram.turns);
+                out.writeLong(histogram.totalBytecodes);
+                out.writeInt(histogram.limitHits);
+            }
+        }
+    }
+
+    /**
+     * Record a turn.
+     *
+     * @param team the robot's team, A or B
+     * @param type the robot's type
+     * @param bytecodes the bytecodes it used
+     * @param limit its bytecode limit for the turn
+     */
+    public void addTurn(Team team, UnitType type, int bytecodes, int limit) {
+        Histogram[] perTeam = histograms[team.ordinal()];
+        int index = type.getBaseType().ordinal();
+        Histogram histogram = perTeam[index];
+        if (histogram == null) {
+            histogram = perTeam[index] = new Histogram();
+        }
+        histogram.counts[bucketOf(bytecodes)]++;
+        histogram.turns++;
+        histogram.totalBytecodes += bytecodes;
+        if (bytecodes >= limit) {
+            histogram.limitHits++;
+        }
+    }
+
+    /**
+     * @return the team's turns of robots of the type, or of any level of it,
+     *         or null if there were none
+     */
+    public Histogram get(Team team, UnitType type) {
+        return histograms[team.ordinal()][type.getBaseType().ordinal()];
+    }
+}
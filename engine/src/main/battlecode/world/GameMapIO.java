@@ -15,9 +15,13 @@ import java.io.*;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -41,6 +45,13 @@ public final class GameMapIO {
      */
     public static final String DEFAULT_MAP_PACKAGE = "battlecode/world/resources/";
 
+    /**
+     * Maps that have already been loaded, by name and teamsReversed.
+     * LiveMaps are never modified after they are loaded, so they can be
+     * shared by any number of matches.
+     */
+    private static final ConcurrentHashMap<String, CachedMap> mapCache = new ConcurrentHashMap<>();
+
     /**
      * Returns a LiveMap for a specific map.
      * If the map can't be found in the given directory, the package
@@ -56,7 +67,7 @@ public final class GameMapIO {
 
         final File mapFile = new File(mapDir, mapName + MAP_EXTENSION);
         if (mapFile.exists()) {
-            result = loadMap(new FileInputStream(mapFile), teamsReversed);
+            result = loadMap(mapFile, teamsReversed);
         } else {
             final InputStream backupStream = BACKUP_LOADER.getResourceAsStream(DEFAULT_MAP_PACKAGE + mapName + MAP_EXTENSION);
             if (backupStream == null) {
@@ -74,6 +85,85 @@ public final class GameMapIO {
         return result;
     }
 
+    /**
+     * Returns the size and symmetry of a specific map, without loading the
+     * rest of it. Looks for the map in the same places as
+     * {@link #loadMap(String, File, boolean)}.
+     *
+     * @param mapName name of map.
+     * @param mapDir directory to load the extra map from; may be null.
+     * @return MapInfo for map
+     * @throws IOException if the map fails to load or can't be found.
+     */
+    public static MapInfo loadMapInfo(String mapName, File mapDir) throws IOException {
+        final ByteBuffer mapBytes;
+
+        final File mapFile = new File(mapDir, mapName + MAP_EXTENSION);
+        if (mapFile.exists()) {
+            mapBytes = mapFile(mapFile);
+        } else {
+            final InputStream backupStream = BACKUP_LOADER.getResourceAsStream(DEFAULT_MAP_PACKAGE + mapName + MAP_EXTENSION);
+            if (backupStream == null) {
+                throw new IOException("Can't load map: " + mapName + " from dir " + mapDir + " or default maps.");
+            }
+            try {
+                mapBytes = ByteBuffer.wrap(IOUtils.toByteArray(backupStream));
+            } finally {
+                backupStream.close();
+            }
+        }
+
+        return Serial.deserializeInfo(battlecode.schema.GameMap.getRootAsGameMap(mapBytes));
+    }
+
+    /**
+     * Load a map from a file. The file is memory-mapped rather than read,
+     * and the map is decoded straight from the mapping.
+     *
+     * @param mapFile the file to load
+     * @return a map read from the file
+     * @throws IOException if the read fails somehow
+     */
+    public static LiveMap loadMap(File mapFile, boolean teamsReversed) throws IOException {
+        return Serial.deserialize(mapFile(mapFile), teamsReversed);
+    }
+
+    /**
+     * Memory-map a file. The mapping stays valid after this returns, until
+     * the buffer is garbage collected.
+     */
+    private static ByteBuffer mapFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Returns a LiveMap for a specific map, reusing the map from an earlier
+     * call if possible. Maps in mapDir are reloaded if their file has changed
+     * since.
+     *
+     * @param mapName name of map.
+     * @param mapDir directory to load the extra map from; may be null.
+     * @return LiveMap for map, shared with other callers; MUST NOT BE MODIFIED.
+     * @throws IOException if the map fails to load or can't be found.
+     */
+    public static LiveMap loadCachedMap(String mapName, File mapDir, boolean teamsReversed) throws IOException {
+        final File mapFile = new File(mapDir, mapName + MAP_EXTENSION);
+        final String source = mapFile.exists() ? mapFile.getAbsolutePath() : null;
+        final long lastModified = mapFile.exists() ? mapFile.lastModified() : 0;
+        final String key = mapName + (teamsReversed ? ":reversed" : "");
+
+        CachedMap cached = mapCache.get(key);
+        if (cached != null && Objects.equals(cached.source, source) && cached.lastModified == lastModified) {
+            return cached.map;
+        }
+
+        final LiveMap result = loadMap(mapName, mapDir, teamsReversed);
+        mapCache.put(key, new CachedMap(result, source, lastModified));
+        return result;
+    }
+
     public static LiveMap loadMapAsResource(final ClassLoader loader,
                                             final String mapPackage,
                                             final String map, final boolean teamsReversed) throws IOException {
@@ -176,11 +266,73 @@ public final class GameMapIO {
         return result;
     }
 
+    /**
+     * @param mapDir the directory to check for extra maps. May be null.
+     * @return the size and symmetry of every available map, in the order of
+     *         {@link #getAvailableMaps(File)}; maps that fail to load are left out.
+     */
+    public static List<MapInfo> getAvailableMapInfo(File mapDir) {
+        final List<MapInfo> result = new ArrayList<>();
+
+        for (String mapName : getAvailableMaps(mapDir)) {
+            try {
+                result.add(loadMapInfo(mapName, mapDir));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Can't load map info for " + mapName + ": " + e.getMessage());
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Prevent instantiation.
      */
     private GameMapIO() {}
 
+    /**
+     * The size and symmetry of a map.
+     */
+    public static final class MapInfo {
+        public final String name;
+        public final int width;
+        public final int height;
+        public final MapSymmetry symmetry;
+
+        public MapInfo(String name, int width, int height, MapSymmetry symmetry) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+            this.symmetry = symmetry;
+        }
+
+        @Override
+        public String toString() {
+            return "MapInfo{" +
+                    "name='" + name + '\'' +
+                    ", width=" + width +
+                    ", height=" + height +
+                    ", symmetry=" + symmetry +
+                    '}';
+        }
+    }
+
+    private static class CachedMap {
+        final LiveMap map;
+
+        /**
+         * The map file the map was loaded from, or null for a built-in map.
+         */
+        final String source;
+        final long lastModified;
+
+        CachedMap(LiveMap map, String source, long lastModified) {
+            this.map = map;
+            this.source = source;
+            this.lastModified = lastModified;
+        }
+    }
+
     /**
      * Conversion from / to flatbuffers.
      */
@@ -199,6 +351,29 @@ public final class GameMapIO {
             return Serial.deserialize(rawMap, teamsReversed);
         }
 
+        /**
+         * Load a flatbuffer map into a LiveMap.
+         *
+         * @param mapBytes the map, from its position to its limit; may be a
+         *                 memory-mapped file
+         * @return a new copy of the map as a LiveMap
+         */
+        public static LiveMap deserialize(ByteBuffer mapBytes, boolean teamsReversed) {
+            return Serial.deserialize(battlecode.schema.GameMap.getRootAsGameMap(mapBytes), teamsReversed);
+        }
+
+        /**
+         * Read only the size and symmetry of a flatbuffer map. None of the
+         * per-tile data is touched.
+         *
+         * @param raw the flatbuffer map pointer
+         * @return the map's info
+         */
+        public static MapInfo deserializeInfo(battlecode.schema.GameMap raw) {
+            return new MapInfo(raw.name(), raw.size().x(), raw.size().y(),
+                    MapSymmetry.values()[raw.symmetry()]);
+        }
+
         /**
          * Write a map to a byte[].
          *
@@ -288,19 +463,24 @@ public final class GameMapIO {
             ArrayList<Integer> ruinXs = new ArrayList<>();
             ArrayList<Integer> ruinYs = new ArrayList<>();
 
+            // Towers stand on ruins
+            boolean[] towerArray = new boolean[ruinArray.length];
+
             for (RobotInfo robot : gameMap.getInitialBodies()) {
                 bodyIDs.add(robot.ID);
                 bodyTeamIDs.add(TeamMapping.id(robot.team));
                 bodyTypes.add(FlatHelpers.getRobotTypeFromUnitType(robot.type));
                 bodyLocsXs.add(robot.location.x);
                 bodyLocsYs.add(robot.location.y);
-                ruinArray[gameMap.locationToIndex(robot.location)] = true;
+                if (robot.type.isTowerType()) {
+                    towerArray[gameMap.locationToIndex(robot.location)] = true;
+                }
             }
 
             for (int i = 0; i < gameMap.getWidth() * gameMap.getHeight(); i++) {
                 wallArrayList.add(wallArray[i]);
                 paintArrayList.add(paintArray[i]);
-                if (ruinArray[i]){
+                if (ruinArray[i] || towerArray[i]){
                     MapLocation loc = gameMap.indexToLocation(i);
                     ruinXs.add(loc.x);
                     ruinYs.add(loc.y);
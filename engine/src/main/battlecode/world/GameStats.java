@@ -2,6 +2,10 @@ package battlecode.world;
 
 import battlecode.common.Team;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Class to hold any game stats desired for a specific match
  * such as winner and domination factor
@@ -16,6 +20,23 @@ public class GameStats {
         this.dominationFactor = null;
     }
 
+    public GameStats(GameStats other) {
+        this.winner = other.winner;
+        this.dominationFactor = other.dominationFactor;
+    }
+
+    public GameStats(DataInput in) throws IOException {
+        int winner = in.readByte();
+        int dominationFactor = in.readByte();
+        this.winner = winner < 0 ? null : Team.values()[winner];
+        this.dominationFactor = dominationFactor < 0 ? null : DominationFactor.values()[dominationFactor];
+    }
+
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        out.writeByte(winner == null ? -1 : winner.ordinal());
+        out.writeByte(dominationFactor == null ? -1 : dominationFactor.ordinal());
+    }
+
     public void setWinner(Team t) {
         winner = t;
     }
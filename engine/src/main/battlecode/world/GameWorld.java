@@ -6,9 +6,16 @@ import battlecode.schema.Action;
 import battlecode.server.ErrorReporter;
 import battlecode.server.GameMaker;
 import battlecode.server.GameState;
+import battlecode.server.Metrics;
+import battlecode.server.jfr.RobotTurnEvent;
+import battlecode.server.jfr.RoundEvent;
 import battlecode.util.FlatHelpers;
+import battlecode.world.control.PlayerCpuTime;
 import battlecode.world.control.RobotControlProvider;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -28,8 +35,9 @@ public class GameWorld {
 
     protected final IDGenerator idGenerator;
     protected final GameStats gameStats;
+    private final BytecodeStats bytecodeStats;
 
-    private boolean[] walls;
+    private boolean[] walls; // shared with the map, never modified
     private int[] markersA;
     private int[] markersB;
     private int[] colorLocations; // No color = 0, Team A color 1 = 1, Team A color 2 = 2, Team B color 1 = 3, Team B color 2 = 4
@@ -53,16 +61,36 @@ public class GameWorld {
 
     // List of all ruins, not indexed by location
     private ArrayList<MapLocation> allRuins;
-    // Whether there is a ruin on each tile, indexed by location
+    // Whether there is a ruin on each tile, indexed by location.
+    // Shared with the map until the first write, see markRuin
     private boolean[] allRuinsByLoc;
 
+    // The per-tile arrays that are shared with the map or with forks of this
+    // world, and have to be copied before they are written to, see unshare
+    private final static int SHARED_PAINT = 1, SHARED_MARKERS_A = 2, SHARED_MARKERS_B = 4,
+            SHARED_RESOURCE_PATTERNS = 8, SHARED_TOWERS = 16, SHARED_RUINS = 32,
+            SHARED_ALL = 63;
+    private int sharedArrays;
+
     private Map<Team, ProfilerCollection> profilerCollections;
 
+    // The time each team's players took, once the match is over
+    private Map<Team, PlayerCpuTime> playerCpuTimes = new EnumMap<>(Team.class);
+
     private final RobotControlProvider controlProvider;
     private Random rand;
     private final GameMaker.MatchMaker matchMaker;
     private int areaWithoutWalls;
 
+    // Where to time every robot turn, or null to not time them
+    private TurnTimes turnTimes;
+
+    // Scratch space for connectedByPaint, allocated on first use
+    private final static int[] PAINT_SEARCH_DX = {1, 0, -1, 0}, PAINT_SEARCH_DY = {0, 1, 0, -1};
+    private int[] paintSearchQueue;
+    private int[] paintSearchVisited;
+    private int paintSearchStamp;
+
     @SuppressWarnings("unchecked")
     public GameWorld(LiveMap gm, RobotControlProvider cp, GameMaker.MatchMaker matchMaker) {
         int width = gm.getWidth();
@@ -76,6 +104,7 @@ public class GameWorld {
         this.currentRound = 0;
         this.idGenerator = new IDGenerator(gm.getSeed());
         this.gameStats = new GameStats();
+        this.bytecodeStats = new BytecodeStats();
         this.gameMap = gm;
         this.objectInfo = new ObjectInfo(gm);
         this.colorLocations = new int[numSquares];
@@ -103,6 +132,7 @@ public class GameWorld {
         this.matchMaker.makeMatchHeader(this.gameMap);
 
         this.allRuinsByLoc = gm.getRuinArray();
+        this.sharedArrays = SHARED_RUINS;
         this.allRuins = new ArrayList<MapLocation>();
         for (int i = 0; i < numSquares; i++){
             if (this.allRuinsByLoc[i]){
@@ -133,9 +163,13 @@ public class GameWorld {
             RobotInfo robotInfo = initialBodies[i];
             MapLocation newLocation = robotInfo.location.translate(gm.getOrigin().x, gm.getOrigin().y);
             spawnRobot(robotInfo.ID, robotInfo.type, newLocation, robotInfo.team);
+            if (!robotInfo.type.isTowerType()) {
+                // only stress test maps start with robots
+                continue;
+            }
             this.towerLocations.add(newLocation);
             towersByLoc[locationToIndex(newLocation)] = robotInfo.team;
-            this.allRuinsByLoc[locationToIndex(newLocation)] = true;
+            markRuin(locationToIndex(newLocation));
             this.allRuins.add(newLocation);
 
             // Start initial towers at level 2. Defer upgrade action until the tower's first
@@ -147,6 +181,253 @@ public class GameWorld {
         }
     }
 
+    /**
+     * Create a copy of a world, see fork.
+     */
+    private GameWorld(GameWorld gw, RobotControlProvider cp, GameMaker.MatchMaker matchMaker) {
+        LiveMap gm = gw.gameMap;
+        this.walls = gw.walls;
+        this.currentRound = gw.currentRound;
+        this.running = gw.running;
+        this.idGenerator = new IDGenerator(gw.idGenerator);
+        this.gameStats = new GameStats(gw.gameStats);
+        this.bytecodeStats = new BytecodeStats(gw.bytecodeStats);
+        this.gameMap = gm;
+        this.areaWithoutWalls = gw.areaWithoutWalls;
+
+        this.markersA = gw.markersA;
+        this.markersB = gw.markersB;
+        this.colorLocations = gw.colorLocations;
+        this.resourcePatternCentersByLoc = gw.resourcePatternCentersByLoc;
+        this.resourcePatternLifetimes = gw.resourcePatternLifetimes;
+        this.towersByLoc = gw.towersByLoc;
+        this.allRuinsByLoc = gw.allRuinsByLoc;
+        this.sharedArrays = SHARED_ALL;
+        gw.sharedArrays = SHARED_ALL;
+
+        this.resourcePatternCenters = new ArrayList<>(gw.resourcePatternCenters);
+        this.towerLocations = new ArrayList<>(gw.towerLocations);
+        this.allRuins = new ArrayList<>(gw.allRuins);
+        this.currentDamageIncreases = gw.currentDamageIncreases.clone();
+        this.currentNumberUnits = gw.currentNumberUnits.clone();
+
+        this.teamInfo = new TeamInfo(gw.teamInfo, this);
+        this.objectInfo = new ObjectInfo(gw.objectInfo, this);
+        this.robots = new InternalRobot[gm.getWidth()][gm.getHeight()];
+        this.objectInfo.eachRobot((robot) -> {
+            if (robot.getLocation() != null) {
+                addRobot(robot.getLocation(), robot);
+            }
+            return true;
+        });
+
+        this.profilerCollections = new HashMap<>();
+
+        this.controlProvider = cp;
+        this.rand = new Random(this.gameMap.getSeed());
+        this.matchMaker = matchMaker;
+    }
+
+    /**
+     * Create an independent copy of this world in its current state, for
+     * looking ahead from it. The copy shares the map and, until either world
+     * writes to them, the per-tile arrays, so forking costs about as much as
+     * copying the robots.
+     *
+     * The robots in the copy are run by the given control provider, which
+     * should play in-process like a TrustedControlProvider; the copy doesn't
+     * have the sandboxed players of this world, and they can't be copied.
+     * The provider sees the match start and every existing robot spawn.
+     *
+     * The match maker gets a match header for the map as if the match had
+     * just started, so a recording one writes a replay that doesn't match the
+     * copy's state; use one of a game maker that doesn't record.
+     *
+     * @param cp the control provider for the copy's robots
+     * @param matchMaker the match maker for the copy, whose game header has
+     *                   been written
+     * @return the copy
+     */
+    public synchronized GameWorld fork(RobotControlProvider cp, GameMaker.MatchMaker matchMaker) {
+        GameWorld fork = new GameWorld(this, cp, matchMaker);
+
+        cp.matchStarted(fork);
+        matchMaker.makeMatchHeader(this.gameMap);
+        fork.objectInfo.eachDynamicBodyByExecOrder((robot) -> {
+            cp.robotSpawned(robot);
+            return true;
+        });
+        return fork;
+    }
+
+    /**
+     * Resume a match from a checkpoint written by writeCheckpoint.
+     *
+     * Like a fork, the resumed world doesn't have the players' own state, so
+     * the control provider sees the match start and every robot spawn anew.
+     * The match header isn't written again; the match maker should be one
+     * that has been resumed from the same checkpoint.
+     *
+     * @param gm the map the match is played on
+     * @param in the checkpoint, at the world
+     * @param cp the control provider for the robots
+     * @param matchMaker the match maker to continue writing to
+     */
+    public GameWorld(LiveMap gm, DataInput in, RobotControlProvider cp, GameMaker.MatchMaker matchMaker) throws IOException {
+        int width = gm.getWidth();
+        int height = gm.getHeight();
+        int numSquares = width * height;
+        if (in.readInt() != numSquares) {
+            throw new IOException("Checkpoint is for a different map than " + gm.getMapName());
+        }
+        this.walls = gm.getWallArray();
+        this.gameMap = gm;
+        int numWalls = 0;
+        for (boolean wall : walls) {
+            if (wall) {
+                numWalls += 1;
+            }
+        }
+        this.areaWithoutWalls = numSquares - numWalls;
+
+        this.currentRound = in.readInt();
+        this.running = in.readBoolean();
+        this.idGenerator = new IDGenerator(in);
+        this.gameStats = new GameStats(in);
+        this.bytecodeStats = new BytecodeStats(in);
+        this.teamInfo = new TeamInfo(this, in);
+
+        this.colorLocations = new int[numSquares];
+        this.markersA = new int[numSquares];
+        this.markersB = new int[numSquares];
+        for (int[] tiles : new int[][]{colorLocations, markersA, markersB}) {
+            for (int i = 0; i < numSquares; i++) {
+                tiles[i] = in.readByte();
+            }
+        }
+
+        this.resourcePatternCenters = new ArrayList<MapLocation>();
+        this.resourcePatternCentersByLoc = new Team[numSquares];
+        this.resourcePatternLifetimes = new int[numSquares];
+        Arrays.fill(this.resourcePatternCentersByLoc, Team.NEUTRAL);
+        int numPatterns = in.readInt();
+        for (int i = 0; i < numPatterns; i++) {
+            int idx = in.readInt();
+            this.resourcePatternCenters.add(indexToLocation(idx));
+            this.resourcePatternCentersByLoc[idx] = Team.values()[in.readByte()];
+            this.resourcePatternLifetimes[idx] = in.readInt();
+        }
+
+        this.towerLocations = new ArrayList<MapLocation>();
+        this.towersByLoc = new Team[numSquares];
+        Arrays.fill(this.towersByLoc, Team.NEUTRAL);
+        int numTowers = in.readInt();
+        for (int i = 0; i < numTowers; i++) {
+            int idx = in.readInt();
+            this.towerLocations.add(indexToLocation(idx));
+            this.towersByLoc[idx] = Team.values()[in.readByte()];
+        }
+
+        this.allRuinsByLoc = gm.getRuinArray();
+        this.sharedArrays = SHARED_RUINS;
+        this.allRuins = new ArrayList<MapLocation>();
+        int numRuins = in.readInt();
+        for (int i = 0; i < numRuins; i++) {
+            int idx = in.readInt();
+            this.allRuins.add(indexToLocation(idx));
+            markRuin(idx);
+        }
+
+        for (int[] perTeam : new int[][]{currentDamageIncreases, currentNumberUnits}) {
+            perTeam[0] = in.readInt();
+            perTeam[1] = in.readInt();
+        }
+
+        this.objectInfo = new ObjectInfo(gm);
+        this.robots = new InternalRobot[width][height];
+        int numRobots = in.readInt();
+        for (int i = 0; i < numRobots; i++) {
+            InternalRobot robot = new InternalRobot(this, in);
+            addRobot(robot.getLocation(), robot);
+            objectInfo.createRobot(robot);
+        }
+
+        this.profilerCollections = new HashMap<>();
+
+        this.controlProvider = cp;
+        this.rand = new Random(this.gameMap.getSeed());
+        this.matchMaker = matchMaker;
+
+        this.controlProvider.matchStarted(this);
+        this.objectInfo.eachDynamicBodyByExecOrder((robot) -> {
+            this.controlProvider.robotSpawned(robot);
+            return true;
+        });
+    }
+
+    /**
+     * Write the state of the match to a checkpoint, between rounds. The
+     * players' own state isn't part of it, see the resuming constructor.
+     *
+     * @param out the checkpoint
+     */
+    public synchronized void writeCheckpoint(DataOutput out) throws IOException {
+        int numSquares = this.colorLocations.length;
+        out.writeInt(numSquares);
+
+        out.writeInt(this.currentRound);
+        out.writeBoolean(this.running);
+        this.idGenerator.writeCheckpoint(out);
+        this.gameStats.writeCheckpoint(out);
+        this.bytecodeStats.writeCheckpoint(out);
+        this.teamInfo.writeCheckpoint(out);
+
+        // paint and markers all fit in a byte
+        for (int[] tiles : new int[][]{colorLocations, markersA, markersB}) {
+            for (int i = 0; i < numSquares; i++) {
+                out.writeByte(tiles[i]);
+            }
+        }
+
+        out.writeInt(this.resourcePatternCenters.size());
+        for (MapLocation center : this.resourcePatternCenters) {
+            int idx = locationToIndex(center);
+            out.writeInt(idx);
+            out.writeByte(this.resourcePatternCentersByLoc[idx].ordinal());
+            out.writeInt(this.resourcePatternLifetimes[idx]);
+        }
+
+        out.writeInt(this.towerLocations.size());
+        for (MapLocation tower : this.towerLocations) {
+            int idx = locationToIndex(tower);
+            out.writeInt(idx);
+            out.writeByte(this.towersByLoc[idx].ordinal());
+        }
+
+        out.writeInt(this.allRuins.size());
+        for (MapLocation ruin : this.allRuins) {
+            out.writeInt(locationToIndex(ruin));
+        }
+
+        for (int[] perTeam : new int[][]{currentDamageIncreases, currentNumberUnits}) {
+            out.writeInt(perTeam[0]);
+            out.writeInt(perTeam[1]);
+        }
+
+        // in execution order, so the resumed world runs them in the same order
+        InternalRobot[] robots = new InternalRobot[objectInfo.getRobotCount(Team.A)
+                + objectInfo.getRobotCount(Team.B) + objectInfo.getRobotCount(Team.NEUTRAL)];
+        int[] count = {0};
+        this.objectInfo.eachDynamicBodyByExecOrder((robot) -> {
+            robots[count[0]++] = robot;
+            return true;
+        });
+        out.writeInt(count[0]);
+        for (int i = 0; i < count[0]; i++) {
+            robots[i].writeCheckpoint(out);
+        }
+    }
+
     /**
      * Run a single round of the game.
      *
@@ -161,10 +442,14 @@ public class GameWorld {
             }
 
             // Write match footer if game is done
-            matchMaker.makeMatchFooter(gameStats.getWinner(), gameStats.getDominationFactor(), currentRound, profilers);
+            matchMaker.makeMatchFooter(gameStats.getWinner(), gameStats.getDominationFactor(), currentRound, profilers,
+                    bytecodeStats);
             return GameState.DONE;
         }
 
+        RoundEvent roundEvent = new RoundEvent();
+        roundEvent.begin();
+
         try {
             this.processBeginningOfRound();
             this.controlProvider.roundStarted();
@@ -173,6 +458,14 @@ public class GameWorld {
 
             this.controlProvider.roundEnded();
             this.processEndOfRound();
+            Metrics.roundRun();
+
+            roundEvent.end();
+            if (roundEvent.shouldCommit()) {
+                roundEvent.round = currentRound;
+                roundEvent.robotCount = objectInfo.getRobotCount(Team.A) + objectInfo.getRobotCount(Team.B);
+                roundEvent.commit();
+            }
 
             if (!this.isRunning()) {
                 this.controlProvider.matchEnded();
@@ -196,13 +489,14 @@ public class GameWorld {
         });
     }
 
-    private void updateResourcePatterns() {
+    void updateResourcePatterns() {
         ArrayList<MapLocation> newResourcePatternCenters = new ArrayList<>();
         for (MapLocation center : resourcePatternCenters) {
             int locIdx = locationToIndex(center);
             Team team = resourcePatternCentersByLoc[locIdx];
             boolean stillActive = checkResourcePattern(team, center);
 
+            unshare(SHARED_RESOURCE_PATTERNS);
             if (!stillActive) {
                 resourcePatternCentersByLoc[locationToIndex(center)] = Team.NEUTRAL;
                 resourcePatternLifetimes[locIdx] = 0;
@@ -333,6 +627,7 @@ public class GameWorld {
 
     public void completeTowerPattern(Team team, UnitType type, MapLocation center) {
         this.towerLocations.add(center);
+        unshare(SHARED_TOWERS);
         this.towersByLoc[locationToIndex(center)] = team;
         spawnRobot(type, center, team);
     }
@@ -340,6 +635,7 @@ public class GameWorld {
     public void completeResourcePattern(Team team, MapLocation center) {
         int idx = locationToIndex(center);
 
+        unshare(SHARED_RESOURCE_PATTERNS);
         if (this.resourcePatternCentersByLoc[idx] == Team.NEUTRAL) {
             this.resourcePatternCenters.add(center);
         }
@@ -349,10 +645,37 @@ public class GameWorld {
     }
 
     private boolean updateRobot(InternalRobot robot) {
+        RobotTurnEvent turnEvent = new RobotTurnEvent();
+        turnEvent.begin();
+
+        boolean timed = turnTimes != null || Metrics.isEnabled();
+        long turnStart = timed ? System.nanoTime() : 0;
         robot.processBeginningOfTurn();
+        long playerStart = timed ? System.nanoTime() : 0;
         this.controlProvider.runRobot(robot);
+        long playerEnd = timed ? System.nanoTime() : 0;
         robot.setBytecodesUsed(this.controlProvider.getBytecodesUsed(robot));
+        if (robot.getBytecodeLimit() > 0) {
+            bytecodeStats.addTurn(robot.getTeam(), robot.getType(), robot.getBytecodesUsed(), robot.getBytecodeLimit());
+        }
         robot.processEndOfTurn();
+        if (timed) {
+            long turnNanos = System.nanoTime() - turnStart;
+            long playerNanos = playerEnd - playerStart;
+            if (turnTimes != null) {
+                turnTimes.addTurn(turnNanos, playerNanos);
+            }
+            Metrics.turnRun(turnNanos - playerNanos, playerNanos);
+        }
+
+        turnEvent.end();
+        if (turnEvent.shouldCommit()) {
+            turnEvent.robotId = robot.getID();
+            turnEvent.team = robot.getTeam().name();
+            turnEvent.type = robot.getType().name();
+            turnEvent.bytecodesUsed = robot.getBytecodesUsed();
+            turnEvent.commit();
+        }
 
         // If the robot terminates but the death signal has not yet
         // been visited:
@@ -386,6 +709,10 @@ public class GameWorld {
         return this.gameStats;
     }
 
+    public BytecodeStats getBytecodeStats() {
+        return this.bytecodeStats;
+    }
+
     public ObjectInfo getObjectInfo() {
         return this.objectInfo;
     }
@@ -402,6 +729,13 @@ public class GameWorld {
         return this.colorLocations[locationToIndex(loc)];
     }
 
+    /**
+     * @return the paint on every tile, indexed by location. MUST NOT BE MODIFIED.
+     */
+    public int[] getPaintArray() {
+        return this.colorLocations;
+    }
+
     public PaintType paintTypeFromInt(Team team, int paint) {
         Team paintTeam = teamFromPaint(paint);
 
@@ -438,6 +772,7 @@ public class GameWorld {
         if (teamFromPaint(paint) != Team.NEUTRAL){
         this.getTeamInfo().addPaintedSquares(1, teamFromPaint(paint));
         }
+        unshare(SHARED_PAINT);
         this.colorLocations[locationToIndex(loc)] = paint;
     }
 
@@ -464,6 +799,7 @@ public class GameWorld {
         else {
             this.matchMaker.addMarkAction(loc, !isPrimaryPaint(marker));
         }
+        unshare(team == Team.A ? SHARED_MARKERS_A : SHARED_MARKERS_B);
         this.getmarkersArray(team)[locationToIndex(loc)] = marker;
     }
 
@@ -619,6 +955,47 @@ public class GameWorld {
         return isPassable(loc);
     }
 
+    /**
+     * Mark a tile as a ruin. The ruin array starts out shared with the map,
+     * which may be shared with other matches, so it is copied on the first
+     * write that actually changes it.
+     */
+    private void markRuin(int idx) {
+        if (this.allRuinsByLoc[idx]) {
+            return;
+        }
+        unshare(SHARED_RUINS);
+        this.allRuinsByLoc[idx] = true;
+    }
+
+    /**
+     * Copy those of the given per-tile arrays that are shared, so this world
+     * can write to them.
+     *
+     * @param arrays a combination of the SHARED_ flags
+     */
+    private void unshare(int arrays) {
+        int shared = this.sharedArrays & arrays;
+        if (shared == 0) {
+            return;
+        }
+        if ((shared & SHARED_PAINT) != 0)
+            this.colorLocations = this.colorLocations.clone();
+        if ((shared & SHARED_MARKERS_A) != 0)
+            this.markersA = this.markersA.clone();
+        if ((shared & SHARED_MARKERS_B) != 0)
+            this.markersB = this.markersB.clone();
+        if ((shared & SHARED_RESOURCE_PATTERNS) != 0) {
+            this.resourcePatternCentersByLoc = this.resourcePatternCentersByLoc.clone();
+            this.resourcePatternLifetimes = this.resourcePatternLifetimes.clone();
+        }
+        if ((shared & SHARED_TOWERS) != 0)
+            this.towersByLoc = this.towersByLoc.clone();
+        if ((shared & SHARED_RUINS) != 0)
+            this.allRuinsByLoc = this.allRuinsByLoc.clone();
+        this.sharedArrays &= ~shared;
+    }
+
     public ArrayList<MapLocation> getRuinArray() {
         return allRuins;
     }
@@ -744,20 +1121,44 @@ public class GameWorld {
     public boolean connectedByPaint(Team t, MapLocation robotLoc, MapLocation towerLoc) {
         if (teamFromPaint(getPaint(robotLoc)) != t)
             return false;
-        Queue<MapLocation> q = new LinkedList<MapLocation>();
-        Set<MapLocation> vis = new HashSet<MapLocation>();
-        q.add(robotLoc);
-        MapLocation cur;
-        int[] dx = {1, 0, -1, 0}, dy = {0, 1, 0, -1};
-        while(!q.isEmpty()) {
-            cur = q.peek();
-            q.remove();
-            if(cur.equals(towerLoc))
-                return true;
-            if(!getGameMap().onTheMap(cur) || vis.contains(cur) || teamFromPaint(getPaint(cur)) != t) continue;
-            vis.add(cur);
-            for(int i = 0; i < 4; i ++)
-                q.add(new MapLocation(cur.x + dx[i], cur.y + dy[i]));
+        if (robotLoc.equals(towerLoc))
+            return true;
+
+        // Breadth first search through the team's paint, reusing the world's
+        // queue and marking visited tiles with a new stamp every search
+        int width = this.gameMap.getWidth();
+        int height = this.gameMap.getHeight();
+        if (paintSearchQueue == null) {
+            paintSearchQueue = new int[width * height];
+            paintSearchVisited = new int[width * height];
+        }
+        if (++paintSearchStamp == 0) {
+            Arrays.fill(paintSearchVisited, 0);
+            paintSearchStamp = 1;
+        }
+        int goalX = towerLoc.x - this.gameMap.getOrigin().x;
+        int goalY = towerLoc.y - this.gameMap.getOrigin().y;
+
+        int start = locationToIndex(robotLoc);
+        paintSearchQueue[0] = start;
+        paintSearchVisited[start] = paintSearchStamp;
+        int head = 0, tail = 1;
+        while (head < tail) {
+            int cur = paintSearchQueue[head++];
+            int curX = cur % width, curY = cur / width;
+            for (int i = 0; i < 4; i++) {
+                int x = curX + PAINT_SEARCH_DX[i], y = curY + PAINT_SEARCH_DY[i];
+                if (x == goalX && y == goalY)
+                    return true;
+                if (x < 0 || y < 0 || x >= width || y >= height)
+                    continue;
+                int next = x + y * width;
+                if (paintSearchVisited[next] == paintSearchStamp)
+                    continue;
+                paintSearchVisited[next] = paintSearchStamp;
+                if (teamFromPaint(this.colorLocations[next]) == t)
+                    paintSearchQueue[tail++] = next;
+            }
         }
         return false;
     }
@@ -790,20 +1191,43 @@ public class GameWorld {
     public static MapLocation[] getAllLocationsWithinRadiusSquaredWithoutMap(MapLocation origin,
                                                                             int width, int height,
                                                                             MapLocation center, int radiusSquared) {
-        ArrayList<MapLocation> returnLocations = new ArrayList<MapLocation>();
-        int ceiledRadius = (int) Math.ceil(Math.sqrt(radiusSquared)) + 1; // add +1 just to be safe
-        int minX = Math.max(center.x - ceiledRadius, origin.x);
-        int minY = Math.max(center.y - ceiledRadius, origin.y);
-        int maxX = Math.min(center.x + ceiledRadius, origin.x + width - 1);
-        int maxY = Math.min(center.y + ceiledRadius, origin.y + height - 1);
+        // Count the locations first, so the result is the only array made
+        int minX = Math.max(center.x - reach(radiusSquared, 0), origin.x);
+        int maxX = Math.min(center.x + reach(radiusSquared, 0), origin.x + width - 1);
+        int count = 0;
         for (int x = minX; x <= maxX; x++) {
+            int dy = reach(radiusSquared, x - center.x);
+            int minY = Math.max(center.y - dy, origin.y);
+            int maxY = Math.min(center.y + dy, origin.y + height - 1);
+            count += Math.max(maxY - minY + 1, 0);
+        }
+
+        MapLocation[] returnLocations = new MapLocation[count];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            int dy = reach(radiusSquared, x - center.x);
+            int minY = Math.max(center.y - dy, origin.y);
+            int maxY = Math.min(center.y + dy, origin.y + height - 1);
             for (int y = minY; y <= maxY; y++) {
-                MapLocation newLocation = new MapLocation(x, y);
-                if (center.isWithinDistanceSquared(newLocation, radiusSquared))
-                    returnLocations.add(newLocation);
+                returnLocations[i++] = new MapLocation(x, y);
             }
         }
-        return returnLocations.toArray(new MapLocation[returnLocations.size()]);
+        return returnLocations;
+    }
+
+    /**
+     * @return the largest dy with dx * dx + dy * dy <= radiusSquared, or -1 if
+     *         there is none
+     */
+    private static int reach(int radiusSquared, int dx) {
+        long remaining = (long) radiusSquared - (long) dx * dx;
+        if (remaining < 0) {
+            return -1;
+        }
+        long dy = (long) Math.sqrt(remaining);
+        while (dy * dy > remaining) dy--;
+        while ((dy + 1) * (dy + 1) <= remaining) dy++;
+        return (int) Math.min(dy, Integer.MAX_VALUE / 2);
     }
 
     /**
@@ -979,6 +1403,10 @@ public class GameWorld {
         this.matchMaker.addTeamInfo(Team.B, this.teamInfo.getMoney(Team.B), teamBCoverage, getNumResourcePatterns(Team.B));
         this.teamInfo.processEndOfRound();
 
+        if (this.matchMaker.isKeyframeRound(this.currentRound)) {
+            writeKeyframe();
+        }
+
         this.getMatchMaker().endRound();
 
         checkEndOfMatch();
@@ -987,6 +1415,29 @@ public class GameWorld {
             running = false;
     }
 
+    /**
+     * Records the full state of the match for this round's keyframe, so that
+     * the replay can be seeked to this round without replaying every action.
+     */
+    private void writeKeyframe() {
+        int numSquares = this.colorLocations.length;
+        byte[] paint = new byte[numSquares];
+        byte[] keyframeMarkersA = new byte[numSquares];
+        byte[] keyframeMarkersB = new byte[numSquares];
+        for (int i = 0; i < numSquares; i++) {
+            paint[i] = (byte) this.colorLocations[i];
+            keyframeMarkersA[i] = (byte) this.markersA[i];
+            keyframeMarkersB[i] = (byte) this.markersB[i];
+        }
+        this.matchMaker.addKeyframeTiles(paint, keyframeMarkersA, keyframeMarkersB);
+
+        this.objectInfo.eachRobot((robot) -> {
+            this.matchMaker.addKeyframeRobot(robot.getID(), robot.getType(), robot.getTeam(),
+                    robot.getHealth(), robot.getPaint(), robot.getLocation());
+            return true;
+        });
+    }
+
     private void confirmRuinPlacements(ArrayList<MapLocation> ruins) {
         boolean validPlacements = true;
 
@@ -1044,6 +1495,7 @@ public class GameWorld {
         if (loc != null)
         {
             if (robot.getType().isTowerType()) {
+                unshare(SHARED_TOWERS);
                 this.towersByLoc[locationToIndex(loc)] = Team.NEUTRAL;
                 this.towerLocations.remove(loc);
                 this.teamInfo.addTowers(-1, robot.getTeam());
@@ -1080,5 +1532,26 @@ public class GameWorld {
         }
         profilerCollections.put(team, profilerCollection);
     }
+
+    public void setPlayerCpuTime(Team team, PlayerCpuTime cpuTime) {
+        playerCpuTimes.put(team, cpuTime);
+    }
+
+    /**
+     * @return the time the team's players took in the match, or null if it
+     *         isn't over or the team's players aren't sandboxed
+     */
+    public PlayerCpuTime getPlayerCpuTime(Team team) {
+        return playerCpuTimes.get(team);
+    }
+
+    /**
+     * Time every robot turn from now on.
+     *
+     * @param turnTimes where to record the turns, or null to stop timing them
+     */
+    public void setTurnTimes(TurnTimes turnTimes) {
+        this.turnTimes = turnTimes;
+    }
     
 }
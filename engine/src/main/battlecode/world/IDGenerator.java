@@ -1,5 +1,8 @@
 package battlecode.world;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Random;
 
 /**
@@ -21,14 +24,26 @@ public class IDGenerator {
     public static final int MIN_ID = 10000;
 
     /**
-     * The block of reserved IDs we walk through.
+     * The block of reserved IDs we walk through. Shared with copies until
+     * the next block is allocated.
      */
-    private final int[] reservedIDs;
+    private int[] reservedIDs;
 
     /**
-     * The random generator used to shuffle blocks.
+     * The random generator used to shuffle blocks. A copy recreates it from
+     * the seed when it needs it, see random().
      */
-    private final Random random;
+    private Random random;
+
+    /**
+     * The seed of the random generator.
+     */
+    private final int seed;
+
+    /**
+     * The number of blocks shuffled so far.
+     */
+    private int blocksAllocated;
 
     /**
      * Where we are in the current block.
@@ -46,12 +61,53 @@ public class IDGenerator {
      * @param seed the random seed to use.
      */
     public IDGenerator(int seed) {
+        this.seed = seed;
         this.random = new Random(seed);
-        this.reservedIDs = new int[ID_BLOCK_SIZE];
 
         setStart(MIN_ID);
     }
 
+    /**
+     * Create a copy of a generator, which hands out the same IDs from here on.
+     *
+     * @param other the generator to copy
+     */
+    public IDGenerator(IDGenerator other) {
+        this.seed = other.seed;
+        this.random = null;
+        this.reservedIDs = other.reservedIDs;
+        this.cursor = other.cursor;
+        this.nextIDBlock = other.nextIDBlock;
+        this.blocksAllocated = other.blocksAllocated;
+    }
+
+    /**
+     * Restore a generator from a checkpoint.
+     *
+     * @param in the checkpoint, at a generator written by writeCheckpoint
+     */
+    public IDGenerator(DataInput in) throws IOException {
+        this.seed = in.readInt();
+        int blocks = in.readInt();
+        int cursor = in.readInt();
+        this.random = new Random(this.seed);
+
+        setStart(MIN_ID);
+        while (this.blocksAllocated < blocks) {
+            allocateNextBlock();
+        }
+        this.cursor = cursor;
+    }
+
+    /**
+     * Write the state of the generator to a checkpoint.
+     */
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        out.writeInt(this.seed);
+        out.writeInt(this.blocksAllocated);
+        out.writeInt(this.cursor);
+    }
+
     /**
      * @return a new ID
      */
@@ -77,13 +133,16 @@ public class IDGenerator {
 
         this.cursor = 0;
 
+        // the block may be shared with a copy
+        this.reservedIDs = new int[ID_BLOCK_SIZE];
         for (int i = 0; i < ID_BLOCK_SIZE; i++) {
             this.reservedIDs[i] = this.nextIDBlock + i + 1;
         }
 
         // fisher-yates shuffle
+        Random random = random();
         for (int i = ID_BLOCK_SIZE - 1; i > 0; i--) {
-            int index = this.random.nextInt(i+1);
+            int index = random.nextInt(i+1);
             // swap
             int a = this.reservedIDs[index];
             this.reservedIDs[index] = this.reservedIDs[i];
@@ -91,6 +150,24 @@ public class IDGenerator {
         }
 
         this.nextIDBlock += ID_BLOCK_SIZE;
+        this.blocksAllocated++;
+    }
+
+    /**
+     * Random can't be copied, so a copy replays the shuffles of the blocks
+     * allocated so far on a new one. That only happens once every
+     * ID_BLOCK_SIZE IDs, which keeps copying cheap.
+     */
+    private Random random() {
+        if (this.random == null) {
+            this.random = new Random(this.seed);
+            for (int block = 0; block < this.blocksAllocated; block++) {
+                for (int i = ID_BLOCK_SIZE - 1; i > 0; i--) {
+                    this.random.nextInt(i+1);
+                }
+            }
+        }
+        return this.random;
     }
 
     /**
@@ -3,9 +3,10 @@ package battlecode.world;
 import battlecode.common.*;
 import battlecode.schema.Action;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Queue;
-import java.util.LinkedList;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -37,7 +38,8 @@ public class InternalRobot implements Comparable<InternalRobot> {
     private int actionCooldownTurns;
     private int movementCooldownTurns;
 
-    private Queue<Message> incomingMessages;
+    // oldest first, read by index so that reading them allocates nothing else
+    private ArrayList<Message> incomingMessages;
     private boolean towerHasSingleAttacked;
     private boolean towerHasAreaAttacked;
 
@@ -69,7 +71,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
         this.location = loc;
         this.diedLocation = null;
         this.health = type.health;
-        this.incomingMessages = new LinkedList<>();
+        this.incomingMessages = new ArrayList<>();
         this.towerHasSingleAttacked = this.towerHasAreaAttacked = false;
 
         this.paintAmount = 0;
@@ -87,6 +89,122 @@ public class InternalRobot implements Comparable<InternalRobot> {
         this.controller = new RobotControllerImpl(gameWorld, this);
     }
 
+    /**
+     * Create a copy of a robot in a forked world, with a controller of its
+     * own. Messages are immutable and are shared with the original.
+     *
+     * @param gw    the world the copy exists in
+     * @param other the robot to copy
+     */
+    public InternalRobot(GameWorld gw, InternalRobot other) {
+        this.gameWorld = gw;
+
+        this.ID = other.ID;
+        this.team = other.team;
+        this.type = other.type;
+
+        this.location = other.location;
+        this.diedLocation = other.diedLocation;
+        this.health = other.health;
+        this.incomingMessages = new ArrayList<>(other.incomingMessages);
+        this.towerHasSingleAttacked = other.towerHasSingleAttacked;
+        this.towerHasAreaAttacked = other.towerHasAreaAttacked;
+        this.sentMessagesCount = other.sentMessagesCount;
+
+        this.paintAmount = other.paintAmount;
+
+        this.controlBits = other.controlBits;
+        this.currentBytecodeLimit = other.currentBytecodeLimit;
+        this.bytecodesUsed = other.bytecodesUsed;
+
+        this.roundsAlive = other.roundsAlive;
+        this.actionCooldownTurns = other.actionCooldownTurns;
+        this.movementCooldownTurns = other.movementCooldownTurns;
+
+        this.cachedRobotInfo = other.cachedRobotInfo;
+        this.indicatorString = other.indicatorString;
+
+        this.controller = new RobotControllerImpl(gameWorld, this);
+    }
+
+    /**
+     * Restore a robot from a checkpoint.
+     *
+     * @param gw the world the robot exists in
+     * @param in the checkpoint, at a robot written by writeCheckpoint
+     */
+    public InternalRobot(GameWorld gw, DataInput in) throws IOException {
+        this.gameWorld = gw;
+
+        this.ID = in.readInt();
+        this.team = Team.values()[in.readByte()];
+        this.type = UnitType.values()[in.readByte()];
+
+        this.location = gw.indexToLocation(in.readInt());
+        int diedLocation = in.readInt();
+        this.diedLocation = diedLocation < 0 ? null : gw.indexToLocation(diedLocation);
+        this.health = in.readInt();
+        int messages = in.readInt();
+        this.incomingMessages = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            int bytes = in.readInt();
+            int senderID = in.readInt();
+            int round = in.readInt();
+            this.incomingMessages.add(new Message(bytes, senderID, round));
+        }
+        this.towerHasSingleAttacked = in.readBoolean();
+        this.towerHasAreaAttacked = in.readBoolean();
+        this.sentMessagesCount = in.readInt();
+
+        this.paintAmount = in.readInt();
+
+        this.controlBits = in.readLong();
+        this.currentBytecodeLimit = in.readInt();
+        this.bytecodesUsed = in.readInt();
+
+        this.roundsAlive = in.readInt();
+        this.actionCooldownTurns = in.readInt();
+        this.movementCooldownTurns = in.readInt();
+
+        this.indicatorString = in.readUTF();
+
+        this.controller = new RobotControllerImpl(gameWorld, this);
+    }
+
+    /**
+     * Write the state of the robot to a checkpoint.
+     */
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        out.writeInt(ID);
+        out.writeByte(team.ordinal());
+        out.writeByte(type.ordinal());
+
+        out.writeInt(gameWorld.locationToIndex(location));
+        out.writeInt(diedLocation == null ? -1 : gameWorld.locationToIndex(diedLocation));
+        out.writeInt(health);
+        out.writeInt(incomingMessages.size());
+        for (Message message : incomingMessages) {
+            out.writeInt(message.getBytes());
+            out.writeInt(message.getSenderID());
+            out.writeInt(message.getRound());
+        }
+        out.writeBoolean(towerHasSingleAttacked);
+        out.writeBoolean(towerHasAreaAttacked);
+        out.writeInt(sentMessagesCount);
+
+        out.writeInt(paintAmount);
+
+        out.writeLong(controlBits);
+        out.writeInt(currentBytecodeLimit);
+        out.writeInt(bytecodesUsed);
+
+        out.writeInt(roundsAlive);
+        out.writeInt(actionCooldownTurns);
+        out.writeInt(movementCooldownTurns);
+
+        out.writeUTF(indicatorString);
+    }
+
     // ******************************************
     // ****** GETTER METHODS ********************
     // ******************************************
@@ -549,15 +667,38 @@ public class InternalRobot implements Comparable<InternalRobot> {
         return incomingMessages.toArray(new Message[incomingMessages.size()]);
     }
 
+    /**
+     * @param roundNum the round the messages were sent in, or -1 for all
+     * @return the messages sent in that round, oldest first
+     */
+    public Message[] getMessages(int roundNum) {
+        if (roundNum == -1) {
+            return getMessages();
+        }
+        int count = 0;
+        for (int i = 0; i < incomingMessages.size(); i++) {
+            if (incomingMessages.get(i).getRound() == roundNum)
+                count++;
+        }
+        Message[] messages = new Message[count];
+        int j = 0;
+        for (int i = 0; i < incomingMessages.size(); i++) {
+            Message m = incomingMessages.get(i);
+            if (m.getRound() == roundNum)
+                messages[j++] = m;
+        }
+        return messages;
+    }
+
     public Message getFrontMessage() {
         if (incomingMessages.isEmpty())
             return null;
-        return incomingMessages.peek();
+        return incomingMessages.get(0);
     }
 
     public void popMessage() {
         if (!incomingMessages.isEmpty())
-            incomingMessages.remove();
+            incomingMessages.remove(0);
     }
 
     private void addMessage(Message message) {
@@ -573,9 +714,13 @@ public class InternalRobot implements Comparable<InternalRobot> {
     }
 
     private void cleanMessages() {
-        while (!incomingMessages.isEmpty() && this.getFrontMessage().getRound() <= this.gameWorld.getCurrentRound()
-                - GameConstants.MESSAGE_ROUND_DURATION) {
-            this.popMessage();
+        int expired = 0;
+        while (expired < incomingMessages.size() && incomingMessages.get(expired).getRound()
+                <= this.gameWorld.getCurrentRound() - GameConstants.MESSAGE_ROUND_DURATION) {
+            expired++;
+        }
+        if (expired > 0) {
+            incomingMessages.subList(0, expired).clear();
         }
     }
 
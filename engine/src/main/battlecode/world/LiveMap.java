@@ -2,6 +2,8 @@ package battlecode.world;
 
 import battlecode.common.*;
 import battlecode.util.FlatHelpers;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
 
 import java.io.IOException;
 import java.util.*;
@@ -20,6 +22,13 @@ import javax.management.RuntimeErrorException;
  * which represents a serialized LiveMap.
  */
 public class LiveMap {
+
+    /**
+     * The largest maps allowed in stress mode, which is meant for measuring
+     * how the engine scales and never for competitive play.
+     */
+    public static final int STRESS_MAP_MAX_WIDTH = 512;
+    public static final int STRESS_MAP_MAX_HEIGHT = 512;
     
     /**
      * The width and height of the map.
@@ -310,21 +319,25 @@ public class LiveMap {
     }
 
     /**
-     * @return the wall array of the map
+     * @return the wall array of the map.
+     *         MUST NOT BE MODIFIED.
      */
     public boolean[] getWallArray() {
         return wallArray;
     }
 
     /**
-     * @return the paint array of the map
+     * @return the paint array of the map.
+     *         MUST NOT BE MODIFIED.
      */
     public byte[] getPaintArray() {
         return paintArray;
     }
 
     /**
-     * @return the ruin array of the map
+     * @return the ruin array of the map; initial towers may or may not
+     *         be marked as ruins.
+     *         MUST NOT BE MODIFIED.
      */
     public boolean[] getRuinArray(){
         return ruinArray;
@@ -358,87 +371,188 @@ public class LiveMap {
     }
 
     public void assertIsValid() throws Exception{
-        if (this.width > GameConstants.MAP_MAX_WIDTH) {
-            throw new RuntimeException("MAP WIDTH EXCEEDS GameConstants.MAP_MAX_WIDTH");
+        assertIsValid(false);
+    }
+
+    /**
+     * @param stressMode whether to check the relaxed rules of stress mode
+     *                   instead of the competitive ones
+     */
+    public void assertIsValid(boolean stressMode) throws Exception{
+        List<String> violations = getViolations(stressMode);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.get(0));
+        }
+    }
+
+    /**
+     * Checks every rule a map has to follow.
+     *
+     * Ruin spacing and wall distance are checked by looking at the tiles
+     * within range of each ruin, so the cost grows with the number of ruins
+     * rather than with the number of pairs of ruins or walls and ruins.
+     *
+     * @return a description of every rule the map breaks, in the order
+     *         assertIsValid checks them; empty if the map is valid
+     */
+    public List<String> getViolations() {
+        return getViolations(false);
+    }
+
+    /**
+     * Stress mode allows maps up to STRESS_MAP_MAX_WIDTH by
+     * STRESS_MAP_MAX_HEIGHT, and any number of initial towers and robots as
+     * long as both teams start with the same ones. Every other rule still
+     * applies.
+     *
+     * @param stressMode whether to check the relaxed rules of stress mode
+     *                   instead of the competitive ones
+     * @return a description of every rule the map breaks; empty if the map
+     *         is valid
+     */
+    public List<String> getViolations(boolean stressMode) {
+        List<String> violations = new ArrayList<>();
+
+        if (stressMode) {
+            if (this.width > STRESS_MAP_MAX_WIDTH) {
+                violations.add("MAP WIDTH EXCEEDS LiveMap.STRESS_MAP_MAX_WIDTH");
+            }
+        } else if (this.width > GameConstants.MAP_MAX_WIDTH) {
+            violations.add("MAP WIDTH EXCEEDS GameConstants.MAP_MAX_WIDTH");
         }
         if (this.width < GameConstants.MAP_MIN_WIDTH) {
-            throw new RuntimeException("MAP WIDTH BENEATH GameConstants.MAP_MIN_WIDTH");
+            violations.add("MAP WIDTH BENEATH GameConstants.MAP_MIN_WIDTH");
         }
-        if (this.height > GameConstants.MAP_MAX_HEIGHT) {
-            throw new RuntimeException("MAP HEIGHT EXCEEDS GameConstants.MAP_MAX_HEIGHT");
+        if (stressMode) {
+            if (this.height > STRESS_MAP_MAX_HEIGHT) {
+                violations.add("MAP HEIGHT EXCEEDS LiveMap.STRESS_MAP_MAX_HEIGHT");
+            }
+        } else if (this.height > GameConstants.MAP_MAX_HEIGHT) {
+            violations.add("MAP HEIGHT EXCEEDS GameConstants.MAP_MAX_HEIGHT");
         }
         if (this.height < GameConstants.MAP_MIN_HEIGHT) {
-            throw new RuntimeException("MAP HEIGHT BENEATH GameConstants.MAP_MIN_HEIGHT");
+            violations.add("MAP HEIGHT BENEATH GameConstants.MAP_MIN_HEIGHT");
         }
-        int[] towerCountA = new int[3];
-        int[] towerCountB = new int[3];
+        // Indexed by schema robot type
+        int[] towerCountA = new int[7];
+        int[] towerCountB = new int[7];
         int initialBodyCountTeamA = 0;
         int initialBodyCountTeamB = 0;
         for (RobotInfo initialBody : initialBodies){
             if (initialBody.team == Team.A){
-                towerCountA[FlatHelpers.getRobotTypeFromUnitType(initialBody.type)-1] += 1;
+                towerCountA[FlatHelpers.getRobotTypeFromUnitType(initialBody.type)] += 1;
                 initialBodyCountTeamA++;
             }
             else if (initialBody.team == Team.B){
-                towerCountB[FlatHelpers.getRobotTypeFromUnitType(initialBody.type)-1] += 1;
+                towerCountB[FlatHelpers.getRobotTypeFromUnitType(initialBody.type)] += 1;
                 initialBodyCountTeamB++;
             }
             else {
-                throw new RuntimeException("Expected initial body team "  + initialBody.team + " to be team A or team B!");
+                violations.add("Expected initial body team "  + initialBody.team + " to be team A or team B!");
             }
         }
-        if (initialBodyCountTeamA != GameConstants.NUMBER_INITIAL_TOWERS) {
-            throw new RuntimeException("Expected to have "  + GameConstants.NUMBER_INITIAL_TOWERS + " team A towers!");
-        }
-        if (initialBodyCountTeamB != GameConstants.NUMBER_INITIAL_TOWERS) {
-            throw new RuntimeException("Expected to have "  + GameConstants.NUMBER_INITIAL_TOWERS + " team B towers!");
+        if (!stressMode) {
+            if (initialBodyCountTeamA != GameConstants.NUMBER_INITIAL_TOWERS) {
+                violations.add("Expected to have "  + GameConstants.NUMBER_INITIAL_TOWERS + " team A towers!");
+            }
+            if (initialBodyCountTeamB != GameConstants.NUMBER_INITIAL_TOWERS) {
+                violations.add("Expected to have "  + GameConstants.NUMBER_INITIAL_TOWERS + " team B towers!");
+            }
+            if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_PAINT_TOWER)] != GameConstants.NUMBER_INITIAL_PAINT_TOWERS){
+                violations.add("Expected to have "  + GameConstants.NUMBER_INITIAL_PAINT_TOWERS + " paint towers!");
+            }
+            if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_MONEY_TOWER)] != GameConstants.NUMBER_INITIAL_MONEY_TOWERS){
+                violations.add("Expected to have "  + GameConstants.NUMBER_INITIAL_MONEY_TOWERS + " money towers!");
+            }
+            if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_DEFENSE_TOWER)] != GameConstants.NUMBER_INITIAL_DEFENSE_TOWERS){
+                violations.add("Expected to have "  + GameConstants.NUMBER_INITIAL_DEFENSE_TOWERS + " defense towers!");
+            }
         }
-        if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_PAINT_TOWER) - 1] != GameConstants.NUMBER_INITIAL_PAINT_TOWERS){
-            throw new RuntimeException("Expected to have "  + GameConstants.NUMBER_INITIAL_PAINT_TOWERS + " paint towers!");
-        }  
-        if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_MONEY_TOWER) - 1] != GameConstants.NUMBER_INITIAL_MONEY_TOWERS){
-            throw new RuntimeException("Expected to have "  + GameConstants.NUMBER_INITIAL_MONEY_TOWERS + " money towers!");
+        for (int i = 1; i < towerCountA.length; i++){
+            if (towerCountA[i] != towerCountB[i]){
+                violations.add("Expected both teams to have the same number of towers of type " + FlatHelpers.getUnitTypeFromRobotType((byte) i));
+            }
         }
-        if (towerCountA[FlatHelpers.getRobotTypeFromUnitType(UnitType.LEVEL_ONE_DEFENSE_TOWER) - 1] != GameConstants.NUMBER_INITIAL_DEFENSE_TOWERS){
-            throw new RuntimeException("Expected to have "  + GameConstants.NUMBER_INITIAL_DEFENSE_TOWERS + " defense towers!");
+
+        // Towers stand on ruins
+        boolean[] ruins = this.ruinArray.clone();
+        for (RobotInfo initialBody : initialBodies){
+            if (initialBody.type.isTowerType() && onTheMap(initialBody.location)) {
+                ruins[locationToIndex(initialBody.location)] = true;
+            }
         }
-        for (int i = 0; i < towerCountA.length; i++){
-            if (towerCountA[i] != towerCountB[i]){
-                throw new RuntimeException("Expected both teams to have the same number of towers of type " + FlatHelpers.getUnitTypeFromRobotType((byte)(i+1)));
+        boolean[] occupied = new boolean[this.width * this.height];
+        for (RobotInfo initialBody : initialBodies){
+            if (!onTheMap(initialBody.location)) {
+                violations.add("Initial body at " + initialBody.location + " is off the map!");
+                continue;
+            }
+            int i = locationToIndex(initialBody.location);
+            if (occupied[i]) {
+                violations.add("More than one initial body at " + initialBody.location);
+            }
+            occupied[i] = true;
+            if (initialBody.type.isRobotType() && (this.wallArray[i] || ruins[i])) {
+                violations.add("Robots can't start on walls or ruins: " + initialBody.location);
             }
         }
 
-        ArrayList<MapLocation> ruinLocs = new ArrayList<>();
+        TIntArrayList ruinIndices = new TIntArrayList();
         int numWalls = 0;
         for (int i = 0; i < this.width*this.height; i++){
-            if (this.wallArray[i] && this.ruinArray[i]){
-                throw new RuntimeException("Walls can't be on the same square as ruins");
+            if (this.wallArray[i] && ruins[i]){
+                violations.add("Walls can't be on the same square as ruins: " + indexToLocation(i).toString());
             }
-            if (this.ruinArray[i])
-                ruinLocs.add(indexToLocation(i));
+            if (ruins[i])
+                ruinIndices.add(i);
             if (this.wallArray[i])
                 numWalls += 1;
         }
         if (numWalls * 100 >= this.width * this.height * GameConstants.MAX_WALL_PERCENTAGE){
-            throw new RuntimeException("Too much of the area of the map is composed of walls!");
+            violations.add("Too much of the area of the map is composed of walls!");
         }
 
-        for (int i = 0; i < ruinLocs.size(); i++){
-            MapLocation curRuin = ruinLocs.get(i);
-            for (int j = i + 1; j < ruinLocs.size(); j++){
-                MapLocation otherRuin = ruinLocs.get(j);
-                if (curRuin.distanceSquaredTo(otherRuin) < GameConstants.MIN_RUIN_SPACING_SQUARED)
-                    throw new RuntimeException("Ruins at location " + curRuin.toString() + " and location " + otherRuin.toString() + " are too close to each other!");
+        // Ruins closer than the minimum spacing. Only look at tiles after
+        // the ruin, so that each pair is reported once.
+        int spacing = (int) Math.ceil(Math.sqrt(GameConstants.MIN_RUIN_SPACING_SQUARED));
+        for (int i = 0; i < ruinIndices.size(); i++){
+            int ruin = ruinIndices.get(i);
+            int x = ruin % this.width, y = ruin / this.width;
+            for (int dy = 0; dy <= spacing && y + dy < this.height; dy++){
+                for (int dx = -spacing; dx <= spacing; dx++){
+                    if ((dy == 0 && dx <= 0) || x + dx < 0 || x + dx >= this.width
+                            || dx * dx + dy * dy >= GameConstants.MIN_RUIN_SPACING_SQUARED)
+                        continue;
+                    int other = ruin + dx + dy * this.width;
+                    if (ruins[other])
+                        violations.add("Ruins at location " + indexToLocation(ruin).toString() + " and location " + indexToLocation(other).toString() + " are too close to each other!");
+                }
             }
         }
-        for (int i = 0; i < this.width * this.height; i++){
-            if (this.wallArray[i]){
-                for (MapLocation ruin : ruinLocs){
-                    if (ruin.distanceSquaredTo(indexToLocation(i)) <= 8) // 2^2 + 2^2 
-                        throw new RuntimeException("Wall appears at location " + indexToLocation(i).toString() + " which is too close to ruin " + ruin.toString());
+
+        // Walls within distance 8 of a ruin, reported in the order of the walls
+        TLongArrayList wallsNearRuins = new TLongArrayList();
+        for (int i = 0; i < ruinIndices.size(); i++){
+            int ruin = ruinIndices.get(i);
+            int x = ruin % this.width, y = ruin / this.width;
+            for (int dy = -2; dy <= 2; dy++){ // 2^2 + 2^2
+                for (int dx = -2; dx <= 2; dx++){
+                    if (x + dx < 0 || x + dx >= this.width || y + dy < 0 || y + dy >= this.height)
+                        continue;
+                    int wall = ruin + dx + dy * this.width;
+                    if (this.wallArray[wall])
+                        wallsNearRuins.add((long) wall << 32 | i);
                 }
             }
         }
+        wallsNearRuins.sort();
+        for (int i = 0; i < wallsNearRuins.size(); i++){
+            int wall = (int) (wallsNearRuins.get(i) >>> 32);
+            int ruin = ruinIndices.get((int) wallsNearRuins.get(i));
+            violations.add("Wall appears at location " + indexToLocation(wall).toString() + " which is too close to ruin " + indexToLocation(ruin).toString());
+        }
+
+        return violations;
     }
 
     private boolean isTeamNumber(int team) {
@@ -84,19 +84,29 @@ public class MapBuilder {
     }
 
     public void addTower(int id, Team team, MapLocation loc) {
+        addBody(id, team, UnitType.LEVEL_ONE_PAINT_TOWER, loc);
+    }
+
+    /**
+     * Add an initial body of any type. Maps with initial robots, or with
+     * towers other than the competitive ones, are only valid in stress mode.
+     */
+    public void addBody(int id, Team team, UnitType type, MapLocation loc) {
         // check if something already exists here, if so shout
         for (RobotInfo r : bodies) {
             if (r.location.equals(loc)) {
                 throw new RuntimeException("CANNOT ADD ROBOT TO SAME LOCATION AS OTHER ROBOT");
             }
         }
+        int paint = type.isTowerType() ? 500
+                : (int) Math.round(type.paintCapacity * GameConstants.INITIAL_ROBOT_PAINT_PERCENTAGE / 100.0);
         bodies.add(new RobotInfo(
                 id,
                 team,
-                UnitType.LEVEL_ONE_PAINT_TOWER,
-                UnitType.LEVEL_ONE_PAINT_TOWER.health,
+                type,
+                type.health,
                 loc,
-                500
+                paint
         ));
     }
 
@@ -171,6 +181,118 @@ public class MapBuilder {
         this.wallArray[locationToIndex(symmetricX(x), symmetricY(y))] = value;
     }
 
+    public void setSymmetricRuins(int x, int y, boolean value) {
+        this.ruinArray[locationToIndex(x, y)] = value;
+        this.ruinArray[locationToIndex(symmetricX(x), symmetricY(y))] = value;
+    }
+
+    /**
+     * Add a body for team A and its mirror image for team B.
+     */
+    public void addSymmetricBody(Team team, UnitType type, MapLocation loc) {
+        addBody(++idCounter, team, type, loc);
+        addBody(++idCounter, team.opponent(), type, symmetryLocation(loc));
+    }
+
+    // ********************
+    // STRESS MAPS
+    // ********************
+
+    private static final UnitType[] STRESS_TOWER_TYPES = {
+            UnitType.LEVEL_ONE_PAINT_TOWER, UnitType.LEVEL_ONE_MONEY_TOWER
+    };
+
+    private static final UnitType[] STRESS_ROBOT_TYPES = {
+            UnitType.SOLDIER, UnitType.SOLDIER, UnitType.MOPPER, UnitType.SPLASHER
+    };
+
+    /**
+     * Lay out a symmetric map for stress testing the engine. Places as many
+     * ruins as fit at random, up to twice the number of towers, puts towers on
+     * half of them and robots on random open tiles, then covers
+     * wallPercentage of the map with walls away from the ruins. The layout
+     * is a function of the seed, and the map is only valid in stress mode.
+     *
+     * @param towersPerTeam the number of initial towers of each team
+     * @param robotsPerTeam the number of initial robots of each team
+     * @param wallPercentage the percentage of the map to cover with walls
+     * @throws IllegalArgumentException if the bodies don't fit on the map
+     */
+    public void generateStressLayout(int towersPerTeam, int robotsPerTeam, int wallPercentage) {
+        if (2 * (towersPerTeam + robotsPerTeam) >= IDGenerator.MIN_ID) {
+            throw new IllegalArgumentException("Maps can have at most " + (IDGenerator.MIN_ID - 1) + " initial bodies");
+        }
+        if (wallPercentage < 0 || wallPercentage >= GameConstants.MAX_WALL_PERCENTAGE) {
+            throw new IllegalArgumentException("Wall percentage must be below " + GameConstants.MAX_WALL_PERCENTAGE);
+        }
+        Random random = new Random(seed);
+
+        // Tiles in one half of the map, each standing for itself and its mirror image
+        List<Integer> half = new ArrayList<>();
+        for (int i = 0; i < width * height; i++) {
+            MapLocation loc = indexToLocation(i);
+            if (i < locationToIndex(symmetryLocation(loc))) {
+                half.add(i);
+            }
+        }
+
+        Collections.shuffle(half, random);
+        List<MapLocation> ruins = new ArrayList<>();
+        for (int i = 0; i < half.size() && ruins.size() < 2 * towersPerTeam; i++) {
+            MapLocation loc = indexToLocation(half.get(i));
+            MapLocation mirror = symmetryLocation(loc);
+            if (loc.distanceSquaredTo(mirror) >= GameConstants.MIN_RUIN_SPACING_SQUARED
+                    && !nearRuin(loc, GameConstants.MIN_RUIN_SPACING_SQUARED - 1)
+                    && !nearRuin(mirror, GameConstants.MIN_RUIN_SPACING_SQUARED - 1)) {
+                setSymmetricRuins(loc.x, loc.y, true);
+                ruins.add(loc);
+            }
+        }
+        if (ruins.size() < towersPerTeam) {
+            throw new IllegalArgumentException("Only " + ruins.size() + " towers per team fit on the map");
+        }
+        for (int i = 0; i < towersPerTeam; i++) {
+            addSymmetricBody(Team.A, STRESS_TOWER_TYPES[i % STRESS_TOWER_TYPES.length], ruins.get(i));
+        }
+
+        int walls = width * height * wallPercentage / 100 / 2;
+        Collections.shuffle(half, random);
+        for (int i = 0; i < half.size() && walls > 0; i++) {
+            MapLocation loc = indexToLocation(half.get(i));
+            if (!nearRuin(loc, 8) && !nearRuin(symmetryLocation(loc), 8)) {
+                setSymmetricWalls(loc.x, loc.y, true);
+                walls--;
+            }
+        }
+
+        int robots = 0;
+        for (int i = 0; i < half.size() && robots < robotsPerTeam; i++) {
+            // walls and ruins are symmetric, so the mirror image is open too
+            int idx = half.get(i);
+            if (wallArray[idx] || ruinArray[idx]) {
+                continue;
+            }
+            addSymmetricBody(Team.A, STRESS_ROBOT_TYPES[robots % STRESS_ROBOT_TYPES.length], indexToLocation(idx));
+            robots++;
+        }
+        if (robots < robotsPerTeam) {
+            throw new IllegalArgumentException("Only " + robots + " robots per team fit on the map");
+        }
+    }
+
+    private boolean nearRuin(MapLocation loc, int radiusSquared) {
+        int r = (int) Math.sqrt(radiusSquared);
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dy = -r; dy <= r; dy++) {
+                MapLocation other = new MapLocation(loc.x + dx, loc.y + dy);
+                if (dx * dx + dy * dy <= radiusSquared && onTheMap(other) && ruinArray[locationToIndex(other)]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     //TODO: kept for now for reference 
     // public void setSymmetricCloud(int x, int y, boolean value) {
     //     this.cloudArray[locationToIndex(x, y)] = value;
@@ -215,9 +337,19 @@ public class MapBuilder {
      * @throws Exception
      */
     public void saveMap(String pathname) throws Exception {
+        saveMap(pathname, false);
+    }
+
+    /**
+     * Saves the map to the specified location.
+     * @param pathname
+     * @param stressMode whether to validate the map against the rules of stress mode
+     * @throws Exception
+     */
+    public void saveMap(String pathname, boolean stressMode) throws Exception {
         // validate
         LiveMap lm = this.build();
-        lm.assertIsValid();
+        lm.assertIsValid(stressMode);
         System.out.println("Saving " + this.name + ".");
         GameMapIO.writeMap(lm, new File(pathname));
     }
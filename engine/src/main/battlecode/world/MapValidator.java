@@ -0,0 +1,154 @@
+package battlecode.world;
+
+import battlecode.util.JsonWriter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Validates every map in a directory, in parallel.
+ *
+ * Prints one JSON object per map and line, in order of map name:
+ * {"map":"name","valid":false,"violations":["...", ...]}
+ * and exits with status 1 if any map is invalid.
+ *
+ * Usage: MapValidator [--stress] mapDir [threads]
+ *
+ * With --stress, maps are checked against the relaxed rules of stress mode.
+ */
+public class MapValidator {
+
+    /**
+     * The violations of a single map.
+     */
+    public static class Result {
+        public final String mapName;
+        public final List<String> violations;
+
+        public Result(String mapName, List<String> violations) {
+            this.mapName = mapName;
+            this.violations = violations;
+        }
+
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+
+        /**
+         * @return the result as a single line of JSON
+         */
+        public String toJson() {
+            JsonWriter json = new JsonWriter().beginObject();
+            json.name("map").value(mapName);
+            json.name("valid").value(isValid());
+            json.name("violations").beginArray();
+            for (String violation : violations) {
+                json.value(violation);
+            }
+            return json.endArray().endObject().toString();
+        }
+    }
+
+    /**
+     * Validate a single map file.
+     *
+     * @param mapFile the map to validate
+     * @return the map's violations; a map that can't be loaded has a single
+     *         violation saying why
+     */
+    public static Result validate(File mapFile) {
+        return validate(mapFile, false);
+    }
+
+    /**
+     * Validate a single map file.
+     *
+     * @param mapFile the map to validate
+     * @param stressMode whether to check the rules of stress mode
+     * @return the map's violations; a map that can't be loaded has a single
+     *         violation saying why
+     */
+    public static Result validate(File mapFile, boolean stressMode) {
+        String fileName = mapFile.getName();
+        String mapName = fileName.substring(0, fileName.length() - GameMapIO.MAP_EXTENSION.length());
+
+        List<String> violations = new ArrayList<>();
+        try {
+            LiveMap map = GameMapIO.loadMap(mapFile, false);
+            if (!map.getMapName().equals(mapName)) {
+                violations.add("Invalid map: name (" + map.getMapName()
+                        + ") does not match filename (" + fileName + ")");
+            }
+            violations.addAll(map.getViolations(stressMode));
+        } catch (Exception e) {
+            violations.add("Couldn't load map: " + e);
+        }
+        return new Result(mapName, violations);
+    }
+
+    /**
+     * Validate every map in a directory.
+     *
+     * @param mapDir the directory containing the maps
+     * @param threads the number of maps to validate at once
+     * @param stressMode whether to check the rules of stress mode
+     * @return the results, in order of map name
+     */
+    public static List<Result> validateDirectory(File mapDir, int threads, boolean stressMode)
+            throws InterruptedException, ExecutionException {
+        File[] files = mapDir.listFiles((dir, name) -> name.endsWith(GameMapIO.MAP_EXTENSION));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> Arrays.stream(files)
+                    .parallel()
+                    .map(file -> validate(file, stressMode))
+                    .collect(Collectors.toList())
+            ).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param args optionally --stress, the map directory, and optionally the
+     *             number of threads
+     */
+    public static void main(String[] args) throws Exception {
+        boolean stressMode = args.length > 0 && args[0].equals("--stress");
+        if (stressMode) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: MapValidator [--stress] mapDir [threads]");
+            System.exit(2);
+        }
+
+        File mapDir = new File(args[0]);
+        if (!mapDir.isDirectory()) {
+            System.err.println("Not a directory: " + mapDir);
+            System.exit(2);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        int invalid = 0;
+        for (Result result : validateDirectory(mapDir, threads, stressMode)) {
+            System.out.println(result.toJson());
+            if (!result.isValid()) {
+                invalid++;
+            }
+        }
+
+        System.exit(invalid > 0 ? 1 : 0);
+    }
+}
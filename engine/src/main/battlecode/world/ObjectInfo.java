@@ -61,6 +61,39 @@ public class ObjectInfo {
             UnitType.class));
     }
 
+    /**
+     * Create a copy of another world's robots for a forked world.
+     *
+     * @param other the robots to copy
+     * @param gw the world the copies exist in
+     */
+    public ObjectInfo(ObjectInfo other, GameWorld gw) {
+        this.mapWidth = other.mapWidth;
+        this.mapHeight = other.mapHeight;
+        this.mapTopLeft = other.mapTopLeft;
+
+        this.gameRobotsByID = new TIntObjectHashMap<>(other.gameRobotsByID.size());
+
+        robotIndex = new RTree();
+
+        dynamicBodyExecOrder = new TIntArrayList(other.dynamicBodyExecOrder);
+
+        robotIndex.init(null);
+
+        other.gameRobotsByID.forEachEntry((id, robot) -> {
+            InternalRobot copy = new InternalRobot(gw, robot);
+            gameRobotsByID.put(id, copy);
+            if (copy.getLocation() != null)
+                robotIndex.add(fromPoint(copy.getLocation()), id);
+            return true;
+        });
+
+        for (Team team : Team.values()) {
+            robotTypeCount.put(team, new EnumMap<>(other.robotTypeCount.get(team)));
+        }
+        robotCount = other.robotCount.clone();
+    }
+
     public int getRobotTypeCount(Team team, UnitType type) {
         if (robotTypeCount.get(team).containsKey(type)) {
             return robotTypeCount.get(team).get(type);
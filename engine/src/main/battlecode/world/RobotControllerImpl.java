@@ -8,7 +8,6 @@ import battlecode.util.FlatHelpers;
 import battlecode.instrumenter.RobotDeathException;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -368,9 +367,14 @@ public final class RobotControllerImpl implements RobotController {
         int actualRadiusSquared = radiusSquared == -1 ? GameConstants.VISION_RADIUS_SQUARED
                 : Math.min(radiusSquared, GameConstants.VISION_RADIUS_SQUARED);
         MapLocation[] possibleLocs = this.gameWorld.getAllLocationsWithinRadiusSquared(center, actualRadiusSquared);
-        List<MapLocation> visibleLocs = Arrays.asList(possibleLocs).stream().filter(x -> canSenseLocation(x))
-                .collect(Collectors.toList());
-        return visibleLocs.toArray(new MapLocation[visibleLocs.size()]);
+        // Keep the visible locations at the front of the array
+        int visible = 0;
+        for (MapLocation loc : possibleLocs) {
+            if (canSenseLocation(loc)) {
+                possibleLocs[visible++] = loc;
+            }
+        }
+        return visible == possibleLocs.length ? possibleLocs : Arrays.copyOf(possibleLocs, visible);
     }
 
     // ***********************************
@@ -979,14 +983,13 @@ public final class RobotControllerImpl implements RobotController {
     // ****** COMMUNICATION METHODS ******
     // ***********************************
 
-    private void assertCanSendMessage(MapLocation loc, Message message) throws GameActionException {
+    private void assertCanSendMessage(MapLocation loc) throws GameActionException {
         assertNotNull(loc);
         assertCanActLocation(loc, GameConstants.MESSAGE_RADIUS_SQUARED);
         assertNotNull(this.gameWorld.getRobot(loc));
         if (getTeam() != this.gameWorld.getRobot(loc).getTeam()){
             throw new GameActionException(CANT_DO_THAT, "Cannot send messages to robots of the enemy team!");
         }
-        assertNotNull(message);
 
         // we also need them to be different (i.e. only robot to tower or vice versa)
         if (this.robot.getType().isRobotType() == this.gameWorld.getRobot(loc).getType().isRobotType()){
@@ -1023,8 +1026,7 @@ public final class RobotControllerImpl implements RobotController {
     @Override
     public boolean canSendMessage(MapLocation loc, int messageContent) {
         try {
-            Message message = new Message(messageContent, this.robot.getID(), this.gameWorld.getCurrentRound());
-            assertCanSendMessage(loc, message);
+            assertCanSendMessage(loc);
             return true;
         } catch (GameActionException e) {
             return false;
@@ -1033,8 +1035,8 @@ public final class RobotControllerImpl implements RobotController {
 
     @Override
     public void sendMessage(MapLocation loc, int messageContent) throws GameActionException {
+        assertCanSendMessage(loc);
         Message message = new Message(messageContent, this.robot.getID(), this.gameWorld.getCurrentRound());
-        assertCanSendMessage(loc, message);
         InternalRobot robot = this.gameWorld.getRobot(loc);
         this.robot.sendMessage(robot, message);
         this.robot.incrementMessageCount();
@@ -1043,12 +1045,7 @@ public final class RobotControllerImpl implements RobotController {
 
     @Override 
     public Message[] readMessages(int roundNum) {
-        ArrayList<Message> messages = new ArrayList<>();
-        for (Message m : this.robot.getMessages()){
-            if (roundNum == -1 || m.getRound() == roundNum)
-                messages.add(m);
-        }
-        return messages.toArray(new Message[messages.size()]);
+        return this.robot.getMessages(roundNum);
     }
 
     public void assertCanBroadcastMessage() throws GameActionException{
@@ -3,6 +3,10 @@ package battlecode.world;
 import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.Team;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 import static battlecode.common.GameActionExceptionType.*;
 
@@ -31,6 +35,44 @@ public class TeamInfo {
         this.totalNumberOfTowers = new int[2];
     }
 
+    /**
+     * Create a copy of another world's TeamInfo
+     *
+     * @param other the TeamInfo to copy
+     * @param gameWorld the gameWorld the copy belongs to
+     */
+    public TeamInfo(TeamInfo other, GameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+        this.moneyCounts = other.moneyCounts.clone();
+        this.oldMoneyCounts = other.oldMoneyCounts.clone();
+        this.totalPaintedSquares = other.totalPaintedSquares.clone();
+        this.totalNumberOfTowers = other.totalNumberOfTowers.clone();
+    }
+
+    /**
+     * Restore a TeamInfo from a checkpoint
+     *
+     * @param gameWorld the gameWorld the teams exist in
+     * @param in the checkpoint, at a TeamInfo written by writeCheckpoint
+     */
+    public TeamInfo(GameWorld gameWorld, DataInput in) throws IOException {
+        this(gameWorld);
+        for (int[] counts : new int[][]{moneyCounts, oldMoneyCounts, totalPaintedSquares, totalNumberOfTowers}) {
+            counts[0] = in.readInt();
+            counts[1] = in.readInt();
+        }
+    }
+
+    /**
+     * Write the team values to a checkpoint
+     */
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        for (int[] counts : new int[][]{moneyCounts, oldMoneyCounts, totalPaintedSquares, totalNumberOfTowers}) {
+            out.writeInt(counts[0]);
+            out.writeInt(counts[1]);
+        }
+    }
+
     // *********************************
     // ***** GETTER METHODS ************
     // *********************************
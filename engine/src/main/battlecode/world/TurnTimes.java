@@ -0,0 +1,70 @@
+package battlecode.world;
+
+import battlecode.util.Distribution;
+import battlecode.util.Histogram;
+
+/**
+ * The wall time of every robot turn in some matches, and how much of it the
+ * robots' players took, the rest being the engine's. Collected by a
+ * GameWorld given one with setTurnTimes.
+ */
+public final class TurnTimes {
+
+    private final Distribution turns = new Distribution();
+    private long playerNanos;
+
+    /**
+     * Record a turn.
+     *
+     * @param nanos the wall time of the whole turn
+     * @param playerNanos the part of it spent running the robot's player
+     */
+    public void addTurn(long nanos, long playerNanos) {
+        turns.add(nanos);
+        this.playerNanos += playerNanos;
+    }
+
+    /**
+     * Count the wall time of every turn in a histogram.
+     */
+    public void addTo(Histogram histogram) {
+        histogram.addAll(turns);
+    }
+
+    /**
+     * @return the number of turns recorded
+     */
+    public int getCount() {
+        return turns.getCount();
+    }
+
+    /**
+     * @return the wall time of every turn together
+     */
+    public long getTotalNanos() {
+        return turns.getTotal();
+    }
+
+    /**
+     * @return the time every turn spent running players
+     */
+    public long getPlayerNanos() {
+        return playerNanos;
+    }
+
+    /**
+     * @return the mean wall time of a turn, or 0 if there were none
+     */
+    public double getMeanNanos() {
+        return turns.getMean();
+    }
+
+    /**
+     * @param percentile between 0 (exclusive) and 100
+     * @return the wall time that percentile of turns took at most, or 0 if
+     *         there were none
+     */
+    public long getPercentileNanos(double percentile) {
+        return turns.getPercentile(percentile);
+    }
+}
@@ -34,9 +34,8 @@ public class PlayerControlProvider implements RobotControlProvider {
      * The sandboxed robot players we're using to control robots;
      * maps ids to sandboxes.
      *
-     * When a sandbox has been terminated, its entry in the map
-     * will have a value of null, so that the classloader it uses
-     * can be reclaimed.
+     * When a robot is killed, its sandbox is closed and removed, so that
+     * the classloader it used can be reclaimed and its thread reused.
      */
     private final Map<Integer, SandboxedRobotPlayer> sandboxes;
 
@@ -66,6 +65,11 @@ public class PlayerControlProvider implements RobotControlProvider {
      */
     private ProfilerCollection profilerCollection;
 
+    /**
+     * Whether profiling aggregates call trees instead of recording events.
+     */
+    private final boolean callTreeProfiling;
+
     /**
      * The match id of the current match. Incremented by one every time a new match starts.
      */
@@ -73,9 +77,16 @@ public class PlayerControlProvider implements RobotControlProvider {
 
     /**
      * The total time the player's bots have spent executing, measured in ns
+     * of CPU time of their threads where the JVM supports it; see
+     * SandboxedRobotPlayer.CPU_TIME
      */
     private long totalPlayerTime = 0;
 
+    /**
+     * The time each robot's turns took in the current match.
+     */
+    private PlayerCpuTime cpuTime = new PlayerCpuTime(SandboxedRobotPlayer.CPU_TIME);
+
     /**
      * Create a new PlayerControlProvider.
      *
@@ -90,14 +101,56 @@ public class PlayerControlProvider implements RobotControlProvider {
                                  String teamURL,
                                  OutputStream robotOut,
                                  boolean profilingEnabled) {
+        this(team, teamPackage, teamURL, robotOut, profilingEnabled, false);
+    }
+
+    /**
+     * Create a new PlayerControlProvider.
+     *
+     * @param team              the team we're loading
+     * @param teamPackage       the name / package of the team we're loading
+     * @param teamURL           the url of the classes for the team;
+     * @param robotOut          the output that robots should write to
+     * @param profilingEnabled  whether profiling is enabled or not
+     * @param callTreeProfiling whether to aggregate call trees per robot type
+     *                          instead of recording every event
+     */
+    public PlayerControlProvider(Team team,
+                                 String teamPackage,
+                                 String teamURL,
+                                 OutputStream robotOut,
+                                 boolean profilingEnabled,
+                                 boolean callTreeProfiling) {
+        this(team, teamPackage, new TeamClassLoaderFactory(teamURL), robotOut, profilingEnabled, callTreeProfiling);
+    }
+
+    /**
+     * Create a new PlayerControlProvider that loads the team's classes from
+     * an existing factory, reusing whatever it has already instrumented.
+     *
+     * @param team              the team we're loading
+     * @param teamPackage       the name / package of the team we're loading
+     * @param factory           the factory for the team's classes
+     * @param robotOut          the output that robots should write to
+     * @param profilingEnabled  whether profiling is enabled or not
+     * @param callTreeProfiling whether to aggregate call trees per robot type
+     *                          instead of recording every event
+     */
+    public PlayerControlProvider(Team team,
+                                 String teamPackage,
+                                 TeamClassLoaderFactory factory,
+                                 OutputStream robotOut,
+                                 boolean profilingEnabled,
+                                 boolean callTreeProfiling) {
         this.teamPackage = teamPackage;
         this.sandboxes = new HashMap<>(); // GameWorld maintains order for us
-        this.factory = new TeamClassLoaderFactory(teamURL);
+        this.factory = factory;
         this.robotOut = robotOut;
         this.team = team;
+        this.callTreeProfiling = callTreeProfiling;
 
         if (profilingEnabled) {
-            profilerCollection = new ProfilerCollection();
+            profilerCollection = new ProfilerCollection(factory.getProfilerFrames(), callTreeProfiling);
         }
     }
 
@@ -119,13 +172,13 @@ public class PlayerControlProvider implements RobotControlProvider {
     public void matchEnded() {
         if (profilerCollection != null) {
             gameWorld.setProfilerCollection(team, profilerCollection);
-            profilerCollection = new ProfilerCollection();
+            profilerCollection = new ProfilerCollection(factory.getProfilerFrames(), callTreeProfiling);
         }
+        gameWorld.setPlayerCpuTime(team, cpuTime);
+        cpuTime = new PlayerCpuTime(SandboxedRobotPlayer.CPU_TIME);
 
         for (final SandboxedRobotPlayer player : this.sandboxes.values()) {
-           if (player != null && !player.getTerminated()) {
-               player.terminate();
-           }
+            player.close();
         }
 
         this.sandboxes.clear();
@@ -138,7 +191,7 @@ public class PlayerControlProvider implements RobotControlProvider {
         try {
             Profiler profiler = null;
             if (profilerCollection != null && robot.getTeam() == team) {
-                profiler = profilerCollection.createProfiler(robot.getID());
+                profiler = profilerCollection.createProfiler(robot.getID(), robot.getType());
             }
 
             final SandboxedRobotPlayer player = new SandboxedRobotPlayer(
@@ -166,13 +219,11 @@ public class PlayerControlProvider implements RobotControlProvider {
         // Note that a robot may be killed even if it is not in Sandboxes, if
         // there was an error while loading it.
 
-        final SandboxedRobotPlayer player = this.sandboxes.get(robot.getID());
+        final SandboxedRobotPlayer player = this.sandboxes.remove(robot.getID());
 
         if (player != null) {
-            this.sandboxes.get(robot.getID()).terminate();
+            player.close();
         }
-
-        this.sandboxes.put(robot.getID(), null);
     }
 
     @Override
@@ -189,9 +240,9 @@ public class PlayerControlProvider implements RobotControlProvider {
 
         if (player != null) {
             player.setBytecodeLimit(robot.getBytecodeLimit());
-            long timeBefore = System.nanoTime();
             player.step();
-            totalPlayerTime += (System.nanoTime() - timeBefore);
+            totalPlayerTime += player.getStepNanos();
+            cpuTime.addTurn(robot.getID(), player.getStepNanos());
             if(totalPlayerTime > GameConstants.MAX_TEAM_EXECUTION_TIME) {
                 ErrorReporter.warn("Team " + team + " has timed out!");
                 robot.getController().resign();
@@ -201,8 +252,7 @@ public class PlayerControlProvider implements RobotControlProvider {
 
     @Override
     public int getBytecodesUsed(InternalRobot robot) {
-        assert this.sandboxes.containsKey(robot.getID());
-
+        // The robot may have been killed during its turn
         final SandboxedRobotPlayer player = this.sandboxes.get(robot.getID());
 
         if (player != null) {
@@ -214,8 +264,6 @@ public class PlayerControlProvider implements RobotControlProvider {
 
     @Override
     public boolean getTerminated(InternalRobot robot) {
-        assert this.sandboxes.containsKey(robot.getID());
-
         final SandboxedRobotPlayer player = this.sandboxes.get(robot.getID());
 
         if (player != null) {
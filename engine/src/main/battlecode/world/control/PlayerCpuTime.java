@@ -0,0 +1,115 @@
+package battlecode.world.control;
+
+import battlecode.util.Distribution;
+import battlecode.util.JsonWriter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How much CPU time a team's players took in a match: in total, for each
+ * turn and for each robot over its life.
+ *
+ * Measured as the CPU time of the robots' own threads, so time spent waiting
+ * for the engine, for other players or for garbage collection isn't counted.
+ * On JVMs that can't measure thread CPU time, it's the wall time of the
+ * players' turns instead; see isCpuTime.
+ */
+public final class PlayerCpuTime {
+
+    private final boolean cpuTime;
+    private final Distribution turns;
+    private final Map<Integer, Long> robots = new HashMap<>();
+
+    /**
+     * @param cpuTime whether the times are CPU time rather than wall time
+     */
+    public PlayerCpuTime(boolean cpuTime) {
+        this.cpuTime = cpuTime;
+        this.turns = new Distribution();
+    }
+
+    public PlayerCpuTime(DataInput in) throws IOException {
+        this.cpuTime = in.readBoolean();
+        this.turns = new Distribution(in);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            robots.put(in.readInt(), in.readLong());
+        }
+    }
+
+    public void writeCheckpoint(DataOutput out) throws IOException {
+        out.writeBoolean(cpuTime);
+        turns.writeCheckpoint(out);
+        out.writeInt(robots.size());
+        for (Map.Entry<Integer, Long> robot : robots.entrySet()) {
+            out.writeInt(robot.getKey());
+            out.writeLong(robot.getValue());
+        }
+    }
+
+    /**
+     * Record a turn of a robot.
+     */
+    public void addTurn(int robotID, long nanos) {
+        turns.add(nanos);
+        robots.merge(robotID, nanos, Long::sum);
+    }
+
+    /**
+     * @return whether the times are CPU time rather than wall time
+     */
+    public boolean isCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * @return the time every turn took together
+     */
+    public long getTotalNanos() {
+        return turns.getTotal();
+    }
+
+    /**
+     * @return the time each turn took
+     */
+    public Distribution getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the time each robot took over every turn it had
+     */
+    public Distribution getRobots() {
+        Distribution distribution = new Distribution();
+        for (long nanos : robots.values()) {
+            distribution.add(nanos);
+        }
+        return distribution;
+    }
+
+    /**
+     * @return the total time the robot took, 0 if it had no turns
+     */
+    public long getRobotNanos(int robotID) {
+        return robots.getOrDefault(robotID, 0L);
+    }
+
+    /**
+     * Write the total, and the distributions over turns and robots in
+     * microseconds, as a JSON object.
+     */
+    public void write(JsonWriter json) {
+        json.beginObject();
+        json.name("clock").value(cpuTime ? "cpu" : "wall");
+        json.name("totalSeconds").value(getTotalNanos() / 1e9);
+        json.name("turns");
+        turns.writeMicros(json);
+        json.name("robots");
+        getRobots().writeMicros(json);
+        json.endObject();
+    }
+}
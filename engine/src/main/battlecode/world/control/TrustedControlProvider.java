@@ -0,0 +1,153 @@
+package battlecode.world.control;
+
+import battlecode.common.RobotController;
+import battlecode.instrumenter.RobotDeathException;
+import battlecode.server.ErrorReporter;
+import battlecode.world.GameWorld;
+import battlecode.world.InternalRobot;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.function.Function;
+
+/**
+ * Controls robots with trusted players that run in-process on the engine's
+ * thread, without the sandbox's threads or instrumentation. Much faster than
+ * PlayerControlProvider, for self-play and parameter tuning, but never safe
+ * for untrusted code.
+ *
+ * @see TrustedPlayer
+ */
+public class TrustedControlProvider implements RobotControlProvider {
+
+    /**
+     * The name of the class trusted players are loaded from, within the
+     * team's package.
+     */
+    public static final String PLAYER_CLASS_NAME = "TrustedRobotPlayer";
+
+    /**
+     * Creates the player of each spawned robot.
+     */
+    private final Function<RobotController, TrustedPlayer> factory;
+
+    /**
+     * The players controlling robots; maps ids to players. Null once the
+     * player has terminated.
+     */
+    private final TIntObjectHashMap<TrustedPlayer> players;
+
+    /**
+     * The bytecodes each robot reported for its last turn.
+     */
+    private final TIntIntHashMap bytecodesUsed;
+
+    /**
+     * Create a new TrustedControlProvider.
+     *
+     * @param factory creates the player of each spawned robot
+     */
+    public TrustedControlProvider(Function<RobotController, TrustedPlayer> factory) {
+        this.factory = factory;
+        this.players = new TIntObjectHashMap<>();
+        this.bytecodesUsed = new TIntIntHashMap();
+    }
+
+    /**
+     * Create a TrustedControlProvider for the class teamPackage.TrustedRobotPlayer,
+     * which must implement TrustedPlayer and have a public constructor
+     * taking the robot's RobotController.
+     *
+     * @param teamPackage the name / package of the team
+     * @param teamURL     the url of the classes for the team
+     * @throws IllegalArgumentException if the player can't be loaded
+     */
+    public static TrustedControlProvider load(String teamPackage, String teamURL) {
+        final Constructor<? extends TrustedPlayer> constructor;
+        try {
+            URLClassLoader loader = new URLClassLoader(new URL[]{new File(teamURL).toURI().toURL()},
+                    TrustedControlProvider.class.getClassLoader());
+            constructor = loader.loadClass(teamPackage + "." + PLAYER_CLASS_NAME)
+                    .asSubclass(TrustedPlayer.class)
+                    .getConstructor(RobotController.class);
+        } catch (MalformedURLException | ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Couldn't load trusted player " + teamPackage + "."
+                    + PLAYER_CLASS_NAME + ": " + e, e);
+        }
+
+        return new TrustedControlProvider(rc -> {
+            try {
+                return constructor.newInstance(rc);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public void matchStarted(GameWorld world) {}
+
+    @Override
+    public void matchEnded() {
+        this.players.clear();
+        this.bytecodesUsed.clear();
+    }
+
+    @Override
+    public void robotSpawned(InternalRobot robot) {
+        try {
+            this.players.put(robot.getID(), factory.apply(robot.getController()));
+        } catch (RuntimeException e) {
+            ErrorReporter.report(e, false);
+            this.players.put(robot.getID(), null);
+        }
+    }
+
+    @Override
+    public void robotKilled(InternalRobot robot) {
+        this.players.put(robot.getID(), null);
+    }
+
+    @Override
+    public void roundStarted() {}
+
+    @Override
+    public void roundEnded() {}
+
+    @Override
+    public void runRobot(InternalRobot robot) {
+        final TrustedPlayer player = this.players.get(robot.getID());
+        if (player == null) {
+            return;
+        }
+
+        int used = 0;
+        try {
+            used = player.takeTurn(robot.getController());
+        } catch (RobotDeathException e) {
+            this.players.put(robot.getID(), null);
+        } catch (Exception e) {
+            ErrorReporter.report(e, false);
+            this.players.put(robot.getID(), null);
+        }
+        this.bytecodesUsed.put(robot.getID(), Math.max(0, Math.min(used, robot.getBytecodeLimit())));
+    }
+
+    @Override
+    public int getBytecodesUsed(InternalRobot robot) {
+        return this.bytecodesUsed.get(robot.getID());
+    }
+
+    @Override
+    public boolean getTerminated(InternalRobot robot) {
+        return this.players.get(robot.getID()) == null;
+    }
+}
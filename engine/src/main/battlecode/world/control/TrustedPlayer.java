@@ -0,0 +1,33 @@
+package battlecode.world.control;
+
+import battlecode.common.GameActionException;
+import battlecode.common.RobotController;
+
+/**
+ * A player that runs in-process, for self-play and parameter tuning.
+ *
+ * Unlike a sandboxed RobotPlayer, which runs forever and yields with
+ * Clock.yield(), a trusted player is called once per turn on the engine's
+ * own thread and returns when the turn is over. There is one instance per
+ * robot; keep state on the instance, since static state is shared by every
+ * robot of every match in the process.
+ *
+ * Trusted players are neither sandboxed nor instrumented, so they must not
+ * call Clock, and nothing stops them from reaching outside the game.
+ *
+ * @see TrustedControlProvider
+ */
+public interface TrustedPlayer {
+
+    /**
+     * Take a turn.
+     *
+     * Throwing an exception, or calling disintegrate(), ends the robot the
+     * way it would end a sandboxed player.
+     *
+     * @param rc the robot's controller
+     * @return an estimate of the bytecodes the turn used, or 0 to ignore
+     *         bytecodes; capped at the robot's bytecode limit
+     */
+    int takeTurn(RobotController rc) throws GameActionException;
+}
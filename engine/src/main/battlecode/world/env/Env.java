@@ -0,0 +1,235 @@
+package battlecode.world.env;
+
+import battlecode.common.GameActionException;
+import battlecode.common.Team;
+import battlecode.server.GameInfo;
+import battlecode.server.GameMaker;
+import battlecode.server.GameState;
+import battlecode.util.FlatHelpers;
+import battlecode.world.GameWorld;
+import battlecode.world.LiveMap;
+import battlecode.world.control.NullControlProvider;
+import battlecode.world.control.TeamControlProvider;
+import battlecode.world.control.TrustedControlProvider;
+import battlecode.world.control.TrustedPlayer;
+
+import java.util.Arrays;
+
+/**
+ * A single match that is driven one round at a time from outside, for
+ * training agents. Both teams' robots are played in-process by actions
+ * given for every step, and no replay is written.
+ *
+ * Not thread safe; an {@link EnvPool} steps each env on one thread at a time.
+ */
+public class Env {
+
+    private static final GameInfo GAME_INFO = new GameInfo(
+            "A", "env", null,
+            "B", "env", null,
+            new String[0], null, false
+    );
+
+    private LiveMap map;
+    private GameWorld world;
+    private Observation observationA;
+    private Observation observationB;
+    private boolean done;
+
+    /**
+     * The actions for the step in progress, indexed by location; null
+     * outside of step.
+     */
+    private int[] actionsA;
+    private int[] actionsB;
+
+    /**
+     * Create an env and start a match on the given map.
+     */
+    public Env(LiveMap map) {
+        reset(map);
+    }
+
+    /**
+     * Create an env that continues from the current state of another.
+     */
+    private Env(Env other) {
+        this.map = other.map;
+        this.done = other.done;
+        this.observationA = new Observation(Team.A, map.getWidth(), map.getHeight());
+        this.observationB = new Observation(Team.B, map.getWidth(), map.getHeight());
+        System.arraycopy(other.observationA.terrain, 0, observationA.terrain, 0, observationA.terrain.length);
+        System.arraycopy(other.observationB.terrain, 0, observationB.terrain, 0, observationB.terrain.length);
+
+        this.world = other.world.fork(createControlProvider(), createMatchMaker());
+
+        observe(observationA);
+        observe(observationB);
+    }
+
+    /**
+     * Copy this env in its current state, e.g. to look ahead from it. The
+     * copy and this env are stepped independently of each other.
+     *
+     * @return the copy
+     */
+    public Env fork() {
+        return new Env(this);
+    }
+
+    /**
+     * Start a new match on the same map.
+     */
+    public void reset() {
+        reset(this.map);
+    }
+
+    /**
+     * Start a new match.
+     *
+     * @param map the map to play on; it isn't modified
+     */
+    public void reset(LiveMap map) {
+        if (this.map == null || map.getWidth() != this.map.getWidth() || map.getHeight() != this.map.getHeight()) {
+            this.observationA = new Observation(Team.A, map.getWidth(), map.getHeight());
+            this.observationB = new Observation(Team.B, map.getWidth(), map.getHeight());
+        }
+        this.map = map;
+        this.done = false;
+
+        boolean[] walls = map.getWallArray();
+        boolean[] ruins = map.getRuinArray();
+        for (int i = 0; i < walls.length; i++) {
+            byte terrain = walls[i] ? (byte) 1 : ruins[i] ? (byte) 2 : 0;
+            observationA.terrain[i] = terrain;
+            observationB.terrain[i] = terrain;
+        }
+
+        this.world = new GameWorld(map, createControlProvider(), createMatchMaker());
+
+        observe(observationA);
+        observe(observationB);
+    }
+
+    /**
+     * Run a round.
+     *
+     * Each robot that was on a tile in the last observation performs the
+     * {@link EnvAction} at that tile. Robots that weren't observed yet, such
+     * as ones built this round, do nothing.
+     *
+     * @param actionsA team A's actions indexed by location, or null for none
+     * @param actionsB team B's actions indexed by location, or null for none
+     */
+    public void step(int[] actionsA, int[] actionsB) {
+        if (done) {
+            return;
+        }
+
+        this.actionsA = actionsA;
+        this.actionsB = actionsB;
+        try {
+            if (world.runRound() == GameState.DONE || !world.isRunning()) {
+                done = true;
+            }
+        } finally {
+            this.actionsA = null;
+            this.actionsB = null;
+        }
+
+        observe(observationA);
+        observe(observationB);
+    }
+
+    /**
+     * @return the last observation of the given team
+     */
+    public Observation getObservation(Team team) {
+        return team == Team.A ? observationA : observationB;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    private TeamControlProvider createControlProvider() {
+        TeamControlProvider provider = new TeamControlProvider();
+        provider.registerControlProvider(Team.A, new TrustedControlProvider(rc -> player(Team.A)));
+        provider.registerControlProvider(Team.B, new TrustedControlProvider(rc -> player(Team.B)));
+        provider.registerControlProvider(Team.NEUTRAL, new NullControlProvider());
+        return provider;
+    }
+
+    private GameMaker.MatchMaker createMatchMaker() {
+        GameMaker gameMaker = new GameMaker(GAME_INFO, null, false, 0, false);
+        gameMaker.makeGameHeader();
+        return gameMaker.getMatchMaker();
+    }
+
+    private TrustedPlayer player(Team team) {
+        return rc -> {
+            int[] actions = team == Team.A ? actionsA : actionsB;
+            if (actions == null) {
+                return 0;
+            }
+            int idx = world.locationToIndex(rc.getLocation());
+            if (actions[idx] != 0 && getObservation(team).robotIds[idx] == rc.getID()) {
+                try {
+                    EnvAction.perform(rc, actions[idx]);
+                } catch (GameActionException e) {
+                    // the action checks everything first; don't kill the robot if it misses something
+                }
+            }
+            return 0;
+        };
+    }
+
+    private void observe(Observation obs) {
+        Team team = obs.team;
+        int[] paint = world.getPaintArray();
+        int[] markers = world.getmarkersArray(team);
+        for (int i = 0; i < paint.length; i++) {
+            int p = paint[i];
+            Team paintTeam = world.teamFromPaint(p);
+            if (paintTeam == Team.NEUTRAL) {
+                obs.paint[i] = 0;
+            } else {
+                obs.paint[i] = (byte) ((paintTeam == team ? 1 : 3) + (world.isPrimaryPaint(p) ? 0 : 1));
+            }
+            int m = markers[i];
+            obs.markers[i] = m == 0 ? 0 : world.isPrimaryPaint(m) ? (byte) 1 : (byte) 2;
+        }
+
+        Arrays.fill(obs.robotTypes, (byte) 0);
+        Arrays.fill(obs.robotIds, 0);
+        Arrays.fill(obs.robotHealths, 0);
+        Arrays.fill(obs.robotPaints, 0);
+        world.getObjectInfo().eachRobot(robot -> {
+            if (robot.getLocation() == null) {
+                return true;
+            }
+            int i = world.locationToIndex(robot.getLocation());
+            byte type = FlatHelpers.getRobotTypeFromUnitType(robot.getType());
+            obs.robotTypes[i] = robot.getTeam() == team ? type : (byte) -type;
+            obs.robotIds[i] = robot.getID();
+            obs.robotHealths[i] = robot.getHealth();
+            obs.robotPaints[i] = robot.getPaint();
+            return true;
+        });
+
+        Team opponent = team.opponent();
+        obs.round = world.getCurrentRound();
+        obs.money = world.getTeamInfo().getMoney(team);
+        obs.opponentMoney = world.getTeamInfo().getMoney(opponent);
+        obs.paintedTiles = world.getTeamInfo().getNumberOfPaintedSquares(team);
+        obs.opponentPaintedTiles = world.getTeamInfo().getNumberOfPaintedSquares(opponent);
+        obs.robotCount = world.getObjectInfo().getRobotCount(team);
+        obs.opponentRobotCount = world.getObjectInfo().getRobotCount(opponent);
+        obs.done = done;
+        obs.winner = done ? world.getWinner() : null;
+    }
+}
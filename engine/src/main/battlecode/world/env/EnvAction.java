@@ -0,0 +1,164 @@
+package battlecode.world.env;
+
+import battlecode.common.*;
+
+/**
+ * Encodes what a robot does in one turn of an {@link Env} as a single int.
+ *
+ * An action has a kind, a target direction and a move direction. The robot
+ * first performs the kind of action on its own location plus the target
+ * direction, then moves in the move direction. Either part is skipped if the
+ * robot can't do it, and 0 does nothing at all.
+ *
+ * Bits 0-3 hold the move direction, bits 4-7 the kind, bits 8-11 the target
+ * direction and bit 12 whether to attack with the secondary color. Directions
+ * are stored as their ordinal plus one, so that 0 means none; invalid
+ * directions and kinds also mean none.
+ */
+public final class EnvAction {
+
+    public static final int NONE = 0;
+    public static final int ATTACK = 1;
+    public static final int MOP_SWING = 2;
+    public static final int BUILD_SOLDIER = 3;
+    public static final int BUILD_MOPPER = 4;
+    public static final int BUILD_SPLASHER = 5;
+    public static final int MARK_PAINT_TOWER = 6;
+    public static final int MARK_MONEY_TOWER = 7;
+    public static final int MARK_DEFENSE_TOWER = 8;
+    public static final int COMPLETE_PAINT_TOWER = 9;
+    public static final int COMPLETE_MONEY_TOWER = 10;
+    public static final int COMPLETE_DEFENSE_TOWER = 11;
+    public static final int MARK_RESOURCE_PATTERN = 12;
+    public static final int COMPLETE_RESOURCE_PATTERN = 13;
+    public static final int UPGRADE_TOWER = 14;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private EnvAction() {}
+
+    /**
+     * @param kind the kind of action
+     * @param target the direction of the action's target from the robot, or
+     *               null for the robot's own location
+     * @param move the direction to move in, or null to stay
+     * @param secondaryColor whether to attack with the secondary color
+     * @return the encoded action
+     */
+    public static int encode(int kind, Direction target, Direction move, boolean secondaryColor) {
+        return directionCode(move)
+                | (kind << 4)
+                | (directionCode(target) << 8)
+                | (secondaryColor ? 1 << 12 : 0);
+    }
+
+    /**
+     * @param move the direction to move in
+     * @return an action that only moves
+     */
+    public static int move(Direction move) {
+        return encode(NONE, null, move, false);
+    }
+
+    private static int directionCode(Direction dir) {
+        return dir == null ? 0 : dir.ordinal() + 1;
+    }
+
+    private static Direction direction(int code) {
+        return code == 0 || code > DIRECTIONS.length ? Direction.CENTER : DIRECTIONS[code - 1];
+    }
+
+    /**
+     * Perform an action, skipping whatever the robot can't do.
+     */
+    static void perform(RobotController rc, int action) throws GameActionException {
+        int kind = (action >> 4) & 0xF;
+        Direction targetDir = direction((action >> 8) & 0xF);
+        MapLocation target = rc.getLocation().add(targetDir);
+
+        switch (kind) {
+            case ATTACK:
+                boolean secondary = (action & (1 << 12)) != 0;
+                if (rc.canAttack(target)) {
+                    if (rc.getType() == UnitType.SOLDIER || rc.getType() == UnitType.SPLASHER) {
+                        rc.attack(target, secondary);
+                    } else {
+                        rc.attack(target);
+                    }
+                }
+                break;
+            case MOP_SWING:
+                if (rc.canMopSwing(targetDir)) {
+                    rc.mopSwing(targetDir);
+                }
+                break;
+            case BUILD_SOLDIER:
+                build(rc, UnitType.SOLDIER, target);
+                break;
+            case BUILD_MOPPER:
+                build(rc, UnitType.MOPPER, target);
+                break;
+            case BUILD_SPLASHER:
+                build(rc, UnitType.SPLASHER, target);
+                break;
+            case MARK_PAINT_TOWER:
+                markTower(rc, UnitType.LEVEL_ONE_PAINT_TOWER, target);
+                break;
+            case MARK_MONEY_TOWER:
+                markTower(rc, UnitType.LEVEL_ONE_MONEY_TOWER, target);
+                break;
+            case MARK_DEFENSE_TOWER:
+                markTower(rc, UnitType.LEVEL_ONE_DEFENSE_TOWER, target);
+                break;
+            case COMPLETE_PAINT_TOWER:
+                completeTower(rc, UnitType.LEVEL_ONE_PAINT_TOWER, target);
+                break;
+            case COMPLETE_MONEY_TOWER:
+                completeTower(rc, UnitType.LEVEL_ONE_MONEY_TOWER, target);
+                break;
+            case COMPLETE_DEFENSE_TOWER:
+                completeTower(rc, UnitType.LEVEL_ONE_DEFENSE_TOWER, target);
+                break;
+            case MARK_RESOURCE_PATTERN:
+                if (rc.canMarkResourcePattern(target)) {
+                    rc.markResourcePattern(target);
+                }
+                break;
+            case COMPLETE_RESOURCE_PATTERN:
+                if (rc.canCompleteResourcePattern(target)) {
+                    rc.completeResourcePattern(target);
+                }
+                break;
+            case UPGRADE_TOWER:
+                if (rc.canUpgradeTower(target)) {
+                    rc.upgradeTower(target);
+                }
+                break;
+            default:
+                break;
+        }
+
+        Direction move = direction(action & 0xF);
+        if (move != Direction.CENTER && rc.canMove(move)) {
+            rc.move(move);
+        }
+    }
+
+    private static void build(RobotController rc, UnitType type, MapLocation loc) throws GameActionException {
+        if (rc.canBuildRobot(type, loc)) {
+            rc.buildRobot(type, loc);
+        }
+    }
+
+    private static void markTower(RobotController rc, UnitType type, MapLocation loc) throws GameActionException {
+        if (rc.canMarkTowerPattern(type, loc)) {
+            rc.markTowerPattern(type, loc);
+        }
+    }
+
+    private static void completeTower(RobotController rc, UnitType type, MapLocation loc) throws GameActionException {
+        if (rc.canCompleteTowerPattern(type, loc)) {
+            rc.completeTowerPattern(type, loc);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package battlecode.world.env;
+
+import battlecode.common.Team;
+import battlecode.world.LiveMap;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed set of independent {@link Env}s that step together, in parallel.
+ *
+ * Envs share nothing but the maps they were reset with, which they don't
+ * modify, so they can run on any thread. A step returns once every env
+ * has run its round.
+ */
+public class EnvPool implements AutoCloseable {
+
+    private final Env[] envs;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create one env per map.
+     *
+     * @param maps the map of each env; may contain the same map many times
+     * @param threads the number of envs to step at once
+     */
+    public EnvPool(List<LiveMap> maps, int threads) {
+        this.envs = new Env[maps.size()];
+        for (int i = 0; i < envs.length; i++) {
+            envs[i] = new Env(maps.get(i));
+        }
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * @return the number of envs
+     */
+    public int size() {
+        return envs.length;
+    }
+
+    public Env getEnv(int env) {
+        return envs[env];
+    }
+
+    public Observation getObservation(int env, Team team) {
+        return envs[env].getObservation(team);
+    }
+
+    /**
+     * Start a new match in one env, on the same map.
+     */
+    public void reset(int env) {
+        envs[env].reset();
+    }
+
+    /**
+     * Start a new match in one env.
+     */
+    public void reset(int env, LiveMap map) {
+        envs[env].reset(map);
+    }
+
+    /**
+     * Start a new match in every env that is done.
+     */
+    public void resetDone() {
+        run(i -> {
+            if (envs[i].isDone()) {
+                envs[i].reset();
+            }
+        });
+    }
+
+    /**
+     * Run a round in every env that isn't done.
+     *
+     * @param actionsA team A's actions for each env, indexed by location as
+     *                 in {@link Env#step}; null, or null entries, for none
+     * @param actionsB team B's actions, likewise
+     */
+    public void step(int[][] actionsA, int[][] actionsB) {
+        run(i -> envs[i].step(actionsA == null ? null : actionsA[i], actionsB == null ? null : actionsB[i]));
+    }
+
+    private void run(IntConsumer perEnv) {
+        try {
+            pool.submit(() -> IntStream.range(0, envs.length).parallel().forEach(perEnv)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while stepping envs", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while stepping envs", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
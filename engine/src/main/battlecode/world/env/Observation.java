@@ -0,0 +1,83 @@
+package battlecode.world.env;
+
+import battlecode.common.Team;
+
+/**
+ * What one team sees of an {@link Env} after a step, as primitive arrays
+ * indexed by location (x + y * width). The arrays are reused between steps,
+ * so copy anything that has to outlive the next one.
+ *
+ * Unlike a robot, a team sees the whole map.
+ */
+public class Observation {
+
+    /**
+     * The team this is an observation for.
+     */
+    public final Team team;
+
+    public final int width, height;
+
+    /**
+     * 0 for an open tile, 1 for a wall, 2 for a ruin. Ruins stay ruins when
+     * a tower is built on them.
+     */
+    public final byte[] terrain;
+
+    /**
+     * 0 for no paint, 1 and 2 for the team's primary and secondary paint,
+     * 3 and 4 for the opponent's.
+     */
+    public final byte[] paint;
+
+    /**
+     * The team's own markers: 0 for none, 1 for primary, 2 for secondary.
+     */
+    public final byte[] markers;
+
+    /**
+     * 0 for no robot, the schema robot type of the team's robots (1-3 for
+     * towers, 4-6 for soldiers, splashers and moppers), and minus that for
+     * the opponent's.
+     */
+    public final byte[] robotTypes;
+
+    /**
+     * The id, health and paint of the robot on each tile; 0 for none.
+     */
+    public final int[] robotIds;
+    public final int[] robotHealths;
+    public final int[] robotPaints;
+
+    public int round;
+    public int money;
+    public int opponentMoney;
+    public int paintedTiles;
+    public int opponentPaintedTiles;
+    public int robotCount;
+    public int opponentRobotCount;
+
+    /**
+     * Whether the match is over; reset the env to start another one.
+     */
+    public boolean done;
+
+    /**
+     * The winner once the match is over, null until then.
+     */
+    public Team winner;
+
+    public Observation(Team team, int width, int height) {
+        this.team = team;
+        this.width = width;
+        this.height = height;
+        int area = width * height;
+        this.terrain = new byte[area];
+        this.paint = new byte[area];
+        this.markers = new byte[area];
+        this.robotTypes = new byte[area];
+        this.robotIds = new int[area];
+        this.robotHealths = new int[area];
+        this.robotPaints = new int[area];
+    }
+}
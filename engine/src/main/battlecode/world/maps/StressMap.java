@@ -0,0 +1,52 @@
+package battlecode.world.maps;
+
+import battlecode.world.MapBuilder;
+import battlecode.world.MapSymmetry;
+
+import java.io.File;
+
+/**
+ * Generate a large symmetric map for stress testing the engine, e.g.
+ *
+ * gradle buildMap -PbuildMap=StressMap --args="stress512 512 512 200 2000"
+ *
+ * The map is only valid in stress mode (bc.engine.stress-mode).
+ */
+public class StressMap {
+
+    // don't save stress maps with the built-in ones
+    public static final String outputDirectory = "maps/";
+
+    /**
+     * @param args name width height [towersPerTeam] [robotsPerTeam] [wallPercentage] [seed] [symmetry]
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: StressMap name width height [towersPerTeam] [robotsPerTeam] [wallPercentage] [seed] [ROTATIONAL|HORIZONTAL|VERTICAL]");
+            return;
+        }
+        try {
+            makeStress(args[0],
+                    Integer.parseInt(args[1]),
+                    Integer.parseInt(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : 100,
+                    args.length > 4 ? Integer.parseInt(args[4]) : 1000,
+                    args.length > 5 ? Integer.parseInt(args[5]) : 10,
+                    args.length > 6 ? Integer.parseInt(args[6]) : 1,
+                    args.length > 7 ? MapSymmetry.valueOf(args[7]) : MapSymmetry.ROTATIONAL);
+        } catch (Exception e) {
+            System.out.println(e);
+            return;
+        }
+        System.out.println("Generated a map!");
+    }
+
+    public static void makeStress(String name, int width, int height, int towersPerTeam, int robotsPerTeam,
+                                  int wallPercentage, int seed, MapSymmetry symmetry) throws Exception {
+        MapBuilder mapBuilder = new MapBuilder(name, width, height, 0, 0, seed);
+        mapBuilder.setSymmetry(symmetry);
+        mapBuilder.generateStressLayout(towersPerTeam, robotsPerTeam, wallPercentage);
+        new File(outputDirectory).mkdirs();
+        mapBuilder.saveMap(outputDirectory, true);
+    }
+}
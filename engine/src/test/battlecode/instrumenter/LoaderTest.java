@@ -1,11 +1,20 @@
 package battlecode.instrumenter;
 
+import battlecode.common.UnitType;
 import battlecode.instrumenter.profiler.Profiler;
+import battlecode.instrumenter.profiler.ProfilerCollection;
+import battlecode.instrumenter.profiler.ProfilerEvent;
+import battlecode.instrumenter.profiler.ProfilerEventType;
 import battlecode.world.control.PlayerControlProvider;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import static battlecode.instrumenter.InstrumentationException.Type.ILLEGAL;
 import static org.junit.Assert.*;
@@ -36,9 +45,11 @@ public class LoaderTest {
                 "instrumentertest/CallsIllegalMethods$CallsSystemNanoTime.class",
                 "instrumentertest/CallsIllegalMethods$CreatesFilePrintStream.class",
                 "instrumentertest/CallsMathRandom.class",
+                "instrumentertest/ConcatenatesStrings.class",
                 "instrumentertest/DoesntOverrideHashCode.class",
                 "instrumentertest/DoesntOverrideToString.class",
                 "instrumentertest/IllegalMethodReference.class",
+                "instrumentertest/InstrumentedMethodReference.class",
                 "instrumentertest/LegalMethodReference.class",
                 "instrumentertest/Nothing.class",
                 "instrumentertest/Outer.class",
@@ -49,13 +60,18 @@ public class LoaderTest {
                 "instrumentertest/StringFormat.class",
                 "instrumentertest/UsesEnumMap.class",
                 "instrumentertest/UsesLambda.class",
+                "instrumentertest/UsesMethodReferences.class",
                 "instrumentertest/UsesThrowable.class"
 
         );
     }
 
     public TeamClassLoaderFactory.Loader setupLoader(TeamClassLoaderFactory cache) throws Exception {
-        TeamClassLoaderFactory.Loader result = cache.createLoader(false);
+        return setupLoader(cache, null);
+    }
+
+    public TeamClassLoaderFactory.Loader setupLoader(TeamClassLoaderFactory cache, Profiler profiler) throws Exception {
+        TeamClassLoaderFactory.Loader result = cache.createLoader(profiler != null);
 
         // Set up noop RobotMonitors.
         // Necessary for... reasons.
@@ -73,7 +89,7 @@ public class LoaderTest {
                 int.class,
                 Profiler.class,
                 PlayerControlProvider.class)
-                .invoke(null, pauser, killer, 0, null, null);
+                .invoke(null, pauser, killer, 0, profiler, null);
         monitor1.getMethod("setBytecodeLimit", int.class)
                 .invoke(null, Integer.MAX_VALUE);
 
@@ -276,6 +292,40 @@ public class LoaderTest {
         c.getMethod("run").invoke(null);
     }
 
+    @Test
+    public void testStringConcatenation() throws Exception {
+        final Class<?> c1 = l1.loadClass("instrumentertest.ConcatenatesStrings");
+        final Class<?> c2 = l2.loadClass("instrumentertest.ConcatenatesStrings");
+
+        // no invokedynamic left to bootstrap
+        new ClassReader(sharedCache.getCached("instrumentertest.ConcatenatesStrings")).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
+                        fail("Concatenation left as invokedynamic in " + name);
+                    }
+                };
+            }
+        }, 0);
+
+        // objects without a toString of their own print deterministically
+        String expected = "z=true c=c b=1 s=2 i=3 l=4 f=5.5 d=6.25 str null null object0 1\u0001\u0002";
+        assertEquals(expected, c1.getMethod("run").invoke(null));
+        assertEquals(expected, c2.getMethod("run").invoke(null));
+
+        // and costs the same every time
+        Method getBytecodeNum = l1.loadClass("battlecode.instrumenter.inject.RobotMonitor").getMethod("getBytecodeNum");
+        int before = (Integer) getBytecodeNum.invoke(null);
+        c1.getMethod("run").invoke(null);
+        int first = (Integer) getBytecodeNum.invoke(null) - before;
+        c1.getMethod("run").invoke(null);
+        int second = (Integer) getBytecodeNum.invoke(null) - before - first;
+        assertTrue(first > 0);
+        assertEquals(first, second);
+    }
+
     @Test(expected = InstrumentationException.class)
     public void testCantReflect() throws Exception {
         l1.loadClass("instrumentertest.Reflection");
@@ -286,6 +336,35 @@ public class LoaderTest {
         l1.loadClass("instrumentertest.IllegalMethodReference");
     }
 
+    @Test
+    public void testCanReferenceInstrumentedMethod() throws Exception {
+        final Class<?> c = l1.loadClass("instrumentertest.InstrumentedMethodReference");
+
+        Object randomSupplier = c.getField("randomSupplier").get(null);
+        Object random = l1.loadClass("instrumented.java.util.function.Supplier")
+                .getMethod("get").invoke(randomSupplier);
+        assertEquals("instrumented.java.util.Random", random.getClass().getName());
+    }
+
+    @Test
+    public void testLambdasBecomeClasses() throws Exception {
+        final Class<?> c1 = l1.loadClass("instrumentertest.UsesMethodReferences");
+        final Class<?> c2 = l2.loadClass("instrumentertest.UsesMethodReferences");
+
+        assertEquals("7,15,3,4,1,true,10,[a, b]", c1.getMethod("run").invoke(null));
+        assertEquals("7,15,3,4,1,true,10,[a, b]", c2.getMethod("run").invoke(null));
+
+        Object lambda = c1.getMethod("nonCapturing").invoke(null);
+        assertFalse(lambda.getClass().isHidden());
+        assertTrue(sharedCache.hasCached(lambda.getClass().getName()));
+        assertSame(lambda, c1.getMethod("nonCapturing").invoke(null));
+
+        // each robot has its own copy, instrumented once
+        Object other = c2.getMethod("nonCapturing").invoke(null);
+        assertNotSame(lambda.getClass(), other.getClass());
+        assertEquals(lambda.getClass().getName(), other.getClass().getName());
+    }
+
     @Test
     public void testCanUseLambda() throws Exception {
         l1.loadClass("instrumentertest.LegalMethodReference");
@@ -408,4 +487,39 @@ public class LoaderTest {
             assertTrue("Failed to error on url: " + badURL, c.getError());
         }
     }
+
+    // Profiler frame ids are assigned when classes are instrumented, and
+    // resolve to the method names through the team's frame table.
+    @Test
+    public void testProfilerFrameIds() throws Exception {
+        TeamClassLoaderFactory cache = new TeamClassLoaderFactory(tempClassFolder);
+        ProfilerCollection collection = new ProfilerCollection(cache.getProfilerFrames());
+        Profiler profiler = collection.createProfiler(1, UnitType.SOLDIER);
+        TeamClassLoaderFactory.Loader loader = setupLoader(cache, profiler);
+
+        final Class<?> overridesClass = loader.loadClass("instrumentertest.OverridesHashCode");
+        final Object overrides = overridesClass.getDeclaredConstructor().newInstance();
+        assertEquals(57, overridesClass.getMethod("getHashCode").invoke(overrides));
+        profiler.exitOpenMethods();
+
+        List<String> frames = collection.getFrames();
+        List<String> opened = new ArrayList<>();
+        int depth = 0;
+        for (int i = 0; i < profiler.getEventCount(); i++) {
+            long event = profiler.getEvent(i);
+            if (ProfilerEvent.getType(event) == ProfilerEventType.OPEN) {
+                opened.add(frames.get(ProfilerEvent.getFrameId(event)));
+                depth++;
+            } else {
+                depth--;
+            }
+        }
+
+        assertEquals(0, depth);
+        assertTrue(opened.contains("instrumentertest.OverridesHashCode.getHashCode"));
+        assertTrue(opened.contains("instrumentertest.OverridesHashCode.hashCode"));
+        for (String frame : frames) {
+            assertFalse(frame.startsWith("instrumented."));
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package battlecode.instrumenter.profiler;
+
+import battlecode.common.UnitType;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CallTreeTest {
+    @Test
+    public void testAggregatesRobotsOfSameType() {
+        ProfilerCollection collection = new ProfilerCollection(new ProfilerFrames(), true);
+        Profiler soldierA = collection.createProfiler(1, UnitType.SOLDIER);
+        Profiler soldierB = collection.createProfiler(2, UnitType.SOLDIER);
+        Profiler tower = collection.createProfiler(3, UnitType.LEVEL_TWO_PAINT_TOWER);
+
+        for (Profiler profiler : new Profiler[]{soldierA, soldierB}) {
+            // run -> move (10 bytecodes), then 5 bytecodes in run itself
+            profiler.enterMethod(0);
+            profiler.enterMethod(1);
+            profiler.incrementBytecodes(10);
+            profiler.exitMethod(1);
+            profiler.incrementBytecodes(5);
+        }
+        soldierA.exitOpenMethods();
+        soldierB.exitOpenMethods();
+
+        tower.enterMethod(0);
+        tower.incrementBytecodes(7);
+        tower.exitOpenMethods();
+
+        Map<UnitType, CallTree> callTrees = collection.getCallTrees();
+        assertEquals(2, callTrees.size());
+        assertEquals(0, collection.getProfilers().size());
+
+        CallTree soldiers = callTrees.get(UnitType.SOLDIER);
+        assertArrayEquals(new int[]{-1, 0}, soldiers.getParents());
+        assertArrayEquals(new int[]{0, 1}, soldiers.getFrameIds());
+        assertArrayEquals(new int[]{2, 2}, soldiers.getCalls());
+        assertArrayEquals(new long[]{30, 20}, soldiers.getTotalBytecodes());
+        assertArrayEquals(new long[]{10, 20}, soldiers.getSelfBytecodes());
+
+        CallTree towers = callTrees.get(UnitType.LEVEL_ONE_PAINT_TOWER);
+        assertArrayEquals(new long[]{7}, towers.getTotalBytecodes());
+    }
+
+    @Test
+    public void testNodeLimit() {
+        CallTree callTree = new CallTree();
+        Profiler profiler = new Profiler(null, "#1", callTree);
+
+        // Recurse far deeper than the tree can hold
+        for (int i = 0; i < CallTree.MAX_NODES * 2; i++) {
+            profiler.enterMethod(0);
+            profiler.incrementBytecodes(1);
+        }
+        profiler.exitOpenMethods();
+
+        assertEquals(CallTree.MAX_NODES - 1, callTree.size());
+
+        // The deepest recorded call is charged for everything below it
+        long[] self = callTree.getSelfBytecodes();
+        assertEquals(CallTree.MAX_NODES * 2 - callTree.size() + 1, self[callTree.size() - 1]);
+        assertEquals(CallTree.MAX_NODES * 2, callTree.getTotalBytecodes()[0]);
+    }
+}
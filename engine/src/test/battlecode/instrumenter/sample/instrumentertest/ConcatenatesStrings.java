@@ -0,0 +1,25 @@
+package instrumentertest;
+
+/**
+ * String concatenation of every kind of value.
+ */
+@SuppressWarnings("unused")
+public class ConcatenatesStrings {
+    public static String run() {
+        boolean z = true;
+        char c = 'c';
+        byte b = 1;
+        short s = 2;
+        int i = 3;
+        long l = 4L;
+        float f = 5.5f;
+        double d = 6.25;
+        String str = "str";
+        String nullString = null;
+        Object nullObject = null;
+        char[] chars = {'x'};
+        return "z=" + z + " c=" + c + " b=" + b + " s=" + s + " i=" + i + " l=" + l + " f=" + f + " d=" + d
+                + " " + str + " " + nullString + " " + nullObject + " " + new Object() + " " + chars.length
+                + "\u0001\u0002";
+    }
+}
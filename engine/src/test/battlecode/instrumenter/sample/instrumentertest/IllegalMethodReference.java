@@ -1,13 +1,13 @@
 package instrumentertest;
 
-import java.util.Random;
-import java.util.function.Supplier;
+import java.util.function.LongSupplier;
 
 /**
  * @author james
  */
 @SuppressWarnings("unused")
 public class IllegalMethodReference {
-    // This is not allowed, since we can't currently implement it.
-    Supplier<Random> randomSupplier = Random::new;
+    // This is not allowed, since System.nanoTime is disallowed whether it's
+    // called or referenced.
+    LongSupplier clock = System::nanoTime;
 }
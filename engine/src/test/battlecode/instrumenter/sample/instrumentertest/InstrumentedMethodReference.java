@@ -0,0 +1,14 @@
+package instrumentertest;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * @author james
+ */
+@SuppressWarnings("unused")
+public class InstrumentedMethodReference {
+    // This is allowed now that method references are compiled into classes
+    // we instrument; the Random is seeded by the robot.
+    public static Supplier<Random> randomSupplier = Random::new;
+}
@@ -0,0 +1,74 @@
+package instrumentertest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lambdas and method references of every kind, with the conversions
+ * between their types.
+ */
+@SuppressWarnings("unused")
+public class UsesMethodReferences {
+    private final int offset;
+
+    public UsesMethodReferences(int offset) {
+        this.offset = offset;
+    }
+
+    private int addOffset(int x) {
+        return x + offset;
+    }
+
+    public static String run() {
+        StringBuilder result = new StringBuilder();
+        int captured = 3;
+
+        Function<Integer, Integer> plusCaptured = x -> x + captured;
+        result.append(plusCaptured.apply(4)).append(',');
+
+        UsesMethodReferences instance = new UsesMethodReferences(10);
+        Function<Integer, Integer> usesThis = instance.adder();
+        result.append(usesThis.apply(5)).append(',');
+
+        IntBinaryOperator sum = Integer::sum;
+        result.append(sum.applyAsInt(1, 2)).append(',');
+
+        ToIntFunction<String> length = String::length;
+        result.append(length.applyAsInt("four")).append(',');
+
+        Supplier<List<String>> newList = ArrayList::new;
+        List<String> list = newList.get();
+        list.add("a");
+        result.append(list.size()).append(',');
+
+        BiFunction<List<String>, String, Boolean> add = List::add;
+        result.append(add.apply(list, "b")).append(',');
+
+        LongSupplier widened = instance::offset;
+        result.append(widened.getAsLong()).append(',');
+
+        Function<Object, String> toString = Object::toString;
+        result.append(toString.apply(list));
+
+        return result.toString();
+    }
+
+    private Function<Integer, Integer> adder() {
+        return x -> addOffset(x);
+    }
+
+    private int offset() {
+        return offset;
+    }
+
+    public static Object nonCapturing() {
+        Supplier<String> supplier = () -> "same";
+        return supplier;
+    }
+}
@@ -0,0 +1,33 @@
+package testplayerchurn;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.UnitType;
+
+/**
+ * Towers build moppers as fast as they can, and the moppers disintegrate
+ * after a couple of turns, so robots are always being spawned and killed.
+ */
+public class RobotPlayer {
+    public static void run(RobotController rc) throws GameActionException {
+        int born = rc.getRoundNum();
+        while (true) {
+            if (rc.getType().isTowerType()) {
+                MapLocation here = rc.getLocation();
+                for (Direction dir : Direction.allDirections()) {
+                    MapLocation loc = here.add(dir);
+                    if (rc.canBuildRobot(UnitType.MOPPER, loc)) {
+                        rc.buildRobot(UnitType.MOPPER, loc);
+                        break;
+                    }
+                }
+            } else if (rc.getRoundNum() - born >= 2) {
+                rc.disintegrate();
+            }
+            Clock.yield();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package battlecode.server;
+
+import battlecode.util.JsonReader;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BenchmarkTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testComparesWithBaseline() throws Exception {
+        // Nothing to load, so every robot dies on its first turn
+        File players = Files.createTempDirectory("players").toFile();
+        File output = File.createTempFile("benchmark", ".json");
+        try {
+            Config options = new Config(new String[] {"-c", "-"});
+            options.set("bc.server.websocket", "false");
+            options.set("bc.game.team-a", "bananas");
+            options.set("bc.game.team-b", "yellow");
+            options.set("bc.game.team-a.url", players.getPath());
+            options.set("bc.game.team-b.url", players.getPath());
+            options.set("bc.benchmark.maps", "DefaultSmall,DefaultMedium");
+            options.set("bc.benchmark.warmup", "0");
+            options.set("bc.benchmark.output", output.getPath());
+
+            Benchmark benchmark = new Benchmark(options);
+            assertTrue(benchmark.run().isEmpty());
+            assertEquals(2, benchmark.getResults().size());
+            assertEquals(benchmark.getResults().get(0).rounds + benchmark.getResults().get(1).rounds,
+                    benchmark.getTotal().rounds);
+            assertTrue(benchmark.getTotal().turns > 0);
+            assertTrue(benchmark.getTotal().replayBytes > 0);
+
+            Map<String, Object> results = JsonReader.parseObject(new String(Files.readAllBytes(output.toPath())));
+            assertEquals("bananas", ((Map<String, Object>) results.get("run")).get("teamA"));
+            List<Object> maps = (List<Object>) results.get("maps");
+            assertEquals("DefaultMedium", ((Map<String, Object>) maps.get(1)).get("map"));
+
+            // Against itself, nothing regressed
+            assertTrue(benchmark.compare(results, 0.1).isEmpty());
+
+            // Against a baseline with half the replay size, the replays regressed
+            Map<String, Object> total = (Map<String, Object>) results.get("total");
+            total.put("replayBytes", (Double) total.get("replayBytes") / 2);
+            List<String> regressions = benchmark.compare(results, 0.1);
+            assertEquals(1, regressions.size());
+            assertTrue(regressions.get(0).startsWith("replayBytes"));
+        } finally {
+            players.delete();
+            output.delete();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package battlecode.server;
+
+import battlecode.common.*;
+import battlecode.schema.Event;
+import battlecode.schema.GameWrapper;
+import battlecode.schema.MatchFooter;
+import battlecode.schema.Round;
+import battlecode.schema.Turn;
+import battlecode.world.GameMapIO;
+import battlecode.world.GameWorld;
+import battlecode.world.LiveMap;
+import battlecode.world.StubPlayers;
+import battlecode.world.control.PlayerCpuTime;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class CheckpointTest {
+    private static byte[] finish(GameMaker gm, GameWorld world) {
+        while (world.runRound() != GameState.DONE) {
+        }
+        gm.makeGameFooter(world.getWinner());
+        return gm.toBytes();
+    }
+
+    private static GameWrapper replay(byte[] bytes) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        IOUtils.copy(new GZIPInputStream(new ByteArrayInputStream(bytes)), result);
+        return GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(result.toByteArray()));
+    }
+
+    @Test
+    public void testResumedMatchPlaysOutTheSame() throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        File file = File.createTempFile("match", ".ckpt");
+        try {
+            GameMaker gm = new GameMaker(StubPlayers.GAME, null, true, 50, true);
+            gm.makeGameHeader();
+            GameWorld world = new GameWorld(map, StubPlayers.provider(), gm.getMatchMaker());
+            for (int round = 0; round < 300; round++) {
+                world.runRound();
+            }
+            Checkpoint.write(file, StubPlayers.GAME, 0, false, 0, 0, new ArrayList<>(), gm, world);
+            byte[] original = finish(gm, world);
+
+            GameMaker resumedGm = new GameMaker(StubPlayers.GAME, null, true, 50, true);
+            GameWorld resumed;
+            try (Checkpoint checkpoint = Checkpoint.open(file, StubPlayers.GAME)) {
+                assertEquals(0, checkpoint.matchIndex);
+                checkpoint.resumeGame(resumedGm);
+                resumed = checkpoint.resumeMatch(map, StubPlayers.provider(), resumedGm);
+            }
+            assertEquals(300, resumed.getCurrentRound());
+            byte[] replayed = finish(resumedGm, resumed);
+
+            assertEquals(world.getWinner(), resumed.getWinner());
+            assertEquals(world.getCurrentRound(), resumed.getCurrentRound());
+            assertArrayEquals(world.getPaintArray(), resumed.getPaintArray());
+            assertEquals(world.getTeamInfo().getMoney(Team.A), resumed.getTeamInfo().getMoney(Team.A));
+
+            // the resumed replay has everything from before the checkpoint too
+            GameWrapper a = replay(original);
+            GameWrapper b = replay(replayed);
+            assertEquals(a.eventsLength(), b.eventsLength());
+            assertEquals(a.matchHeaders(0), b.matchHeaders(0));
+            assertEquals(a.matchFooters(0), b.matchFooters(0));
+            assertTrue(a.eventsLength() > world.getCurrentRound());
+            for (int i = 0; i < a.eventsLength(); i++) {
+                assertEquals(a.events(i).eType(), b.events(i).eType());
+                if (a.events(i).eType() != Event.Round) {
+                    continue;
+                }
+                Round roundA = (Round) a.events(i).e(new Round());
+                Round roundB = (Round) b.events(i).e(new Round());
+                assertEquals(roundA.roundId(), roundB.roundId());
+                assertEquals(roundA.teamResourceAmounts(0), roundB.teamResourceAmounts(0));
+                assertEquals(roundA.teamCoverageAmounts(1), roundB.teamCoverageAmounts(1));
+                assertEquals(roundA.turnsLength(), roundB.turnsLength());
+                for (int t = 0; t < roundA.turnsLength(); t++) {
+                    Turn turnA = roundA.turns(t);
+                    Turn turnB = roundB.turns(t);
+                    assertEquals(turnA.robotId(), turnB.robotId());
+                    assertEquals(turnA.health(), turnB.health());
+                    assertEquals(turnA.paint(), turnB.paint());
+                    assertEquals(turnA.x(), turnB.x());
+                    assertEquals(turnA.y(), turnB.y());
+                    assertEquals(turnA.actionsLength(), turnB.actionsLength());
+                }
+            }
+            MatchFooter footer = (MatchFooter) b.events(b.matchFooters(0)).e(new MatchFooter());
+            assertEquals(world.getCurrentRound(), footer.totalRounds());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testKeepsFinishedMatches() throws IOException {
+        GameInfo twoMatches = new GameInfo(
+                "bananas", "org.bananas", null,
+                "yellow", "org.yellow", null,
+                new String[] {"DefaultSmall", "DefaultSmall"}, null, false
+        );
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        File file = File.createTempFile("match", ".ckpt");
+        try {
+            GameMaker gm = new GameMaker(twoMatches, null, false, 0, false);
+            gm.makeGameHeader();
+            GameWorld first = new GameWorld(map, StubPlayers.provider(), gm.getMatchMaker());
+            PlayerCpuTime cpuTime = new PlayerCpuTime(true);
+            cpuTime.addTurn(1, 1500);
+            cpuTime.addTurn(2, 2500);
+            first.setPlayerCpuTime(Team.A, cpuTime);
+            while (first.runRound() != GameState.DONE) {
+            }
+            List<GameSummary.MatchResult> finished = new ArrayList<>();
+            finished.add(new GameSummary.MatchResult("DefaultSmall", first, gm.getMatchMaker(), 1.5));
+
+            GameWorld second = new GameWorld(map, StubPlayers.provider(), gm.getMatchMaker());
+            second.runRound();
+            Team firstWinner = first.getWinner();
+            Checkpoint.write(file, twoMatches, 1, false, firstWinner == Team.A ? 1 : 0,
+                    firstWinner == Team.B ? 1 : 0, finished, gm, second);
+
+            try (Checkpoint checkpoint = Checkpoint.open(file, twoMatches)) {
+                assertEquals(1, checkpoint.matchIndex);
+                assertEquals(1, checkpoint.finishedMatches.size());
+                GameSummary.MatchResult match = checkpoint.finishedMatches.get(0);
+                GameSummary.MatchResult expected = finished.get(0);
+                assertEquals("DefaultSmall", match.map);
+                assertEquals(expected.winner, match.winner);
+                assertEquals(expected.reason, match.reason);
+                assertEquals(expected.rounds, match.rounds);
+                assertEquals(1.5, match.seconds, 0);
+                assertEquals(expected.teamA.money, match.teamA.money);
+                assertEquals(expected.teamB.paintedTiles, match.teamB.paintedTiles);
+                assertEquals(expected.timelineMarkers, match.timelineMarkers);
+                assertEquals(4000, match.teamA.cpuTime.getTotalNanos());
+                assertEquals(2500, match.teamA.cpuTime.getRobotNanos(2));
+                assertNull(match.teamB.cpuTime);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherGame() throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        File file = File.createTempFile("match", ".ckpt");
+        try {
+            GameMaker gm = new GameMaker(StubPlayers.GAME, null, false, 0, false);
+            gm.makeGameHeader();
+            GameWorld world = new GameWorld(map, StubPlayers.provider(), gm.getMatchMaker());
+            world.runRound();
+            Checkpoint.write(file, StubPlayers.GAME, 0, false, 0, 0, new ArrayList<>(), gm, world);
+
+            GameInfo other = new GameInfo(
+                    "bananas", "org.bananas", null,
+                    "yellow", "org.yellow", null,
+                    new String[] {"DefaultMedium"}, null, false
+            );
+            Checkpoint.open(file, other).close();
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package battlecode.server;
+
+import battlecode.util.JsonReader;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class DaemonTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAnswersEveryRequest() throws Exception {
+        // Nothing to load, so every robot dies on its first turn
+        File players = Files.createTempDirectory("players").toFile();
+        try {
+            Config options = new Config(new String[] {"-c", "-"});
+            options.set("bc.server.daemon-max-matches", "2");
+            options.set("bc.game.team-a.url", players.getPath());
+            options.set("bc.game.team-b.url", players.getPath());
+            Daemon daemon = new Daemon(options);
+
+            String requests = String.join("\n",
+                    "{\"id\":\"first\",\"teamA\":\"bananas\",\"teamB\":\"yellow\",\"maps\":[\"DefaultSmall\"]}",
+                    "not json",
+                    "{\"id\":2,\"teamA\":\"bananas\",\"teamB\":\"yellow\"}",
+                    "",
+                    "{\"id\":3,\"teamA\":\"bananas\",\"teamB\":\"yellow\",\"maps\":\"DefaultSmall,DefaultSmall\"}");
+            StringWriter out = new StringWriter();
+            daemon.serve(new BufferedReader(new StringReader(requests)), out);
+
+            Map<Object, Map<String, Object>> answers = new HashMap<>();
+            String[] lines = out.toString().split("\n");
+            assertEquals(4, lines.length);
+            for (String line : lines) {
+                Map<String, Object> answer = JsonReader.parseObject(line);
+                answers.put(answer.get("id"), answer);
+            }
+
+            assertEquals("error", answers.get(null).get("status"));
+            assertEquals("error", answers.get(2.0).get("status"));
+            assertEquals("A game needs maps", answers.get(2.0).get("error"));
+
+            assertEquals("ok", answers.get("first").get("status"));
+            Map<String, Object> result = (Map<String, Object>) answers.get("first").get("result");
+            assertEquals("bananas", result.get("teamA"));
+            assertEquals(1, ((List<?>) result.get("matches")).size());
+
+            assertEquals("ok", answers.get(3.0).get("status"));
+            result = (Map<String, Object>) answers.get(3.0).get("result");
+            assertEquals(2, ((List<?>) result.get("matches")).size());
+        } finally {
+            players.delete();
+        }
+    }
+}
@@ -3,13 +3,27 @@ package battlecode.server;
 import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.Team;
+import battlecode.common.UnitType;
+import battlecode.schema.BytecodeHistogram;
 import battlecode.schema.Event;
 import battlecode.schema.GameHeader;
 import battlecode.schema.GameWrapper;
+import battlecode.schema.Keyframe;
+import battlecode.schema.MatchFooter;
+import battlecode.schema.RobotType;
+import battlecode.schema.Round;
+import battlecode.server.jfr.ReplayCompressionEvent;
+import battlecode.server.jfr.ReplaySerializationEvent;
 import battlecode.util.TeamMapping;
+import battlecode.world.BytecodeStats;
+import battlecode.world.DominationFactor;
 import battlecode.world.TestMapBuilder;
 
 import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -19,6 +33,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.zip.GZIPInputStream;
 
 import static org.junit.Assert.*;
@@ -43,6 +59,109 @@ public class GameMakerTest {
         gm.makeGameFooter(Team.A);
     }
 
+    @Test
+    public void testKeyframes() throws Exception {
+        GameMaker gm = new GameMaker(info, null, true, 2);
+        gm.makeGameHeader();
+        GameMaker.MatchMaker mm = gm.getMatchMaker();
+        mm.makeMatchHeader(new TestMapBuilder("honolulu", 0, 0, 20, 20, 1337).build());
+
+        for (int round = 1; round <= 3; round++) {
+            mm.startRound(round);
+            mm.addTeamInfo(Team.A, 100 * round, 0, 0);
+            mm.addTeamInfo(Team.B, 200 * round, 0, 0);
+            if (mm.isKeyframeRound(round)) {
+                byte[] paint = new byte[400];
+                paint[21] = 3;
+                byte[] markersA = new byte[400];
+                markersA[5] = 2;
+                mm.addKeyframeTiles(paint, markersA, new byte[400]);
+                mm.addKeyframeRobot(7, UnitType.SOLDIER, Team.B, 150, 40, new MapLocation(1, 1));
+            }
+            mm.endRound();
+        }
+        mm.makeMatchFooter(Team.A, DominationFactor.RESIGNATION, 3, new ArrayList<>(), new BytecodeStats());
+        gm.makeGameFooter(Team.A);
+
+        GameWrapper output = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(gm.toBytes())));
+        assertEquals(Event.Round, output.events(2).eType());
+
+        Round first = (Round) output.events(2).e(new Round());
+        assertNull(first.keyframe());
+        Round third = (Round) output.events(4).e(new Round());
+        assertNull(third.keyframe());
+
+        Round second = (Round) output.events(3).e(new Round());
+        Keyframe keyframe = second.keyframe();
+        assertNotNull(keyframe);
+        assertEquals(400, keyframe.paintLength());
+        assertEquals(3, keyframe.paint(21));
+        assertEquals(2, keyframe.markersA(5));
+        assertEquals(1, keyframe.robotIdsLength());
+        assertEquals(7, keyframe.robotIds(0));
+        assertEquals(TeamMapping.id(Team.B), keyframe.robotTeamIds(0));
+        assertEquals(150, keyframe.robotHealths(0));
+        assertEquals(40, keyframe.robotPaints(0));
+        assertEquals(1, keyframe.robotLocs().xs(0));
+        assertEquals(400, keyframe.teamResourceAmounts(1));
+    }
+
+    @Test
+    public void testBytecodeHistogramsInFooter() throws Exception {
+        GameMaker gm = new GameMaker(info, null, true);
+        gm.makeGameHeader();
+        GameMaker.MatchMaker mm = gm.getMatchMaker();
+        mm.makeMatchHeader(new TestMapBuilder("honolulu", 0, 0, 20, 20, 1337).build());
+        BytecodeStats stats = new BytecodeStats();
+        stats.addTurn(Team.B, UnitType.SOLDIER, 100, GameConstants.ROBOT_BYTECODE_LIMIT);
+        stats.addTurn(Team.B, UnitType.SOLDIER, GameConstants.ROBOT_BYTECODE_LIMIT, GameConstants.ROBOT_BYTECODE_LIMIT);
+        mm.makeMatchFooter(Team.A, DominationFactor.RESIGNATION, 2, new ArrayList<>(), stats);
+        gm.makeGameFooter(Team.A);
+
+        GameWrapper output = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(gm.toBytes())));
+        assertEquals(Event.MatchFooter, output.events(2).eType());
+        MatchFooter footer = (MatchFooter) output.events(2).e(new MatchFooter());
+        assertEquals(1, footer.bytecodeHistogramsLength());
+        BytecodeHistogram histogram = footer.bytecodeHistograms(0);
+        assertEquals(TeamMapping.id(Team.B), histogram.teamId());
+        assertEquals(RobotType.SOLDIER, histogram.robotType());
+        assertEquals(BytecodeStats.BUCKET_LIMITS.length, histogram.bucketLimitsLength());
+        assertEquals(BytecodeStats.BUCKET_LIMITS.length + 1, histogram.countsLength());
+        assertEquals(1, histogram.counts(BytecodeStats.bucketOf(100)));
+        assertEquals(2, histogram.turns());
+        assertEquals(100 + GameConstants.ROBOT_BYTECODE_LIMIT, histogram.totalBytecodes());
+        assertEquals(1, histogram.limitHits());
+    }
+
+    @Test
+    public void testReplayEventsRecorded() throws Exception {
+        GameMaker gm = new GameMaker(info, null, true);
+        gm.makeGameHeader();
+        GameMaker.MatchMaker mm = gm.getMatchMaker();
+        mm.makeMatchHeader(new TestMapBuilder("honolulu", 0, 0, 20, 20, 1337).build());
+        mm.makeMatchFooter(Team.A, DominationFactor.RESIGNATION, 0, new ArrayList<>(), new BytecodeStats());
+        gm.makeGameFooter(Team.A);
+
+        Path file = Files.createTempFile("replay", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ReplaySerializationEvent.class);
+            recording.enable(ReplayCompressionEvent.class);
+            recording.start();
+            gm.toBytes();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(2, events.size());
+            assertEquals("battlecode.ReplaySerialization", events.get(0).getEventType().getName());
+            assertEquals(4, events.get(0).getInt("events"));
+            assertEquals("battlecode.ReplayCompression", events.get(1).getEventType().getName());
+            assertEquals(gm.toBytes().length, events.get(1).getInt("compressedSize"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     // @Test(expected=RuntimeException.class)
     // public void testMatchStateExceptions() {
     //     GameMaker gm = new GameMaker(info, null, true);
@@ -0,0 +1,97 @@
+package battlecode.server;
+
+import battlecode.util.JsonReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    /**
+     * @return the value of a sample in Prometheus text
+     */
+    private static double sample(String text, String name) {
+        for (String line : text.split("\n")) {
+            if (line.startsWith(name + " ")) {
+                return Double.parseDouble(line.substring(name.length() + 1));
+            }
+        }
+        throw new AssertionError("No sample " + name + " in:\n" + text);
+    }
+
+    @Test
+    public void testTurnHistograms() {
+        Metrics.enable();
+        String before = Metrics.toPrometheus();
+        Metrics.turnRun(20_000, 3_000_000);
+        Metrics.roundRun();
+        String after = Metrics.toPrometheus();
+
+        assertEquals(1, sample(after, "battlecode_rounds_total") - sample(before, "battlecode_rounds_total"), 0);
+        assertEquals(1, sample(after, "battlecode_turns_total") - sample(before, "battlecode_turns_total"), 0);
+
+        // 20 us is in the engine's 25 us bucket and every one after, not the 10 us one
+        String engine = "battlecode_turn_seconds_bucket{part=\"engine\",le=";
+        assertEquals(0, sample(after, engine + "\"0.00001\"}") - sample(before, engine + "\"0.00001\"}"), 0);
+        assertEquals(1, sample(after, engine + "\"0.000025\"}") - sample(before, engine + "\"0.000025\"}"), 0);
+        assertEquals(1, sample(after, engine + "\"+Inf\"}") - sample(before, engine + "\"+Inf\"}"), 0);
+
+        String player = "battlecode_turn_seconds_bucket{part=\"player\",le=";
+        assertEquals(0, sample(after, player + "\"0.0025\"}") - sample(before, player + "\"0.0025\"}"), 0);
+        assertEquals(1, sample(after, player + "\"0.005\"}") - sample(before, player + "\"0.005\"}"), 0);
+        assertEquals(0.003, sample(after, "battlecode_turn_seconds_sum{part=\"player\"}")
+                - sample(before, "battlecode_turn_seconds_sum{part=\"player\"}"), 1e-9);
+
+        assertTrue(sample(after, "jvm_heap_used_bytes") > 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWritesFileWhenStopped() throws Exception {
+        File file = File.createTempFile("metrics", ".json");
+        try {
+            Config options = new Config(new String[] {"-c", "-"});
+            options.set("bc.server.metrics-file", file.getPath());
+            options.set("bc.server.metrics-interval", "3600");
+            MetricsExporter exporter = MetricsExporter.start(options);
+            assertNotNull(exporter);
+            Metrics.replayWritten(100);
+            exporter.stop();
+
+            Map<String, Object> dump = JsonReader.parseObject(new String(Files.readAllBytes(file.toPath())));
+            Map<String, Object> metrics = (Map<String, Object>) dump.get("metrics");
+            assertTrue((Double) metrics.get("replayBytes") >= 100);
+            assertTrue(((Map<String, Object>) metrics.get("turnSeconds")).containsKey("player"));
+            assertTrue(metrics.get("gc") instanceof List);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReset() {
+        Metrics.enable();
+        Metrics.roundRun();
+        Metrics.reset();
+        assertFalse(Metrics.isEnabled());
+        assertEquals(0, Metrics.getRounds());
+        Metrics.roundRun();
+        assertEquals(0, Metrics.getRounds());
+    }
+
+    @Test
+    public void testNothingToExport() {
+        assertNull(MetricsExporter.start(new Config(new String[] {"-c", "-"})));
+    }
+}
@@ -0,0 +1,107 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+import battlecode.instrumenter.stream.RoboPrintStream;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class RobotLogTest {
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHeaderOncePerTurn() throws Exception {
+        File file = File.createTempFile("robots", ".log");
+        try {
+            RobotLog log = new RobotLog(false, -1);
+            log.startMatch(file);
+            RoboPrintStream out = new RoboPrintStream(log.getOut(Team.A));
+
+            out.updateHeader(Team.A, 12, 3);
+            out.print("moving ");
+            out.println(7);
+            out.updateHeader(Team.A, 13, 3);
+            out.updateHeader(Team.A, 12, 4);
+            out.println("done");
+            log.endMatch();
+
+            assertEquals("[A: #12@3] moving 7\n[A: #12@4] done\n", read(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testQuotaPerTeamPerMatch() throws Exception {
+        File first = File.createTempFile("robots", ".log");
+        File second = File.createTempFile("robots", ".log");
+        try {
+            RobotLog log = new RobotLog(false, 10);
+            byte[] line = "0123456\n".getBytes(StandardCharsets.UTF_8);
+
+            log.startMatch(first);
+            log.getOut(Team.A).write(line);
+            log.flush();
+            log.getOut(Team.A).write(line);
+            log.getOut(Team.A).write(line);
+            log.getOut(Team.B).write(line);
+            log.endMatch();
+
+            String output = read(first);
+            assertTrue(output.startsWith("0123456\n01"));
+            assertEquals(1, output.split("output truncated", -1).length - 1);
+            assertTrue(output.endsWith("0123456\n"));
+
+            // every match starts with the whole quota again
+            log.startMatch(second);
+            log.getOut(Team.A).write(line);
+            log.endMatch();
+            assertEquals("0123456\n", read(second));
+        } finally {
+            first.delete();
+            second.delete();
+        }
+    }
+
+    private static GameInfo game(File saveFile) {
+        return new GameInfo("alpha", "alpha", null, "beta", "beta", null,
+                new String[] {"DefaultSmall"}, saveFile, false);
+    }
+
+    @Test
+    public void testLogFileName() {
+        File dir = new File("logs");
+        assertEquals(new File(dir, "game-2-DefaultSmall.log"),
+                RobotLog.getLogFile(dir, game(new File("matches/game.bc25")), 1, "DefaultSmall"));
+        assertEquals(new File(dir, "alpha-vs-beta-1-Foo.log"), RobotLog.getLogFile(dir, game(null), 0, "Foo"));
+    }
+
+    @Test
+    public void testNeverReplaceUnsavedGameLogs() throws Exception {
+        File dir = Files.createTempDirectory("robots").toFile();
+        File file = new File(dir, "alpha-vs-beta-1-Foo.log");
+        try {
+            RobotLog first = new RobotLog(false, -1);
+            RobotLog second = new RobotLog(false, -1);
+            first.startMatch(file, false);
+            second.startMatch(file, false);
+            first.getOut(Team.A).write("first\n".getBytes(StandardCharsets.UTF_8));
+            second.getOut(Team.A).write("second\n".getBytes(StandardCharsets.UTF_8));
+            first.endMatch();
+            second.endMatch();
+
+            assertEquals("first\n", read(file));
+            assertEquals("second\n", read(new File(dir, "alpha-vs-beta-1-Foo-2.log")));
+        } finally {
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package battlecode.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DistributionTest {
+
+    @Test
+    public void testPercentiles() {
+        Distribution distribution = new Distribution();
+        assertEquals(0, distribution.getPercentile(99));
+        assertEquals(0, distribution.getMean(), 0);
+
+        for (int i = 2000; i >= 1; i--) {
+            distribution.add(i);
+        }
+        assertEquals(2000, distribution.getCount());
+        assertEquals(2001000, distribution.getTotal());
+        assertEquals(1000.5, distribution.getMean(), 1e-9);
+        assertEquals(1000, distribution.getPercentile(50));
+        assertEquals(1980, distribution.getPercentile(99));
+        assertEquals(2000, distribution.getMax());
+        assertEquals(1, distribution.getPercentile(0));
+
+        // Still right after adding more
+        Distribution more = new Distribution();
+        more.add(5000);
+        distribution.addAll(more);
+        assertEquals(5000, distribution.getMax());
+        assertEquals(2001, distribution.getCount());
+    }
+}
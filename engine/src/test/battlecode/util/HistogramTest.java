@@ -0,0 +1,50 @@
+package battlecode.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    @Test
+    public void testSmallValuesExact() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+
+        for (int i = 200; i >= 1; i--) {
+            histogram.add(i);
+        }
+        assertEquals(200, histogram.getCount());
+        assertEquals(20100, histogram.getTotal());
+        assertEquals(100.5, histogram.getMean(), 1e-9);
+        assertEquals(100, histogram.getPercentile(50));
+        assertEquals(198, histogram.getPercentile(99));
+        assertEquals(200, histogram.getMax());
+        assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void testWithinOnePercentOfDistribution() {
+        Random random = new Random(42);
+        Distribution distribution = new Distribution();
+        for (int i = 0; i < 100000; i++) {
+            // Turn-like times, from microseconds to tens of milliseconds
+            distribution.add((long) Math.exp(7 + random.nextDouble() * 10));
+        }
+        Histogram histogram = new Histogram();
+        histogram.addAll(distribution);
+
+        assertEquals(distribution.getCount(), histogram.getCount());
+        assertEquals(distribution.getTotal(), histogram.getTotal());
+        assertEquals(distribution.getMax(), histogram.getMax());
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            long exact = distribution.getPercentile(percentile);
+            long bucketed = histogram.getPercentile(percentile);
+            assertTrue("p" + percentile + " " + bucketed + " vs " + exact,
+                    bucketed >= exact && bucketed <= exact * 1.01);
+        }
+    }
+}
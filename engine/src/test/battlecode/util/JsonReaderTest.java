@@ -0,0 +1,39 @@
+package battlecode.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonReaderTest {
+    @Test
+    public void testReadsWhatWriterWrites() {
+        JsonWriter json = new JsonWriter().beginObject();
+        json.name("name").value("a \"b\"\n\u0001");
+        json.name("list").beginArray().value(1).value(-2.5e3).beginObject().endObject().endArray();
+        json.name("ok").value(false);
+        json.name("missing").value((String) null);
+        json.endObject();
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("name", "a \"b\"\n\u0001");
+        expected.put("list", Arrays.asList(1.0, -2500.0, new LinkedHashMap<>()));
+        expected.put("ok", false);
+        expected.put("missing", null);
+        assertEquals(expected, JsonReader.parseObject(json.toString()));
+        assertEquals(Arrays.asList("\u00e9/"), JsonReader.parse(" [ \"\\u00e9\\/\" ] "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTrailingText() {
+        JsonReader.parse("{} {}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsUnfinishedObject() {
+        JsonReader.parse("{\"a\":1,");
+    }
+}
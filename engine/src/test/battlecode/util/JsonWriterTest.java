@@ -0,0 +1,21 @@
+package battlecode.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonWriterTest {
+    @Test
+    public void testNesting() {
+        JsonWriter json = new JsonWriter().beginObject();
+        json.name("name").value("a \"b\"\n");
+        json.name("list").beginArray().value(1).value(2.5).value(Double.NaN).beginObject().endObject().endArray();
+        json.name("empty").beginArray().endArray();
+        json.name("ok").value(true);
+        json.name("missing").value((String) null);
+        json.endObject();
+
+        assertEquals("{\"name\":\"a \\\"b\\\"\\n\",\"list\":[1,2.5,null,{}],\"empty\":[],\"ok\":true,\"missing\":null}",
+                json.toString());
+    }
+}
@@ -0,0 +1,170 @@
+package battlecode.world;
+
+import battlecode.common.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Budgets for the bytes that RobotController methods allocate per call, so
+ * that a change which makes a common call allocate more fails here rather
+ * than slowing every match down.
+ *
+ * Budgets are for a 64-bit JVM with compressed object pointers, the default
+ * for heaps under 32GB, and leave some room over what the calls need.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_CALLS = 2000;
+    private static final int MEASURED_CALLS = 2000;
+
+    /**
+     * A RobotController call, which may throw.
+     */
+    private interface Call {
+        Object run() throws GameActionException;
+    }
+
+    /**
+     * Where results go, so the JIT can't optimize their allocation away.
+     */
+    private static volatile Object sink;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    private TestGame game;
+    private RobotController soldier;
+    private RobotController tower;
+    private MapLocation soldierLocation;
+    private MapLocation towerLocation;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        LiveMap map = new TestMapBuilder("test", 0, 0, 30, 30, 1337).build();
+        game = new TestGame(map);
+        GameWorld world = game.getWorld();
+
+        // All painted by team A, so messages have the whole map to search
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                world.setPaint(new MapLocation(x, y), world.getPrimaryPaint(Team.A));
+            }
+        }
+
+        soldierLocation = new MapLocation(12, 15);
+        towerLocation = new MapLocation(15, 15);
+        InternalRobot soldierBot = game.getBot(world.spawnRobot(UnitType.SOLDIER, soldierLocation, Team.A));
+        InternalRobot towerBot = game.getBot(world.spawnRobot(UnitType.LEVEL_ONE_PAINT_TOWER, towerLocation, Team.A));
+        for (int i = 0; i < 5; i++) {
+            towerBot.sendMessage(soldierBot, new Message(i, towerBot.getID(), world.getCurrentRound()));
+        }
+        soldier = soldierBot.getController();
+        tower = towerBot.getController();
+    }
+
+    /**
+     * @return the mean bytes a call allocates, once it has been compiled
+     */
+    private double bytesPerCall(Call call) throws GameActionException {
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = call.run();
+        }
+
+        // What measuring allocates by itself
+        long start = threads.getThreadAllocatedBytes(thread);
+        long overhead = threads.getThreadAllocatedBytes(thread) - start;
+
+        start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink = call.run();
+        }
+        long bytes = threads.getThreadAllocatedBytes(thread) - start - overhead;
+        return (double) bytes / MEASURED_CALLS;
+    }
+
+    private void assertWithinBudget(String method, long budget, Call call) throws GameActionException {
+        double bytes = bytesPerCall(call);
+        assertTrue(method + " allocates " + bytes + " bytes per call, over its budget of " + budget,
+                bytes <= budget);
+    }
+
+    @Test
+    public void testGetAllLocationsWithinRadiusSquared() throws GameActionException {
+        int locations = soldier.getAllLocationsWithinRadiusSquared(soldierLocation,
+                GameConstants.VISION_RADIUS_SQUARED).length;
+        // The locations and the array that holds them
+        assertWithinBudget("getAllLocationsWithinRadiusSquared", 24L * locations + 4L * locations + 64,
+                () -> soldier.getAllLocationsWithinRadiusSquared(soldierLocation, GameConstants.VISION_RADIUS_SQUARED));
+    }
+
+    @Test
+    public void testLocationsWithinRadiusSquared() {
+        MapLocation origin = new MapLocation(0, 0);
+        for (MapLocation center : new MapLocation[] {new MapLocation(0, 0), new MapLocation(4, 7),
+                new MapLocation(9, 2), new MapLocation(12, -3)}) {
+            for (int radiusSquared : new int[] {-1, 0, 1, 2, 8, 20, 1000, Integer.MAX_VALUE}) {
+                List<MapLocation> expected = new ArrayList<>();
+                for (int x = 0; x < 10; x++) {
+                    for (int y = 0; y < 10; y++) {
+                        MapLocation loc = new MapLocation(x, y);
+                        if (center.isWithinDistanceSquared(loc, radiusSquared)) {
+                            expected.add(loc);
+                        }
+                    }
+                }
+                assertEquals(center + " r^2=" + radiusSquared, expected, Arrays.asList(
+                        GameWorld.getAllLocationsWithinRadiusSquaredWithoutMap(origin, 10, 10, center, radiusSquared)));
+            }
+        }
+    }
+
+    @Test
+    public void testConnectedByPaint() {
+        GameWorld world = game.getWorld();
+        assertTrue(world.connectedByPaint(Team.A, soldierLocation, towerLocation));
+        assertFalse(world.connectedByPaint(Team.B, soldierLocation, towerLocation));
+
+        // Cut the soldier off with a ring of enemy paint
+        for (Direction dir : Direction.allDirections()) {
+            if (dir == Direction.CENTER) {
+                continue;
+            }
+            world.setPaint(soldierLocation.add(dir).add(dir), world.getPrimaryPaint(Team.B));
+            world.setPaint(soldierLocation.add(dir).add(dir.rotateLeft()), world.getPrimaryPaint(Team.B));
+        }
+        assertFalse(world.connectedByPaint(Team.A, soldierLocation, towerLocation));
+        assertTrue(world.connectedByPaint(Team.A, soldierLocation, soldierLocation.add(Direction.EAST)));
+        assertTrue(world.connectedByPaint(Team.A, towerLocation, new MapLocation(0, 0)));
+        assertFalse(soldier.canSendMessage(towerLocation));
+    }
+
+    @Test
+    public void testReadMessages() throws GameActionException {
+        assertEquals(5, soldier.readMessages(-1).length);
+        // Just the array
+        assertWithinBudget("readMessages", 64, () -> soldier.readMessages(-1));
+        assertWithinBudget("readMessages(round)", 64, () -> soldier.readMessages(0));
+    }
+
+    @Test
+    public void testCanSendMessage() throws GameActionException {
+        assertTrue(soldier.canSendMessage(towerLocation));
+        assertTrue(tower.canSendMessage(soldierLocation, 42));
+        assertWithinBudget("canSendMessage", 16, () -> soldier.canSendMessage(towerLocation));
+        assertWithinBudget("canSendMessage(content)", 16, () -> tower.canSendMessage(soldierLocation, 42));
+    }
+}
@@ -0,0 +1,74 @@
+package battlecode.world;
+
+import battlecode.common.GameConstants;
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.Assert.*;
+
+public class BytecodeStatsTest {
+
+    @Test
+    public void testBucketsHoldTheirValues() {
+        int[] limits = BytecodeStats.BUCKET_LIMITS;
+        for (int bytecodes = 0; bytecodes < 40000; bytecodes++) {
+            int bucket = BytecodeStats.bucketOf(bytecodes);
+            if (bucket < limits.length) {
+                assertTrue(bytecodes < limits[bucket]);
+            }
+            if (bucket > 0) {
+                assertTrue(bytecodes >= limits[bucket - 1]);
+            }
+        }
+        assertEquals(limits.length, BytecodeStats.bucketOf(Integer.MAX_VALUE));
+        assertEquals(0, BytecodeStats.bucketOf(-5));
+
+        // at most an eighth of the values in them wide, past the first few
+        for (int i = 8; i < limits.length; i++) {
+            assertTrue(limits[i] - limits[i - 1] <= limits[i - 1] / 8);
+        }
+    }
+
+    @Test
+    public void testTurnsByTeamAndBaseType() {
+        BytecodeStats stats = new BytecodeStats();
+        stats.addTurn(Team.A, UnitType.LEVEL_ONE_PAINT_TOWER, 300, GameConstants.TOWER_BYTECODE_LIMIT);
+        stats.addTurn(Team.A, UnitType.LEVEL_TWO_PAINT_TOWER, 25000, GameConstants.TOWER_BYTECODE_LIMIT);
+        stats.addTurn(Team.B, UnitType.MOPPER, 10, GameConstants.ROBOT_BYTECODE_LIMIT);
+
+        BytecodeStats.Histogram towers = stats.get(Team.A, UnitType.LEVEL_ONE_PAINT_TOWER);
+        assertEquals(2, towers.getTurns());
+        assertEquals(25300, towers.getTotalBytecodes());
+        assertEquals(1, towers.getLimitHits());
+        assertEquals(1, towers.getCounts()[BytecodeStats.bucketOf(300)]);
+        assertEquals(1, towers.getCounts()[BytecodeStats.bucketOf(25000)]);
+
+        assertNull(stats.get(Team.B, UnitType.LEVEL_ONE_PAINT_TOWER));
+        assertEquals(0, stats.get(Team.B, UnitType.MOPPER).getLimitHits());
+    }
+
+    @Test
+    public void testCheckpoint() throws Exception {
+        BytecodeStats stats = new BytecodeStats();
+        stats.addTurn(Team.B, UnitType.SPLASHER, 1234, GameConstants.ROBOT_BYTECODE_LIMIT);
+        stats.addTurn(Team.B, UnitType.SPLASHER, 17500, GameConstants.ROBOT_BYTECODE_LIMIT);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        stats.writeCheckpoint(new DataOutputStream(bytes));
+        BytecodeStats resumed = new BytecodeStats(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        BytecodeStats.Histogram before = stats.get(Team.B, UnitType.SPLASHER);
+        BytecodeStats.Histogram after = resumed.get(Team.B, UnitType.SPLASHER);
+        assertArrayEquals(before.getCounts(), after.getCounts());
+        assertEquals(before.getTurns(), after.getTurns());
+        assertEquals(before.getTotalBytecodes(), after.getTotalBytecodes());
+        assertEquals(1, after.getLimitHits());
+        assertNull(resumed.get(Team.A, UnitType.SPLASHER));
+    }
+}
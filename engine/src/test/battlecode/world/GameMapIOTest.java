@@ -13,6 +13,56 @@ public class GameMapIOTest {
 
     final static ClassLoader loader = GameMapIOTest.class.getClassLoader();
 
+    @Test
+    public void testCachedMapIsShared() throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        assertSame(map, GameMapIO.loadCachedMap("DefaultSmall", null, false));
+
+        LiveMap reversed = GameMapIO.loadCachedMap("DefaultSmall", null, true);
+        assertNotSame(map, reversed);
+        assertEquals(map.getInitialBodies()[0].team.opponent(), reversed.getInitialBodies()[0].team);
+    }
+
+    @Test
+    public void testLoadsMappedFile() throws IOException {
+        LiveMap map = GameMapIO.loadMap("DefaultSmall", null, false);
+        File mapDir = Files.createTempDirectory("maps").toFile();
+        try {
+            GameMapIO.writeMap(map, mapDir);
+
+            LiveMap loaded = GameMapIO.loadMap("DefaultSmall", mapDir, false);
+            assertArrayEquals(map.getWallArray(), loaded.getWallArray());
+            assertArrayEquals(map.getPaintArray(), loaded.getPaintArray());
+            assertArrayEquals(map.getInitialBodies(), loaded.getInitialBodies());
+
+            GameMapIO.MapInfo info = GameMapIO.loadMapInfo("DefaultSmall", mapDir);
+            assertEquals("DefaultSmall", info.name);
+            assertEquals(map.getWidth(), info.width);
+            assertEquals(map.getHeight(), info.height);
+            assertEquals(map.getSymmetry(), info.symmetry);
+        } finally {
+            for (File file : mapDir.listFiles()) {
+                file.delete();
+            }
+            mapDir.delete();
+        }
+    }
+
+    @Test
+    public void testGameWorldDoesNotModifyMap() throws IOException {
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        boolean[] walls = map.getWallArray().clone();
+        boolean[] ruins = map.getRuinArray().clone();
+        byte[] paint = map.getPaintArray().clone();
+
+        new TestGame(map);
+        new TestGame(map);
+
+        assertArrayEquals(walls, map.getWallArray());
+        assertArrayEquals(ruins, map.getRuinArray());
+        assertArrayEquals(paint, map.getPaintArray());
+    }
+
     // @Test
     // public void testFindsDefaultMap() throws IOException {
     //     // will throw exception if default map can't be loaded
@@ -0,0 +1,109 @@
+package battlecode.world;
+
+import battlecode.common.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MapValidatorTest {
+
+    private static LiveMap makeMap(int width, int height, boolean[] walls, boolean[] ruins) {
+        return new LiveMap(width, height, new MapLocation(0, 0), 1337, GameConstants.GAME_MAX_NUMBER_OF_ROUNDS,
+                "test", MapSymmetry.ROTATIONAL, walls, new byte[width * height], ruins, new int[4], new RobotInfo[0]);
+    }
+
+    @Test
+    public void testReportsAllViolations() {
+        int width = 20, height = 20;
+        boolean[] walls = new boolean[width * height];
+        boolean[] ruins = new boolean[width * height];
+        ruins[3 + 3 * width] = true;
+        ruins[5 + 5 * width] = true;
+        walls[7 + 6 * width] = true;
+
+        List<String> violations = makeMap(width, height, walls, ruins).getViolations();
+
+        assertTrue(violations.contains("Ruins at location [3, 3] and location [5, 5] are too close to each other!"));
+        assertTrue(violations.contains("Wall appears at location [7, 6] which is too close to ruin [5, 5]"));
+        assertTrue(violations.contains("Expected to have " + GameConstants.NUMBER_INITIAL_TOWERS + " team A towers!"));
+
+        MapValidator.Result result = new MapValidator.Result("test", Arrays.asList("a \"quoted\" rule"));
+        assertEquals("{\"map\":\"test\",\"valid\":false,\"violations\":[\"a \\\"quoted\\\" rule\"]}", result.toJson());
+    }
+
+    // The neighborhood checks must find exactly what comparing every pair would.
+    @Test
+    public void testMatchesAllPairsCheck() {
+        Random random = new Random(25);
+        int width = 30, height = 25;
+        for (int trial = 0; trial < 20; trial++) {
+            boolean[] walls = new boolean[width * height];
+            boolean[] ruins = new boolean[width * height];
+            for (int i = 0; i < width * height; i++) {
+                ruins[i] = random.nextInt(40) == 0;
+                walls[i] = !ruins[i] && random.nextInt(30) == 0;
+            }
+            LiveMap map = makeMap(width, height, walls, ruins);
+
+            List<String> expected = new ArrayList<>();
+            List<MapLocation> ruinLocs = new ArrayList<>();
+            for (int i = 0; i < width * height; i++) {
+                if (ruins[i]) ruinLocs.add(map.indexToLocation(i));
+            }
+            for (int i = 0; i < ruinLocs.size(); i++) {
+                for (int j = i + 1; j < ruinLocs.size(); j++) {
+                    if (ruinLocs.get(i).distanceSquaredTo(ruinLocs.get(j)) < GameConstants.MIN_RUIN_SPACING_SQUARED)
+                        expected.add("Ruins at location " + ruinLocs.get(i) + " and location " + ruinLocs.get(j) + " are too close to each other!");
+                }
+            }
+            for (int i = 0; i < width * height; i++) {
+                if (!walls[i]) continue;
+                for (MapLocation ruin : ruinLocs) {
+                    if (ruin.distanceSquaredTo(map.indexToLocation(i)) <= 8)
+                        expected.add("Wall appears at location " + map.indexToLocation(i) + " which is too close to ruin " + ruin);
+                }
+            }
+
+            List<String> actual = new ArrayList<>();
+            for (String violation : map.getViolations()) {
+                if (violation.startsWith("Ruins at") || violation.startsWith("Wall appears")) {
+                    actual.add(violation);
+                }
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testStressLayout() throws IOException {
+        MapBuilder builder = new MapBuilder("stress", 200, 150, 0, 0, 7);
+        builder.generateStressLayout(30, 400, 10);
+        LiveMap map = builder.build();
+
+        assertEquals(Arrays.asList(), map.getViolations(true));
+        assertTrue(map.getViolations(false).contains("MAP WIDTH EXCEEDS GameConstants.MAP_MAX_WIDTH"));
+        assertEquals(2 * (30 + 400), map.getInitialBodies().length);
+
+        // Robots don't turn into ruins when the map is saved
+        File mapDir = Files.createTempDirectory("maps").toFile();
+        try {
+            GameMapIO.writeMap(map, mapDir);
+            LiveMap loaded = GameMapIO.loadMap(new File(mapDir, "stress" + GameMapIO.MAP_EXTENSION), false);
+            assertArrayEquals(map.getRuinArray(), loaded.getRuinArray());
+            assertEquals(Arrays.asList(), loaded.getViolations(true));
+        } finally {
+            for (File file : mapDir.listFiles()) {
+                file.delete();
+            }
+            mapDir.delete();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package battlecode.world;
+
+import battlecode.common.*;
+import battlecode.server.GameInfo;
+import battlecode.world.control.NullControlProvider;
+import battlecode.world.control.TeamControlProvider;
+import battlecode.world.control.TrustedControlProvider;
+import battlecode.world.control.TrustedPlayer;
+
+/**
+ * A game between two teams of the same stub in-process player, for tests
+ * and benchmarks that need matches to play out without the sandbox.
+ */
+public final class StubPlayers {
+
+    public static final GameInfo GAME = new GameInfo(
+            "bananas", "org.bananas", null,
+            "yellow", "org.yellow", null,
+            new String[] {"DefaultSmall"}, null, false
+    );
+
+    /**
+     * Towers build soldiers; soldiers paint where they stand and wander.
+     * Keeps no state between turns, so a resumed or forked match plays out
+     * the same.
+     */
+    public static final TrustedPlayer PLAYER = rc -> {
+        if (rc.getType().isTowerType()) {
+            for (Direction dir : Direction.allDirections()) {
+                MapLocation loc = rc.getLocation().add(dir);
+                if (rc.canBuildRobot(UnitType.SOLDIER, loc)) {
+                    rc.buildRobot(UnitType.SOLDIER, loc);
+                }
+            }
+        } else {
+            if (rc.canAttack(rc.getLocation())) {
+                rc.attack(rc.getLocation());
+            }
+            Direction dir = Direction.allDirections()[(rc.getID() + rc.getRoundNum() / 10) % 8];
+            if (rc.canMove(dir)) {
+                rc.move(dir);
+            }
+        }
+        return 0;
+    };
+
+    private StubPlayers() {}
+
+    /**
+     * @return a control provider playing both teams with PLAYER
+     */
+    public static TeamControlProvider provider() {
+        TeamControlProvider provider = new TeamControlProvider();
+        provider.registerControlProvider(Team.A, new TrustedControlProvider(rc -> PLAYER));
+        provider.registerControlProvider(Team.B, new TrustedControlProvider(rc -> PLAYER));
+        provider.registerControlProvider(Team.NEUTRAL, new NullControlProvider());
+        return provider;
+    }
+}
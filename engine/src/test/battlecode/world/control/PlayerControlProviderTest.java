@@ -0,0 +1,86 @@
+package battlecode.world.control;
+
+import battlecode.common.Team;
+import battlecode.instrumenter.URLUtils;
+import battlecode.server.GameInfo;
+import battlecode.server.GameMaker;
+import battlecode.server.GameState;
+import battlecode.world.GameMapIO;
+import battlecode.world.GameWorld;
+import battlecode.world.LiveMap;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+
+public class PlayerControlProviderTest {
+    private static final String PLAYER = "testplayerchurn";
+
+    private final GameInfo info = new GameInfo(
+            PLAYER, PLAYER, null,
+            PLAYER, PLAYER, null,
+            new String[] {"DefaultSmall"}, null, false
+    );
+
+    @Test(timeout = 300000)
+    public void testSandboxesReclaimedWithChurn() throws Exception {
+        String url = URLUtils.toTempFolder(PLAYER + "/RobotPlayer.class");
+        TeamControlProvider provider = new TeamControlProvider();
+        for (Team team : new Team[] {Team.A, Team.B}) {
+            provider.registerControlProvider(team,
+                    new PlayerControlProvider(team, PLAYER, url, OutputStream.nullOutputStream(), false));
+        }
+        provider.registerControlProvider(Team.NEUTRAL, new NullControlProvider());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        GameMaker gm = new GameMaker(info, null, false, 0, false);
+        gm.makeGameHeader();
+        GameWorld world = new GameWorld(map, provider, gm.getMatchMaker());
+
+        // The first round starts the pool of sandbox threads and loads the
+        // classes every sandbox shares
+        world.runRound();
+        System.gc();
+        int startThreads = threads.getThreadCount();
+        long startTotalThreads = threads.getTotalStartedThreadCount();
+        int startClasses = classes.getLoadedClassCount();
+        long startTotalClasses = classes.getTotalLoadedClassCount();
+
+        int maxThreads = startThreads;
+        int maxRobots = 0;
+        int maxLiveClasses = startClasses;
+        while (world.runRound() != GameState.DONE) {
+            maxThreads = Math.max(maxThreads, threads.getThreadCount());
+            maxRobots = Math.max(maxRobots, world.getObjectInfo().getRobotCount(Team.A)
+                    + world.getObjectInfo().getRobotCount(Team.B));
+            if (world.getCurrentRound() % 250 == 0) {
+                System.gc();
+                maxLiveClasses = Math.max(maxLiveClasses, classes.getLoadedClassCount());
+            }
+        }
+
+        long spawnedClasses = classes.getTotalLoadedClassCount() - startTotalClasses;
+        assertTrue("the match should run its full length", world.getCurrentRound() > 1900);
+        assertTrue("robots should be spawned throughout, loading " + spawnedClasses + " classes",
+                spawnedClasses > 1000);
+
+        // Each live robot holds on to its own copies of a few classes;
+        // dead ones hold on to none
+        assertTrue("classes should be unloaded: " + startClasses + " at first, up to " + maxLiveClasses,
+                maxLiveClasses - startClasses < spawnedClasses / 4);
+        // Threads are reused rather than started for every robot
+        long startedThreads = threads.getTotalStartedThreadCount() - startTotalThreads;
+        assertTrue("threads should be reused, but " + startedThreads + " were started",
+                startedThreads <= maxRobots);
+        assertTrue("threads should be bounded: " + startThreads + " at first, up to " + maxThreads
+                        + ", with up to " + maxRobots + " robots",
+                maxThreads - startThreads <= maxRobots);
+    }
+}
@@ -0,0 +1,35 @@
+package battlecode.world.control;
+
+import battlecode.util.JsonReader;
+import battlecode.util.JsonWriter;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PlayerCpuTimeTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTurnsAndRobots() {
+        PlayerCpuTime cpuTime = new PlayerCpuTime(true);
+        cpuTime.addTurn(1, 1000);
+        cpuTime.addTurn(2, 3000);
+        cpuTime.addTurn(1, 5000);
+
+        assertEquals(9000, cpuTime.getTotalNanos());
+        assertEquals(3, cpuTime.getTurns().getCount());
+        assertEquals(5000, cpuTime.getTurns().getMax());
+        assertEquals(2, cpuTime.getRobots().getCount());
+        assertEquals(6000, cpuTime.getRobots().getMax());
+        assertEquals(6000, cpuTime.getRobotNanos(1));
+        assertEquals(0, cpuTime.getRobotNanos(3));
+
+        JsonWriter json = new JsonWriter();
+        cpuTime.write(json);
+        Map<String, Object> written = JsonReader.parseObject(json.toString());
+        assertEquals("cpu", written.get("clock"));
+        assertEquals(6.0, ((Map<String, Object>) written.get("robots")).get("max"));
+    }
+}
@@ -0,0 +1,95 @@
+package battlecode.world.control;
+
+import battlecode.common.*;
+import battlecode.server.GameInfo;
+import battlecode.server.GameMaker;
+import battlecode.server.GameState;
+import battlecode.world.GameMapIO;
+
+import battlecode.world.GameWorld;
+import battlecode.world.LiveMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class TrustedControlProviderTest {
+    private final GameInfo info = new GameInfo(
+            "bananas", "org.bananas", null,
+            "yellow", "org.yellow", null,
+            new String[] {"DefaultSmall"}, null, false
+    );
+
+    private static GameWorld startMatch(GameMaker gm, Function<RobotController, TrustedPlayer> a,
+                                        Function<RobotController, TrustedPlayer> b) throws IOException {
+        TeamControlProvider provider = new TeamControlProvider();
+        provider.registerControlProvider(Team.A, new TrustedControlProvider(a));
+        provider.registerControlProvider(Team.B, new TrustedControlProvider(b));
+        provider.registerControlProvider(Team.NEUTRAL, new NullControlProvider());
+
+        LiveMap map = GameMapIO.loadCachedMap("DefaultSmall", null, false);
+        gm.makeGameHeader();
+        return new GameWorld(map, provider, gm.getMatchMaker());
+    }
+
+    @Test
+    public void testRunsMatchWithoutReplay() throws IOException {
+        AtomicInteger turns = new AtomicInteger();
+        Function<RobotController, TrustedPlayer> player = rc -> robot -> {
+            turns.incrementAndGet();
+            if (robot.getType().isTowerType()) {
+                for (Direction dir : Direction.allDirections()) {
+                    MapLocation loc = robot.getLocation().add(dir).add(dir);
+                    if (robot.canBuildRobot(UnitType.SOLDIER, loc)) {
+                        robot.buildRobot(UnitType.SOLDIER, loc);
+                    }
+                }
+            } else {
+                Direction dir = Direction.allDirections()[robot.getRoundNum() % 8];
+                if (robot.canMove(dir)) {
+                    robot.move(dir);
+                }
+            }
+            return 100;
+        };
+
+        GameMaker gm = new GameMaker(info, null, true, 50, false);
+        GameWorld world = startMatch(gm, player, player);
+        int spawned = world.getObjectInfo().getRobotCount(Team.A);
+        while (world.runRound() != GameState.DONE) {
+            spawned = Math.max(spawned, world.getObjectInfo().getRobotCount(Team.A));
+        }
+
+        assertNotNull(world.getWinner());
+        assertTrue(spawned > 2);
+        assertTrue(turns.get() > world.getCurrentRound());
+        gm.makeGameFooter(world.getWinner());
+
+        try {
+            gm.toBytes();
+            fail("Built a replay without recording");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEndedPlayersDie() throws IOException {
+        Function<RobotController, TrustedPlayer> disintegrates = rc -> robot -> {
+            robot.disintegrate();
+            return 0;
+        };
+        Function<RobotController, TrustedPlayer> throwsException = rc -> robot -> {
+            throw new GameActionException(GameActionExceptionType.INTERNAL_ERROR, "oops");
+        };
+
+        GameWorld world = startMatch(new GameMaker(info, null, true, 0, false), disintegrates, throwsException);
+        world.runRound();
+
+        assertEquals(0, world.getObjectInfo().getRobotCount(Team.A));
+        assertEquals(0, world.getObjectInfo().getRobotCount(Team.B));
+    }
+}
@@ -0,0 +1,145 @@
+package battlecode.world.env;
+
+import battlecode.common.Direction;
+import battlecode.common.Team;
+import battlecode.world.GameMapIO;
+import battlecode.world.LiveMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EnvPoolTest {
+
+    private static LiveMap defaultSmall() throws IOException {
+        return GameMapIO.loadCachedMap("DefaultSmall", null, false);
+    }
+
+    @Test
+    public void testActionsAreApplied() throws IOException {
+        Env env = new Env(defaultSmall());
+        Observation obs = env.getObservation(Team.A);
+        assertEquals(obs.width * obs.height, obs.paint.length);
+        int towers = obs.robotCount;
+        assertTrue(towers > 0);
+
+        // Every tower builds a soldier on the first open tile next to it
+        int[] actions = new int[obs.paint.length];
+        for (int i = 0; i < actions.length; i++) {
+            if (obs.robotTypes[i] <= 0) {
+                continue;
+            }
+            int x = i % obs.width, y = i / obs.width;
+            for (Direction dir : Direction.allDirections()) {
+                int tx = x + dir.dx, ty = y + dir.dy;
+                int target = tx + ty * obs.width;
+                if (tx >= 0 && ty >= 0 && tx < obs.width && ty < obs.height
+                        && obs.terrain[target] == 0 && obs.robotTypes[target] == 0) {
+                    actions[i] = EnvAction.encode(EnvAction.BUILD_SOLDIER, dir, null, false);
+                    break;
+                }
+            }
+        }
+
+        env.step(actions, null);
+
+        assertEquals(2 * towers, obs.robotCount);
+        assertEquals(towers, obs.opponentRobotCount);
+        assertEquals(1, obs.round);
+        assertEquals(towers, env.getObservation(Team.B).opponentRobotCount - towers);
+    }
+
+    @Test
+    public void testParallelStepsAreDeterministic() throws IOException {
+        LiveMap map = defaultSmall();
+        int envs = 4;
+        try (EnvPool serial = new EnvPool(Collections.nCopies(envs, map), 1);
+             EnvPool parallel = new EnvPool(Collections.nCopies(envs, map), 4)) {
+            Random random = new Random(36);
+            int area = map.getWidth() * map.getHeight();
+            for (int step = 0; step < 300; step++) {
+                int[][] actionsA = new int[envs][area];
+                int[][] actionsB = new int[envs][area];
+                for (int e = 0; e < envs; e++) {
+                    for (int i = 0; i < area; i++) {
+                        actionsA[e][i] = random.nextInt(1 << 13);
+                        actionsB[e][i] = random.nextInt(1 << 13);
+                    }
+                }
+                serial.step(actionsA, actionsB);
+                parallel.step(actionsA, actionsB);
+            }
+
+            for (int e = 0; e < envs; e++) {
+                for (Team team : new Team[]{Team.A, Team.B}) {
+                    Observation a = serial.getObservation(e, team);
+                    Observation b = parallel.getObservation(e, team);
+                    assertEquals(300, a.round);
+                    assertArrayEquals(a.paint, b.paint);
+                    assertArrayEquals(a.markers, b.markers);
+                    assertArrayEquals(a.robotIds, b.robotIds);
+                    assertArrayEquals(a.robotHealths, b.robotHealths);
+                    assertEquals(a.money, b.money);
+                }
+            }
+            // random actions do get robots built and tiles painted
+            assertTrue(serial.getObservation(0, Team.A).paintedTiles > 0);
+
+            serial.reset(0);
+            assertEquals(0, serial.getObservation(0, Team.A).round);
+        }
+    }
+
+    private static int[] randomActions(Random random, int area) {
+        int[] actions = new int[area];
+        for (int i = 0; i < area; i++) {
+            actions[i] = random.nextInt(1 << 13);
+        }
+        return actions;
+    }
+
+    @Test
+    public void testForkIsIndependent() throws IOException {
+        Env env = new Env(defaultSmall());
+        Observation obs = env.getObservation(Team.A);
+        int area = obs.width * obs.height;
+        Random random = new Random(37);
+        for (int step = 0; step < 100; step++) {
+            env.step(randomActions(random, area), randomActions(random, area));
+        }
+
+        Env fork = env.fork();
+        Observation forkObs = fork.getObservation(Team.A);
+        assertArrayEquals(obs.paint, forkObs.paint);
+        assertArrayEquals(obs.robotIds, forkObs.robotIds);
+        int[] paint = fork.getWorld().getPaintArray().clone();
+        int robots = fork.getWorld().getObjectInfo().getRobotCount(Team.A);
+
+        long seed = random.nextLong();
+        random.setSeed(seed);
+        for (int step = 0; step < 100; step++) {
+            env.step(randomActions(random, area), randomActions(random, area));
+        }
+        // stepping the original doesn't touch the fork
+        assertArrayEquals(paint, fork.getWorld().getPaintArray());
+        assertEquals(robots, fork.getWorld().getObjectInfo().getRobotCount(Team.A));
+        assertEquals(100, forkObs.round);
+
+        // and the fork plays out the same way
+        random.setSeed(seed);
+        for (int step = 0; step < 100; step++) {
+            fork.step(randomActions(random, area), randomActions(random, area));
+        }
+        assertEquals(200, forkObs.round);
+        assertArrayEquals(obs.paint, forkObs.paint);
+        assertArrayEquals(obs.markers, forkObs.markers);
+        assertArrayEquals(obs.robotIds, forkObs.robotIds);
+        assertArrayEquals(obs.robotHealths, forkObs.robotHealths);
+        assertArrayEquals(obs.robotPaints, forkObs.robotPaints);
+        assertEquals(obs.money, forkObs.money);
+        assertEquals(obs.paintedTiles, forkObs.paintedTiles);
+    }
+}
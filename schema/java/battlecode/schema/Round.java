@@ -89,6 +89,12 @@ public final class Round extends Table {
    * It should increase by one for each following round.
    */
   public int roundId() { int o = __offset(16); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  /**
+   * A full snapshot of the match state at the end of this round. Only
+   * present every few rounds; see Keyframe.
+   */
+  public battlecode.schema.Keyframe keyframe() { return keyframe(new battlecode.schema.Keyframe()); }
+  public battlecode.schema.Keyframe keyframe(battlecode.schema.Keyframe obj) { int o = __offset(18); return o != 0 ? obj.__assign(__indirect(o + bb_pos), bb) : null; }
 
   public static int createRound(FlatBufferBuilder builder,
       int teamIdsOffset,
@@ -97,8 +103,10 @@ public final class Round extends Table {
       int teamResourcePatternAmountsOffset,
       int turnsOffset,
       int diedIdsOffset,
-      int roundId) {
-    builder.startTable(7);
+      int roundId,
+      int keyframeOffset) {
+    builder.startTable(8);
+    Round.addKeyframe(builder, keyframeOffset);
     Round.addRoundId(builder, roundId);
     Round.addDiedIds(builder, diedIdsOffset);
     Round.addTurns(builder, turnsOffset);
@@ -109,7 +117,7 @@ public final class Round extends Table {
     return Round.endRound(builder);
   }
 
-  public static void startRound(FlatBufferBuilder builder) { builder.startTable(7); }
+  public static void startRound(FlatBufferBuilder builder) { builder.startTable(8); }
   public static void addTeamIds(FlatBufferBuilder builder, int teamIdsOffset) { builder.addOffset(0, teamIdsOffset, 0); }
   public static int createTeamIdsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addInt(data[i]); return builder.endVector(); }
   public static void startTeamIdsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
@@ -129,6 +137,7 @@ public final class Round extends Table {
   public static int createDiedIdsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addInt(data[i]); return builder.endVector(); }
   public static void startDiedIdsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
   public static void addRoundId(FlatBufferBuilder builder, int roundId) { builder.addInt(6, roundId, 0); }
+  public static void addKeyframe(FlatBufferBuilder builder, int keyframeOffset) { builder.addOffset(7, keyframeOffset, 0); }
   public static int endRound(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
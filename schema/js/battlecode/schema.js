@@ -1,7 +1,7 @@
 "use strict";
 // automatically generated by the FlatBuffers compiler, do not modify
 Object.defineProperty(exports, "__esModule", { value: true });
-exports.WinType = exports.VecTable = exports.Vec = exports.UpgradeAction = exports.UnpaintAction = exports.UnmarkAction = exports.Turn = exports.TransferAction = exports.TimelineMarker = exports.TeamData = exports.SplashAction = exports.SpawnAction = exports.Round = exports.RobotTypeMetadata = exports.RobotType = exports.ProfilerProfile = exports.ProfilerFile = exports.ProfilerEvent = exports.PaintAction = exports.MopAction = exports.MessageAction = exports.MatchHeader = exports.MatchFooter = exports.MarkAction = exports.InitialBodyTable = exports.IndicatorStringAction = exports.IndicatorLineAction = exports.IndicatorDotAction = exports.GameplayConstants = exports.GameWrapper = exports.GameMap = exports.GameHeader = exports.GameFooter = exports.EventWrapper = exports.Event = exports.DieType = exports.DieAction = exports.DamageAction = exports.BuildAction = exports.AttackAction = exports.Action = void 0;
+exports.WinType = exports.VecTable = exports.Vec = exports.UpgradeAction = exports.UnpaintAction = exports.UnmarkAction = exports.Turn = exports.TransferAction = exports.TimelineMarker = exports.TeamData = exports.SplashAction = exports.SpawnAction = exports.Round = exports.RobotTypeMetadata = exports.RobotType = exports.ProfilerProfile = exports.ProfilerFile = exports.ProfilerEvent = exports.ProfilerCallTree = exports.PaintAction = exports.MopAction = exports.MessageAction = exports.MatchHeader = exports.MatchFooter = exports.MarkAction = exports.Keyframe = exports.InitialBodyTable = exports.IndicatorStringAction = exports.IndicatorLineAction = exports.IndicatorDotAction = exports.GameplayConstants = exports.GameWrapper = exports.GameMap = exports.GameHeader = exports.GameFooter = exports.EventWrapper = exports.Event = exports.DieType = exports.DieAction = exports.DamageAction = exports.BytecodeHistogram = exports.BuildAction = exports.AttackAction = exports.Action = void 0;
 /* eslint-disable @typescript-eslint/no-unused-vars, @typescript-eslint/no-explicit-any, @typescript-eslint/no-non-null-assertion */
 var action_1 = require("./schema/action");
 Object.defineProperty(exports, "Action", { enumerable: true, get: function () { return action_1.Action; } });
@@ -9,6 +9,8 @@ var attack_action_1 = require("./schema/attack-action");
 Object.defineProperty(exports, "AttackAction", { enumerable: true, get: function () { return attack_action_1.AttackAction; } });
 var build_action_1 = require("./schema/build-action");
 Object.defineProperty(exports, "BuildAction", { enumerable: true, get: function () { return build_action_1.BuildAction; } });
+var bytecode_histogram_1 = require("./schema/bytecode-histogram");
+Object.defineProperty(exports, "BytecodeHistogram", { enumerable: true, get: function () { return bytecode_histogram_1.BytecodeHistogram; } });
 var damage_action_1 = require("./schema/damage-action");
 Object.defineProperty(exports, "DamageAction", { enumerable: true, get: function () { return damage_action_1.DamageAction; } });
 var die_action_1 = require("./schema/die-action");
@@ -37,6 +39,8 @@ var indicator_string_action_1 = require("./schema/indicator-string-action");
 Object.defineProperty(exports, "IndicatorStringAction", { enumerable: true, get: function () { return indicator_string_action_1.IndicatorStringAction; } });
 var initial_body_table_1 = require("./schema/initial-body-table");
 Object.defineProperty(exports, "InitialBodyTable", { enumerable: true, get: function () { return initial_body_table_1.InitialBodyTable; } });
+var keyframe_1 = require("./schema/keyframe");
+Object.defineProperty(exports, "Keyframe", { enumerable: true, get: function () { return keyframe_1.Keyframe; } });
 var mark_action_1 = require("./schema/mark-action");
 Object.defineProperty(exports, "MarkAction", { enumerable: true, get: function () { return mark_action_1.MarkAction; } });
 var match_footer_1 = require("./schema/match-footer");
@@ -49,6 +53,8 @@ var mop_action_1 = require("./schema/mop-action");
 Object.defineProperty(exports, "MopAction", { enumerable: true, get: function () { return mop_action_1.MopAction; } });
 var paint_action_1 = require("./schema/paint-action");
 Object.defineProperty(exports, "PaintAction", { enumerable: true, get: function () { return paint_action_1.PaintAction; } });
+var profiler_call_tree_1 = require("./schema/profiler-call-tree");
+Object.defineProperty(exports, "ProfilerCallTree", { enumerable: true, get: function () { return profiler_call_tree_1.ProfilerCallTree; } });
 var profiler_event_1 = require("./schema/profiler-event");
 Object.defineProperty(exports, "ProfilerEvent", { enumerable: true, get: function () { return profiler_event_1.ProfilerEvent; } });
 var profiler_file_1 = require("./schema/profiler-file");
@@ -0,0 +1,70 @@
+import * as flatbuffers from 'flatbuffers';
+import { RobotType } from '../../battlecode/schema/robot-type';
+/**
+ * How many bytecodes a team's robots of one type used in their turns over
+ * a whole match, as a histogram with fixed buckets: 8 bytecodes wide up to
+ * 64, then 8 to every power of two.
+ */
+export declare class BytecodeHistogram {
+    bb: flatbuffers.ByteBuffer | null;
+    bb_pos: number;
+    __init(i: number, bb: flatbuffers.ByteBuffer): BytecodeHistogram;
+    static getRootAsBytecodeHistogram(bb: flatbuffers.ByteBuffer, obj?: BytecodeHistogram): BytecodeHistogram;
+    static getSizePrefixedRootAsBytecodeHistogram(bb: flatbuffers.ByteBuffer, obj?: BytecodeHistogram): BytecodeHistogram;
+    /**
+     * The team of the robots.
+     */
+    teamId(): number;
+    /**
+     * The type of the robots.
+     */
+    robotType(): RobotType;
+    /**
+     * The exclusive upper bound of each bucket but the last. A bucket holds
+     * the turns that used at least the previous bucket's bound.
+     */
+    bucketLimits(index: number): number | null;
+    bucketLimitsLength(): number;
+    bucketLimitsArray(): Int32Array | null;
+    /**
+     * The number of turns in each bucket. There is one more than there are
+     * bucketLimits, for the turns that used at least the last of them.
+     */
+    counts(index: number): number | null;
+    countsLength(): number;
+    countsArray(): Int32Array | null;
+    /**
+     * The number of turns.
+     */
+    turns(): number;
+    /**
+     * The bytecodes used in every turn together.
+     */
+    totalBytecodes(): bigint;
+    /**
+     * The number of turns that used up the robot's bytecode limit.
+     */
+    limitHits(): number;
+    static startBytecodeHistogram(builder: flatbuffers.Builder): void;
+    static addTeamId(builder: flatbuffers.Builder, teamId: number): void;
+    static addRobotType(builder: flatbuffers.Builder, robotType: RobotType): void;
+    static addBucketLimits(builder: flatbuffers.Builder, bucketLimitsOffset: flatbuffers.Offset): void;
+    static createBucketLimitsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createBucketLimitsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startBucketLimitsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addCounts(builder: flatbuffers.Builder, countsOffset: flatbuffers.Offset): void;
+    static createCountsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createCountsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startCountsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addTurns(builder: flatbuffers.Builder, turns: number): void;
+    static addTotalBytecodes(builder: flatbuffers.Builder, totalBytecodes: bigint): void;
+    static addLimitHits(builder: flatbuffers.Builder, limitHits: number): void;
+    static endBytecodeHistogram(builder: flatbuffers.Builder): flatbuffers.Offset;
+    static createBytecodeHistogram(builder: flatbuffers.Builder, teamId: number, robotType: RobotType, bucketLimitsOffset: flatbuffers.Offset, countsOffset: flatbuffers.Offset, turns: number, totalBytecodes: bigint, limitHits: number): flatbuffers.Offset;
+}
@@ -0,0 +1,135 @@
+import * as flatbuffers from 'flatbuffers';
+import { RobotType } from '../../battlecode/schema/robot-type';
+import { VecTable } from '../../battlecode/schema/vec-table';
+/**
+ * A full snapshot of the match state at the end of a round. Attached to a
+ * Round every few rounds so that viewers (and clients joining a live match
+ * late) can seek without replaying every action since the MatchHeader.
+ */
+export declare class Keyframe {
+    bb: flatbuffers.ByteBuffer | null;
+    bb_pos: number;
+    __init(i: number, bb: flatbuffers.ByteBuffer): Keyframe;
+    static getRootAsKeyframe(bb: flatbuffers.ByteBuffer, obj?: Keyframe): Keyframe;
+    static getSizePrefixedRootAsKeyframe(bb: flatbuffers.ByteBuffer, obj?: Keyframe): Keyframe;
+    /**
+     * Paint on each tile, indexed by location: 0 for none, 1 and 2 for team A
+     * primary and secondary, 3 and 4 for team B primary and secondary.
+     */
+    paint(index: number): number | null;
+    paintLength(): number;
+    paintArray(): Int8Array | null;
+    /**
+     * Team A's marker on each tile, indexed by location: 0 for none, 1 for
+     * primary, 2 for secondary.
+     */
+    markersA(index: number): number | null;
+    markersALength(): number;
+    markersAArray(): Int8Array | null;
+    /**
+     * Team B's marker on each tile, in the same format as markersA.
+     */
+    markersB(index: number): number | null;
+    markersBLength(): number;
+    markersBArray(): Int8Array | null;
+    /**
+     * The IDs of all robots alive at the end of the round.
+     */
+    robotIds(index: number): number | null;
+    robotIdsLength(): number;
+    robotIdsArray(): Int32Array | null;
+    robotTypes(index: number): RobotType | null;
+    robotTypesLength(): number;
+    robotTypesArray(): Int8Array | null;
+    robotTeamIds(index: number): number | null;
+    robotTeamIdsLength(): number;
+    robotTeamIdsArray(): Int8Array | null;
+    robotHealths(index: number): number | null;
+    robotHealthsLength(): number;
+    robotHealthsArray(): Int32Array | null;
+    robotPaints(index: number): number | null;
+    robotPaintsLength(): number;
+    robotPaintsArray(): Int32Array | null;
+    robotLocs(obj?: VecTable): VecTable | null;
+    /**
+     * The IDs of teams in the Game.
+     */
+    teamIds(index: number): number | null;
+    teamIdsLength(): number;
+    teamIdsArray(): Int32Array | null;
+    /**
+     * The total amount of resource per team
+     */
+    teamResourceAmounts(index: number): number | null;
+    teamResourceAmountsLength(): number;
+    teamResourceAmountsArray(): Int32Array | null;
+    static startKeyframe(builder: flatbuffers.Builder): void;
+    static addPaint(builder: flatbuffers.Builder, paintOffset: flatbuffers.Offset): void;
+    static createPaintVector(builder: flatbuffers.Builder, data: number[] | Int8Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createPaintVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startPaintVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addMarkersA(builder: flatbuffers.Builder, markersAOffset: flatbuffers.Offset): void;
+    static createMarkersAVector(builder: flatbuffers.Builder, data: number[] | Int8Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createMarkersAVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startMarkersAVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addMarkersB(builder: flatbuffers.Builder, markersBOffset: flatbuffers.Offset): void;
+    static createMarkersBVector(builder: flatbuffers.Builder, data: number[] | Int8Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createMarkersBVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startMarkersBVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotIds(builder: flatbuffers.Builder, robotIdsOffset: flatbuffers.Offset): void;
+    static createRobotIdsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createRobotIdsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startRobotIdsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotTypes(builder: flatbuffers.Builder, robotTypesOffset: flatbuffers.Offset): void;
+    static createRobotTypesVector(builder: flatbuffers.Builder, data: RobotType[]): flatbuffers.Offset;
+    static startRobotTypesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotTeamIds(builder: flatbuffers.Builder, robotTeamIdsOffset: flatbuffers.Offset): void;
+    static createRobotTeamIdsVector(builder: flatbuffers.Builder, data: number[] | Int8Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createRobotTeamIdsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startRobotTeamIdsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotHealths(builder: flatbuffers.Builder, robotHealthsOffset: flatbuffers.Offset): void;
+    static createRobotHealthsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createRobotHealthsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startRobotHealthsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotPaints(builder: flatbuffers.Builder, robotPaintsOffset: flatbuffers.Offset): void;
+    static createRobotPaintsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createRobotPaintsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startRobotPaintsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addRobotLocs(builder: flatbuffers.Builder, robotLocsOffset: flatbuffers.Offset): void;
+    static addTeamIds(builder: flatbuffers.Builder, teamIdsOffset: flatbuffers.Offset): void;
+    static createTeamIdsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createTeamIdsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startTeamIdsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addTeamResourceAmounts(builder: flatbuffers.Builder, teamResourceAmountsOffset: flatbuffers.Offset): void;
+    static createTeamResourceAmountsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createTeamResourceAmountsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startTeamResourceAmountsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static endKeyframe(builder: flatbuffers.Builder): flatbuffers.Offset;
+}
@@ -1,4 +1,5 @@
 import * as flatbuffers from 'flatbuffers';
+import { BytecodeHistogram } from '../../battlecode/schema/bytecode-histogram';
 import { ProfilerFile } from '../../battlecode/schema/profiler-file';
 import { TimelineMarker } from '../../battlecode/schema/timeline-marker';
 import { WinType } from '../../battlecode/schema/win-type';
@@ -33,6 +34,12 @@ export declare class MatchFooter {
      */
     profilerFiles(index: number, obj?: ProfilerFile): ProfilerFile | null;
     profilerFilesLength(): number;
+    /**
+     * How many bytecodes each team's robots used per turn, one histogram per
+     * team and robot type that had turns.
+     */
+    bytecodeHistograms(index: number, obj?: BytecodeHistogram): BytecodeHistogram | null;
+    bytecodeHistogramsLength(): number;
     static startMatchFooter(builder: flatbuffers.Builder): void;
     static addWinner(builder: flatbuffers.Builder, winner: number): void;
     static addWinType(builder: flatbuffers.Builder, winType: WinType): void;
@@ -43,6 +50,9 @@ export declare class MatchFooter {
     static addProfilerFiles(builder: flatbuffers.Builder, profilerFilesOffset: flatbuffers.Offset): void;
     static createProfilerFilesVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
     static startProfilerFilesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addBytecodeHistograms(builder: flatbuffers.Builder, bytecodeHistogramsOffset: flatbuffers.Offset): void;
+    static createBytecodeHistogramsVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
+    static startBytecodeHistogramsVector(builder: flatbuffers.Builder, numElems: number): void;
     static endMatchFooter(builder: flatbuffers.Builder): flatbuffers.Offset;
-    static createMatchFooter(builder: flatbuffers.Builder, winner: number, winType: WinType, totalRounds: number, timelineMarkersOffset: flatbuffers.Offset, profilerFilesOffset: flatbuffers.Offset): flatbuffers.Offset;
+    static createMatchFooter(builder: flatbuffers.Builder, winner: number, winType: WinType, totalRounds: number, timelineMarkersOffset: flatbuffers.Offset, profilerFilesOffset: flatbuffers.Offset, bytecodeHistogramsOffset: flatbuffers.Offset): flatbuffers.Offset;
 }
@@ -4,6 +4,7 @@ Object.defineProperty(exports, "__esModule", { value: true });
 exports.MatchFooter = void 0;
 /* eslint-disable @typescript-eslint/no-unused-vars, @typescript-eslint/no-explicit-any, @typescript-eslint/no-non-null-assertion */
 var flatbuffers = require("flatbuffers");
+var bytecode_histogram_1 = require("../../battlecode/schema/bytecode-histogram");
 var profiler_file_1 = require("../../battlecode/schema/profiler-file");
 var timeline_marker_1 = require("../../battlecode/schema/timeline-marker");
 var win_type_1 = require("../../battlecode/schema/win-type");
@@ -70,8 +71,20 @@ var MatchFooter = /** @class */ (function () {
         var offset = this.bb.__offset(this.bb_pos, 12);
         return offset ? this.bb.__vector_len(this.bb_pos + offset) : 0;
     };
+    /**
+     * How many bytecodes each team's robots used per turn, one histogram per
+     * team and robot type that had turns.
+     */
+    MatchFooter.prototype.bytecodeHistograms = function (index, obj) {
+        var offset = this.bb.__offset(this.bb_pos, 14);
+        return offset ? (obj || new bytecode_histogram_1.BytecodeHistogram()).__init(this.bb.__indirect(this.bb.__vector(this.bb_pos + offset) + index * 4), this.bb) : null;
+    };
+    MatchFooter.prototype.bytecodeHistogramsLength = function () {
+        var offset = this.bb.__offset(this.bb_pos, 14);
+        return offset ? this.bb.__vector_len(this.bb_pos + offset) : 0;
+    };
     MatchFooter.startMatchFooter = function (builder) {
-        builder.startObject(5);
+        builder.startObject(6);
     };
     MatchFooter.addWinner = function (builder, winner) {
         builder.addFieldInt8(0, winner, 0);
@@ -108,17 +121,31 @@ var MatchFooter = /** @class */ (function () {
     MatchFooter.startProfilerFilesVector = function (builder, numElems) {
         builder.startVector(4, numElems, 4);
     };
+    MatchFooter.addBytecodeHistograms = function (builder, bytecodeHistogramsOffset) {
+        builder.addFieldOffset(5, bytecodeHistogramsOffset, 0);
+    };
+    MatchFooter.createBytecodeHistogramsVector = function (builder, data) {
+        builder.startVector(4, data.length, 4);
+        for (var i = data.length - 1; i >= 0; i--) {
+            builder.addOffset(data[i]);
+        }
+        return builder.endVector();
+    };
+    MatchFooter.startBytecodeHistogramsVector = function (builder, numElems) {
+        builder.startVector(4, numElems, 4);
+    };
     MatchFooter.endMatchFooter = function (builder) {
         var offset = builder.endObject();
         return offset;
     };
-    MatchFooter.createMatchFooter = function (builder, winner, winType, totalRounds, timelineMarkersOffset, profilerFilesOffset) {
+    MatchFooter.createMatchFooter = function (builder, winner, winType, totalRounds, timelineMarkersOffset, profilerFilesOffset, bytecodeHistogramsOffset) {
         MatchFooter.startMatchFooter(builder);
         MatchFooter.addWinner(builder, winner);
         MatchFooter.addWinType(builder, winType);
         MatchFooter.addTotalRounds(builder, totalRounds);
         MatchFooter.addTimelineMarkers(builder, timelineMarkersOffset);
         MatchFooter.addProfilerFiles(builder, profilerFilesOffset);
+        MatchFooter.addBytecodeHistograms(builder, bytecodeHistogramsOffset);
         return MatchFooter.endMatchFooter(builder);
     };
     return MatchFooter;
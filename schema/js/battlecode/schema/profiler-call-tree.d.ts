@@ -0,0 +1,78 @@
+import * as flatbuffers from 'flatbuffers';
+import { RobotType } from '../../battlecode/schema/robot-type';
+/**
+ * The call tree of all robots of a single type on a team, aggregated over a
+ * whole match. Nodes are distinct method call paths; a node's parent is the
+ * path it was called from. All arrays are indexed by node.
+ */
+export declare class ProfilerCallTree {
+    bb: flatbuffers.ByteBuffer | null;
+    bb_pos: number;
+    __init(i: number, bb: flatbuffers.ByteBuffer): ProfilerCallTree;
+    static getRootAsProfilerCallTree(bb: flatbuffers.ByteBuffer, obj?: ProfilerCallTree): ProfilerCallTree;
+    static getSizePrefixedRootAsProfilerCallTree(bb: flatbuffers.ByteBuffer, obj?: ProfilerCallTree): ProfilerCallTree;
+    /**
+     * The type of the robots in the tree.
+     */
+    robotType(): RobotType;
+    /**
+     * The index of the parent node, or -1 if the node is an entry point.
+     * Parents always come before their children.
+     */
+    parents(index: number): number | null;
+    parentsLength(): number;
+    parentsArray(): Int32Array | null;
+    /**
+     * The index of the method name in the ProfilerFile.frames array.
+     */
+    frames(index: number): number | null;
+    framesLength(): number;
+    framesArray(): Int32Array | null;
+    /**
+     * The number of times the method was called along this path.
+     */
+    calls(index: number): number | null;
+    callsLength(): number;
+    callsArray(): Int32Array | null;
+    /**
+     * The bytecodes spent in the method itself along this path.
+     */
+    selfBytecodes(index: number): bigint | null;
+    selfBytecodesLength(): number;
+    /**
+     * The bytecodes spent in the method and everything it called along this path.
+     */
+    totalBytecodes(index: number): bigint | null;
+    totalBytecodesLength(): number;
+    static startProfilerCallTree(builder: flatbuffers.Builder): void;
+    static addRobotType(builder: flatbuffers.Builder, robotType: RobotType): void;
+    static addParents(builder: flatbuffers.Builder, parentsOffset: flatbuffers.Offset): void;
+    static createParentsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createParentsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startParentsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addFrames(builder: flatbuffers.Builder, framesOffset: flatbuffers.Offset): void;
+    static createFramesVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createFramesVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startFramesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addCalls(builder: flatbuffers.Builder, callsOffset: flatbuffers.Offset): void;
+    static createCallsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createCallsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startCallsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addSelfBytecodes(builder: flatbuffers.Builder, selfBytecodesOffset: flatbuffers.Offset): void;
+    static createSelfBytecodesVector(builder: flatbuffers.Builder, data: bigint[]): flatbuffers.Offset;
+    static startSelfBytecodesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addTotalBytecodes(builder: flatbuffers.Builder, totalBytecodesOffset: flatbuffers.Offset): void;
+    static createTotalBytecodesVector(builder: flatbuffers.Builder, data: bigint[]): flatbuffers.Offset;
+    static startTotalBytecodesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static endProfilerCallTree(builder: flatbuffers.Builder): flatbuffers.Offset;
+    static createProfilerCallTree(builder: flatbuffers.Builder, robotType: RobotType, parentsOffset: flatbuffers.Offset, framesOffset: flatbuffers.Offset, callsOffset: flatbuffers.Offset, selfBytecodesOffset: flatbuffers.Offset, totalBytecodesOffset: flatbuffers.Offset): flatbuffers.Offset;
+}
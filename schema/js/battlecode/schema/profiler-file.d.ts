@@ -1,4 +1,5 @@
 import * as flatbuffers from 'flatbuffers';
+import { ProfilerCallTree } from '../../battlecode/schema/profiler-call-tree';
 import { ProfilerProfile } from '../../battlecode/schema/profiler-profile';
 /**
  * A profiler file is a collection of profiles.
@@ -21,6 +22,12 @@ export declare class ProfilerFile {
      */
     profiles(index: number, obj?: ProfilerProfile): ProfilerProfile | null;
     profilesLength(): number;
+    /**
+     * Aggregated call trees, one per robot type, if call tree profiling is
+     * enabled. In that case no profiles are recorded.
+     */
+    callTrees(index: number, obj?: ProfilerCallTree): ProfilerCallTree | null;
+    callTreesLength(): number;
     static startProfilerFile(builder: flatbuffers.Builder): void;
     static addFrames(builder: flatbuffers.Builder, framesOffset: flatbuffers.Offset): void;
     static createFramesVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
@@ -28,6 +35,9 @@ export declare class ProfilerFile {
     static addProfiles(builder: flatbuffers.Builder, profilesOffset: flatbuffers.Offset): void;
     static createProfilesVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
     static startProfilesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addCallTrees(builder: flatbuffers.Builder, callTreesOffset: flatbuffers.Offset): void;
+    static createCallTreesVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
+    static startCallTreesVector(builder: flatbuffers.Builder, numElems: number): void;
     static endProfilerFile(builder: flatbuffers.Builder): flatbuffers.Offset;
-    static createProfilerFile(builder: flatbuffers.Builder, framesOffset: flatbuffers.Offset, profilesOffset: flatbuffers.Offset): flatbuffers.Offset;
+    static createProfilerFile(builder: flatbuffers.Builder, framesOffset: flatbuffers.Offset, profilesOffset: flatbuffers.Offset, callTreesOffset: flatbuffers.Offset): flatbuffers.Offset;
 }
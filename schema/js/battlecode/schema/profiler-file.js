@@ -4,6 +4,7 @@ Object.defineProperty(exports, "__esModule", { value: true });
 exports.ProfilerFile = void 0;
 /* eslint-disable @typescript-eslint/no-unused-vars, @typescript-eslint/no-explicit-any, @typescript-eslint/no-non-null-assertion */
 var flatbuffers = require("flatbuffers");
+var profiler_call_tree_1 = require("../../battlecode/schema/profiler-call-tree");
 var profiler_profile_1 = require("../../battlecode/schema/profiler-profile");
 /**
  * A profiler file is a collection of profiles.
@@ -45,8 +46,20 @@ var ProfilerFile = /** @class */ (function () {
         var offset = this.bb.__offset(this.bb_pos, 6);
         return offset ? this.bb.__vector_len(this.bb_pos + offset) : 0;
     };
+    /**
+     * Aggregated call trees, one per robot type, if call tree profiling is
+     * enabled. In that case no profiles are recorded.
+     */
+    ProfilerFile.prototype.callTrees = function (index, obj) {
+        var offset = this.bb.__offset(this.bb_pos, 8);
+        return offset ? (obj || new profiler_call_tree_1.ProfilerCallTree()).__init(this.bb.__indirect(this.bb.__vector(this.bb_pos + offset) + index * 4), this.bb) : null;
+    };
+    ProfilerFile.prototype.callTreesLength = function () {
+        var offset = this.bb.__offset(this.bb_pos, 8);
+        return offset ? this.bb.__vector_len(this.bb_pos + offset) : 0;
+    };
     ProfilerFile.startProfilerFile = function (builder) {
-        builder.startObject(2);
+        builder.startObject(3);
     };
     ProfilerFile.addFrames = function (builder, framesOffset) {
         builder.addFieldOffset(0, framesOffset, 0);
@@ -74,14 +87,28 @@ var ProfilerFile = /** @class */ (function () {
     ProfilerFile.startProfilesVector = function (builder, numElems) {
         builder.startVector(4, numElems, 4);
     };
+    ProfilerFile.addCallTrees = function (builder, callTreesOffset) {
+        builder.addFieldOffset(2, callTreesOffset, 0);
+    };
+    ProfilerFile.createCallTreesVector = function (builder, data) {
+        builder.startVector(4, data.length, 4);
+        for (var i = data.length - 1; i >= 0; i--) {
+            builder.addOffset(data[i]);
+        }
+        return builder.endVector();
+    };
+    ProfilerFile.startCallTreesVector = function (builder, numElems) {
+        builder.startVector(4, numElems, 4);
+    };
     ProfilerFile.endProfilerFile = function (builder) {
         var offset = builder.endObject();
         return offset;
     };
-    ProfilerFile.createProfilerFile = function (builder, framesOffset, profilesOffset) {
+    ProfilerFile.createProfilerFile = function (builder, framesOffset, profilesOffset, callTreesOffset) {
         ProfilerFile.startProfilerFile(builder);
         ProfilerFile.addFrames(builder, framesOffset);
         ProfilerFile.addProfiles(builder, profilesOffset);
+        ProfilerFile.addCallTrees(builder, callTreesOffset);
         return ProfilerFile.endProfilerFile(builder);
     };
     return ProfilerFile;
@@ -1,4 +1,5 @@
 import * as flatbuffers from 'flatbuffers';
+import { Keyframe } from '../../battlecode/schema/keyframe';
 import { Turn } from '../../battlecode/schema/turn';
 /**
  * A single time-step in a Game, which contains a list of robot turns
@@ -50,6 +51,11 @@ export declare class Round {
      * It should increase by one for each following round.
      */
     roundId(): number;
+    /**
+     * A full snapshot of the match state at the end of this round. Only
+     * present every few rounds; see Keyframe.
+     */
+    keyframe(obj?: Keyframe): Keyframe | null;
     static startRound(builder: flatbuffers.Builder): void;
     static addTeamIds(builder: flatbuffers.Builder, teamIdsOffset: flatbuffers.Offset): void;
     static createTeamIdsVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
@@ -90,6 +96,6 @@ export declare class Round {
     static createDiedIdsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
     static startDiedIdsVector(builder: flatbuffers.Builder, numElems: number): void;
     static addRoundId(builder: flatbuffers.Builder, roundId: number): void;
+    static addKeyframe(builder: flatbuffers.Builder, keyframeOffset: flatbuffers.Offset): void;
     static endRound(builder: flatbuffers.Builder): flatbuffers.Offset;
-    static createRound(builder: flatbuffers.Builder, teamIdsOffset: flatbuffers.Offset, teamResourceAmountsOffset: flatbuffers.Offset, teamCoverageAmountsOffset: flatbuffers.Offset, teamResourcePatternAmountsOffset: flatbuffers.Offset, turnsOffset: flatbuffers.Offset, diedIdsOffset: flatbuffers.Offset, roundId: number): flatbuffers.Offset;
 }
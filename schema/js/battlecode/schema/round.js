@@ -4,6 +4,7 @@ Object.defineProperty(exports, "__esModule", { value: true });
 exports.Round = void 0;
 /* eslint-disable @typescript-eslint/no-unused-vars, @typescript-eslint/no-explicit-any, @typescript-eslint/no-non-null-assertion */
 var flatbuffers = require("flatbuffers");
+var keyframe_1 = require("../../battlecode/schema/keyframe");
 var turn_1 = require("../../battlecode/schema/turn");
 /**
  * A single time-step in a Game, which contains a list of robot turns
@@ -120,8 +121,16 @@ var Round = /** @class */ (function () {
         var offset = this.bb.__offset(this.bb_pos, 16);
         return offset ? this.bb.readInt32(this.bb_pos + offset) : 0;
     };
+    /**
+     * A full snapshot of the match state at the end of this round. Only
+     * present every few rounds; see Keyframe.
+     */
+    Round.prototype.keyframe = function (obj) {
+        var offset = this.bb.__offset(this.bb_pos, 18);
+        return offset ? (obj || new keyframe_1.Keyframe()).__init(this.bb.__indirect(this.bb_pos + offset), this.bb) : null;
+    };
     Round.startRound = function (builder) {
-        builder.startObject(7);
+        builder.startObject(8);
     };
     Round.addTeamIds = function (builder, teamIdsOffset) {
         builder.addFieldOffset(0, teamIdsOffset, 0);
@@ -204,21 +213,13 @@ var Round = /** @class */ (function () {
     Round.addRoundId = function (builder, roundId) {
         builder.addFieldInt32(6, roundId, 0);
     };
+    Round.addKeyframe = function (builder, keyframeOffset) {
+        builder.addFieldOffset(7, keyframeOffset, 0);
+    };
     Round.endRound = function (builder) {
         var offset = builder.endObject();
         return offset;
     };
-    Round.createRound = function (builder, teamIdsOffset, teamResourceAmountsOffset, teamCoverageAmountsOffset, teamResourcePatternAmountsOffset, turnsOffset, diedIdsOffset, roundId) {
-        Round.startRound(builder);
-        Round.addTeamIds(builder, teamIdsOffset);
-        Round.addTeamResourceAmounts(builder, teamResourceAmountsOffset);
-        Round.addTeamCoverageAmounts(builder, teamCoverageAmountsOffset);
-        Round.addTeamResourcePatternAmounts(builder, teamResourcePatternAmountsOffset);
-        Round.addTurns(builder, turnsOffset);
-        Round.addDiedIds(builder, diedIdsOffset);
-        Round.addRoundId(builder, roundId);
-        return Round.endRound(builder);
-    };
     return Round;
 }());
 exports.Round = Round;
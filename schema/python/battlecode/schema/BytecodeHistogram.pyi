@@ -0,0 +1,46 @@
+from __future__ import annotations
+
+import flatbuffers
+import numpy as np
+
+import flatbuffers
+import typing
+from ..schema.RobotType import RobotType
+
+uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
+
+class BytecodeHistogram(object):
+  @classmethod
+  def GetRootAs(cls, buf: bytes, offset: int) -> BytecodeHistogram: ...
+  @classmethod
+  def GetRootAsBytecodeHistogram(cls, buf: bytes, offset: int) -> BytecodeHistogram: ...
+  def Init(self, buf: bytes, pos: int) -> None: ...
+  def TeamId(self) -> int: ...
+  def RobotType(self) -> typing.Literal[RobotType.NONE, RobotType.PAINT_TOWER, RobotType.MONEY_TOWER, RobotType.DEFENSE_TOWER, RobotType.SOLDIER, RobotType.SPLASHER, RobotType.MOPPER]: ...
+  def BucketLimits(self, i: int) -> typing.List[int]: ...
+  def BucketLimitsAsNumpy(self) -> np.ndarray: ...
+  def BucketLimitsLength(self) -> int: ...
+  def BucketLimitsIsNone(self) -> bool: ...
+  def Counts(self, i: int) -> typing.List[int]: ...
+  def CountsAsNumpy(self) -> np.ndarray: ...
+  def CountsLength(self) -> int: ...
+  def CountsIsNone(self) -> bool: ...
+  def Turns(self) -> int: ...
+  def TotalBytecodes(self) -> int: ...
+  def LimitHits(self) -> int: ...
+def BytecodeHistogramStart(builder: flatbuffers.Builder) -> None: ...
+def Start(builder: flatbuffers.Builder) -> None: ...
+def BytecodeHistogramAddTeamId(builder: flatbuffers.Builder, teamId: int) -> None: ...
+def BytecodeHistogramAddRobotType(builder: flatbuffers.Builder, robotType: typing.Literal[RobotType.NONE, RobotType.PAINT_TOWER, RobotType.MONEY_TOWER, RobotType.DEFENSE_TOWER, RobotType.SOLDIER, RobotType.SPLASHER, RobotType.MOPPER]) -> None: ...
+def BytecodeHistogramAddBucketLimits(builder: flatbuffers.Builder, bucketLimits: uoffset) -> None: ...
+def BytecodeHistogramStartBucketLimitsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartBucketLimitsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def BytecodeHistogramAddCounts(builder: flatbuffers.Builder, counts: uoffset) -> None: ...
+def BytecodeHistogramStartCountsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartCountsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def BytecodeHistogramAddTurns(builder: flatbuffers.Builder, turns: int) -> None: ...
+def BytecodeHistogramAddTotalBytecodes(builder: flatbuffers.Builder, totalBytecodes: int) -> None: ...
+def BytecodeHistogramAddLimitHits(builder: flatbuffers.Builder, limitHits: int) -> None: ...
+def BytecodeHistogramEnd(builder: flatbuffers.Builder) -> uoffset: ...
+def End(builder: flatbuffers.Builder) -> uoffset: ...
+
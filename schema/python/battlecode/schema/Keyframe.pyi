@@ -0,0 +1,95 @@
+from __future__ import annotations
+
+import flatbuffers
+import numpy as np
+
+import flatbuffers
+import typing
+from ..schema.RobotType import RobotType
+from ..schema.VecTable import VecTable
+
+uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
+
+class Keyframe(object):
+  @classmethod
+  def GetRootAs(cls, buf: bytes, offset: int) -> Keyframe: ...
+  @classmethod
+  def GetRootAsKeyframe(cls, buf: bytes, offset: int) -> Keyframe: ...
+  def Init(self, buf: bytes, pos: int) -> None: ...
+  def Paint(self, i: int) -> typing.List[int]: ...
+  def PaintAsNumpy(self) -> np.ndarray: ...
+  def PaintLength(self) -> int: ...
+  def PaintIsNone(self) -> bool: ...
+  def MarkersA(self, i: int) -> typing.List[int]: ...
+  def MarkersAAsNumpy(self) -> np.ndarray: ...
+  def MarkersALength(self) -> int: ...
+  def MarkersAIsNone(self) -> bool: ...
+  def MarkersB(self, i: int) -> typing.List[int]: ...
+  def MarkersBAsNumpy(self) -> np.ndarray: ...
+  def MarkersBLength(self) -> int: ...
+  def MarkersBIsNone(self) -> bool: ...
+  def RobotIds(self, i: int) -> typing.List[int]: ...
+  def RobotIdsAsNumpy(self) -> np.ndarray: ...
+  def RobotIdsLength(self) -> int: ...
+  def RobotIdsIsNone(self) -> bool: ...
+  def RobotTypes(self, i: int) -> typing.Literal[RobotType.NONE, RobotType.PAINT_TOWER, RobotType.MONEY_TOWER, RobotType.DEFENSE_TOWER, RobotType.SOLDIER, RobotType.SPLASHER, RobotType.MOPPER]: ...
+  def RobotTypesAsNumpy(self) -> np.ndarray: ...
+  def RobotTypesLength(self) -> int: ...
+  def RobotTypesIsNone(self) -> bool: ...
+  def RobotTeamIds(self, i: int) -> typing.List[int]: ...
+  def RobotTeamIdsAsNumpy(self) -> np.ndarray: ...
+  def RobotTeamIdsLength(self) -> int: ...
+  def RobotTeamIdsIsNone(self) -> bool: ...
+  def RobotHealths(self, i: int) -> typing.List[int]: ...
+  def RobotHealthsAsNumpy(self) -> np.ndarray: ...
+  def RobotHealthsLength(self) -> int: ...
+  def RobotHealthsIsNone(self) -> bool: ...
+  def RobotPaints(self, i: int) -> typing.List[int]: ...
+  def RobotPaintsAsNumpy(self) -> np.ndarray: ...
+  def RobotPaintsLength(self) -> int: ...
+  def RobotPaintsIsNone(self) -> bool: ...
+  def RobotLocs(self) -> VecTable | None: ...
+  def TeamIds(self, i: int) -> typing.List[int]: ...
+  def TeamIdsAsNumpy(self) -> np.ndarray: ...
+  def TeamIdsLength(self) -> int: ...
+  def TeamIdsIsNone(self) -> bool: ...
+  def TeamResourceAmounts(self, i: int) -> typing.List[int]: ...
+  def TeamResourceAmountsAsNumpy(self) -> np.ndarray: ...
+  def TeamResourceAmountsLength(self) -> int: ...
+  def TeamResourceAmountsIsNone(self) -> bool: ...
+def KeyframeStart(builder: flatbuffers.Builder) -> None: ...
+def Start(builder: flatbuffers.Builder) -> None: ...
+def KeyframeAddPaint(builder: flatbuffers.Builder, paint: uoffset) -> None: ...
+def KeyframeStartPaintVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartPaintVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddMarkersA(builder: flatbuffers.Builder, markersA: uoffset) -> None: ...
+def KeyframeStartMarkersAVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartMarkersAVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddMarkersB(builder: flatbuffers.Builder, markersB: uoffset) -> None: ...
+def KeyframeStartMarkersBVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartMarkersBVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotIds(builder: flatbuffers.Builder, robotIds: uoffset) -> None: ...
+def KeyframeStartRobotIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartRobotIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotTypes(builder: flatbuffers.Builder, robotTypes: uoffset) -> None: ...
+def KeyframeStartRobotTypesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartRobotTypesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotTeamIds(builder: flatbuffers.Builder, robotTeamIds: uoffset) -> None: ...
+def KeyframeStartRobotTeamIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartRobotTeamIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotHealths(builder: flatbuffers.Builder, robotHealths: uoffset) -> None: ...
+def KeyframeStartRobotHealthsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartRobotHealthsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotPaints(builder: flatbuffers.Builder, robotPaints: uoffset) -> None: ...
+def KeyframeStartRobotPaintsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartRobotPaintsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddRobotLocs(builder: flatbuffers.Builder, robotLocs: uoffset) -> None: ...
+def KeyframeAddTeamIds(builder: flatbuffers.Builder, teamIds: uoffset) -> None: ...
+def KeyframeStartTeamIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartTeamIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeAddTeamResourceAmounts(builder: flatbuffers.Builder, teamResourceAmounts: uoffset) -> None: ...
+def KeyframeStartTeamResourceAmountsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartTeamResourceAmountsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def KeyframeEnd(builder: flatbuffers.Builder) -> uoffset: ...
+def End(builder: flatbuffers.Builder) -> uoffset: ...
+
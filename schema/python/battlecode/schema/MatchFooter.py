@@ -5,6 +5,7 @@
 import flatbuffers
 from flatbuffers.compat import import_numpy
 from typing import Any
+from ..schema.BytecodeHistogram import BytecodeHistogram
 from ..schema.ProfilerFile import ProfilerFile
 from ..schema.TimelineMarker import TimelineMarker
 from typing import Optional
@@ -103,8 +104,34 @@ class MatchFooter(object):
         o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(12))
         return o == 0
 
+    # How many bytecodes each team's robots used per turn, one histogram per
+    # team and robot type that had turns.
+    # MatchFooter
+    def BytecodeHistograms(self, j: int) -> Optional[BytecodeHistogram]:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(14))
+        if o != 0:
+            x = self._tab.Vector(o)
+            x += flatbuffers.number_types.UOffsetTFlags.py_type(j) * 4
+            x = self._tab.Indirect(x)
+            obj = BytecodeHistogram()
+            obj.Init(self._tab.Bytes, x)
+            return obj
+        return None
+
+    # MatchFooter
+    def BytecodeHistogramsLength(self) -> int:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(14))
+        if o != 0:
+            return self._tab.VectorLen(o)
+        return 0
+
+    # MatchFooter
+    def BytecodeHistogramsIsNone(self) -> bool:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(14))
+        return o == 0
+
 def MatchFooterStart(builder: flatbuffers.Builder):
-    builder.StartObject(5)
+    builder.StartObject(6)
 
 def Start(builder: flatbuffers.Builder):
     MatchFooterStart(builder)
@@ -151,6 +178,18 @@ def MatchFooterStartProfilerFilesVector(builder, numElems: int) -> int:
 def StartProfilerFilesVector(builder, numElems: int) -> int:
     return MatchFooterStartProfilerFilesVector(builder, numElems)
 
+def MatchFooterAddBytecodeHistograms(builder: flatbuffers.Builder, bytecodeHistograms: int):
+    builder.PrependUOffsetTRelativeSlot(5, flatbuffers.number_types.UOffsetTFlags.py_type(bytecodeHistograms), 0)
+
+def AddBytecodeHistograms(builder: flatbuffers.Builder, bytecodeHistograms: int):
+    MatchFooterAddBytecodeHistograms(builder, bytecodeHistograms)
+
+def MatchFooterStartBytecodeHistogramsVector(builder, numElems: int) -> int:
+    return builder.StartVector(4, numElems, 4)
+
+def StartBytecodeHistogramsVector(builder, numElems: int) -> int:
+    return MatchFooterStartBytecodeHistogramsVector(builder, numElems)
+
 def MatchFooterEnd(builder: flatbuffers.Builder) -> int:
     return builder.EndObject()
 
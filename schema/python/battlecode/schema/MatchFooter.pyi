@@ -5,6 +5,7 @@ import numpy as np
 
 import flatbuffers
 import typing
+from ..schema.BytecodeHistogram import BytecodeHistogram
 from ..schema.ProfilerFile import ProfilerFile
 from ..schema.TimelineMarker import TimelineMarker
 from ..schema.WinType import WinType
@@ -26,6 +27,9 @@ class MatchFooter(object):
   def ProfilerFiles(self, i: int) -> ProfilerFile | None: ...
   def ProfilerFilesLength(self) -> int: ...
   def ProfilerFilesIsNone(self) -> bool: ...
+  def BytecodeHistograms(self, i: int) -> BytecodeHistogram | None: ...
+  def BytecodeHistogramsLength(self) -> int: ...
+  def BytecodeHistogramsIsNone(self) -> bool: ...
 def MatchFooterStart(builder: flatbuffers.Builder) -> None: ...
 def Start(builder: flatbuffers.Builder) -> None: ...
 def MatchFooterAddWinner(builder: flatbuffers.Builder, winner: int) -> None: ...
@@ -37,6 +41,9 @@ def StartTimelineMarkersVector(builder: flatbuffers.Builder, num_elems: int) ->
 def MatchFooterAddProfilerFiles(builder: flatbuffers.Builder, profilerFiles: uoffset) -> None: ...
 def MatchFooterStartProfilerFilesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def StartProfilerFilesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def MatchFooterAddBytecodeHistograms(builder: flatbuffers.Builder, bytecodeHistograms: uoffset) -> None: ...
+def MatchFooterStartBytecodeHistogramsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartBytecodeHistogramsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def MatchFooterEnd(builder: flatbuffers.Builder) -> uoffset: ...
 def End(builder: flatbuffers.Builder) -> uoffset: ...
 
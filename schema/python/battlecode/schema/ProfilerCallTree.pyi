@@ -0,0 +1,59 @@
+from __future__ import annotations
+
+import flatbuffers
+import numpy as np
+
+import flatbuffers
+import typing
+from ..schema.RobotType import RobotType
+
+uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
+
+class ProfilerCallTree(object):
+  @classmethod
+  def GetRootAs(cls, buf: bytes, offset: int) -> ProfilerCallTree: ...
+  @classmethod
+  def GetRootAsProfilerCallTree(cls, buf: bytes, offset: int) -> ProfilerCallTree: ...
+  def Init(self, buf: bytes, pos: int) -> None: ...
+  def RobotType(self) -> typing.Literal[RobotType.NONE, RobotType.PAINT_TOWER, RobotType.MONEY_TOWER, RobotType.DEFENSE_TOWER, RobotType.SOLDIER, RobotType.SPLASHER, RobotType.MOPPER]: ...
+  def Parents(self, i: int) -> typing.List[int]: ...
+  def ParentsAsNumpy(self) -> np.ndarray: ...
+  def ParentsLength(self) -> int: ...
+  def ParentsIsNone(self) -> bool: ...
+  def Frames(self, i: int) -> typing.List[int]: ...
+  def FramesAsNumpy(self) -> np.ndarray: ...
+  def FramesLength(self) -> int: ...
+  def FramesIsNone(self) -> bool: ...
+  def Calls(self, i: int) -> typing.List[int]: ...
+  def CallsAsNumpy(self) -> np.ndarray: ...
+  def CallsLength(self) -> int: ...
+  def CallsIsNone(self) -> bool: ...
+  def SelfBytecodes(self, i: int) -> typing.List[int]: ...
+  def SelfBytecodesAsNumpy(self) -> np.ndarray: ...
+  def SelfBytecodesLength(self) -> int: ...
+  def SelfBytecodesIsNone(self) -> bool: ...
+  def TotalBytecodes(self, i: int) -> typing.List[int]: ...
+  def TotalBytecodesAsNumpy(self) -> np.ndarray: ...
+  def TotalBytecodesLength(self) -> int: ...
+  def TotalBytecodesIsNone(self) -> bool: ...
+def ProfilerCallTreeStart(builder: flatbuffers.Builder) -> None: ...
+def Start(builder: flatbuffers.Builder) -> None: ...
+def ProfilerCallTreeAddRobotType(builder: flatbuffers.Builder, robotType: typing.Literal[RobotType.NONE, RobotType.PAINT_TOWER, RobotType.MONEY_TOWER, RobotType.DEFENSE_TOWER, RobotType.SOLDIER, RobotType.SPLASHER, RobotType.MOPPER]) -> None: ...
+def ProfilerCallTreeAddParents(builder: flatbuffers.Builder, parents: uoffset) -> None: ...
+def ProfilerCallTreeStartParentsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartParentsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerCallTreeAddFrames(builder: flatbuffers.Builder, frames: uoffset) -> None: ...
+def ProfilerCallTreeStartFramesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartFramesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerCallTreeAddCalls(builder: flatbuffers.Builder, calls: uoffset) -> None: ...
+def ProfilerCallTreeStartCallsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartCallsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerCallTreeAddSelfBytecodes(builder: flatbuffers.Builder, selfBytecodes: uoffset) -> None: ...
+def ProfilerCallTreeStartSelfBytecodesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartSelfBytecodesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerCallTreeAddTotalBytecodes(builder: flatbuffers.Builder, totalBytecodes: uoffset) -> None: ...
+def ProfilerCallTreeStartTotalBytecodesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartTotalBytecodesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerCallTreeEnd(builder: flatbuffers.Builder) -> uoffset: ...
+def End(builder: flatbuffers.Builder) -> uoffset: ...
+
@@ -5,6 +5,7 @@
 import flatbuffers
 from flatbuffers.compat import import_numpy
 from typing import Any
+from ..schema.ProfilerCallTree import ProfilerCallTree
 from ..schema.ProfilerProfile import ProfilerProfile
 from typing import Optional
 np = import_numpy()
@@ -75,8 +76,34 @@ class ProfilerFile(object):
         o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(6))
         return o == 0
 
+    # Aggregated call trees, one per robot type, if call tree profiling is
+    # enabled. In that case no profiles are recorded.
+    # ProfilerFile
+    def CallTrees(self, j: int) -> Optional[ProfilerCallTree]:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(8))
+        if o != 0:
+            x = self._tab.Vector(o)
+            x += flatbuffers.number_types.UOffsetTFlags.py_type(j) * 4
+            x = self._tab.Indirect(x)
+            obj = ProfilerCallTree()
+            obj.Init(self._tab.Bytes, x)
+            return obj
+        return None
+
+    # ProfilerFile
+    def CallTreesLength(self) -> int:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(8))
+        if o != 0:
+            return self._tab.VectorLen(o)
+        return 0
+
+    # ProfilerFile
+    def CallTreesIsNone(self) -> bool:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(8))
+        return o == 0
+
 def ProfilerFileStart(builder: flatbuffers.Builder):
-    builder.StartObject(2)
+    builder.StartObject(3)
 
 def Start(builder: flatbuffers.Builder):
     ProfilerFileStart(builder)
@@ -105,6 +132,18 @@ def ProfilerFileStartProfilesVector(builder, numElems: int) -> int:
 def StartProfilesVector(builder, numElems: int) -> int:
     return ProfilerFileStartProfilesVector(builder, numElems)
 
+def ProfilerFileAddCallTrees(builder: flatbuffers.Builder, callTrees: int):
+    builder.PrependUOffsetTRelativeSlot(2, flatbuffers.number_types.UOffsetTFlags.py_type(callTrees), 0)
+
+def AddCallTrees(builder: flatbuffers.Builder, callTrees: int):
+    ProfilerFileAddCallTrees(builder, callTrees)
+
+def ProfilerFileStartCallTreesVector(builder, numElems: int) -> int:
+    return builder.StartVector(4, numElems, 4)
+
+def StartCallTreesVector(builder, numElems: int) -> int:
+    return ProfilerFileStartCallTreesVector(builder, numElems)
+
 def ProfilerFileEnd(builder: flatbuffers.Builder) -> int:
     return builder.EndObject()
 
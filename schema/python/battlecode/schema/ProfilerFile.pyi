@@ -5,6 +5,7 @@ import numpy as np
 
 import flatbuffers
 import typing
+from ..schema.ProfilerCallTree import ProfilerCallTree
 from ..schema.ProfilerProfile import ProfilerProfile
 
 uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
@@ -21,6 +22,9 @@ class ProfilerFile(object):
   def Profiles(self, i: int) -> ProfilerProfile | None: ...
   def ProfilesLength(self) -> int: ...
   def ProfilesIsNone(self) -> bool: ...
+  def CallTrees(self, i: int) -> ProfilerCallTree | None: ...
+  def CallTreesLength(self) -> int: ...
+  def CallTreesIsNone(self) -> bool: ...
 def ProfilerFileStart(builder: flatbuffers.Builder) -> None: ...
 def Start(builder: flatbuffers.Builder) -> None: ...
 def ProfilerFileAddFrames(builder: flatbuffers.Builder, frames: uoffset) -> None: ...
@@ -29,6 +33,9 @@ def StartFramesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset:
 def ProfilerFileAddProfiles(builder: flatbuffers.Builder, profiles: uoffset) -> None: ...
 def ProfilerFileStartProfilesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def StartProfilesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def ProfilerFileAddCallTrees(builder: flatbuffers.Builder, callTrees: uoffset) -> None: ...
+def ProfilerFileStartCallTreesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartCallTreesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def ProfilerFileEnd(builder: flatbuffers.Builder) -> uoffset: ...
 def End(builder: flatbuffers.Builder) -> uoffset: ...
 
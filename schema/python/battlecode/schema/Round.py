@@ -5,6 +5,7 @@
 import flatbuffers
 from flatbuffers.compat import import_numpy
 from typing import Any
+from ..schema.Keyframe import Keyframe
 from ..schema.Turn import Turn
 from typing import Optional
 np = import_numpy()
@@ -203,8 +204,20 @@ class Round(object):
             return self._tab.Get(flatbuffers.number_types.Int32Flags, o + self._tab.Pos)
         return 0
 
+    # A full snapshot of the match state at the end of this round. Only
+    # present every few rounds; see Keyframe.
+    # Round
+    def Keyframe(self) -> Optional[Keyframe]:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(18))
+        if o != 0:
+            x = self._tab.Indirect(o + self._tab.Pos)
+            obj = Keyframe()
+            obj.Init(self._tab.Bytes, x)
+            return obj
+        return None
+
 def RoundStart(builder: flatbuffers.Builder):
-    builder.StartObject(7)
+    builder.StartObject(8)
 
 def Start(builder: flatbuffers.Builder):
     RoundStart(builder)
@@ -287,6 +300,12 @@ def RoundAddRoundId(builder: flatbuffers.Builder, roundId: int):
 def AddRoundId(builder: flatbuffers.Builder, roundId: int):
     RoundAddRoundId(builder, roundId)
 
+def RoundAddKeyframe(builder: flatbuffers.Builder, keyframe: int):
+    builder.PrependUOffsetTRelativeSlot(7, flatbuffers.number_types.UOffsetTFlags.py_type(keyframe), 0)
+
+def AddKeyframe(builder: flatbuffers.Builder, keyframe: int):
+    RoundAddKeyframe(builder, keyframe)
+
 def RoundEnd(builder: flatbuffers.Builder) -> int:
     return builder.EndObject()
 
@@ -5,6 +5,7 @@ import numpy as np
 
 import flatbuffers
 import typing
+from ..schema.Keyframe import Keyframe
 from ..schema.Turn import Turn
 
 uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
@@ -39,6 +40,7 @@ class Round(object):
   def DiedIdsLength(self) -> int: ...
   def DiedIdsIsNone(self) -> bool: ...
   def RoundId(self) -> int: ...
+  def Keyframe(self) -> Keyframe | None: ...
 def RoundStart(builder: flatbuffers.Builder) -> None: ...
 def Start(builder: flatbuffers.Builder) -> None: ...
 def RoundAddTeamIds(builder: flatbuffers.Builder, teamIds: uoffset) -> None: ...
@@ -60,6 +62,7 @@ def RoundAddDiedIds(builder: flatbuffers.Builder, diedIds: uoffset) -> None: ...
 def RoundStartDiedIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def StartDiedIdsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def RoundAddRoundId(builder: flatbuffers.Builder, roundId: int) -> None: ...
+def RoundAddKeyframe(builder: flatbuffers.Builder, keyframe: uoffset) -> None: ...
 def RoundEnd(builder: flatbuffers.Builder) -> uoffset: ...
 def End(builder: flatbuffers.Builder) -> uoffset: ...
 
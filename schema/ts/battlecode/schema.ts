@@ -5,6 +5,7 @@
 export { Action } from './schema/action';
 export { AttackAction } from './schema/attack-action';
 export { BuildAction } from './schema/build-action';
+export { BytecodeHistogram } from './schema/bytecode-histogram';
 export { DamageAction } from './schema/damage-action';
 export { DieAction } from './schema/die-action';
 export { DieType } from './schema/die-type';
@@ -19,12 +20,14 @@ export { IndicatorDotAction } from './schema/indicator-dot-action';
 export { IndicatorLineAction } from './schema/indicator-line-action';
 export { IndicatorStringAction } from './schema/indicator-string-action';
 export { InitialBodyTable } from './schema/initial-body-table';
+export { Keyframe } from './schema/keyframe';
 export { MarkAction } from './schema/mark-action';
 export { MatchFooter } from './schema/match-footer';
 export { MatchHeader } from './schema/match-header';
 export { MessageAction } from './schema/message-action';
 export { MopAction } from './schema/mop-action';
 export { PaintAction } from './schema/paint-action';
+export { ProfilerCallTree } from './schema/profiler-call-tree';
 export { ProfilerEvent } from './schema/profiler-event';
 export { ProfilerFile } from './schema/profiler-file';
 export { ProfilerProfile } from './schema/profiler-profile';
@@ -4,6 +4,7 @@
 
 import * as flatbuffers from 'flatbuffers';
 
+import { BytecodeHistogram } from '../../battlecode/schema/bytecode-histogram';
 import { ProfilerFile } from '../../battlecode/schema/profiler-file';
 import { TimelineMarker } from '../../battlecode/schema/timeline-marker';
 import { WinType } from '../../battlecode/schema/win-type';
@@ -80,8 +81,22 @@ profilerFilesLength():number {
   return offset ? this.bb!.__vector_len(this.bb_pos + offset) : 0;
 }
 
+/**
+ * How many bytecodes each team's robots used per turn, one histogram per
+ * team and robot type that had turns.
+ */
+bytecodeHistograms(index: number, obj?:BytecodeHistogram):BytecodeHistogram|null {
+  const offset = this.bb!.__offset(this.bb_pos, 14);
+  return offset ? (obj || new BytecodeHistogram()).__init(this.bb!.__indirect(this.bb!.__vector(this.bb_pos + offset) + index * 4), this.bb!) : null;
+}
+
+bytecodeHistogramsLength():number {
+  const offset = this.bb!.__offset(this.bb_pos, 14);
+  return offset ? this.bb!.__vector_len(this.bb_pos + offset) : 0;
+}
+
 static startMatchFooter(builder:flatbuffers.Builder) {
-  builder.startObject(5);
+  builder.startObject(6);
 }
 
 static addWinner(builder:flatbuffers.Builder, winner:number) {
@@ -128,18 +143,35 @@ static startProfilerFilesVector(builder:flatbuffers.Builder, numElems:number) {
   builder.startVector(4, numElems, 4);
 }
 
+static addBytecodeHistograms(builder:flatbuffers.Builder, bytecodeHistogramsOffset:flatbuffers.Offset) {
+  builder.addFieldOffset(5, bytecodeHistogramsOffset, 0);
+}
+
+static createBytecodeHistogramsVector(builder:flatbuffers.Builder, data:flatbuffers.Offset[]):flatbuffers.Offset {
+  builder.startVector(4, data.length, 4);
+  for (let i = data.length - 1; i >= 0; i--) {
+    builder.addOffset(data[i]!);
+  }
+  return builder.endVector();
+}
+
+static startBytecodeHistogramsVector(builder:flatbuffers.Builder, numElems:number) {
+  builder.startVector(4, numElems, 4);
+}
+
 static endMatchFooter(builder:flatbuffers.Builder):flatbuffers.Offset {
   const offset = builder.endObject();
   return offset;
 }
 
-static createMatchFooter(builder:flatbuffers.Builder, winner:number, winType:WinType, totalRounds:number, timelineMarkersOffset:flatbuffers.Offset, profilerFilesOffset:flatbuffers.Offset):flatbuffers.Offset {
+static createMatchFooter(builder:flatbuffers.Builder, winner:number, winType:WinType, totalRounds:number, timelineMarkersOffset:flatbuffers.Offset, profilerFilesOffset:flatbuffers.Offset, bytecodeHistogramsOffset:flatbuffers.Offset):flatbuffers.Offset {
   MatchFooter.startMatchFooter(builder);
   MatchFooter.addWinner(builder, winner);
   MatchFooter.addWinType(builder, winType);
   MatchFooter.addTotalRounds(builder, totalRounds);
   MatchFooter.addTimelineMarkers(builder, timelineMarkersOffset);
   MatchFooter.addProfilerFiles(builder, profilerFilesOffset);
+  MatchFooter.addBytecodeHistograms(builder, bytecodeHistogramsOffset);
   return MatchFooter.endMatchFooter(builder);
 }
 }
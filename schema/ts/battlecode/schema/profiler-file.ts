@@ -4,6 +4,7 @@
 
 import * as flatbuffers from 'flatbuffers';
 
+import { ProfilerCallTree } from '../../battlecode/schema/profiler-call-tree';
 import { ProfilerProfile } from '../../battlecode/schema/profiler-profile';
 
 
@@ -57,8 +58,22 @@ profilesLength():number {
   return offset ? this.bb!.__vector_len(this.bb_pos + offset) : 0;
 }
 
+/**
+ * Aggregated call trees, one per robot type, if call tree profiling is
+ * enabled. In that case no profiles are recorded.
+ */
+callTrees(index: number, obj?:ProfilerCallTree):ProfilerCallTree|null {
+  const offset = this.bb!.__offset(this.bb_pos, 8);
+  return offset ? (obj || new ProfilerCallTree()).__init(this.bb!.__indirect(this.bb!.__vector(this.bb_pos + offset) + index * 4), this.bb!) : null;
+}
+
+callTreesLength():number {
+  const offset = this.bb!.__offset(this.bb_pos, 8);
+  return offset ? this.bb!.__vector_len(this.bb_pos + offset) : 0;
+}
+
 static startProfilerFile(builder:flatbuffers.Builder) {
-  builder.startObject(2);
+  builder.startObject(3);
 }
 
 static addFrames(builder:flatbuffers.Builder, framesOffset:flatbuffers.Offset) {
@@ -93,15 +108,32 @@ static startProfilesVector(builder:flatbuffers.Builder, numElems:number) {
   builder.startVector(4, numElems, 4);
 }
 
+static addCallTrees(builder:flatbuffers.Builder, callTreesOffset:flatbuffers.Offset) {
+  builder.addFieldOffset(2, callTreesOffset, 0);
+}
+
+static createCallTreesVector(builder:flatbuffers.Builder, data:flatbuffers.Offset[]):flatbuffers.Offset {
+  builder.startVector(4, data.length, 4);
+  for (let i = data.length - 1; i >= 0; i--) {
+    builder.addOffset(data[i]!);
+  }
+  return builder.endVector();
+}
+
+static startCallTreesVector(builder:flatbuffers.Builder, numElems:number) {
+  builder.startVector(4, numElems, 4);
+}
+
 static endProfilerFile(builder:flatbuffers.Builder):flatbuffers.Offset {
   const offset = builder.endObject();
   return offset;
 }
 
-static createProfilerFile(builder:flatbuffers.Builder, framesOffset:flatbuffers.Offset, profilesOffset:flatbuffers.Offset):flatbuffers.Offset {
+static createProfilerFile(builder:flatbuffers.Builder, framesOffset:flatbuffers.Offset, profilesOffset:flatbuffers.Offset, callTreesOffset:flatbuffers.Offset):flatbuffers.Offset {
   ProfilerFile.startProfilerFile(builder);
   ProfilerFile.addFrames(builder, framesOffset);
   ProfilerFile.addProfiles(builder, profilesOffset);
+  ProfilerFile.addCallTrees(builder, callTreesOffset);
   return ProfilerFile.endProfilerFile(builder);
 }
 }
@@ -4,6 +4,7 @@
 
 import * as flatbuffers from 'flatbuffers';
 
+import { Keyframe } from '../../battlecode/schema/keyframe';
 import { Turn } from '../../battlecode/schema/turn';
 
 
@@ -141,8 +142,17 @@ roundId():number {
   return offset ? this.bb!.readInt32(this.bb_pos + offset) : 0;
 }
 
+/**
+ * A full snapshot of the match state at the end of this round. Only
+ * present every few rounds; see Keyframe.
+ */
+keyframe(obj?:Keyframe):Keyframe|null {
+  const offset = this.bb!.__offset(this.bb_pos, 18);
+  return offset ? (obj || new Keyframe()).__init(this.bb!.__indirect(this.bb_pos + offset), this.bb!) : null;
+}
+
 static startRound(builder:flatbuffers.Builder) {
-  builder.startObject(7);
+  builder.startObject(8);
 }
 
 static addTeamIds(builder:flatbuffers.Builder, teamIdsOffset:flatbuffers.Offset) {
@@ -270,20 +280,13 @@ static addRoundId(builder:flatbuffers.Builder, roundId:number) {
   builder.addFieldInt32(6, roundId, 0);
 }
 
+static addKeyframe(builder:flatbuffers.Builder, keyframeOffset:flatbuffers.Offset) {
+  builder.addFieldOffset(7, keyframeOffset, 0);
+}
+
 static endRound(builder:flatbuffers.Builder):flatbuffers.Offset {
   const offset = builder.endObject();
   return offset;
 }
 
-static createRound(builder:flatbuffers.Builder, teamIdsOffset:flatbuffers.Offset, teamResourceAmountsOffset:flatbuffers.Offset, teamCoverageAmountsOffset:flatbuffers.Offset, teamResourcePatternAmountsOffset:flatbuffers.Offset, turnsOffset:flatbuffers.Offset, diedIdsOffset:flatbuffers.Offset, roundId:number):flatbuffers.Offset {
-  Round.startRound(builder);
-  Round.addTeamIds(builder, teamIdsOffset);
-  Round.addTeamResourceAmounts(builder, teamResourceAmountsOffset);
-  Round.addTeamCoverageAmounts(builder, teamCoverageAmountsOffset);
-  Round.addTeamResourcePatternAmounts(builder, teamResourcePatternAmountsOffset);
-  Round.addTurns(builder, turnsOffset);
-  Round.addDiedIds(builder, diedIdsOffset);
-  Round.addRoundId(builder, roundId);
-  return Round.endRound(builder);
-}
 }